@@ -2,20 +2,52 @@ package com.smartpacker;
 
 import com.smartpacker.cli.ConsoleUI;
 import com.smartpacker.cli.MainController;
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.config.RepositoryEngine;
+import com.smartpacker.domain.item.Item;
 import com.smartpacker.domain.packing.AnalysisEngine;
+import com.smartpacker.domain.packing.PackingList;
 import com.smartpacker.domain.packing.PackingService;
 import com.smartpacker.domain.packing.PackingServiceImpl;
+import com.smartpacker.domain.packing.RecommendationEvaluator;
+import com.smartpacker.domain.packing.TemplateStore;
+import com.smartpacker.domain.packing.TrendingItemTracker;
+import com.smartpacker.domain.packing.TripHistoryIndex;
 import com.smartpacker.domain.user.MyClosetService;
 import com.smartpacker.domain.user.MyClosetServiceImpl;
 import com.smartpacker.domain.user.UserService;
 import com.smartpacker.domain.user.UserServiceImpl;
 import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.repository.CachingMyClosetRepository;
+import com.smartpacker.repository.CorpusSnapshot;
+import com.smartpacker.repository.CorpusSnapshotWriter;
+import com.smartpacker.repository.InMemoryMyClosetRepository;
+import com.smartpacker.repository.InMemoryPackingListRepository;
+import com.smartpacker.repository.InMemoryStore;
+import com.smartpacker.repository.InMemoryUserRepository;
+import com.smartpacker.repository.ItemCodecBenchmark;
+import com.smartpacker.repository.ItemStorageMigration;
+import com.smartpacker.repository.LogStructuredPackingListRepository;
+import com.smartpacker.repository.JdbcManager;
+import com.smartpacker.repository.JdbcUnitOfWork;
 import com.smartpacker.repository.MyClosetRepository;
 import com.smartpacker.repository.MyClosetRepositoryImpl;
+import com.smartpacker.repository.PackingListItemsMigration;
 import com.smartpacker.repository.PackingListRepository;
 import com.smartpacker.repository.PackingListRepositoryImpl;
+import com.smartpacker.repository.SyntheticDataLoader;
+import com.smartpacker.repository.UnitOfWork;
 import com.smartpacker.repository.UserRepository;
 import com.smartpacker.repository.UserRepositoryImpl;
+import com.smartpacker.util.SyntheticDataGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,16 +64,41 @@ public class Application {
         
         // --- DB 초기화 모드 확인 ---
         boolean resetMode = (args.length > 0 && "reset-db".equals(args[0]));
+        // --- 추천 엔진 오프라인 평가 모드 확인 (e.g., eval-engine 500 42 : 최대 500개 리스트, 시드 42) ---
+        boolean evalMode = (args.length > 0 && "eval-engine".equals(args[0]));
+        // --- 공유 데이터 열 단위 스냅샷 내보내기 모드 확인 (e.g., export-snapshot corpus.snap) ---
+        boolean snapshotMode = (args.length > 0 && "export-snapshot".equals(args[0]));
+        // --- 아이템 저장 형식(JSON vs 바이너리) 비교 모드 확인 (e.g., bench-codec 200 : 200회 반복 측정) ---
+        boolean codecBenchMode = (args.length > 0 && "bench-codec".equals(args[0]));
+        // --- 대량 가짜 데이터 생성 모드 확인 (e.g., generate-data 1000000 100000 42 : 공유 리스트 100만 개, 사용자 10만 명, 시드 42) ---
+        boolean generateMode = (args.length > 0 && "generate-data".equals(args[0]));
         
         log.info("Smart Packer CLI v7.6 시스템을 초기화합니다...");
+
+        // Repository 구현 선택: JDBC(SQLite, 기본) / MEMORY(메모리 + 스냅샷/변경 로그) / LOG_STRUCTURED(패킹 리스트만 로그 세그먼트)
+        boolean memoryEngine = AppConfig.REPOSITORY_ENGINE == RepositoryEngine.MEMORY;
+        boolean logStructuredEngine = AppConfig.REPOSITORY_ENGINE == RepositoryEngine.LOG_STRUCTURED;
+        log.info("Repository 엔진: {}", AppConfig.REPOSITORY_ENGINE);
+
+        if (!memoryEngine) {
+            // 종료 시 커넥션 풀과 쓰기 스레드 통계를 남기고, 남은 쓰기를 마친 뒤 풀을 정리합니다.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                log.info("커넥션 풀 통계: {}", JdbcManager.getPoolMetrics());
+                JdbcManager.shutdown();
+                log.info("쓰기 스레드 통계: {}", JdbcManager.getWriteMetrics());
+            }, "connection-pool-shutdown"));
+        }
         
         try {
             // =================================================================
             // 1. 데이터 영속성 계층 (Repository) 객체 생성
             // =================================================================
-            UserRepository userRepository = new UserRepositoryImpl();
-            MyClosetRepository myClosetRepository = new MyClosetRepositoryImpl();
-            PackingListRepository packingListRepository = new PackingListRepositoryImpl();
+            InMemoryStore memoryStore = memoryEngine ? openMemoryStore() : null;
+            UserRepository userRepository = memoryEngine ? new InMemoryUserRepository(memoryStore) : new UserRepositoryImpl();
+            MyClosetRepository myClosetRepository = memoryEngine ? new InMemoryMyClosetRepository(memoryStore) : cachedMyClosetRepository();
+            LogStructuredPackingListRepository logStore = logStructuredEngine ? openLogStore() : null;
+            PackingListRepository packingListRepository = memoryEngine ? new InMemoryPackingListRepository(memoryStore)
+                    : logStructuredEngine ? logStore : new PackingListRepositoryImpl();
 
             // =================================================================
             // 2. 데이터베이스 초기 설정 (테이블 생성 및 데이터 초기화/시딩)
@@ -54,15 +111,48 @@ public class Application {
                 packingListRepository.deleteAllData(); // '패킹 리스트' 데이터 삭제
             }
 
-            packingListRepository.seedSharedLists(); // 공유 데이터가 없으면 새로 생성
+            if (!generateMode) {
+                packingListRepository.seedSharedLists(); // 공유 데이터가 없으면 새로 생성
+            }
+            if (AppConfig.REPOSITORY_ENGINE == RepositoryEngine.JDBC) {
+                new PackingListItemsMigration().run();    // 기존 items_json 행을 packing_list_items로 이관 (중단 시 이어서 진행)
+                new ItemStorageMigration().run();         // 다른 형식으로 저장된 아이템을 설정된 저장 형식으로 변환 (중단 시 이어서 진행)
+            }
+
+            if (evalMode) {
+                runEngineEvaluation(packingListRepository, args);
+                return;
+            }
+            if (snapshotMode) {
+                exportCorpusSnapshot(packingListRepository, args);
+                return;
+            }
+            if (codecBenchMode) {
+                runCodecBenchmark(packingListRepository, args);
+                return;
+            }
+            if (generateMode) {
+                // 마이그레이션 이후에 적재합니다. (생성기는 packing_list_items까지 직접 기록하므로 다시 옮길 필요가 없음)
+                generateSyntheticData(args, memoryStore, logStore);
+                return;
+            }
 
             // =================================================================
             // 3. 비즈니스 로직 계층 (Service, Engine) 객체 생성 및 의존성 주입
             // =================================================================
             AnalysisEngine analysisEngine = new AnalysisEngine(packingListRepository);
+            TripHistoryIndex tripHistoryIndex = new TripHistoryIndex(packingListRepository);
+            TrendingItemTracker trendingItemTracker = new TrendingItemTracker();
+            try (Stream<PackingList> sharedLists = packingListRepository.streamShared()) {
+                trendingItemTracker.warmUp(sharedLists::iterator); // 기존 공유 데이터로 일 단위 버킷 채우기 (전체 목록을 만들지 않음)
+            }
+            TemplateStore templateStore = new TemplateStore(packingListRepository);
+            templateStore.start(); // 기본 템플릿 컴파일 후 백그라운드 주기 갱신 시작
             UserService userService = new UserServiceImpl(userRepository);
             MyClosetService myClosetService = new MyClosetServiceImpl(myClosetRepository);
-            PackingService packingService = new PackingServiceImpl(packingListRepository, myClosetRepository, analysisEngine);
+            // JDBC 엔진은 여러 쓰기를 쓰기 스레드의 트랜잭션 하나로 묶고, 나머지 엔진은 쓰기마다 바로 기록합니다.
+            UnitOfWork unitOfWork = AppConfig.REPOSITORY_ENGINE == RepositoryEngine.JDBC ? new JdbcUnitOfWork() : UnitOfWork.DIRECT;
+            PackingService packingService = new PackingServiceImpl(packingListRepository, myClosetRepository, analysisEngine, tripHistoryIndex, trendingItemTracker, templateStore, unitOfWork);
 
             // =================================================================
             // 4. 프레젠테이션 계층 (UI, Controller) 객체 생성 및 의존성 주입
@@ -81,4 +171,120 @@ public class Application {
         	log.error("[CRITICAL] 알 수 없는 심각한 오류로 프로그램을 시작할 수 없습니다.", e);
         }
     }
+
+    /**
+     * MEMORY 엔진의 저장소를 스냅샷과 변경 로그로 복원하고, 주기 스냅샷과 종료 시 스냅샷을 등록합니다.
+     */
+    private static InMemoryStore openMemoryStore() throws DatabaseException {
+        InMemoryStore store = InMemoryStore.open(Paths.get(AppConfig.MEMORY_STORE_DIR));
+        store.startSnapshots(AppConfig.MEMORY_SNAPSHOT_INTERVAL_MINUTES);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                store.close();
+            } catch (IOException e) {
+                log.error("메모리 저장소 종료 중 오류", e);
+            }
+        }, "memory-store-shutdown"));
+        return store;
+    }
+
+    /**
+     * LOG_STRUCTURED 엔진의 패킹 리스트 세그먼트를 복원하고, 백그라운드 압축과 종료 시 정리를 등록합니다.
+     */
+    private static LogStructuredPackingListRepository openLogStore() throws DatabaseException {
+        LogStructuredPackingListRepository store = LogStructuredPackingListRepository.open();
+        store.startCompaction(AppConfig.LOG_COMPACTION_INTERVAL_SECONDS, AppConfig.LOG_COMPACTION_MIN_DEAD_RATIO);
+        Runtime.getRuntime().addShutdownHook(new Thread(store::close, "log-store-shutdown"));
+        return store;
+    }
+
+    /**
+     * '내 옷장'은 추천/분석 때마다 조회되므로 사용자별 읽기 캐시로 감쌉니다. (쓰기 시 해당 사용자 항목 무효화)
+     */
+    private static MyClosetRepository cachedMyClosetRepository() {
+        CachingMyClosetRepository closetCache = new CachingMyClosetRepository(new MyClosetRepositoryImpl());
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> log.info("내 옷장 캐시 통계: {}", closetCache.getStats()), "closet-cache-stats"));
+        return closetCache;
+    }
+
+    /**
+     * 공유 데이터셋을 재생하여 추천 엔진의 품질(recall/precision)과 속도(p50/p99, 할당량)를 출력합니다.
+     * UI 없이(headless) 실행되며, -Dsmartpacker.db.url 로 평가할 SQLite 파일을 지정할 수 있습니다.
+     */
+    private static void runEngineEvaluation(PackingListRepository packingListRepository, String[] args) throws DatabaseException {
+        int maxLists = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        List<PackingList> corpus = packingListRepository.findAllShared();
+        log.info("추천 엔진 평가 시작: 공유 리스트 {}개, 최대 평가 수 {}, 시드 {}", corpus.size(), maxLists, seed);
+        RecommendationEvaluator.Report report = new RecommendationEvaluator(packingListRepository, corpus, seed).evaluate(maxLists);
+        System.out.println(report);
+    }
+
+    /**
+     * 공유 리스트의 아이템으로 JSON과 바이너리 저장 형식의 크기와 인코딩/디코딩 시간을 비교하여 출력합니다.
+     */
+    private static void runCodecBenchmark(PackingListRepository packingListRepository, String[] args) throws DatabaseException {
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        List<List<Item>> corpus = new ArrayList<>();
+        packingListRepository.forEachShared(list -> corpus.add(list.getItems()));
+        log.info("아이템 저장 형식 비교 시작: 공유 리스트 {}개, 반복 {}회", corpus.size(), rounds);
+        System.out.println(new ItemCodecBenchmark().run(corpus, rounds));
+    }
+
+    /**
+     * 가짜 사용자(+옷장)와 공유 패킹 리스트를 대량으로 생성해 적재합니다.
+     * 같은 시드로 다시 실행하면 같은 데이터가 만들어집니다. (리스트 ID만 기존 데이터 뒤로 이어짐)
+     * MEMORY 엔진이면 메모리 저장소에 넣고 스냅샷으로 남기며, LOG_STRUCTURED 엔진이면 리스트만 세그먼트에 추가합니다.
+     */
+    private static void generateSyntheticData(String[] args, InMemoryStore memoryStore,
+                                              LogStructuredPackingListRepository logStore) throws DatabaseException {
+        long listCount = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int userCount = args.length > 2 ? Integer.parseInt(args[2]) : (int) Math.max(1, listCount / 10);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : AppConfig.SEED_RANDOM_SEED;
+
+        log.info("가짜 데이터 생성 시작: 공유 리스트 {}개, 사용자 {}명, 시드 {}", listCount, userCount, seed);
+        long started = System.nanoTime();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, userCount);
+        long closetItems;
+        long lists;
+        if (memoryStore != null) {
+            closetItems = memoryStore.loadSyntheticUsers(generator);
+            lists = memoryStore.loadSyntheticLists(generator, listCount);
+        } else {
+            SyntheticDataLoader loader = new SyntheticDataLoader();
+            closetItems = loader.loadUsers(generator);
+            lists = logStore != null ? logStore.loadSyntheticLists(generator, listCount) : loader.loadSharedLists(generator, listCount);
+        }
+        log.info("가짜 데이터 생성 완료: 사용자 {}명, 옷장 아이템 {}개, 공유 리스트 {}개 ({}초)",
+                userCount, closetItems, lists, String.format("%.1f", (System.nanoTime() - started) / 1e9));
+    }
+
+    /**
+     * 공유 리스트 전체를 열 단위 바이너리 스냅샷으로 내보낸 뒤,
+     * 메모리 매핑된 스냅샷을 순회하여 가장 많이 챙긴 아이템 상위 10개를 출력합니다.
+     */
+    private static void exportCorpusSnapshot(PackingListRepository packingListRepository, String[] args)
+            throws DatabaseException, IOException {
+        Path path = Paths.get(args.length > 1 ? args[1] : "shared_corpus.snap");
+
+        CorpusSnapshotWriter writer = new CorpusSnapshotWriter();
+        packingListRepository.forEachShared(writer::add);
+        int written = writer.writeTo(path);
+        log.info("공유 리스트 {}개를 스냅샷으로 내보냈습니다: {}", written, path.toAbsolutePath());
+
+        CorpusSnapshot snapshot = CorpusSnapshot.open(path);
+        int[] counts = snapshot.countListsPerItem(-1);
+        Integer[] order = new Integer[counts.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+
+        System.out.println("[ 가장 많이 챙긴 아이템 Top 10 ]");
+        for (int i = 0; i < Math.min(10, order.length); i++) {
+            System.out.printf("  %2d. %s (%s) - %d개 리스트%n", i + 1,
+                    snapshot.itemName(order[i]), snapshot.itemCategory(order[i]), counts[order[i]]);
+        }
+    }
 }
\ No newline at end of file
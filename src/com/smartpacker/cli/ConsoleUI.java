@@ -8,6 +8,9 @@ import java.util.Set;
 import com.smartpacker.domain.item.EtcItem;
 import com.smartpacker.domain.item.Item;
 import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+import com.smartpacker.domain.packing.PackingService;
+import com.smartpacker.domain.user.ClosetCategoryStat;
 import com.smartpacker.config.AppConfig;
 
 /**
@@ -16,6 +19,9 @@ import com.smartpacker.config.AppConfig;
  */
 public class ConsoleUI {
 
+    // 페이지 이동 입력값 (리스트 ID는 양수, 0은 '돌아가기'이므로 음수를 사용)
+    public static final int NEXT_PAGE = -1;
+    public static final int PREV_PAGE = -2;
 
     private final Scanner scanner;
 
@@ -54,6 +60,44 @@ public class ConsoleUI {
         }
     }
     
+    /**
+     * 페이지 목록 화면에서 사용자 입력을 받습니다. 'n'은 다음 페이지, 'p'는 이전 페이지, 0 이상의 숫자는 그대로 반환합니다.
+     * 이동할 수 없는 방향을 입력하면 다시 입력받습니다.
+     * @param prompt 입력 프롬프트 메시지
+     * @param hasPrev 이전 페이지가 있는지 여부
+     * @param hasNext 다음 페이지가 있는지 여부
+     * @return 입력한 숫자, 또는 {@link #NEXT_PAGE} / {@link #PREV_PAGE}
+     */
+    public int getPageNavigationInput(String prompt, boolean hasPrev, boolean hasNext) {
+        while (true) {
+            String input = getInputString(prompt).trim().toLowerCase();
+            if ("n".equals(input)) {
+                if (hasNext) return NEXT_PAGE;
+                printErrorMessage("마지막 페이지입니다.");
+            } else if ("p".equals(input)) {
+                if (hasPrev) return PREV_PAGE;
+                printErrorMessage("첫 페이지입니다.");
+            } else {
+                try {
+                    int value = Integer.parseInt(input);
+                    // 음수는 NEXT_PAGE/PREV_PAGE와 겹치므로 이동 신호는 n/p로만 받습니다.
+                    if (value >= 0) return value;
+                    printErrorMessage("0 이상의 숫자 또는 n/p만 입력해주세요.");
+                } catch (NumberFormatException e) {
+                    printErrorMessage("숫자 또는 n/p만 입력해주세요.");
+                }
+            }
+        }
+    }
+
+    // 페이지 번호와 이동 가능한 방향을 안내합니다.
+    private void printPageNavigationGuide(int pageNumber, boolean hasPrev, boolean hasNext) {
+        StringBuilder guide = new StringBuilder("  [").append(pageNumber).append(" 페이지]");
+        if (hasPrev) guide.append("  p: 이전 페이지");
+        if (hasNext) guide.append("  n: 다음 페이지");
+        System.out.println(guide);
+    }
+
     /**
      * 사용자로부터 Y/N 입력을 받아 boolean 값으로 반환합니다.
      * @param prompt Y/N 질문 메시지
@@ -235,13 +279,31 @@ public class ConsoleUI {
         if (recommendations.isEmpty()) {
             System.out.println("  분석할 데이터가 부족하거나, 이미 완벽한 리스트입니다!");
         } else {
+            String currentSection = "";
             for (int i = 0; i < recommendations.size(); i++) {
+                // '요즘 뜨는 아이템'과 '지난 여행' 추천은 별도 섹션으로 구분하여 보여줍니다. (번호는 이어서 매김)
+                String section = sectionTitleOf(recommendations.get(i));
+                if (!section.equals(currentSection)) {
+                    System.out.println("  [ " + section + " ]");
+                    currentSection = section;
+                }
                 System.out.printf("  %d. %s\n", i + 1, recommendations.get(i));
             }
         }
         System.out.println("--------------------------------");
     }
 
+    // 추천 문구의 머리말에 따라 섹션 제목을 정합니다.
+    private String sectionTitleOf(String recommendation) {
+        if (recommendation.startsWith(PackingService.TRENDING_RECOMMENDATION_PREFIX)) {
+            return "요즘 뜨는 아이템";
+        }
+        if (recommendation.startsWith(PackingService.HISTORY_RECOMMENDATION_PREFIX)) {
+            return "지난 비슷한 여행에서 챙긴 아이템";
+        }
+        return "다른 여행자들의 데이터 기반 추천";
+    }
+
     /**
      * 추천 목록을 보여준 후, 사용자로부터 추가할 아이템 번호를 입력받습니다.
      * @return 사용자가 입력한 문자열 (e.g., "1,3", "2", "" 등)
@@ -252,13 +314,17 @@ public class ConsoleUI {
     }
     
     /**
-     * 사용자의 모든 패킹 리스트를 목록 형태로 출력하고,
-     * 관리할 리스트의 ID를 입력받아 반환합니다.
+     * 사용자의 패킹 리스트 한 페이지를 목록 형태로 출력하고,
+     * 관리할 리스트의 ID(또는 페이지 이동)를 입력받아 반환합니다.
+     * @param page 출력할 페이지
+     * @param pageNumber 1부터 시작하는 페이지 번호
+     * @return 선택한 리스트 ID, 0(돌아가기), {@link #NEXT_PAGE} 또는 {@link #PREV_PAGE}
      */
-    public int displayMyPackingListsAndGetChoice(List<PackingList> packingLists) {
+    public int displayMyPackingListsAndGetChoice(PackingListPage page, int pageNumber) {
         System.out.println("\n--- 내 패킹 리스트 조회 ---");
         
-        if (packingLists.isEmpty()) {
+        List<PackingList> packingLists = page.getLists();
+        if (packingLists.isEmpty() && pageNumber == 1) {
             System.out.println("  생성된 패킹 리스트가 없습니다. 메인 메뉴에서 새로 만들어보세요!");
             System.out.println("------------------------------------");
             getInputString("> 확인했으면 Enter를 누르세요...");
@@ -269,14 +335,40 @@ public class ConsoleUI {
             System.out.println("------------------------------------");
             System.out.printf("  ID: %d | 이름: %s\n", list.getId(), list.getListName());
             System.out.printf("  태그: #%s | 공유: %s\n", list.getTags().replace(",", " #"), list.isShared() ? "Y" : "N");
-            System.out.printf("  아이템: %d개\n", list.getItems().size());
+            System.out.printf("  아이템: %d개\n", list.getItemCount());
         }
         System.out.println("------------------------------------");
+        boolean hasPrev = pageNumber > 1;
+        printPageNavigationGuide(pageNumber, hasPrev, page.hasNext());
         
         System.out.println("작업할 리스트의 ID를 선택하세요.");
         System.out.println("(상세 보기, 수정, 분석, 내보내기 작업을 할 수 있습니다.)");
         System.out.println("메인 메뉴로 돌아가려면 0을 입력하세요.");
-        return getInputInt("> ID 선택: ");
+        return getPageNavigationInput("> ID 선택: ", hasPrev, page.hasNext());
+    }
+
+    /**
+     * [DEV] 공유 리스트 한 페이지를 출력하고 페이지 이동 입력을 받습니다.
+     * @param page 출력할 페이지
+     * @param pageNumber 1부터 시작하는 페이지 번호
+     * @return 0(돌아가기), {@link #NEXT_PAGE} 또는 {@link #PREV_PAGE}
+     */
+    public int displaySharedListPageAndGetChoice(PackingListPage page, int pageNumber) {
+        for (PackingList list : page.getLists()) {
+            String tags = (list.getTags() == null || list.getTags().isEmpty()) ? "없음" : list.getTags();
+            System.out.printf("[%d] \"%s\" (작성자: %s, 태그: %s, 아이템 %d개)\n",
+                    list.getId(), list.getListName(), list.getUserId(), tags, list.getItemCount());
+        }
+        System.out.println("----------------------------------------------");
+        boolean hasPrev = pageNumber > 1;
+        printPageNavigationGuide(pageNumber, hasPrev, page.hasNext());
+        while (true) {
+            int choice = getPageNavigationInput("> 이동(n/p) 또는 돌아가기(0): ", hasPrev, page.hasNext());
+            if (choice == 0 || choice == NEXT_PAGE || choice == PREV_PAGE) {
+                return choice;
+            }
+            printErrorMessage("n, p 또는 0만 입력해주세요.");
+        }
     }
     
     /**
@@ -390,9 +482,9 @@ public class ConsoleUI {
     
     /**
      * '내 옷장 통계'를 텍스트 기반 막대 그래프로 시각화하여 출력합니다.
-     * @param stats 카테고리별 아이템 개수가 담긴 Map
+     * @param stats 카테고리별 아이템 종류 수와 수량 합계 (종류가 많은 카테고리부터)
      */
-    public void displayClosetStatistics(Map<String, Long> stats) {
+    public void displayClosetStatistics(List<ClosetCategoryStat> stats) {
         System.out.println("\n--- 내 옷장 통계 ---");
         if (stats.isEmpty()) {
             System.out.println("  통계를 표시할 아이템이 내 옷장에 없습니다.");
@@ -403,29 +495,25 @@ public class ConsoleUI {
 
         // 가장 긴 카테고리 이름의 길이를 찾아서 포맷을 맞춥니다.
         int maxCategoryNameLength = 0;
-        for (String category : stats.keySet()) {
-            if (category.length() > maxCategoryNameLength) {
-                maxCategoryNameLength = category.length();
+        long totalItems = 0;
+        long totalQuantity = 0;
+        for (ClosetCategoryStat stat : stats) {
+            if (stat.category.length() > maxCategoryNameLength) {
+                maxCategoryNameLength = stat.category.length();
             }
+            totalItems += stat.itemCount;
+            totalQuantity += stat.quantitySum;
         }
         
-        // 가장 많은 아이템 개수를 찾아서 막대그래프의 최대 길이를 정합니다.
-        long maxCount = 0;
-        for (long count : stats.values()) {
-            if (count > maxCount) {
-                maxCount = count;
-            }
-        }
+        // 가장 많은 아이템 종류 수를 찾아서 막대그래프의 최대 길이를 정합니다. (목록이 종류 수 내림차순)
+        long maxCount = stats.get(0).itemCount;
         final int MAX_BAR_LENGTH = 30; // 막대그래프 최대 길이 (칸)
 
         System.out.println("카테고리별 아이템 분포:");
-        for (Map.Entry<String, Long> entry : stats.entrySet()) {
-            String category = entry.getKey();
-            long count = entry.getValue();
-            
+        for (ClosetCategoryStat stat : stats) {
             // 개수에 비례하여 막대 길이 계산
-            int barLength = (int) ((double) count / maxCount * MAX_BAR_LENGTH);
-            if (barLength == 0 && count > 0) {
+            int barLength = (int) ((double) stat.itemCount / maxCount * MAX_BAR_LENGTH);
+            if (barLength == 0 && stat.itemCount > 0) {
                 barLength = 1; // 최소 1개의 아이템이 있으면 막대 길이 1 보장
             }
             
@@ -435,10 +523,11 @@ public class ConsoleUI {
             }
 
             // 포맷팅하여 출력
-            String format = "  %-" + (maxCategoryNameLength + 2) + "s | %s (%d개)";
-            System.out.printf(format, category, bar.toString(), count);
+            String format = "  %-" + (maxCategoryNameLength + 2) + "s | %s (%d종, 총 %d개)";
+            System.out.printf(format, stat.category, bar.toString(), stat.itemCount, stat.quantitySum);
             System.out.println();
         }
+        System.out.printf("  합계: %d종, 총 %d개\n", totalItems, totalQuantity);
         System.out.println("--------------------");
         getInputString("> 확인했으면 Enter를 누르세요...");
     }
@@ -448,8 +537,12 @@ public class ConsoleUI {
      * @param listName 리스트 이름
      * @param closetUtilization '내 옷장' 활용도 (0.0 ~ 1.0 사이)
      * @param missingFromCloset '내 옷장'에 없는 아이템 목록
+     * @param packedQuantityByCategory 이번 리스트에 챙긴 카테고리별 수량
+     * @param closetStatsByCategory '내 옷장'의 카테고리별 통계
      */
-    public void displayPackingAnalysisReport(String listName, double closetUtilization, Set<String> missingFromCloset) {
+    public void displayPackingAnalysisReport(String listName, double closetUtilization, Set<String> missingFromCloset,
+                                             Map<String, Integer> packedQuantityByCategory,
+                                             Map<String, ClosetCategoryStat> closetStatsByCategory) {
         System.out.println("\n--- 📝 [" + listName + "] 패킹 분석 리포트 ---");
         System.out.printf("  '내 옷장' 아이템 활용도: %.1f%%\n", closetUtilization * 100);
         System.out.println("  - 이번 여행에 챙긴 짐의 " + String.format("%.0f%%", closetUtilization * 100) + "는 평소에 관리하던 '내 옷장' 아이템이었습니다.");
@@ -464,6 +557,16 @@ public class ConsoleUI {
                 System.out.println("    - " + itemName);
             }
         }
+
+        if (!packedQuantityByCategory.isEmpty()) {
+            System.out.println();
+            System.out.println("  [ 카테고리별로 챙긴 수량 / '내 옷장' 보유 현황 ]");
+            for (Map.Entry<String, Integer> packed : packedQuantityByCategory.entrySet()) {
+                ClosetCategoryStat owned = closetStatsByCategory.get(packed.getKey());
+                String ownedText = owned == null ? "보유 없음" : String.format("%d종, 총 %d개", owned.itemCount, owned.quantitySum);
+                System.out.printf("    - %s: %d개 / %s\n", packed.getKey(), packed.getValue(), ownedText);
+            }
+        }
         System.out.println("-------------------------------------------------");
     }
     
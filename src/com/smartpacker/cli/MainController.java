@@ -3,6 +3,7 @@ package com.smartpacker.cli;
 import com.smartpacker.domain.item.Item;
 import com.smartpacker.domain.item.ItemFactory;
 import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
 import com.smartpacker.domain.packing.PackingService;
 import com.smartpacker.domain.packing.PackingService.PackingAnalysisResult;
 import com.smartpacker.domain.user.MyClosetService;
@@ -11,6 +12,7 @@ import com.smartpacker.domain.user.UserService;
 import com.smartpacker.exception.DatabaseException;
 import com.smartpacker.exception.DuplicateUserException;
 import com.smartpacker.exception.UserNotFoundException;
+import com.smartpacker.repository.MyClosetRepository.ConflictPolicy;
 import com.smartpacker.util.CategorySuggester;
 import com.smartpacker.util.DurationParser;
 import com.smartpacker.util.FileIO;
@@ -19,6 +21,7 @@ import com.smartpacker.exception.InvalidPasswordException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -137,30 +140,30 @@ public class MainController {
         consoleUI.printInfoMessage("\n--- [DEV] 모든 공유 리스트 (AI 학습 데이터) ---");
         
         try {
-            // 2단계에서 만든 서비스 메소드 호출
-            List<PackingList> sharedLists = packingService.getAllSharedLists();
-            
-            if (sharedLists.isEmpty()) {
-                consoleUI.printInfoMessage("현재 공유된 패킹 리스트가 없습니다.");
-                consoleUI.printInfoMessage("----------------------------------------------");
-                return;
-            }
-
-            // 님의 PackingList.java에 있는 getter들을 기반으로 출력
-            for (PackingList list : sharedLists) {
-                String tags = (list.getTags() == null || list.getTags().isEmpty()) ? "없음" : list.getTags();
-                
-                consoleUI.printInfoMessage(String.format(
-                    "[%d] \"%s\" (작성자: %s, 태그: %s, 아이템 %d개)",
-                    list.getId(),
-                    list.getListName(),
-                    list.getUserId(),
-                    tags,
-                    list.getItems().size() // list.getItems()는 List<Item>입니다.
-                ));
+            // 페이지 단위로 조회합니다. 공유 리스트가 아무리 많아도 한 번에 한 페이지만 읽습니다.
+            List<PackingListPage.Cursor> cursors = new ArrayList<>();
+            cursors.add(null); // 첫 페이지
+            while (true) {
+                int pageNumber = cursors.size();
+                PackingListPage page = packingService.getSharedListPage(cursors.get(pageNumber - 1));
+                if (page.getLists().isEmpty() && pageNumber == 1) {
+                    consoleUI.printInfoMessage("현재 공유된 패킹 리스트가 없습니다.");
+                    consoleUI.printInfoMessage("----------------------------------------------");
+                    break;
+                }
+                int choice = consoleUI.displaySharedListPageAndGetChoice(page, pageNumber);
+                if (choice == ConsoleUI.NEXT_PAGE) {
+                    if (page.hasNext()) {
+                        cursors.add(page.getNextCursor());
+                    }
+                } else if (choice == ConsoleUI.PREV_PAGE) {
+                    if (cursors.size() > 1) { // 첫 페이지의 커서(null)는 남겨 둡니다.
+                        cursors.remove(cursors.size() - 1);
+                    }
+                } else {
+                    return;
+                }
             }
-            consoleUI.printInfoMessage("----------------------------------------------");
-            consoleUI.printInfoMessage(sharedLists.size() + "개의 공유 리스트를 조회했습니다.");
 
         } catch (DatabaseException e) {
             // 님의 기존 예외 처리 방식을 그대로 따릅니다.
@@ -186,20 +189,7 @@ public class MainController {
             int days = DurationParser.parseDays(profile[2]);
             consoleUI.printInfoMessage("예상 여행 기간: " + days + "일");
 
-            currentItems.add(ItemFactory.create("여권", "필수품", 1));
-            currentItems.add(ItemFactory.create("지갑", "필수품", 1));
-            currentItems.add(ItemFactory.create("스마트폰 충전기", "전자기기", 1));
-
-            if (tags.contains("겨울") || tags.contains("추운")) {
-                currentItems.add(ItemFactory.create("두꺼운 외투", "의류", 1));
-                currentItems.add(ItemFactory.create("히트텍", "의류", Math.max(1, (int) Math.ceil(days / 2.0))));
-            } else if (tags.contains("여름") || tags.contains("더운")) {
-                currentItems.add(ItemFactory.create("반팔 티셔츠", "의류", Math.max(1, days + 1)));
-                currentItems.add(ItemFactory.create("선크림", "화장품", 1));
-            }
-            if (tags.contains("업무") || tags.contains("출장")) {
-                currentItems.add(ItemFactory.create("노트북", "전자기기", 1));
-            }
+            currentItems.addAll(packingService.getStarterTemplate(profile));
         }
 
         List<String> lastRecommendations = new ArrayList<>();
@@ -230,12 +220,12 @@ public class MainController {
         }
 
         String listName = consoleUI.getInputString("> 저장할 리스트 이름: ");
+        // 공유 여부를 먼저 물어 저장과 공유 설정을 하나의 트랜잭션으로 처리합니다.
+        boolean share = consoleUI.getYesOrNo("> 이 리스트를 다른 사용자들의 추천 데이터로 익명 공유하시겠습니까? (y/n): ");
         try {
-            PackingList savedList = packingService.createPackingList(loggedInUser.getUserId(), listName, tags, currentItems);
+            packingService.createPackingList(loggedInUser.getUserId(), listName, tags, currentItems, share);
             consoleUI.printSuccessMessage("'" + listName + "' 리스트를 성공적으로 저장했습니다!");
-
-            if (consoleUI.getYesOrNo("> 이 리스트를 다른 사용자들의 추천 데이터로 익명 공유하시겠습니까? (y/n): ")) {
-                packingService.sharePackingList(savedList.getId(), true);
+            if (share) {
                 consoleUI.printInfoMessage("소중한 데이터 공유에 감사드립니다!");
             }
         } catch (DatabaseException e) {
@@ -245,11 +235,31 @@ public class MainController {
 
     private void showMyPackingLists() {
         try {
-            List<PackingList> myLists = packingService.getMyPackingLists(loggedInUser.getUserId());
-            int choiceId = consoleUI.displayMyPackingListsAndGetChoice(myLists);
+            // 이전 페이지로 돌아갈 수 있도록 각 페이지의 시작 커서를 쌓아둡니다. (첫 페이지는 null)
+            List<PackingListPage.Cursor> cursors = new ArrayList<>();
+            cursors.add(null);
+            PackingListPage page;
+            int choiceId;
+            while (true) {
+                int pageNumber = cursors.size();
+                page = packingService.getMyPackingListPage(loggedInUser.getUserId(), cursors.get(pageNumber - 1));
+                choiceId = consoleUI.displayMyPackingListsAndGetChoice(page, pageNumber);
+                if (choiceId == ConsoleUI.NEXT_PAGE) {
+                    if (page.hasNext()) {
+                        cursors.add(page.getNextCursor());
+                    }
+                } else if (choiceId == ConsoleUI.PREV_PAGE) {
+                    if (cursors.size() > 1) { // 첫 페이지의 커서(null)는 남겨 둡니다.
+                        cursors.remove(cursors.size() - 1);
+                    }
+                } else {
+                    break;
+                }
+            }
             if (choiceId == 0) return;
 
-            PackingList selectedList = myLists.stream().filter(list -> list.getId() == choiceId).findFirst().orElse(null);
+            final int selectedId = choiceId;
+            PackingList selectedList = page.getLists().stream().filter(list -> list.getId() == selectedId).findFirst().orElse(null);
             if (selectedList == null) {
                 consoleUI.printErrorMessage("잘못된 ID입니다.");
                 return;
@@ -274,12 +284,16 @@ public class MainController {
                         break;
                     case 3:
                         PackingAnalysisResult result = packingService.analyzePackingList(selectedList, loggedInUser.getUserId());
-                        consoleUI.displayPackingAnalysisReport(selectedList.getListName(), result.closetUtilization, result.missingFromCloset);
+                        consoleUI.displayPackingAnalysisReport(selectedList.getListName(), result.closetUtilization, result.missingFromCloset,
+                                result.packedQuantityByCategory, result.closetStatsByCategory);
                         if (!result.missingFromCloset.isEmpty() && consoleUI.getYesOrNo("> 위 아이템들을 '내 옷장'에 추가하시겠습니까? (y/n): ")) {
+                            List<Item> missingItems = new ArrayList<>();
                             for (String itemName : result.missingFromCloset) {
-                                myClosetService.addItemToMyCloset(loggedInUser.getUserId(), ItemFactory.create(itemName, "기타", 1));
+                                missingItems.add(ItemFactory.create(itemName, "기타", 1));
                             }
-                            consoleUI.printSuccessMessage(result.missingFromCloset.size() + "개의 아이템을 '내 옷장'에 추가했습니다.");
+                            // 한 번의 트랜잭션으로 추가하며, 그 사이 옷장에 생긴 아이템은 덮어쓰지 않습니다.
+                            int added = myClosetService.addItemsToMyCloset(loggedInUser.getUserId(), missingItems, ConflictPolicy.KEEP);
+                            consoleUI.printSuccessMessage(added + "개의 아이템을 '내 옷장'에 추가했습니다.");
                         }
                         consoleUI.getInputString("> 확인했으면 Enter를 누르세요...");
                         break;
@@ -363,7 +377,14 @@ public class MainController {
             switch (editChoice) {
                 case 1:
                     String name = consoleUI.getInputString("  > 추가할 아이템 이름: ");
-                    List<Item> similarItems = myClosetService.findSimilarItemsInMyCloset(loggedInUser.getUserId(), name);
+                    List<Item> similarItems;
+                    try {
+                        similarItems = myClosetService.findSimilarItemsInMyCloset(loggedInUser.getUserId(), name);
+                    } catch (DatabaseException e) {
+                        // 유사 아이템 제안은 부가 기능이므로, 실패해도 직접 입력으로 계속 진행합니다.
+                        log.error("유사 아이템 검색 중 DB 오류", e);
+                        similarItems = Collections.emptyList();
+                    }
                     Item itemToAdd = null;
                     if (!similarItems.isEmpty()) {
                         Item selected = consoleUI.displaySimilarItemSelection(similarItems, name);
@@ -14,13 +14,107 @@ public final class AppConfig {
     private AppConfig() {}
 
     // --- 데이터베이스 설정 ---
-    public static final String DB_URL = "jdbc:sqlite:smart_packer.db";
+    // -Dsmartpacker.db.url=jdbc:sqlite:다른파일.db 로 실행 시 다른 DB 파일을 사용할 수 있습니다. (벤치마크/평가용)
+    public static final String DB_URL = System.getProperty("smartpacker.db.url", "jdbc:sqlite:smart_packer.db");
+
+    // 저장소 프로필: LEGACY(기본 롤백 저널) / PERFORMANCE(WAL, synchronous=NORMAL) / DURABLE(WAL, synchronous=FULL)
+    // -Dsmartpacker.storage.profile=LEGACY 처럼 실행 시 바꿀 수 있습니다.
+    public static final StorageProfile STORAGE_PROFILE =
+            StorageProfile.valueOf(System.getProperty("smartpacker.storage.profile", "PERFORMANCE"));
+
+    // Repository 구현: JDBC(SQLite) / MEMORY(메모리 + 스냅샷/변경 로그). -Dsmartpacker.repository.engine=MEMORY 처럼 실행 시 바꿀 수 있습니다.
+    public static final RepositoryEngine REPOSITORY_ENGINE =
+            RepositoryEngine.valueOf(System.getProperty("smartpacker.repository.engine", "JDBC"));
+    // MEMORY 엔진의 스냅샷과 변경 로그를 보관할 디렉터리
+    public static final String MEMORY_STORE_DIR = System.getProperty("smartpacker.memory.dir", "smart_packer_memory");
+    // true면 변경 로그 레코드마다 fsync 합니다. (기본은 OS 버퍼까지만 기록: 프로세스가 죽어도 남지만 전원 장애 시 마지막 변경 유실 가능)
+    public static final boolean MEMORY_LOG_FSYNC = Boolean.getBoolean("smartpacker.memory.fsync");
+    // LOG_STRUCTURED 엔진의 패킹 리스트 세그먼트 파일을 보관할 디렉터리
+    public static final String LOG_STORE_DIR = System.getProperty("smartpacker.logstore.dir", "smart_packer_lists");
+    // true면 레코드를 추가할 때마다 세그먼트의 해당 구간을 디스크에 기록(force)합니다. (기본은 OS 페이지 캐시까지)
+    public static final boolean LOG_STORE_FSYNC = Boolean.getBoolean("smartpacker.logstore.fsync");
+
+    // 아이템 저장 형식: JSON(기존) / BINARY(바이너리 인코딩). -Dsmartpacker.item.format=JSON 처럼 실행 시 바꿀 수 있습니다.
+    public static final ItemStorageFormat ITEM_STORAGE_FORMAT =
+            ItemStorageFormat.valueOf(System.getProperty("smartpacker.item.format", "BINARY"));
+
+    // 인코딩한 아이템 값이 이 크기(바이트) 이상이면 Deflate로 압축해 저장합니다. 0이면 압축하지 않습니다.
+    // -Dsmartpacker.item.compress.threshold=0 처럼 실행 시 바꿀 수 있습니다.
+    public static final int ITEM_COMPRESSION_THRESHOLD_BYTES = Integer.getInteger("smartpacker.item.compress.threshold", 512);
+
+    // --- 커넥션 풀 설정 ---
+    public static final int DB_POOL_MAX_SIZE = 4;                      // 동시에 대여할 수 있는 최대 커넥션 수
+    public static final long DB_POOL_BORROW_TIMEOUT_MS = 5_000;        // 커넥션 대여 최대 대기 시간
+    public static final long DB_POOL_IDLE_TIMEOUT_MS = 60_000;         // 이 시간 이상 놀고 있는 커넥션은 닫음
+    // 이 시간 이상 반환되지 않으면 대여 위치와 함께 누수로 경고합니다. 0이면 끕니다.
+    // 켜면 대여마다 스택 트레이스를 기록하므로 진단할 때만 -Dsmartpacker.pool.leak.threshold=30000 처럼 켭니다.
+    public static final long DB_POOL_LEAK_THRESHOLD_MS = Long.getLong("smartpacker.pool.leak.threshold", 0);
+    public static final int DB_POOL_VALIDATION_TIMEOUT_SEC = 1;        // 대여 시 유효성 검사 제한 시간(초)
+    public static final long DB_POOL_MAINTENANCE_INTERVAL_MS = 10_000; // 유휴 정리/누수 감지 주기
+    public static final int DB_STATEMENT_CACHE_SIZE = 32;              // 커넥션당 캐시할 PreparedStatement 최대 수
+
+    // --- 쓰기 스레드 설정 ---
+    public static final int DB_WRITE_BATCH_MAX = 64;                   // 쓰기 스레드가 한 트랜잭션(커밋 1회)으로 묶는 최대 쓰기 수
+    public static final long DB_WRITE_RETRY_BASE_MS = 10;              // SQLITE_BUSY/LOCKED 재시도 첫 대기 시간 (시도마다 2배, 지터 적용)
+    public static final long DB_WRITE_RETRY_MAX_DELAY_MS = 1_000;      // 재시도 한 번의 최대 대기 시간
+    public static final long DB_WRITE_RETRY_BUDGET_MS = 10_000;        // 한 배치의 재시도에 쓸 총 시간. 넘으면 저장 실패로 알림
+
+    // --- 데이터 마이그레이션 설정 ---
+    public static final int ITEMS_MIGRATION_BATCH_SIZE = 500;          // items_json -> packing_list_items 마이그레이션 배치 크기
+    public static final int ITEM_FORMAT_MIGRATION_BATCH_SIZE = 500;    // 아이템 저장 형식 변환 배치 크기
+
+    // --- 조회 설정 ---
+    public static final int DB_STREAM_FETCH_SIZE = 256;                // 스트리밍 조회 시 드라이버에 주는 fetch size 힌트
+    public static final int LIST_PAGE_SIZE = 10;                       // 리스트 목록 화면에서 한 페이지에 보여줄 개수
+
+    // --- '내 옷장' 캐시 설정 ---
+    public static final int CLOSET_CACHE_MAX_USERS = 1_000;            // '내 옷장' 캐시에 보관할 최대 사용자 수 (LRU)
+    public static final long CLOSET_CACHE_TTL_MS = 5 * 60_000;         // '내 옷장' 캐시 항목의 유효 시간
+
+    // --- 지난 여행 색인 설정 ---
+    public static final int TRIP_HISTORY_MAX_USERS = 1_000;            // 지난 여행 색인을 메모리에 보관할 최대 사용자 수 (LRU)
+    public static final long TRIP_HISTORY_TTL_MS = 30 * 60_000;        // 적재 후 이 시간이 지난 사용자 색인은 DB에서 다시 적재
+
+    // --- 가짜 데이터 생성/시딩 설정 ---
+    public static final int GENERATOR_BATCH_SIZE = 10_000;             // 가짜 데이터 적재 시 한 트랜잭션에 넣을 행(사용자/리스트) 수
+    public static final int GENERATOR_CATALOG_SIZE = 2_000;            // 가짜 데이터의 아이템 카탈로그 크기 (Zipf 분포의 긴 꼬리 포함)
+    public static final long SEED_RANDOM_SEED = 42;                    // 최초 실행 시 공유 리스트 시딩에 쓰는 시드
+    public static final int SEED_USER_COUNT = 50;                      // 시딩 리스트의 작성자 수 (user1 ~ user50)
+    public static final int SEED_SHARED_LIST_COUNT = 50;               // 최초 실행 시 시딩할 공유 리스트 수
+
+    // --- MEMORY 엔진 설정 ---
+    public static final long MEMORY_SNAPSHOT_INTERVAL_MINUTES = 5;     // MEMORY 엔진의 스냅샷 주기(분). 스냅샷 후 그 이전 변경 로그는 지움
+
+    // --- LOG_STRUCTURED 엔진 설정 ---
+    public static final int LOG_SEGMENT_BYTES = 64 * 1024 * 1024;      // LOG_STRUCTURED 엔진의 세그먼트 파일 크기 (고정, 메모리 매핑)
+    public static final long LOG_COMPACTION_INTERVAL_SECONDS = 60;     // 백그라운드 압축(compaction) 검사 주기(초)
+    public static final double LOG_COMPACTION_MIN_DEAD_RATIO = 0.5;    // 봉인된 세그먼트에서 죽은 버전이 이 비율 이상이면 압축
 
     // --- AI 추천 엔진 설정 ---
     public static final int MAX_AI_RECOMMENDATIONS = 5; // AI 추천 시 보여줄 최대 개수
     public static final List<String> ESSENTIAL_ITEMS = Arrays.asList(
         "여권", "지갑", "항공권", "스마트폰", "상비약"
     );
+    public static final int MAX_HISTORY_RECOMMENDATIONS = 3; // '지난 비슷한 여행' 추천 최대 개수
+    public static final int SIMILAR_ITEM_SEARCH_LIMIT = 10; // 아이템 추가 시 '내 옷장'에서 찾아 보여줄 유사 아이템 최대 개수
+    public static final int CLOSET_FTS_MIN_ITEMS = 10_000;  // 옷장 아이템이 이 수 이상이면 유사 아이템 검색에 FTS 색인 사용 (작으면 LIKE가 더 빠름)
+
+    // --- '요즘 뜨는 아이템' 추천 설정 ---
+    public static final int TREND_RING_DAYS = 60;            // 일 단위 버킷 링의 길이 (장기 기준선 기간)
+    public static final int TREND_WINDOW_DAYS = 7;           // '최근'으로 볼 기간 (N일)
+    public static final int TREND_MIN_RECENT_COUNT = 3;      // 최근 기간에 최소 이만큼 공유되어야 후보가 됨
+    public static final double TREND_MIN_LIFT = 1.5;         // 최근 공유율이 기준선의 몇 배 이상이어야 하는지
+    public static final int MAX_TREND_RECOMMENDATIONS = 3;   // '요즘 뜨는 아이템' 추천 최대 개수
+
+    // --- 데이터 기반 기본 템플릿 설정 ---
+    public static final int TEMPLATE_MIN_LISTS = 5;          // 이 수 이상의 공유 리스트가 있는 프로필만 템플릿으로 만듦
+    public static final double TEMPLATE_MIN_SUPPORT = 0.5;   // 프로필 리스트 중 이 비율 이상이 챙긴 아이템만 포함
+    public static final long TEMPLATE_REFRESH_MINUTES = 10;  // 백그라운드 템플릿 갱신 주기(분)
+    public static final List<String> DURATION_SCALED_CATEGORIES = Arrays.asList("의류", "식품"); // 여행 일수에 비례해 수량을 늘리는 카테고리
+
+    // --- 추천 엔진 오프라인 평가 설정 ---
+    public static final double EVAL_HIDDEN_ITEM_RATIO = 0.3; // 평가 시 리스트에서 숨길 아이템 비율
+    public static final int EVAL_WARMUP_ROUNDS = 50;          // 지연 시간 측정 전 JIT 워밍업 호출 수
 
     // --- UI 및 공통 설정 ---
     // 카테고리 목록을 중앙에서 관리
@@ -0,0 +1,16 @@
+package com.smartpacker.config;
+
+/**
+ * 패킹 리스트 아이템을 DB에 저장하는 형식입니다. {@link AppConfig#ITEM_STORAGE_FORMAT}에서 선택합니다.
+ *
+ * 조회 시에는 행마다 실제로 저장된 형식을 보고 디코딩하므로, 형식을 바꿔도 기존 데이터는 그대로 읽힙니다.
+ * 시작 시 실행되는 ItemStorageMigration이 기존 행을 선택한 형식으로 조금씩 변환합니다.
+ */
+public enum ItemStorageFormat {
+
+    /** items_json 컬럼에 Gson JSON 문자열로 저장합니다. (기존 형식) */
+    JSON,
+
+    /** items_blob 컬럼에 버전이 붙은 바이너리 형식(카테고리 번호 + 사전 ID/이름 + varint 수량)으로 저장합니다. */
+    BINARY
+}
@@ -0,0 +1,22 @@
+package com.smartpacker.config;
+
+/**
+ * 사용자, '내 옷장', 패킹 리스트 Repository의 구현체입니다. {@link AppConfig#REPOSITORY_ENGINE}에서 선택합니다.
+ */
+public enum RepositoryEngine {
+
+    /** SQLite DB에 JDBC로 읽고 씁니다. (기본값) */
+    JDBC,
+
+    /**
+     * 모든 데이터를 메모리(동시성 Map + 보조 인덱스)에 두고, 주기적인 바이너리 스냅샷과 추가 전용 변경 로그로 보존합니다.
+     * DB 왕복이 없으므로 읽기 위주 부하와 벤치마크에 사용합니다. SQLite 파일과는 데이터를 공유하지 않습니다.
+     */
+    MEMORY,
+
+    /**
+     * 사용자와 '내 옷장'은 JDBC, 패킹 리스트는 메모리 매핑된 고정 크기 세그먼트 파일에 추가만 하는 로그 구조 저장소를 씁니다.
+     * 수정도 새 버전을 뒤에 붙이므로 쓰기가 순차 추가가 되고, 죽은 버전은 백그라운드 압축이 회수합니다.
+     */
+    LOG_STRUCTURED
+}
@@ -0,0 +1,51 @@
+package com.smartpacker.config;
+
+/**
+ * SQLite 저장소 설정 프로필입니다. {@link AppConfig#STORAGE_PROFILE}에서 선택합니다.
+ *
+ * journal_mode는 DB 파일에 저장되므로 테이블 초기화 시 한 번 적용하고,
+ * 나머지 PRAGMA는 커넥션마다 적용되므로 커넥션을 새로 열 때마다 적용합니다.
+ */
+public enum StorageProfile {
+
+    /** SQLite 기본값 (롤백 저널). 읽기와 쓰기가 서로를 막고, 쓰기마다 저널을 fsync 합니다. */
+    LEGACY("DELETE", "FULL", 0, -2_000, "DEFAULT", 0),
+
+    /** WAL + synchronous=NORMAL. 읽기는 쓰기 중에도 계속되고, 커밋 시 fsync를 생략합니다. (전원 장애 시 마지막 커밋 유실 가능) */
+    PERFORMANCE("WAL", "NORMAL", 256L * 1024 * 1024, -16_000, "MEMORY", 5_000),
+
+    /** WAL을 사용하되 커밋마다 fsync 하는 안전 우선 프로필입니다. */
+    DURABLE("WAL", "FULL", 64L * 1024 * 1024, -8_000, "MEMORY", 5_000);
+
+    public final String journalMode;   // PRAGMA journal_mode
+    public final String synchronous;   // PRAGMA synchronous
+    public final long mmapSizeBytes;   // PRAGMA mmap_size (0이면 메모리 매핑 사용 안 함)
+    public final int cacheSize;        // PRAGMA cache_size (음수는 KiB 단위)
+    public final String tempStore;     // PRAGMA temp_store
+    public final int busyTimeoutMillis; // PRAGMA busy_timeout (잠금 충돌 시 대기 시간)
+
+    StorageProfile(String journalMode, String synchronous, long mmapSizeBytes, int cacheSize,
+                   String tempStore, int busyTimeoutMillis) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.cacheSize = cacheSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    /**
+     * 커넥션마다 실행해야 하는 PRAGMA 문 목록입니다.
+     * foreign_keys는 켜지 않으므로, 테이블에 선언된 FOREIGN KEY ... ON DELETE CASCADE는 검사되지도 실행되지도 않습니다.
+     * (기본 데이터는 users 행 없이 공유 리스트를 적재하고, 스키마 변경 단계는 자식이 있는 테이블을 DROP 후 다시 만듭니다)
+     */
+    public String[] connectionPragmas() {
+        return new String[]{
+                "PRAGMA synchronous = " + synchronous,
+                "PRAGMA mmap_size = " + mmapSizeBytes,
+                "PRAGMA cache_size = " + cacheSize,
+                "PRAGMA temp_store = " + tempStore,
+                "PRAGMA busy_timeout = " + busyTimeoutMillis
+        };
+    }
+}
@@ -6,8 +6,6 @@ import com.smartpacker.repository.PackingListRepository;
 import com.smartpacker.config.AppConfig;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -42,11 +40,13 @@ public class AnalysisEngine {
    
     		public List<String> recommendItems(String[] travelProfileTags, List<Item> currentUserItems, Map<String, Item> myClosetItems) throws DatabaseException { // throws 추가
 
-        // --- DB에서 유사 여행자 데이터 조회 ---
-        List<PackingList> similarPackingLists = packingListRepository.findSharedListsByTags(travelProfileTags);
+        // --- DB에서 유사 여행자들의 아이템 빈도 조회 ---
+        // 사용자 리스트의 아이템과 필수품은 아래에서 걸러내므로, 그만큼 더 넉넉히 가져옵니다.
+        int candidateLimit = AppConfig.MAX_AI_RECOMMENDATIONS + currentUserItems.size() + AppConfig.ESSENTIAL_ITEMS.size();
+        PopularItems popularItems = packingListRepository.findTopItemsByTags(travelProfileTags, candidateLimit);
 
         // 데이터가 부족할 경우 분석을 수행하지 않고 빈 리스트를 반환합니다.
-        if (similarPackingLists == null || similarPackingLists.isEmpty()) {
+        if (popularItems.listCount == 0) {
             return new ArrayList<>();
         }
 
@@ -65,28 +65,19 @@ public class AnalysisEngine {
 
         // --- 2. '꿀팁' 제안 (데이터 기반 빈도수 분석) ---
 
-        // 2-1. 유사 여행자들의 아이템 빈도수 집계 (HashMap 사용)
-        Map<String, Integer> itemFrequency = new HashMap<>();
-        for (PackingList list : similarPackingLists) {
-            for (Item item : list.getItems()) {
-                itemFrequency.put(item.getName(), itemFrequency.getOrDefault(item.getName(), 0) + 1);
-            }
-        }
-
-        // 2-2. 빈도수 기준으로 아이템 정렬
-        List<Map.Entry<String, Integer>> sortedItems = new ArrayList<>(itemFrequency.entrySet());
-        sortedItems.sort(Map.Entry.comparingByValue(Comparator.reverseOrder())); // 빈도수 높은 순으로 정렬
+        // 2-1. 유사 여행자들의 아이템 빈도수는 빈도 높은 순으로 이미 집계되어 있습니다. (Repository)
+        //      빈도는 프로필 태그 중 하나라도 정확히 같은 서로 다른 공유 리스트 수입니다. (리스트당 한 번만 셈)
 
-        // 2-3. 최종 제안 목록 생성 (필터링)
+        // 2-2. 최종 제안 목록 생성 (필터링)
         int recommendationCount = 0;
 
-        for (Map.Entry<String, Integer> entry : sortedItems) {
+        for (PopularItems.ItemCount entry : popularItems.items) {
             if (recommendationCount >= AppConfig.MAX_AI_RECOMMENDATIONS) {
                 break;
             }
 
-            String itemName = entry.getKey();
-            int frequency = entry.getValue();
+            String itemName = entry.itemName;
+            long frequency = entry.count;
 
             // 필터링 조건:
             // (1) 이미 사용자의 리스트에 있는 아이템은 제외
@@ -100,7 +91,7 @@ public class AnalysisEngine {
                 }
 
                 // (e.g., "[꿀팁!] 보조 배터리 (87%의 여행자가 챙겼어요) (회원님은 1개 보유 중)")
-                double percentage = (double) frequency / similarPackingLists.size() * 100;
+                double percentage = (double) frequency / popularItems.listCount * 100;
                 recommendations.add(String.format("[꿀팁] %s (%.0f%%의 여행자가 챙겼어요)%s",
                         itemName, percentage, closetInfo));
 
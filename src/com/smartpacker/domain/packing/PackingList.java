@@ -3,16 +3,21 @@ package com.smartpacker.domain.packing;
 import com.smartpacker.domain.item.Item;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 패킹 리스트 정보를 담는 도메인 모델 클래스입니다.
  */
 public class PackingList {
+    public static final int UNKNOWN_ITEM_COUNT = -1;
+
     private long id;
     private String userId;
     private String listName;
     private String tags;
-    private List<Item> items; // DB에는 JSON 문자열로 저장되지만, 객체에서는 List<Item>으로 다룹니다.
+    private volatile List<Item> items; // DB에는 JSON 문자열로 저장되지만, 객체에서는 List<Item>으로 다룹니다.
+    private Supplier<List<Item>> itemsLoader; // 아직 디코딩하지 않은 아이템 (this로 보호, 로드 후 null)
+    private int itemCount = UNKNOWN_ITEM_COUNT; // 디코딩 전에도 알 수 있는 아이템 개수
     private boolean isShared;
     private LocalDateTime createdAt;
 
@@ -27,6 +32,22 @@ public class PackingList {
         this.createdAt = createdAt;
     }
 
+    /**
+     * 아이템을 처음 사용할 때 디코딩하는 생성자입니다. (DB에서 목록 조회 시 사용)
+     * @param itemsLoader 아이템 목록을 만드는 함수 (최초 {@link #getItems()} 호출 시 한 번만 실행됨)
+     * @param itemCount 디코딩 없이 알 수 있는 아이템 개수 (모르면 {@link #UNKNOWN_ITEM_COUNT})
+     */
+    public PackingList(long id, String userId, String listName, String tags, Supplier<List<Item>> itemsLoader, int itemCount, boolean isShared, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.listName = listName;
+        this.tags = tags;
+        this.itemsLoader = itemsLoader;
+        this.itemCount = itemCount;
+        this.isShared = isShared;
+        this.createdAt = createdAt;
+    }
+
     // 새로 생성할 때 사용하는 생성자 (id, createdAt은 DB에서 자동 생성)
     public PackingList(String userId, String listName, String tags, List<Item> items) {
         this.userId = userId;
@@ -41,10 +62,46 @@ public class PackingList {
     public String getUserId() { return userId; }
     public String getListName() { return listName; }
     public String getTags() { return tags; }
-    public List<Item> getItems() { return items; }
     public boolean isShared() { return isShared; }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
+    /**
+     * 아이템 목록을 반환합니다. 지연 로딩된 리스트는 최초 호출 시 한 번만 디코딩하며,
+     * 여러 스레드가 동시에 호출해도 같은 목록을 받습니다.
+     */
+    public List<Item> getItems() {
+        List<Item> loaded = items;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = items;
+                if (loaded == null && itemsLoader != null) {
+                    loaded = itemsLoader.get();
+                    items = loaded;
+                    itemsLoader = null; // 원본 JSON을 더 이상 붙잡고 있지 않도록 해제
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 아이템 개수를 반환합니다. 아직 디코딩하지 않은 리스트는 조회 시 함께 읽은 개수를 사용하므로
+     * 목록 화면에서 아이템을 디코딩하지 않아도 됩니다.
+     */
+    public int getItemCount() {
+        List<Item> loaded = items;
+        if (loaded != null) {
+            return loaded.size();
+        }
+        synchronized (this) {
+            if (itemsLoader != null && itemCount != UNKNOWN_ITEM_COUNT) {
+                return itemCount;
+            }
+        }
+        List<Item> decoded = getItems();
+        return decoded == null ? 0 : decoded.size();
+    }
+
     // Setters (필요한 경우)
     public void setShared(boolean shared) { isShared = shared; }
     
@@ -52,7 +109,9 @@ public class PackingList {
      * 이 패킹 리스트의 아이템 목록을 새로운 리스트로 교체합니다. (수정 기능을 위함)
      * @param items 새로운 아이템 리스트
      */
-    public void setItems(List<Item> items) { //  <-- 이 메소드를 추가!
+    public synchronized void setItems(List<Item> items) { //  <-- 이 메소드를 추가!
         this.items = items;
+        this.itemsLoader = null;
+        this.itemCount = UNKNOWN_ITEM_COUNT;
     }
 }
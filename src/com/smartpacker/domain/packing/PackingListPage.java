@@ -0,0 +1,39 @@
+package com.smartpacker.domain.packing;
+
+import java.util.List;
+
+/**
+ * 키셋(keyset) 페이지네이션으로 조회한 패킹 리스트 한 페이지입니다.
+ * 리스트는 (created_at, id) 내림차순으로 정렬되어 있으며, 다음 페이지는 {@link #getNextCursor()}부터 이어서 조회합니다.
+ */
+public class PackingListPage {
+
+    /**
+     * 페이지의 시작 위치를 나타내는 커서입니다. 이 위치보다 '오래된' 리스트부터 조회합니다.
+     * created_at은 DB에 저장된 문자열 그대로 보관하여, 비교 시 형식 변환으로 인한 오차가 없도록 합니다.
+     */
+    public static class Cursor {
+        private final String createdAt;
+        private final long id;
+
+        public Cursor(String createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public String getCreatedAt() { return createdAt; }
+        public long getId() { return id; }
+    }
+
+    private final List<PackingList> lists;
+    private final Cursor nextCursor; // 다음 페이지가 없으면 null
+
+    public PackingListPage(List<PackingList> lists, Cursor nextCursor) {
+        this.lists = lists;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PackingList> getLists() { return lists; }
+    public Cursor getNextCursor() { return nextCursor; }
+    public boolean hasNext() { return nextCursor != null; }
+}
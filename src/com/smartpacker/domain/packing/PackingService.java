@@ -1,8 +1,12 @@
 package com.smartpacker.domain.packing;
 
+import com.smartpacker.config.AppConfig;
 import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.user.ClosetCategoryStat;
 import com.smartpacker.exception.DatabaseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -10,16 +14,31 @@ import java.util.Set;
  */
 public interface PackingService {
 
+    /** '요즘 뜨는 아이템' 추천 문구의 머리말 */
+    String TRENDING_RECOMMENDATION_PREFIX = "[요즘 뜨는]";
+
+    /** '지난 비슷한 여행에서 챙긴 아이템' 추천 문구의 머리말 */
+    String HISTORY_RECOMMENDATION_PREFIX = "[지난 여행]";
+
     /**
      * 새로운 패킹 리스트를 생성하고 저장합니다.
+     * 공유까지 요청하면 저장과 공유 설정을 하나의 트랜잭션으로 처리합니다. (둘 다 되거나 둘 다 안 됨)
      * @param userId 사용자 ID
      * @param listName 리스트 이름
      * @param tags 여행 프로필 태그
      * @param items 아이템 목록
+     * @param share 다른 사용자들의 추천 데이터로 공유할지 여부
      * @return 저장된 PackingList 객체
      * @throws DatabaseException DB 오류 발생 시
      */
-    PackingList createPackingList(String userId, String listName, String tags, List<Item> items) throws DatabaseException;
+    PackingList createPackingList(String userId, String listName, String tags, List<Item> items, boolean share) throws DatabaseException;
+
+    /**
+     * 여행 프로필에 맞는 기본 템플릿 아이템을 반환합니다. (공유 데이터로 컴파일된 템플릿 캐시 조회)
+     * @param profile 여행 프로필 [목적, 계절, 기간]
+     * @return 여행 기간에 맞춰 수량이 조절된 아이템 목록
+     */
+    List<Item> getStarterTemplate(String[] profile);
 
     /**
      * 특정 사용자의 모든 패킹 리스트를 조회합니다.
@@ -29,8 +48,18 @@ public interface PackingService {
      */
     List<PackingList> getMyPackingLists(String userId) throws DatabaseException;
 
+    /**
+     * 특정 사용자의 패킹 리스트를 최신순으로 한 페이지({@link AppConfig#LIST_PAGE_SIZE}개)씩 조회합니다.
+     * @param userId 사용자 ID
+     * @param after 이전 페이지의 다음 커서 (첫 페이지는 null)
+     * @return 조회된 페이지
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    PackingListPage getMyPackingListPage(String userId, PackingListPage.Cursor after) throws DatabaseException;
+
     /**
      * 특정 패킹 리스트의 공유 상태를 변경합니다.
+     * 공유 상태가 실제로 바뀔 때만 '요즘 뜨는 아이템' 집계에 더하거나 뺍니다.
      * @param listId 리스트 ID
      * @param isShared 공유 여부
      * @throws DatabaseException DB 오류 발생 시
@@ -41,6 +70,8 @@ public interface PackingService {
 
     /**
      * AI 추천 엔진을 호출하여 추천 아이템 목록을 반환합니다.
+     * 목록 끝에는 '요즘 뜨는 아이템'({@link #TRENDING_RECOMMENDATION_PREFIX})과
+     * 사용자의 '지난 비슷한 여행에서 챙긴 아이템'({@link #HISTORY_RECOMMENDATION_PREFIX})이 차례로 덧붙습니다.
      * @param userId 현재 사용자 ID (내 옷장 조회를 위해 필요)
      * @param travelProfileTags 여행 프로필 태그
      * @param currentItems 사용자의 현재 리스트에 담긴 아이템들
@@ -53,6 +84,8 @@ public interface PackingService {
     class PackingAnalysisResult {
         public double closetUtilization;
         public Set<String> missingFromCloset;
+        public Map<String, Integer> packedQuantityByCategory = new LinkedHashMap<>();      // 리스트에 챙긴 카테고리별 수량
+        public Map<String, ClosetCategoryStat> closetStatsByCategory = new LinkedHashMap<>(); // '내 옷장'의 카테고리별 통계
         // 필요 시 다른 분석 결과 추가
     }
     
@@ -63,6 +96,14 @@ public interface PackingService {
      */
     List<PackingList> getAllSharedLists() throws DatabaseException;
 
+    /**
+     * 공유 리스트를 최신순으로 한 페이지({@link AppConfig#LIST_PAGE_SIZE}개)씩 조회합니다.
+     * @param after 이전 페이지의 다음 커서 (첫 페이지는 null)
+     * @return 조회된 페이지
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    PackingListPage getSharedListPage(PackingListPage.Cursor after) throws DatabaseException;
+
     PackingAnalysisResult analyzePackingList(PackingList packingList, String userId) throws DatabaseException;
     
     List<String> generateFinalCheckReport(PackingList packingList, List<String> recommendations);
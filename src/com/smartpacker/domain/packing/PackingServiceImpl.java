@@ -1,14 +1,18 @@
 package com.smartpacker.domain.packing;
 
+import com.smartpacker.config.AppConfig;
 import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.user.ClosetCategoryStat;
 import com.smartpacker.exception.DatabaseException;
 import com.smartpacker.repository.MyClosetRepository;
 import com.smartpacker.repository.PackingListRepository;
+import com.smartpacker.repository.UnitOfWork;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -21,6 +25,10 @@ public class PackingServiceImpl implements PackingService {
     private final PackingListRepository packingListRepository;
     private final MyClosetRepository myClosetRepository;
     private final AnalysisEngine analysisEngine;
+    private final TripHistoryIndex tripHistoryIndex;
+    private final TrendingItemTracker trendingItemTracker;
+    private final TemplateStore templateStore;
+    private final UnitOfWork unitOfWork;
     
     
     /**
@@ -28,19 +36,52 @@ public class PackingServiceImpl implements PackingService {
      * @param packingListRepository PackingListRepository 구현체
      * @param myClosetRepository MyClosetRepository 구현체
      * @param analysisEngine AnalysisEngine 객체
+     * @param tripHistoryIndex 사용자별 과거 여행 색인
+     * @param trendingItemTracker '요즘 뜨는 아이템' 집계기
+     * @param templateStore 프로필별 기본 템플릿 저장소
+     * @param unitOfWork 여러 쓰기를 한 트랜잭션으로 묶는 작업 단위
      */
     public PackingServiceImpl(PackingListRepository packingListRepository,
                               MyClosetRepository myClosetRepository,
-                              AnalysisEngine analysisEngine) {
+                              AnalysisEngine analysisEngine,
+                              TripHistoryIndex tripHistoryIndex,
+                              TrendingItemTracker trendingItemTracker,
+                              TemplateStore templateStore,
+                              UnitOfWork unitOfWork) {
         this.packingListRepository = packingListRepository;
         this.myClosetRepository = myClosetRepository;
         this.analysisEngine = analysisEngine;
+        this.tripHistoryIndex = tripHistoryIndex;
+        this.trendingItemTracker = trendingItemTracker;
+        this.templateStore = templateStore;
+        this.unitOfWork = unitOfWork;
     }
 
     @Override
-    public PackingList createPackingList(String userId, String listName, String tags, List<Item> items) throws DatabaseException {
+    public PackingList createPackingList(String userId, String listName, String tags, List<Item> items, boolean share) throws DatabaseException {
         PackingList newPackingList = new PackingList(userId, listName, tags, items);
-        return packingListRepository.save(newPackingList);
+        // 저장과 공유 설정을 한 커넥션, 한 번의 커밋으로 처리합니다.
+        PackingList savedList = unitOfWork.execute(() -> {
+            PackingList saved = packingListRepository.save(newPackingList);
+            if (share) {
+                packingListRepository.updateSharedStatus(saved.getId(), true);
+            }
+            return saved;
+        });
+        // 메모리 색인/집계는 커밋된 뒤에 반영합니다.
+        tripHistoryIndex.record(savedList);
+        if (share) {
+            PackingList sharedList = new PackingList(savedList.getId(), savedList.getUserId(), savedList.getListName(),
+                    savedList.getTags(), savedList.getItems(), true, savedList.getCreatedAt());
+            trendingItemTracker.record(sharedList, TrendingItemTracker.today());
+            return sharedList;
+        }
+        return savedList;
+    }
+
+    @Override
+    public List<Item> getStarterTemplate(String[] profile) {
+        return templateStore.createItems(profile);
     }
 
     @Override
@@ -48,9 +89,23 @@ public class PackingServiceImpl implements PackingService {
         return packingListRepository.findAllByUserId(userId);
     }
 
+    @Override
+    public PackingListPage getMyPackingListPage(String userId, PackingListPage.Cursor after) throws DatabaseException {
+        return packingListRepository.findPageByUserId(userId, after, AppConfig.LIST_PAGE_SIZE);
+    }
+
     @Override
     public void sharePackingList(long listId, boolean isShared) throws DatabaseException {
+        Optional<PackingList> before = packingListRepository.findById(listId);
         packingListRepository.updateSharedStatus(listId, isShared);
+        // 공유 상태가 실제로 바뀔 때만 '요즘 뜨는 아이템' 집계에 더하거나 빼서, 같은 리스트가 두 번 세어지지 않게 합니다.
+        if (before.isPresent() && before.get().isShared() != isShared) {
+            if (isShared) {
+                trendingItemTracker.record(before.get());
+            } else {
+                trendingItemTracker.remove(before.get());
+            }
+        }
     }
 
     @Override
@@ -59,11 +114,58 @@ public class PackingServiceImpl implements PackingService {
         Map<String, Item> myCloset = myClosetRepository.findAllByUserId(userId);
 
         // 2. AnalysisEngine에 필요한 모든 데이터를 전달하고 추천 로직 실행을 요청합니다.
-        return analysisEngine.recommendItems(
+        List<String> recommendations = analysisEngine.recommendItems(
                 travelProfileTags,
                 currentItems,
                 myCloset
         );
+
+        // 3. 최근 공유율이 급상승한 '요즘 뜨는 아이템'과,
+        //    '지난 비슷한 여행에서 챙긴 아이템'을 각각의 집계/색인에서 한 번에 조회하여 덧붙입니다.
+        Set<String> excluded = new HashSet<>();
+        for (Item item : currentItems) {
+            excluded.add(item.getName());
+        }
+        for (String rec : recommendations) {
+            excluded.add(parseItemNameFromRecommendation(rec));
+        }
+        recommendations.addAll(recommendTrendingItems(travelProfileTags, excluded));
+        recommendations.addAll(recommendFromTripHistory(userId, travelProfileTags, excluded));
+        return recommendations;
+    }
+
+    // 최근 N일 공유율이 평소보다 높은 아이템을 제안합니다. (제안한 아이템은 excluded에 추가)
+    private List<String> recommendTrendingItems(String[] travelProfileTags, Set<String> excluded) {
+        List<String> trendingRecommendations = new ArrayList<>();
+        for (TrendingItemTracker.TrendingItem trending : trendingItemTracker.findTrendingItems(travelProfileTags, TrendingItemTracker.today())) {
+            if (trendingRecommendations.size() >= AppConfig.MAX_TREND_RECOMMENDATIONS) {
+                break;
+            }
+            if (!excluded.add(trending.itemName)) {
+                continue;
+            }
+            // (e.g., "[요즘 뜨는] 휴대용 선풍기 (최근 7일 공유율 평소의 2.4배)")
+            trendingRecommendations.add(String.format("%s %s (최근 %d일 공유율 평소의 %.1f배)",
+                    TRENDING_RECOMMENDATION_PREFIX, trending.itemName, AppConfig.TREND_WINDOW_DAYS, trending.lift));
+        }
+        return trendingRecommendations;
+    }
+
+    // 사용자의 과거 비슷한 여행에서 챙겼지만 현재 리스트와 다른 추천에 없는 아이템을 제안합니다.
+    private List<String> recommendFromTripHistory(String userId, String[] travelProfileTags, Set<String> excluded) throws DatabaseException {
+        List<String> historyRecommendations = new ArrayList<>();
+        for (TripHistoryIndex.PastItem pastItem : tripHistoryIndex.findItemsFromSimilarTrips(userId, travelProfileTags)) {
+            if (historyRecommendations.size() >= AppConfig.MAX_HISTORY_RECOMMENDATIONS) {
+                break;
+            }
+            if (!excluded.add(pastItem.itemName)) {
+                continue;
+            }
+            // (e.g., "[지난 여행] 반바지 (비슷한 여행 3번 중 3번 챙기셨어요)")
+            historyRecommendations.add(String.format("%s %s (비슷한 여행 %d번 중 %d번 챙기셨어요)",
+                    HISTORY_RECOMMENDATION_PREFIX, pastItem.itemName, pastItem.similarTrips, pastItem.packedCount));
+        }
+        return historyRecommendations;
     }
     
     @Override
@@ -89,6 +191,14 @@ public class PackingServiceImpl implements PackingService {
         PackingAnalysisResult result = new PackingAnalysisResult();
         result.closetUtilization = (double) closetItemCount / packedItems.size();
         result.missingFromCloset = missingFromCloset;
+
+        // 카테고리별로 챙긴 수량과 옷장 보유 현황 (옷장 통계는 미리 집계된 값을 읽으므로 옷장 크기와 무관)
+        for (Item packedItem : packedItems) {
+            result.packedQuantityByCategory.merge(packedItem.getCategory(), packedItem.getQuantity(), Integer::sum);
+        }
+        for (ClosetCategoryStat stat : myClosetRepository.getCategoryStatistics(userId)) {
+            result.closetStatsByCategory.put(stat.category, stat);
+        }
         
         return result;
     }
@@ -148,7 +258,15 @@ public class PackingServiceImpl implements PackingService {
     @Override
     public void updatePackingList(PackingList packingList) throws DatabaseException {
         // 나중에 유효성 검사 등 비즈니스 로직 추가 가능
+        // 공유 중인 리스트는 '요즘 뜨는 아이템' 집계에서 수정 전 아이템을 빼고 수정 후 아이템을 더합니다. (공유 여부는 DB 기준)
+        Optional<PackingList> before = packingListRepository.findById(packingList.getId());
         packingListRepository.update(packingList);
+        tripHistoryIndex.record(packingList);
+        if (before.isPresent() && before.get().isShared()) {
+            trendingItemTracker.remove(before.get());
+            trendingItemTracker.record(new PackingList(packingList.getId(), packingList.getUserId(), packingList.getListName(),
+                    packingList.getTags(), packingList.getItems(), true, before.get().getCreatedAt()));
+        }
     }
     
     @Override
@@ -156,4 +274,9 @@ public class PackingServiceImpl implements PackingService {
         // Service 계층은 단순 호출만 담당
         return packingListRepository.findAllShared();
     }
+
+    @Override
+    public PackingListPage getSharedListPage(PackingListPage.Cursor after) throws DatabaseException {
+        return packingListRepository.findSharedPage(after, AppConfig.LIST_PAGE_SIZE);
+    }
 }
\ No newline at end of file
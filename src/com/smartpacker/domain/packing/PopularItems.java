@@ -0,0 +1,28 @@
+package com.smartpacker.domain.packing;
+
+import java.util.List;
+
+/**
+ * 여행 태그가 같은 공유 리스트들에서 많이 챙긴 아이템 목록입니다. (빈도 높은 순)
+ * 아이템의 비율은 count / listCount 로 구합니다.
+ */
+public class PopularItems {
+
+    public static class ItemCount {
+        public final String itemName;
+        public final long count;   // 이 아이템이 들어 있는 서로 다른 공유 리스트 수
+
+        public ItemCount(String itemName, long count) {
+            this.itemName = itemName;
+            this.count = count;
+        }
+    }
+
+    public final long listCount;          // 태그 중 하나라도 가진 서로 다른 공유 리스트 수
+    public final List<ItemCount> items;   // 빈도 높은 순, 같으면 이름 순
+
+    public PopularItems(long listCount, List<ItemCount> items) {
+        this.listCount = listCount;
+        this.items = items;
+    }
+}
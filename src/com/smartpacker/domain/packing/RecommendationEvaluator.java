@@ -0,0 +1,266 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.repository.PackingListRepository;
+import com.smartpacker.util.TagNormalizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 공유 데이터셋을 재생(replay)하여 AnalysisEngine의 추천 품질과 속도를 함께 측정하는 오프라인 평가 도구입니다.
+ *
+ * 각 공유 리스트에서 일부 아이템을 무작위로 숨긴 뒤(leave-one-out: 평가 대상 리스트는 분석 데이터에서 제외),
+ * 남은 아이템만으로 recommendItems를 호출하여 숨긴 아이템을 얼마나 맞히는지(recall@k, precision@k)와
+ * 호출당 지연 시간(p50/p99), 메모리 할당량을 리포트합니다.
+ *
+ * 엔진은 실제 {@link PackingListRepository}(집계 조회 포함)를 그대로 호출하며, 조회 결과에서 평가 대상 리스트의 몫만 빼므로
+ * 지연 시간에는 DB 조회 비용이 포함됩니다.
+ */
+public class RecommendationEvaluator {
+
+    private static final int[] CUTOFFS = {AppConfig.MAX_AI_RECOMMENDATIONS, AppConfig.MAX_AI_RECOMMENDATIONS * 2};
+
+    private final PackingListRepository repository;
+    private final List<PackingList> corpus;
+    private final long seed;
+
+    /**
+     * @param repository 엔진이 조회할 실제 Repository (corpus와 같은 데이터)
+     * @param corpus 평가에 사용할 공유 패킹 리스트 전체
+     * @param seed 아이템 숨김을 재현 가능하게 만드는 난수 시드
+     */
+    public RecommendationEvaluator(PackingListRepository repository, List<PackingList> corpus, long seed) {
+        this.repository = repository;
+        this.corpus = corpus;
+        this.seed = seed;
+    }
+
+    /**
+     * 평가 결과를 담는 클래스입니다.
+     */
+    public static class Report {
+        public int evaluatedLists;
+        public final Map<Integer, Double> recallAtK = new HashMap<>();
+        public final Map<Integer, Double> precisionAtK = new HashMap<>();
+        public double p50Micros;
+        public double p99Micros;
+        public double meanAllocatedBytes; // 측정 불가한 JVM이면 -1
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("평가 리스트 수: %d%n", evaluatedLists));
+            for (int k : CUTOFFS) {
+                sb.append(String.format("  recall@%-2d = %.3f   precision@%-2d = %.3f%n",
+                        k, recallAtK.get(k), k, precisionAtK.get(k)));
+            }
+            sb.append(String.format("  latency (PackingListRepository 조회 포함) p50 = %.1fus   p99 = %.1fus%n", p50Micros, p99Micros));
+            if (meanAllocatedBytes >= 0) {
+                sb.append(String.format("  allocation/call = %.1f KB%n", meanAllocatedBytes / 1024));
+            } else {
+                sb.append("  allocation/call = (이 JVM에서는 측정 불가)\n");
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 평가를 실행합니다.
+     * @param maxLists 평가할 최대 리스트 수 (0 이하이면 전체)
+     * @return 평가 결과 리포트
+     * @throws DatabaseException 엔진이 데이터를 조회하는 중 오류 발생 시
+     */
+    public Report evaluate(int maxLists) throws DatabaseException {
+        List<PackingList> targets = new ArrayList<>(corpus);
+        Random random = new Random(seed);
+        Collections.shuffle(targets, random);
+        if (maxLists > 0 && targets.size() > maxLists) {
+            targets = targets.subList(0, maxLists);
+        }
+
+        LeaveOneOutRepository repository = new LeaveOneOutRepository(this.repository);
+        AnalysisEngine engine = new AnalysisEngine(repository);
+        Map<String, Item> emptyCloset = new HashMap<>();
+
+        // JIT 워밍업: 측정값에 인터프리터 구간이 섞이지 않도록 먼저 몇 번 실행합니다.
+        for (int i = 0; i < AppConfig.EVAL_WARMUP_ROUNDS && !targets.isEmpty(); i++) {
+            PackingList list = targets.get(i % targets.size());
+            repository.exclude(list);
+            engine.recommendItems(list.getTags().split(","), list.getItems(), emptyCloset);
+        }
+
+        com.sun.management.ThreadMXBean threadBean = allocationBean();
+        long threadId = Thread.currentThread().getId();
+        long[] latencies = new long[targets.size()];
+        long totalAllocated = 0;
+        Map<Integer, Double> recallSums = new HashMap<>();
+        Map<Integer, Double> precisionSums = new HashMap<>();
+        int evaluated = 0;
+
+        for (PackingList list : targets) {
+            List<Item> items = list.getItems();
+            if (items.size() < 2) {
+                continue; // 숨길 아이템과 남길 아이템이 모두 있어야 평가 가능
+            }
+
+            // 1. 아이템 일부를 숨기고 나머지를 '현재 리스트'로 사용
+            List<Item> shuffled = new ArrayList<>(items);
+            Collections.shuffle(shuffled, random);
+            int hiddenCount = Math.max(1, (int) Math.round(items.size() * AppConfig.EVAL_HIDDEN_ITEM_RATIO));
+            Set<String> hidden = new HashSet<>();
+            for (Item item : shuffled.subList(0, hiddenCount)) {
+                hidden.add(item.getName());
+            }
+            List<Item> visible = new ArrayList<>(shuffled.subList(hiddenCount, shuffled.size()));
+
+            // 2. 평가 대상 리스트를 분석 데이터에서 제외하고 추천 실행 (지연 시간/할당량 측정)
+            repository.exclude(list);
+            String[] tags = list.getTags().split(",");
+            long allocatedBefore = threadBean != null ? threadBean.getThreadAllocatedBytes(threadId) : 0;
+            long start = System.nanoTime();
+            List<String> recommendations = engine.recommendItems(tags, visible, emptyCloset);
+            latencies[evaluated] = System.nanoTime() - start;
+            if (threadBean != null) {
+                totalAllocated += threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            }
+
+            // 3. 상위 k개 추천 중 숨긴 아이템을 맞힌 비율 집계
+            for (int k : CUTOFFS) {
+                int hits = 0;
+                for (int i = 0; i < Math.min(k, recommendations.size()); i++) {
+                    if (hidden.contains(parseItemName(recommendations.get(i)))) {
+                        hits++;
+                    }
+                }
+                recallSums.merge(k, (double) hits / hidden.size(), Double::sum);
+                precisionSums.merge(k, (double) hits / k, Double::sum);
+            }
+            evaluated++;
+        }
+
+        Report report = new Report();
+        report.evaluatedLists = evaluated;
+        for (int k : CUTOFFS) {
+            report.recallAtK.put(k, evaluated == 0 ? 0 : recallSums.get(k) / evaluated);
+            report.precisionAtK.put(k, evaluated == 0 ? 0 : precisionSums.get(k) / evaluated);
+        }
+        long[] measured = Arrays.copyOf(latencies, evaluated);
+        Arrays.sort(measured);
+        report.p50Micros = percentile(measured, 0.50) / 1000.0;
+        report.p99Micros = percentile(measured, 0.99) / 1000.0;
+        report.meanAllocatedBytes = threadBean == null ? -1 : (evaluated == 0 ? 0 : (double) totalAllocated / evaluated);
+        return report;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    // 스레드별 할당량 측정을 지원하는 JVM(HotSpot 계열)에서만 MXBean을 반환합니다.
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                return sunBean;
+            }
+        }
+        return null;
+    }
+
+    // AI 추천 문자열에서 아이템 이름을 파싱합니다. (e.g., "[꿀팁] 선크림 (80%의 ...)" -> "선크림")
+    private static String parseItemName(String rec) {
+        String temp = rec.substring(rec.indexOf("]") + 1).trim();
+        return temp.contains("(") ? temp.substring(0, temp.indexOf("(")).trim() : temp;
+    }
+
+    /**
+     * 실제 Repository의 조회 결과에서 평가 대상 리스트 하나의 몫을 빼는 평가 전용 Repository입니다.
+     * {@link PackingListRepository#findTopItemsByTags}의 규칙(쉼표로 나눈 태그 조각이 대소문자 구분 없이 정확히 일치)으로
+     * 대상 리스트가 집계에 포함되었는지 판단하고, 포함되었으면 리스트 수와 그 리스트의 아이템 빈도를 1씩 뺍니다.
+     */
+    private static class LeaveOneOutRepository implements PackingListRepository {
+        private final PackingListRepository delegate;
+        private PackingList excluded;
+
+        LeaveOneOutRepository(PackingListRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        void exclude(PackingList list) {
+            this.excluded = list;
+        }
+
+        @Override
+        public PopularItems findTopItemsByTags(String[] tags, int limit) throws DatabaseException {
+            Set<String> excludedItems = new HashSet<>();
+            for (Item item : excluded.getItems()) {
+                excludedItems.add(item.getName());
+            }
+            // 대상 리스트의 아이템이 빠지면서 순위가 내려갈 수 있으므로 그만큼 더 가져온 뒤 다시 정렬합니다.
+            PopularItems counted = delegate.findTopItemsByTags(tags, limit + excludedItems.size());
+            boolean includesExcluded = matchesAnyTag(excluded, tags);
+            List<PopularItems.ItemCount> items = new ArrayList<>();
+            for (PopularItems.ItemCount item : counted.items) {
+                long count = includesExcluded && excludedItems.contains(item.itemName) ? item.count - 1 : item.count;
+                if (count > 0) {
+                    items.add(new PopularItems.ItemCount(item.itemName, count));
+                }
+            }
+            items.sort((a, b) -> a.count != b.count ? Long.compare(b.count, a.count) : a.itemName.compareTo(b.itemName));
+            return new PopularItems(includesExcluded ? counted.listCount - 1 : counted.listCount,
+                    new ArrayList<>(items.subList(0, Math.min(limit, items.size()))));
+        }
+
+        private static boolean matchesAnyTag(PackingList list, String[] tags) {
+            if (list.getTags() == null || tags == null) {
+                return false;
+            }
+            // 집계 테이블과 같은 기준(TagNormalizer)으로 조각을 비교합니다.
+            Set<String> listTags = new HashSet<>(TagNormalizer.split(list.getTags()));
+            for (String tag : tags) {
+                String normalized = TagNormalizer.normalize(tag);
+                if (!normalized.isEmpty() && listTags.contains(normalized)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public List<PackingList> findSharedListsByTags(String[] tags) throws DatabaseException {
+            List<PackingList> result = new ArrayList<>(delegate.findSharedListsByTags(tags));
+            result.removeIf(list -> list.getId() == excluded.getId());
+            return result;
+        }
+
+        // 평가에서는 사용하지 않는 메소드들입니다.
+        @Override public PackingList save(PackingList packingList) { return packingList; }
+        @Override public void updateSharedStatus(long listId, boolean isShared) {}
+        @Override public Optional<PackingList> findById(long listId) { return Optional.empty(); }
+        @Override public List<PackingList> findAllByUserId(String userId) { return new ArrayList<>(); }
+        @Override public List<PackingList> findAllShared() { return new ArrayList<>(); }
+        @Override public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) { return new PackingListPage(new ArrayList<>(), null); }
+        @Override public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) { return new PackingListPage(new ArrayList<>(), null); }
+        @Override public void seedSharedLists() {}
+        @Override public void deleteAllData() {}
+        @Override public void update(PackingList packingList) {}
+    }
+}
@@ -0,0 +1,250 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.repository.PackingListRepository;
+import com.smartpacker.util.CategorySuggester;
+import com.smartpacker.util.DurationParser;
+import com.smartpacker.util.TagNormalizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 공유 데이터셋으로부터 여행 프로필별 '기본 템플릿'을 만들어 캐시해 두는 저장소입니다.
+ *
+ * 프로필(목적, 계절)별로 공유 리스트의 일정 비율 이상이 챙긴 아이템을 템플릿으로 삼고,
+ * 아이템의 일반적인 수량은 여행 일수에 맞춰 조절합니다. 템플릿은 백그라운드에서 주기적으로 다시 컴파일되므로
+ * '기본 템플릿으로 시작'은 캐시 조회 한 번으로 실제 데이터를 반영한 결과를 얻습니다.
+ */
+public class TemplateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateStore.class);
+    private static final String ANY = "*";
+
+    private final PackingListRepository packingListRepository;
+    private volatile Map<String, Template> templates = Collections.emptyMap();
+    private ScheduledExecutorService scheduler;
+
+    public TemplateStore(PackingListRepository packingListRepository) {
+        this.packingListRepository = packingListRepository;
+    }
+
+    /**
+     * 컴파일된 템플릿의 아이템 하나입니다.
+     */
+    private static class TemplateItem {
+        final String name;
+        final String category;
+        final boolean scalesWithDuration; // 여행 일수에 따라 수량이 늘어나는 아이템인지
+        final double quantityPerDay;      // 일수 비례 아이템의 하루당 수량 (중앙값)
+        final int typicalQuantity;        // 일수와 무관한 아이템의 수량 (중앙값)
+
+        TemplateItem(String name, String category, boolean scalesWithDuration, double quantityPerDay, int typicalQuantity) {
+            this.name = name;
+            this.category = category;
+            this.scalesWithDuration = scalesWithDuration;
+            this.quantityPerDay = quantityPerDay;
+            this.typicalQuantity = typicalQuantity;
+        }
+
+        int quantityFor(int days) {
+            return scalesWithDuration ? Math.max(1, (int) Math.round(quantityPerDay * days)) : typicalQuantity;
+        }
+    }
+
+    private static class Template {
+        final List<TemplateItem> items;
+        Template(List<TemplateItem> items) { this.items = items; }
+    }
+
+    /**
+     * 템플릿을 즉시 한 번 컴파일하고, 이후 설정된 주기마다 백그라운드에서 다시 컴파일합니다.
+     * @throws DatabaseException 최초 컴파일 중 DB 오류 발생 시
+     */
+    public void start() throws DatabaseException {
+        refresh();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "template-store-refresher");
+            thread.setDaemon(true); // 백그라운드 갱신이 프로그램 종료를 막지 않도록 데몬 스레드로 실행
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (DatabaseException e) {
+                // 갱신에 실패해도 기존에 컴파일된 템플릿은 그대로 사용합니다.
+                log.warn("템플릿 백그라운드 갱신 실패. 기존 템플릿을 유지합니다.", e);
+            }
+        }, AppConfig.TEMPLATE_REFRESH_MINUTES, AppConfig.TEMPLATE_REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 백그라운드 갱신을 중지합니다.
+     */
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 공유 데이터셋을 다시 읽어 모든 프로필의 템플릿을 새로 컴파일합니다.
+     * 리스트를 하나씩 읽으며 프로필별 집계에만 반영하므로, 공유 리스트가 아무리 많아도 메모리는
+     * (프로필 수 x 아이템 종류 수)만큼만 씁니다. 컴파일이 끝난 뒤 한 번에 교체하므로, 조회 중인 스레드는 항상 완성된 템플릿만 봅니다.
+     * @throws DatabaseException DB 조회 중 오류 발생 시
+     */
+    public void refresh() throws DatabaseException {
+        // 1. 프로필 키별 집계 (정확한 프로필 + 목적만/계절만 일치하는 대체 프로필)
+        Map<String, ProfileStats> profiles = new HashMap<>();
+        packingListRepository.forEachShared(list -> {
+            String[] tags = list.getTags() == null ? new String[0] : list.getTags().split(",");
+            String purpose = tags.length > 0 ? TagNormalizer.normalize(tags[0]) : "";
+            String season = tags.length > 1 ? TagNormalizer.normalize(tags[1]) : "";
+            int days = DurationParser.parseDays(tags.length > 2 ? tags[2] : null);
+            List<Item> items = distinctByName(list.getItems());
+            profiles.computeIfAbsent(key(purpose, season), k -> new ProfileStats()).add(items, days);
+            profiles.computeIfAbsent(key(purpose, ANY), k -> new ProfileStats()).add(items, days);
+            profiles.computeIfAbsent(key(ANY, season), k -> new ProfileStats()).add(items, days);
+        });
+
+        // 2. 충분히 흔한 프로필만 템플릿으로 컴파일
+        Map<String, Template> compiled = new HashMap<>();
+        for (Map.Entry<String, ProfileStats> profile : profiles.entrySet()) {
+            if (profile.getValue().listCount >= AppConfig.TEMPLATE_MIN_LISTS) {
+                compiled.put(profile.getKey(), profile.getValue().compile());
+            }
+        }
+        this.templates = compiled;
+        log.debug("템플릿 {}개를 컴파일했습니다.", compiled.size());
+    }
+
+    /**
+     * 여행 프로필에 맞는 기본 템플릿 아이템을 여행 일수에 맞춰 생성합니다.
+     * 정확히 일치하는 프로필이 없으면 목적 -> 계절 순으로 대체 템플릿을 찾고,
+     * 그래도 없으면 필수품만으로 구성합니다.
+     * @param profile 여행 프로필 [목적, 계절, 기간]
+     * @return 새로 생성된 아이템 리스트 (호출자가 자유롭게 수정 가능)
+     */
+    public List<Item> createItems(String[] profile) {
+        String purpose = TagNormalizer.normalize(profile[0]);
+        String season = TagNormalizer.normalize(profile[1]);
+        int days = DurationParser.parseDays(profile[2]);
+
+        Map<String, Template> current = this.templates;
+        Template template = current.get(key(purpose, season));
+        if (template == null) template = current.get(key(purpose, ANY));
+        if (template == null) template = current.get(key(ANY, season));
+
+        List<Item> items = new ArrayList<>();
+        if (template == null) {
+            for (String essential : AppConfig.ESSENTIAL_ITEMS) {
+                String category = CategorySuggester.suggest(essential);
+                items.add(ItemFactory.create(essential, category != null ? category : "필수품", 1));
+            }
+            return items;
+        }
+        for (TemplateItem templateItem : template.items) {
+            items.add(ItemFactory.create(templateItem.name, templateItem.category, templateItem.quantityFor(days)));
+        }
+        return items;
+    }
+
+    private static String key(String purpose, String season) {
+        return purpose + "|" + season;
+    }
+
+    // 같은 이름의 아이템이 한 리스트에 여러 번 있으면 처음 것만 셉니다.
+    private static List<Item> distinctByName(List<Item> items) {
+        List<Item> distinct = new ArrayList<>(items.size());
+        Set<String> seen = new HashSet<>();
+        for (Item item : items) {
+            if (seen.add(item.getName())) {
+                distinct.add(item);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * 한 프로필에 속한 공유 리스트들의 집계입니다. 리스트 자체는 보관하지 않습니다.
+     */
+    private static class ProfileStats {
+        int listCount;
+        final Map<String, ItemStats> items = new HashMap<>();
+
+        void add(List<Item> listItems, int days) {
+            listCount++;
+            for (Item item : listItems) {
+                items.computeIfAbsent(item.getName(), k -> new ItemStats(item.getCategory())).add(item.getQuantity(), days);
+            }
+        }
+
+        // 프로필 리스트 중 충분히 많이 챙긴 아이템으로 템플릿 하나를 컴파일합니다.
+        Template compile() {
+            List<TemplateItem> templateItems = new ArrayList<>();
+            for (Map.Entry<String, ItemStats> entry : items.entrySet()) {
+                ItemStats stats = entry.getValue();
+                double support = (double) stats.listCount / listCount;
+                if (support < AppConfig.TEMPLATE_MIN_SUPPORT) {
+                    continue;
+                }
+                int typicalQuantity = median(stats.quantities, stats.listCount);
+                // 매일 소모되는 카테고리(의류, 식품)이면서 보통 여러 개 챙기는 아이템만 일수에 비례시킵니다.
+                boolean scales = typicalQuantity > 1 && AppConfig.DURATION_SCALED_CATEGORIES.contains(stats.category);
+                templateItems.add(new TemplateItem(entry.getKey(), stats.category, scales,
+                        median(stats.quantitiesPerDay, stats.listCount), Math.max(1, typicalQuantity)));
+            }
+            // 카테고리 -> 이름 순으로 정렬하여 편집 화면에서 보기 좋게 합니다.
+            templateItems.sort((a, b) -> a.category.equals(b.category) ? a.name.compareTo(b.name) : a.category.compareTo(b.category));
+            return new Template(templateItems);
+        }
+    }
+
+    /**
+     * 프로필 안에서 아이템 하나의 집계입니다. 수량은 값별 빈도(히스토그램)로만 모아 중앙값을 구합니다.
+     * (수량과 일수의 조합은 몇 가지뿐이므로 리스트 수와 관계없이 작음)
+     */
+    private static class ItemStats {
+        final String category;      // 처음 본 카테고리
+        int listCount;
+        final TreeMap<Integer, Integer> quantities = new TreeMap<>();
+        final TreeMap<Double, Integer> quantitiesPerDay = new TreeMap<>();
+
+        ItemStats(String category) {
+            this.category = category;
+        }
+
+        void add(int quantity, int days) {
+            listCount++;
+            quantities.merge(quantity, 1, Integer::sum);
+            quantitiesPerDay.merge((double) quantity / days, 1, Integer::sum);
+        }
+    }
+
+    // 값별 빈도에서 정렬 순서로 size/2번째(0부터) 값을 찾습니다. (정렬한 목록의 sorted.get(size / 2)와 같음)
+    private static <T> T median(TreeMap<T, Integer> histogram, int size) {
+        int remaining = size / 2;
+        for (Map.Entry<T, Integer> entry : histogram.entrySet()) {
+            remaining -= entry.getValue();
+            if (remaining < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("빈 히스토그램");
+    }
+}
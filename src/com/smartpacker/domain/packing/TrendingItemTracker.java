@@ -0,0 +1,317 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.util.TagNormalizer;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * '요즘 뜨는 아이템'을 찾기 위해, (태그, 아이템)별 공유 횟수를 일 단위 버킷 링에 누적하는 클래스입니다.
+ *
+ * 리스트가 공유될 때마다 {@link #record(PackingList)}로 생성 날짜 버킷의 카운터를 올리고, 공유가 해제되면
+ * {@link #remove(PackingList)}로 같은 버킷에서 되돌립니다. (시작 시 {@link #warmUp}과 같은 날짜 기준)
+ * 아이템마다 최근 N일 합계와 링 전체 합계를 함께 유지하다가 날짜가 넘어갈 때(슬롯 재사용 시)만 갱신하므로,
+ * 조회 비용은 태그의 아이템 수에 비례하고 버킷 수와는 무관합니다. 링 안에 기록이 남지 않은 아이템은 지웁니다.
+ */
+public class TrendingItemTracker {
+
+    private final int ringDays;
+    private final int windowDays;
+    private final Map<String, TagBuckets> bucketsByTag = new ConcurrentHashMap<>();
+
+    public TrendingItemTracker() {
+        this(AppConfig.TREND_RING_DAYS, AppConfig.TREND_WINDOW_DAYS);
+    }
+
+    /**
+     * @param ringDays 버킷 링의 길이(일)
+     * @param windowDays '최근'으로 볼 기간(일), ringDays보다 작아야 함
+     */
+    public TrendingItemTracker(int ringDays, int windowDays) {
+        this.ringDays = ringDays;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * 급상승 아이템 조회 결과를 담는 클래스입니다.
+     */
+    public static class TrendingItem {
+        public final String itemName;
+        public final int recentCount;  // 최근 N일 동안 이 아이템이 포함된 공유 리스트 수
+        public final double lift;      // 최근 공유율 / 기준선 공유율
+
+        TrendingItem(String itemName, int recentCount, double lift) {
+            this.itemName = itemName;
+            this.recentCount = recentCount;
+            this.lift = lift;
+        }
+    }
+
+    /**
+     * 오늘(UTC) 날짜를 epoch day로 반환합니다. DB의 created_at(CURRENT_TIMESTAMP)과 같은 기준입니다.
+     */
+    public static long today() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay();
+    }
+
+    /**
+     * 공유된 리스트 하나를 생성 날짜(created_at)의 버킷에 반영합니다.
+     * @param list 공유된 패킹 리스트 (DB에서 읽은 생성일이 있어야 함)
+     */
+    public void record(PackingList list) {
+        if (list.getCreatedAt() != null) {
+            record(list, list.getCreatedAt().toLocalDate().toEpochDay());
+        }
+    }
+
+    /**
+     * 공유된 리스트 하나를 해당 날짜의 버킷에 반영합니다.
+     * @param list 공유된 패킹 리스트
+     * @param epochDay 공유된 날짜 (epoch day)
+     */
+    public void record(PackingList list, long epochDay) {
+        Set<String> itemNames = itemNames(list);
+        for (String tag : TagNormalizer.split(list.getTags())) {
+            bucketsByTag.computeIfAbsent(tag, k -> new TagBuckets(ringDays, windowDays)).add(itemNames, epochDay);
+        }
+    }
+
+    /**
+     * 공유가 해제된(또는 수정 전) 리스트를 {@link #record(PackingList)}로 더했던 버킷에서 뺍니다.
+     * @param list 이전에 공유 상태로 기록된 패킹 리스트
+     */
+    public void remove(PackingList list) {
+        if (list.getCreatedAt() != null) {
+            remove(list, list.getCreatedAt().toLocalDate().toEpochDay());
+        }
+    }
+
+    /**
+     * 리스트 하나를 해당 날짜의 버킷에서 뺍니다. 이미 링 밖으로 밀려난 날짜면 아무것도 하지 않습니다.
+     * @param list 이전에 기록된 패킹 리스트
+     * @param epochDay 기록할 때 쓴 날짜 (epoch day)
+     */
+    public void remove(PackingList list, long epochDay) {
+        Set<String> itemNames = itemNames(list);
+        for (String tag : TagNormalizer.split(list.getTags())) {
+            TagBuckets buckets = bucketsByTag.get(tag);
+            if (buckets != null) {
+                buckets.remove(itemNames, epochDay);
+            }
+        }
+    }
+
+    private static Set<String> itemNames(PackingList list) {
+        Set<String> itemNames = new HashSet<>();
+        for (Item item : list.getItems()) {
+            itemNames.add(item.getName());
+        }
+        return itemNames;
+    }
+
+    // 집계 중인 (태그, 아이템) 수 (테스트용)
+    int trackedItemCount() {
+        int count = 0;
+        for (TagBuckets buckets : bucketsByTag.values()) {
+            count += buckets.itemCount();
+        }
+        return count;
+    }
+
+    /**
+     * 이미 공유된 리스트들로 버킷을 채웁니다. (애플리케이션 시작 시 1회)
+     * 공유 시점은 저장되지 않으므로 생성일(created_at)을 공유 날짜로 간주합니다.
+     * @param sharedLists 공유된 패킹 리스트 목록 (Stream도 {@code stream::iterator}로 넘길 수 있음)
+     */
+    public void warmUp(Iterable<PackingList> sharedLists) {
+        for (PackingList list : sharedLists) {
+            record(list);
+        }
+    }
+
+    /**
+     * 여행 프로필 태그 기준으로 최근 공유율이 평소보다 두드러지게 높은 아이템을 반환합니다.
+     * 여러 태그에 걸쳐 나타난 아이템은 가장 높은 상승 배율을 사용합니다.
+     * @param travelProfileTags 여행 프로필 태그 배열
+     * @param today 기준 날짜 (epoch day)
+     * @return 상승 배율이 높은 순서로 정렬된 급상승 아이템 목록
+     */
+    public List<TrendingItem> findTrendingItems(String[] travelProfileTags, long today) {
+        Map<String, TrendingItem> best = new HashMap<>();
+        for (String tag : TagNormalizer.normalizeAll(travelProfileTags)) {
+            TagBuckets buckets = bucketsByTag.get(tag);
+            if (buckets == null) {
+                continue;
+            }
+            for (TrendingItem candidate : buckets.trending(today)) {
+                TrendingItem current = best.get(candidate.itemName);
+                if (current == null || candidate.lift > current.lift) {
+                    best.put(candidate.itemName, candidate);
+                }
+            }
+        }
+        List<TrendingItem> result = new ArrayList<>(best.values());
+        result.sort((a, b) -> Double.compare(b.lift, a.lift));
+        return result;
+    }
+
+    /**
+     * 태그 하나에 대한 일 단위 버킷 링입니다.
+     * 슬롯 (epochDay % ringDays)에 카운트를 쌓고, 링은 지금까지 본 가장 늦은 날짜(currentDay)까지의 ringDays일을 담습니다.
+     * 리스트 수와 아이템별 카운트마다 최근 windowDays일 합계(recent)와 링 전체 합계(total)를 함께 유지합니다.
+     */
+    private static class TagBuckets {
+        private final int windowDays;
+        private final Counts lists;                                   // 공유 리스트 수
+        private final Map<String, Counts> items = new HashMap<>();    // 아이템별 공유 리스트 수
+        private long currentDay = Long.MIN_VALUE;                     // 링의 가장 최근 날짜 (아직 기록이 없으면 MIN_VALUE)
+
+        TagBuckets(int ringDays, int windowDays) {
+            this.windowDays = windowDays;
+            this.lists = new Counts(ringDays);
+        }
+
+        synchronized void add(Set<String> itemNames, long epochDay) {
+            advanceTo(epochDay);
+            long age = currentDay - epochDay;
+            if (age >= ringDays()) {
+                return; // 링보다 오래된 날짜의 기록은 버립니다.
+            }
+            int slot = slot(epochDay);
+            boolean recent = age < windowDays;
+            lists.add(slot, recent, 1);
+            for (String itemName : itemNames) {
+                items.computeIfAbsent(itemName, k -> new Counts(ringDays())).add(slot, recent, 1);
+            }
+        }
+
+        synchronized void remove(Set<String> itemNames, long epochDay) {
+            long age = currentDay - epochDay;
+            int slot = slot(epochDay);
+            if (currentDay == Long.MIN_VALUE || age < 0 || age >= ringDays() || lists.slots[slot] == 0) {
+                return; // 링 밖으로 밀려났거나 기록된 적 없는 날짜
+            }
+            boolean recent = age < windowDays;
+            lists.add(slot, recent, -1);
+            for (String itemName : itemNames) {
+                Counts counts = items.get(itemName);
+                if (counts != null && counts.slots[slot] > 0) {
+                    counts.add(slot, recent, -1);
+                    if (counts.total == 0) {
+                        items.remove(itemName);
+                    }
+                }
+            }
+        }
+
+        synchronized int itemCount() {
+            return items.size();
+        }
+
+        /**
+         * 링을 day까지 하루씩 밀면서, 최근 기간을 벗어나는 날짜는 recent에서, 링을 벗어나는 날짜(재사용할 슬롯)는 total에서 뺍니다.
+         * 날짜가 넘어갈 때만 아이템 수만큼 일하며, 링 안에 기록이 남지 않은 아이템은 지웁니다.
+         */
+        private void advanceTo(long day) {
+            if (currentDay == Long.MIN_VALUE || day - currentDay >= ringDays()) {
+                if (currentDay != Long.MIN_VALUE) {
+                    lists.clear();
+                    items.clear();
+                }
+                currentDay = Math.max(currentDay, day);
+                return;
+            }
+            if (day <= currentDay) {
+                return;
+            }
+            while (currentDay < day) {
+                currentDay++;
+                int leavingWindow = slot(currentDay - windowDays);
+                int leavingRing = slot(currentDay);
+                lists.roll(leavingWindow, leavingRing);
+                for (Counts counts : items.values()) {
+                    counts.roll(leavingWindow, leavingRing);
+                }
+            }
+            items.values().removeIf(counts -> counts.total == 0);
+        }
+
+        synchronized List<TrendingItem> trending(long today) {
+            advanceTo(today);
+            List<TrendingItem> result = new ArrayList<>();
+            int recentLists = lists.recent;
+            int baselineLists = lists.total - lists.recent;
+            if (recentLists == 0 || baselineLists == 0) {
+                return result; // 비교할 기준선이 없으면 급상승 여부를 판단할 수 없습니다.
+            }
+
+            // 아이템별 공유율 비교 (라플라스 스무딩으로 표본이 적을 때의 과대평가 방지)
+            for (Map.Entry<String, Counts> entry : items.entrySet()) {
+                int recentCount = entry.getValue().recent;
+                int baselineCount = entry.getValue().total - recentCount;
+                if (recentCount < AppConfig.TREND_MIN_RECENT_COUNT) {
+                    continue;
+                }
+                double recentRate = (recentCount + 1.0) / (recentLists + 2.0);
+                double baselineRate = (baselineCount + 1.0) / (baselineLists + 2.0);
+                double lift = recentRate / baselineRate;
+                if (lift >= AppConfig.TREND_MIN_LIFT) {
+                    result.add(new TrendingItem(entry.getKey(), recentCount, lift));
+                }
+            }
+            return result;
+        }
+
+        private int ringDays() {
+            return lists.slots.length;
+        }
+
+        private int slot(long epochDay) {
+            return (int) Math.floorMod(epochDay, (long) ringDays());
+        }
+    }
+
+    /**
+     * 슬롯별 카운트와 그 합계(최근 기간, 링 전체)입니다.
+     */
+    private static class Counts {
+        final int[] slots;
+        int recent;
+        int total;
+
+        Counts(int ringDays) {
+            this.slots = new int[ringDays];
+        }
+
+        void add(int slot, boolean inWindow, int delta) {
+            slots[slot] += delta;
+            total += delta;
+            if (inWindow) {
+                recent += delta;
+            }
+        }
+
+        // 하루가 지나 leavingWindow 슬롯은 기준선으로 넘어가고, leavingRing 슬롯은 새 날짜용으로 비워집니다.
+        void roll(int leavingWindow, int leavingRing) {
+            recent -= slots[leavingWindow];
+            total -= slots[leavingRing];
+            slots[leavingRing] = 0;
+        }
+
+        void clear() {
+            Arrays.fill(slots, 0);
+            recent = 0;
+            total = 0;
+        }
+    }
+}
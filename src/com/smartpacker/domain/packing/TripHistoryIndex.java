@@ -0,0 +1,201 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.repository.PackingListRepository;
+import com.smartpacker.util.TagNormalizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 과거 패킹 리스트를 '정규화된 태그'와 '아이템 이름' 기준으로 색인해 두는 클래스입니다.
+ * "지난 비슷한 여행에서 챙긴 아이템" 추천을 위해, 매번 전체 이력을 디코딩하지 않고
+ * 색인 조회 한 번으로 유사 여행의 아이템 빈도를 구할 수 있게 합니다.
+ *
+ * 사용자의 색인은 처음 조회될 때 DB에서 적재하고, 이후에는 리스트 저장/수정 시 {@link #record(PackingList)}로 갱신합니다.
+ * 색인은 최대 {@code maxUsers}명까지만 보관하며(LRU), 적재 후 {@code ttlMillis}가 지나면 다음 조회 때 DB에서 다시 적재합니다.
+ */
+public class TripHistoryIndex {
+
+    // 비슷한 여행으로 인정하기 위해 일치해야 하는 최소 태그 수 (프로필 태그가 더 적으면 그 수만큼)
+    private static final int MIN_MATCHING_TAGS = 2;
+
+    private final PackingListRepository packingListRepository;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    // 접근 순서 LinkedHashMap: 가장 오래 쓰이지 않은 사용자의 색인부터 내보냅니다. (this로 동기화)
+    private final LinkedHashMap<String, UserHistory> histories;
+
+    public TripHistoryIndex(PackingListRepository packingListRepository) {
+        this(packingListRepository, AppConfig.TRIP_HISTORY_MAX_USERS, AppConfig.TRIP_HISTORY_TTL_MS, System::nanoTime);
+    }
+
+    TripHistoryIndex(PackingListRepository packingListRepository, int maxUsers, long ttlMillis, LongSupplier clock) {
+        this.packingListRepository = packingListRepository;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = clock;
+        this.histories = new LinkedHashMap<String, UserHistory>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserHistory> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 과거 여행에서 특정 아이템을 챙긴 기록을 담는 결과 클래스입니다.
+     */
+    public static class PastItem {
+        public final String itemName;
+        public final int packedCount;    // 비슷한 여행 중 이 아이템을 챙긴 횟수
+        public final int similarTrips;   // 비슷한 여행의 총 수
+
+        PastItem(String itemName, int packedCount, int similarTrips) {
+            this.itemName = itemName;
+            this.packedCount = packedCount;
+            this.similarTrips = similarTrips;
+        }
+    }
+
+    /**
+     * 저장되거나 수정된 패킹 리스트를 색인에 반영합니다.
+     * 같은 ID의 리스트가 이미 있으면 새 내용으로 교체합니다.
+     * @param packingList 저장/수정된 패킹 리스트 (ID가 있어야 함)
+     * @throws DatabaseException 사용자 색인을 처음 적재하는 중 DB 오류 발생 시
+     */
+    public void record(PackingList packingList) throws DatabaseException {
+        if (packingList == null || packingList.getUserId() == null) {
+            return;
+        }
+        historyOf(packingList.getUserId()).put(packingList);
+    }
+
+    /**
+     * 주어진 여행 프로필과 비슷한 과거 여행에서 챙긴 아이템을 빈도순으로 반환합니다.
+     * @param userId 사용자 ID
+     * @param travelProfileTags 여행 프로필 태그 배열
+     * @return 많이 챙긴 순서(같으면 이름 순)로 정렬된 아이템 목록 (비슷한 여행이 없으면 빈 리스트)
+     * @throws DatabaseException 사용자 색인을 처음 적재하는 중 DB 오류 발생 시
+     */
+    public List<PastItem> findItemsFromSimilarTrips(String userId, String[] travelProfileTags) throws DatabaseException {
+        List<String> tags = TagNormalizer.normalizeAll(travelProfileTags);
+        if (tags.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return historyOf(userId).findItems(tags);
+    }
+
+    // 테스트용: 현재 메모리에 색인이 있는 사용자 수
+    synchronized int cachedUserCount() {
+        return histories.size();
+    }
+
+    private UserHistory historyOf(String userId) throws DatabaseException {
+        synchronized (this) {
+            UserHistory history = histories.get(userId);
+            if (history != null && clock.getAsLong() - history.loadedAt < ttlNanos) {
+                return history;
+            }
+            if (history != null) {
+                histories.remove(userId); // 만료
+            }
+        }
+        // 색인이 없는(처음이거나 내보내졌거나 만료된) 사용자만 전체 이력을 읽어서 색인을 만듭니다. (DB 조회는 잠금 밖에서)
+        UserHistory loaded = new UserHistory(clock.getAsLong());
+        for (PackingList list : packingListRepository.findAllByUserId(userId)) {
+            loaded.put(list);
+        }
+        synchronized (this) {
+            UserHistory existing = histories.putIfAbsent(userId, loaded);
+            return existing != null ? existing : loaded;
+        }
+    }
+
+    /**
+     * 한 사용자의 과거 여행 색인입니다. (리스트 ID -> 태그/아이템, 태그 -> 리스트 ID)
+     */
+    private static class UserHistory {
+        final long loadedAt; // 적재 시각 (clock 기준, TTL 판단용)
+        private final Map<Long, Set<String>> tagsByList = new HashMap<>();
+        private final Map<Long, Set<String>> itemsByList = new HashMap<>();
+        private final Map<String, Set<Long>> listsByTag = new HashMap<>();
+
+        UserHistory(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        synchronized void put(PackingList list) {
+            long listId = list.getId();
+            remove(listId);
+
+            Set<String> tags = new HashSet<>(TagNormalizer.split(list.getTags()));
+            Set<String> items = new LinkedHashSet<>();
+            for (Item item : list.getItems()) {
+                items.add(item.getName());
+            }
+            tagsByList.put(listId, tags);
+            itemsByList.put(listId, items);
+            for (String tag : tags) {
+                listsByTag.computeIfAbsent(tag, k -> new HashSet<>()).add(listId);
+            }
+        }
+
+        private void remove(long listId) {
+            Set<String> oldTags = tagsByList.remove(listId);
+            itemsByList.remove(listId);
+            if (oldTags == null) {
+                return;
+            }
+            for (String tag : oldTags) {
+                Set<Long> ids = listsByTag.get(tag);
+                if (ids != null) {
+                    ids.remove(listId);
+                    if (ids.isEmpty()) listsByTag.remove(tag);
+                }
+            }
+        }
+
+        synchronized List<PastItem> findItems(List<String> profileTags) {
+            // 1. 태그 색인으로 프로필과 겹치는 태그 수를 리스트별로 집계
+            Map<Long, Integer> matchCounts = new HashMap<>();
+            for (String tag : profileTags) {
+                for (Long listId : listsByTag.getOrDefault(tag, new HashSet<>())) {
+                    matchCounts.merge(listId, 1, Integer::sum);
+                }
+            }
+
+            // 2. 충분히 겹치는 리스트만 '비슷한 여행'으로 보고 아이템 빈도 집계
+            int required = Math.min(MIN_MATCHING_TAGS, profileTags.size());
+            Map<String, Integer> itemCounts = new HashMap<>();
+            int similarTrips = 0;
+            for (Map.Entry<Long, Integer> entry : matchCounts.entrySet()) {
+                if (entry.getValue() < required) {
+                    continue;
+                }
+                similarTrips++;
+                for (String itemName : itemsByList.get(entry.getKey())) {
+                    itemCounts.merge(itemName, 1, Integer::sum);
+                }
+            }
+
+            List<PastItem> result = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : itemCounts.entrySet()) {
+                result.add(new PastItem(entry.getKey(), entry.getValue(), similarTrips));
+            }
+            // 횟수가 같으면 이름 순으로 두어, HashMap 순회 순서와 관계없이 항상 같은 추천 순서가 나오게 합니다.
+            result.sort((a, b) -> a.packedCount != b.packedCount
+                    ? Integer.compare(b.packedCount, a.packedCount) : a.itemName.compareTo(b.itemName));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartpacker.domain.user;
+
+/**
+ * '내 옷장'의 카테고리 하나에 대한 통계입니다. (아이템 종류 수와 수량 합계)
+ */
+public class ClosetCategoryStat {
+    public final String category;
+    public final long itemCount;     // 이 카테고리의 아이템 종류 수 (옷장의 행 수)
+    public final long quantitySum;   // 이 카테고리 아이템들의 수량 합계
+
+    public ClosetCategoryStat(String category, long itemCount, long quantitySum) {
+        this.category = category;
+        this.itemCount = itemCount;
+        this.quantitySum = quantitySum;
+    }
+}
@@ -2,6 +2,7 @@ package com.smartpacker.domain.user;
 
 import com.smartpacker.domain.item.Item;
 import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.repository.MyClosetRepository.ConflictPolicy;
 import com.smartpacker.util.FileImportResult;
 
 import java.io.IOException;
@@ -11,18 +12,28 @@ import java.util.Map;
 public interface MyClosetService {
     Map<String, Item> getMyClosetItems(String userId) throws DatabaseException;
     void addItemToMyCloset(String userId, Item item) throws DatabaseException;
+
+    /**
+     * 여러 아이템을 한 번에(하나의 트랜잭션으로) '내 옷장'에 추가합니다.
+     * @param userId 사용자 ID
+     * @param items 추가할 아이템 목록
+     * @param policy 이미 있는 아이템을 만났을 때의 처리 방식 (유지/교체/수량 합산)
+     * @return 새로 추가되거나 변경된 아이템 개수
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    int addItemsToMyCloset(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException;
     boolean removeItemFromMyCloset(String userId, String itemName) throws DatabaseException;
     
     /**
-     * '내 옷장'의 카테고리별 아이템 개수 통계를 반환합니다.
+     * '내 옷장'의 카테고리별 아이템 종류 수와 수량 합계 통계를 반환합니다.
      * @param userId 사용자 ID
-     * @return 카테고리 이름을 Key로, 아이템 개수를 Value로 갖는 Map
+     * @return 아이템 종류가 많은 카테고리부터의 통계 목록
      * @throws DatabaseException DB 오류 발생 시
      */
-    Map<String, Long> getMyClosetStatistics(String userId) throws DatabaseException;
+    List<ClosetCategoryStat> getMyClosetStatistics(String userId) throws DatabaseException;
     
     FileImportResult addItemsToMyClosetFromFile(String userId, String filePath) throws DatabaseException, IOException;
     
-    List<Item> findSimilarItemsInMyCloset(String userId, String keyword);
+    List<Item> findSimilarItemsInMyCloset(String userId, String keyword) throws DatabaseException;
 }
 
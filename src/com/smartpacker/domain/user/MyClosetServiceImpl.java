@@ -3,6 +3,7 @@ package com.smartpacker.domain.user;
 import com.smartpacker.domain.item.Item;
 import com.smartpacker.exception.DatabaseException;
 import com.smartpacker.repository.MyClosetRepository;
+import com.smartpacker.repository.MyClosetRepository.ConflictPolicy;
 import com.smartpacker.util.FileIO;
 import com.smartpacker.util.FileImportResult;
 
@@ -27,13 +28,18 @@ public class MyClosetServiceImpl implements MyClosetService {
         myClosetRepository.save(userId, item);
     }
 
+    @Override
+    public int addItemsToMyCloset(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException {
+        return myClosetRepository.upsertAll(userId, items, policy);
+    }
+
     @Override
     public boolean removeItemFromMyCloset(String userId, String itemName) throws DatabaseException {
         return myClosetRepository.delete(userId, itemName);
     }
     
     @Override
-    public Map<String, Long> getMyClosetStatistics(String userId) throws DatabaseException {
+    public List<ClosetCategoryStat> getMyClosetStatistics(String userId) throws DatabaseException {
         return myClosetRepository.getCategoryStatistics(userId);
     }
 
@@ -46,9 +52,9 @@ public class MyClosetServiceImpl implements MyClosetService {
         FileImportResult result = FileIO.importFromTxt(filePath);
 
         // 2. 파싱에 성공한 아이템들이 하나라도 있다면,
-        //    Repository의 batchInsert 메소드를 호출하여 DB에 한번에 저장합니다.
+        //    하나의 트랜잭션으로 한번에 저장합니다. (이미 있는 아이템은 그대로 둠)
         if (!result.successItems.isEmpty()) {
-            myClosetRepository.batchInsert(userId, result.successItems);
+            myClosetRepository.upsertAll(userId, result.successItems, ConflictPolicy.KEEP);
         }
 
         // 3. 성공/실패 정보가 모두 담긴 결과 객체를 Controller로 반환합니다.
@@ -56,7 +62,7 @@ public class MyClosetServiceImpl implements MyClosetService {
     }
     
     @Override
-    public List<Item> findSimilarItemsInMyCloset(String userId, String keyword) {
+    public List<Item> findSimilarItemsInMyCloset(String userId, String keyword) throws DatabaseException {
         // 여기서는 Repository 호출만 하지만, 나중에 더 복잡한 비즈니스 로직(e.g., 검색 결과 순위 매기기) 추가 가능
         return myClosetRepository.findItemsByNameLike(userId, keyword);
     }
@@ -0,0 +1,25 @@
+package com.smartpacker.exception;
+
+/**
+ * Stream 처리처럼 검사 예외(checked exception)를 던질 수 없는 곳에서
+ * {@link DatabaseException}을 감싸서 전달하기 위한 예외입니다.
+ */
+public class UncheckedDatabaseException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+    /**
+     * @param cause 감쌀 DatabaseException
+     */
+    public UncheckedDatabaseException(DatabaseException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * 감싸고 있는 원래 예외를 반환합니다.
+     */
+    @Override
+    public synchronized DatabaseException getCause() {
+        return (DatabaseException) super.getCause();
+    }
+}
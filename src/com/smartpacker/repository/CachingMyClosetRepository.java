@@ -0,0 +1,185 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.user.ClosetCategoryStat;
+import com.smartpacker.exception.DatabaseException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 '내 옷장' 조회 결과를 메모리에 보관하는 읽기 캐시(read-through)입니다. 다른 MyClosetRepository를 감쌉니다.
+ *
+ * findAllByUserId는 AI 추천, 리스트 분석 때마다 호출되지만 옷장은 본인이 수정할 때만 바뀝니다.
+ * - 항목은 마지막 조회 후 {@code ttlMillis}가 지나면 만료되고, 최대 {@code maxUsers}명까지만 보관합니다. (LRU)
+ * - save / delete / upsertAll(batchInsert) 이 호출되면 해당 사용자의 항목을 바로 지웁니다.
+ * - 반환하는 Map은 수정할 수 없고 안의 Item도 복사본이므로, 호출자가 값을 바꿔도 캐시는 오염되지 않습니다.
+ * 조회 도중 쓰기가 끝나면 DB에서 읽은 (이미 낡았을 수 있는) 값은 캐시에 넣지 않습니다. (세대 번호 비교)
+ */
+public class CachingMyClosetRepository implements MyClosetRepository {
+
+    private final MyClosetRepository delegate;
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    // 접근 순서 LinkedHashMap: 가장 오래 쓰이지 않은 사용자부터 내보냅니다. (this로 동기화)
+    private final LinkedHashMap<String, Entry> entries;
+    // 무효화가 일어날 때마다 1 증가합니다. 조회 시작 시점과 다르면 조회 결과를 캐시에 넣지 않습니다.
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final class Entry {
+        final Map<String, Item> items; // 캐시 전용 원본 (외부로 직접 내보내지 않음)
+        final long loadedAt;
+
+        Entry(Map<String, Item> items, long loadedAt) {
+            this.items = items;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public CachingMyClosetRepository(MyClosetRepository delegate) {
+        this(delegate, AppConfig.CLOSET_CACHE_MAX_USERS, AppConfig.CLOSET_CACHE_TTL_MS, System::nanoTime);
+    }
+
+    CachingMyClosetRepository(MyClosetRepository delegate, int maxUsers, long ttlMillis, LongSupplier clock) {
+        this.delegate = delegate;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CachingMyClosetRepository.this.maxUsers;
+            }
+        };
+    }
+
+    @Override
+    public Map<String, Item> findAllByUserId(String userId) throws DatabaseException {
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null && clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                hits.incrementAndGet();
+                return view(entry.items);
+            }
+            if (entry != null) {
+                entries.remove(userId); // 만료
+            }
+            startGeneration = generation;
+        }
+
+        // DB 조회는 잠금 밖에서 합니다. (다른 사용자의 캐시 조회를 막지 않도록)
+        misses.incrementAndGet();
+        Map<String, Item> loaded = copy(delegate.findAllByUserId(userId));
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(userId, new Entry(loaded, clock.getAsLong()));
+            }
+        }
+        return view(loaded);
+    }
+
+    @Override
+    public void save(String userId, Item item) throws DatabaseException {
+        try {
+            delegate.save(userId, item);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean delete(String userId, String itemName) throws DatabaseException {
+        try {
+            return delegate.delete(userId, itemName);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public int batchInsert(String userId, List<Item> items) throws DatabaseException {
+        try {
+            return delegate.batchInsert(userId, items);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public int upsertAll(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException {
+        try {
+            return delegate.upsertAll(userId, items, policy);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public void deleteAllData() throws DatabaseException {
+        try {
+            delegate.deleteAllData();
+        } finally {
+            synchronized (this) {
+                generation++;
+                entries.clear();
+            }
+        }
+    }
+
+    @Override
+    public List<ClosetCategoryStat> getCategoryStatistics(String userId) throws DatabaseException {
+        return delegate.getCategoryStatistics(userId);
+    }
+
+    @Override
+    public List<Item> findItemsByNameLike(String userId, String keyword) throws DatabaseException {
+        return delegate.findItemsByNameLike(userId, keyword);
+    }
+
+    /**
+     * 캐시 적중/실패 횟수와 현재 보관 중인 사용자 수를 요약합니다. (종료 시 로그용)
+     */
+    public String getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return String.format("hits=%d, misses=%d (%.1f%%), users=%d/%d",
+                hitCount, missCount, total == 0 ? 0.0 : hitCount * 100.0 / total, size, maxUsers);
+    }
+
+    private synchronized void invalidate(String userId) {
+        generation++;
+        entries.remove(userId);
+    }
+
+    // 캐시에 보관할 원본: 호출자가 가진 Item 객체와 공유하지 않도록 복사합니다.
+    private static Map<String, Item> copy(Map<String, Item> items) {
+        Map<String, Item> copied = new LinkedHashMap<>();
+        for (Map.Entry<String, Item> e : items.entrySet()) {
+            Item item = e.getValue();
+            copied.put(e.getKey(), ItemFactory.create(item.getName(), item.getCategory(), item.getQuantity()));
+        }
+        return copied;
+    }
+
+    // Item에는 setter가 있으므로, 수정 불가능한 Map에 복사본을 담아 반환합니다.
+    private static Map<String, Item> view(Map<String, Item> items) {
+        return Collections.unmodifiableMap(copy(items));
+    }
+}
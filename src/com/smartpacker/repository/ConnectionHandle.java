@@ -0,0 +1,96 @@
+package com.smartpacker.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 대여된 물리 커넥션 하나를 감싸는 프록시 핸들러입니다.
+ * 호출자가 close()를 호출하면 실제로 닫지 않고 반환 콜백을 실행하며, 반환 이후의 호출은 막습니다.
+ * prepareStatement(sql)은 물리 커넥션에 딸린 StatementCache를 거치므로 같은 SQL은 다시 컴파일하지 않습니다.
+ * 커넥션 풀과 전용 쓰기 커넥션이 함께 사용합니다.
+ */
+class ConnectionHandle implements InvocationHandler {
+
+    /**
+     * 프록시의 close()가 처음 호출될 때 실행되는 반환 동작입니다.
+     */
+    interface ReturnAction {
+        void returnConnection(ConnectionHandle handle);
+    }
+
+    final Connection physical;
+    final StatementCache statements;
+    final long borrowedAt = System.currentTimeMillis();
+    final Throwable borrowSite; // 누수 감지를 켠 경우에만 기록 (스택 트레이스 수집 비용이 대여마다 들기 때문)
+    volatile boolean leakReported = false;
+
+    private final ReturnAction returnAction;
+    private final Connection proxy;
+    private boolean returned = false;
+
+    ConnectionHandle(Connection physical, StatementCache statements, ReturnAction returnAction) {
+        this(physical, statements, returnAction, false);
+    }
+
+    ConnectionHandle(Connection physical, StatementCache statements, ReturnAction returnAction, boolean recordBorrowSite) {
+        this.physical = physical;
+        this.borrowSite = recordBorrowSite ? new Throwable("커넥션 대여 위치") : null;
+        this.statements = statements;
+        this.returnAction = returnAction;
+        this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, this);
+    }
+
+    /**
+     * 호출자에게 건넬 프록시 커넥션을 반환합니다.
+     */
+    Connection proxy() {
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                synchronized (this) {
+                    if (!returned) {
+                        returned = true;
+                        returnAction.returnConnection(this);
+                    }
+                }
+                return null;
+            case "isClosed":
+                return returned || physical.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PooledConnection[" + physical + "]";
+            default:
+                if (returned) {
+                    throw new SQLException("이미 반환된 커넥션입니다.");
+                }
+                if ("prepareStatement".equals(method.getName()) && isCacheable(method)) {
+                    int autoGeneratedKeys = args.length > 1 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                    return statements.prepare((String) args[0], autoGeneratedKeys);
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+
+    // prepareStatement(String), prepareStatement(String, int autoGeneratedKeys)만 캐시합니다.
+    private static boolean isCacheable(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 1 || (types.length == 2 && types[1] == int.class);
+    }
+}
@@ -0,0 +1,275 @@
+package com.smartpacker.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 크기가 제한된 간단한 JDBC 커넥션 풀입니다.
+ *
+ * 대여한 커넥션은 프록시로 감싸서 돌려주므로, 기존 코드처럼 {@code conn.close()}를 호출하면
+ * 실제로 닫히지 않고 풀로 반환됩니다. 대여 시 유효성 검사, 최대 크기 제한, 대여 대기 시간 초과,
+ * 유휴 커넥션 정리, 반환되지 않은 커넥션(누수) 감지를 지원합니다.
+ * 물리 커넥션마다 PreparedStatement 캐시가 붙어 있어, 풀로 돌아왔다가 다시 대여되어도 컴파일된 statement를 재사용합니다.
+ */
+public class ConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final String url;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final StatementCache.Stats statementStats;
+
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final Map<ConnectionHandle, Boolean> borrowed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed = false;
+
+    // --- 메트릭 ---
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowTimeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+
+    /**
+     * @param url JDBC URL
+     * @param maxSize 동시에 대여할 수 있는 최대 커넥션 수
+     * @param borrowTimeoutMillis 커넥션을 기다리는 최대 시간(ms)
+     * @param idleTimeoutMillis 이 시간 이상 사용되지 않은 유휴 커넥션은 닫음(ms)
+     * @param leakThresholdMillis 이 시간 이상 반환되지 않은 커넥션은 누수로 보고 대여 위치의 스택 트레이스를 기록(ms, 0 이하면 누수 감지를 끔)
+     * @param validationTimeoutSeconds 대여 시 유효성 검사 제한 시간(초)
+     * @param maintenanceIntervalMillis 유휴 정리/누수 감지 주기(ms)
+     * @param statementCacheSize 커넥션당 캐시할 PreparedStatement 최대 수
+     * @param statementStats statement 캐시 적중/실패 통계를 누적할 객체 (쓰기 커넥션과 공유 가능)
+     */
+    ConnectionPool(String url, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+                   long leakThresholdMillis, int validationTimeoutSeconds, long maintenanceIntervalMillis,
+                   int statementCacheSize, StatementCache.Stats statementStats) {
+        this.url = url;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.statementStats = statementStats;
+        this.permits = new Semaphore(maxSize, true);
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenance.scheduleWithFixedDelay(this::runMaintenance,
+                maintenanceIntervalMillis, maintenanceIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 풀에서 커넥션을 대여합니다. 사용 후에는 반드시 close()를 호출하여 반환해야 합니다.
+     * @return 풀에 반환되는 프록시 커넥션
+     * @throws SQLException 대기 시간 초과, 풀 종료, 커넥션 생성 실패 시
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("커넥션 풀이 이미 종료되었습니다.");
+        }
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeoutCount.incrementAndGet();
+                throw new SQLException("커넥션 대기 시간(" + borrowTimeoutMillis + "ms)을 초과했습니다. 반환되지 않은 커넥션이 있는지 확인하세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("커넥션 대기 중 인터럽트되었습니다.", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+
+        try {
+            IdleConnection reused = takeValidIdleConnection();
+            ConnectionHandle handle;
+            if (reused != null) {
+                handle = new ConnectionHandle(reused.physical, reused.statements, this::release, leakDetectionEnabled());
+            } else {
+                Connection physical = createConnection();
+                handle = new ConnectionHandle(physical,
+                        new StatementCache(physical, statementCacheSize, statementStats), this::release, leakDetectionEnabled());
+            }
+            borrowed.put(handle, Boolean.TRUE);
+            borrowCount.incrementAndGet();
+            return handle.proxy();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 새 물리 커넥션을 생성합니다. 하위 클래스에서 커넥션 초기화(PRAGMA 등)를 덧붙일 수 있습니다.
+     */
+    protected Connection createConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        createdCount.incrementAndGet();
+        return connection;
+    }
+
+    /**
+     * 현재 풀 상태와 누적 메트릭을 반환합니다.
+     */
+    public PoolMetrics getMetrics() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long borrows = borrowCount.get();
+        return new PoolMetrics(maxSize, borrowed.size(), idleCount, createdCount.get(), borrows,
+                borrowTimeoutCount.get(), borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1000,
+                validationFailureCount.get(), evictedCount.get(), leakCount.get(),
+                statementStats.hits.get(), statementStats.misses.get());
+    }
+
+    /**
+     * 풀을 종료하고 유휴 커넥션을 모두 닫습니다. 대여 중인 커넥션은 반환될 때 닫힙니다.
+     */
+    public void shutdown() {
+        closed = true;
+        maintenance.shutdownNow();
+        synchronized (idle) {
+            for (IdleConnection connection : idle) {
+                connection.close();
+            }
+            idle.clear();
+        }
+    }
+
+    private IdleConnection takeValidIdleConnection() {
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst(); // 가장 최근에 반환된 커넥션부터 재사용 (LIFO)
+            }
+            if (candidate == null) {
+                return null;
+            }
+            try {
+                if (candidate.physical.isValid(validationTimeoutSeconds)) {
+                    return candidate;
+                }
+            } catch (SQLException e) {
+                log.debug("커넥션 유효성 검사 중 오류", e);
+            }
+            validationFailureCount.incrementAndGet();
+            candidate.close();
+        }
+    }
+
+    // 프록시의 close()가 호출되면 물리 커넥션을 초기 상태로 되돌려 유휴 목록에 넣습니다.
+    private void release(ConnectionHandle handle) {
+        borrowed.remove(handle);
+        Connection physical = handle.physical;
+        try {
+            if (closed || physical.isClosed()) {
+                handle.statements.closeAll();
+                closeQuietly(physical);
+                return;
+            }
+            handle.statements.resetAll();
+            if (!physical.getAutoCommit()) {
+                physical.rollback(); // 커밋되지 않은 작업은 다음 사용자에게 넘기지 않습니다.
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            synchronized (idle) {
+                idle.addFirst(new IdleConnection(physical, handle.statements, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            log.warn("커넥션 반환 중 오류가 발생하여 해당 커넥션을 폐기합니다.", e);
+            handle.statements.closeAll();
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void runMaintenance() {
+        long now = System.currentTimeMillis();
+
+        // 1. 오래 사용되지 않은 유휴 커넥션 정리 (가장 오래된 것은 목록의 끝에 있음)
+        synchronized (idle) {
+            Iterator<IdleConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleConnection connection = iterator.next();
+                if (now - connection.idleSince < idleTimeoutMillis) {
+                    break;
+                }
+                iterator.remove();
+                connection.close();
+                evictedCount.incrementAndGet();
+            }
+        }
+
+        // 2. 너무 오래 반환되지 않은 커넥션은 대여한 위치의 스택 트레이스와 함께 경고 (대여당 1회)
+        if (!leakDetectionEnabled()) {
+            return;
+        }
+        for (ConnectionHandle handle : borrowed.keySet()) {
+            if (!handle.leakReported && now - handle.borrowedAt > leakThresholdMillis) {
+                handle.leakReported = true;
+                leakCount.incrementAndGet();
+                log.warn("커넥션이 {}ms 넘게 반환되지 않았습니다. (누수 의심) 대여 위치:",
+                        now - handle.borrowedAt, handle.borrowSite);
+            }
+        }
+    }
+
+    // 누수 감지를 끄면 대여마다 스택 트레이스를 만들지 않습니다.
+    private boolean leakDetectionEnabled() {
+        return leakThresholdMillis > 0;
+    }
+
+    static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("커넥션 닫기 실패", e);
+        }
+    }
+
+    private static class IdleConnection {
+        final Connection physical;
+        final StatementCache statements;
+        final long idleSince;
+
+        IdleConnection(Connection physical, StatementCache statements, long idleSince) {
+            this.physical = physical;
+            this.statements = statements;
+            this.idleSince = idleSince;
+        }
+
+        void close() {
+            statements.closeAll();
+            closeQuietly(physical);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.smartpacker.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link CorpusSnapshotWriter}가 만든 열(column) 단위 스냅샷 파일을 메모리 매핑하여 읽는 클래스입니다.
+ * 각 열은 매핑된 파일 위의 IntBuffer/LongBuffer 뷰로 노출되므로 복사나 JSON 파싱 없이
+ * 원시 배열 순회만으로 전체 공유 데이터 집계를 수행할 수 있습니다.
+ *
+ * 사용 예 (아이템 i가 몇 개의 리스트에 포함되었는지 집계):
+ * <pre>
+ *  for (int list = 0; list &lt; snapshot.listCount(); list++) {
+ *      for (int ref = snapshot.itemStart(list); ref &lt; snapshot.itemEnd(list); ref++) {
+ *          counts[snapshot.itemIdAt(ref)]++;
+ *      }
+ *  }
+ * </pre>
+ */
+public class CorpusSnapshot {
+
+    private final int listCount;
+    private final LongBuffer createdAt;
+    private final IntBuffer userIds;
+    private final IntBuffer itemOffsets;
+    private final IntBuffer itemIds;
+    private final IntBuffer quantities;
+    private final IntBuffer tagOffsets;
+    private final IntBuffer tagIds;
+    private final String[] users;
+    private final String[] itemNames;
+    private final String[] itemCategories;
+    private final String[] tags;
+
+    private CorpusSnapshot(MappedByteBuffer mapped) throws IOException {
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != CorpusSnapshotWriter.MAGIC) {
+            throw new IOException("스냅샷 파일 형식이 아닙니다.");
+        }
+        if (buffer.getInt(4) != CorpusSnapshotWriter.VERSION) {
+            throw new IOException("지원하지 않는 스냅샷 버전입니다: " + buffer.getInt(4));
+        }
+        this.listCount = buffer.getInt(8);
+        int itemRefCount = buffer.getInt(12);
+        int tagRefCount = buffer.getInt(16);
+        int userDictSize = buffer.getInt(20);
+        int itemDictSize = buffer.getInt(24);
+        int tagDictSize = buffer.getInt(28);
+
+        int position = CorpusSnapshotWriter.HEADER_BYTES;
+        this.createdAt = slice(buffer, position, listCount * Long.BYTES).asLongBuffer();
+        position += listCount * Long.BYTES;
+        this.userIds = slice(buffer, position, listCount * Integer.BYTES).asIntBuffer();
+        position += listCount * Integer.BYTES;
+        this.itemOffsets = slice(buffer, position, (listCount + 1) * Integer.BYTES).asIntBuffer();
+        position += (listCount + 1) * Integer.BYTES;
+        this.itemIds = slice(buffer, position, itemRefCount * Integer.BYTES).asIntBuffer();
+        position += itemRefCount * Integer.BYTES;
+        this.quantities = slice(buffer, position, itemRefCount * Integer.BYTES).asIntBuffer();
+        position += itemRefCount * Integer.BYTES;
+        this.tagOffsets = slice(buffer, position, (listCount + 1) * Integer.BYTES).asIntBuffer();
+        position += (listCount + 1) * Integer.BYTES;
+        this.tagIds = slice(buffer, position, tagRefCount * Integer.BYTES).asIntBuffer();
+        position += tagRefCount * Integer.BYTES;
+
+        // 사전(문자열)은 크기가 작으므로 열 때 한 번만 디코딩해 둡니다.
+        buffer.position(position);
+        this.users = readStrings(buffer, userDictSize);
+        this.itemNames = new String[itemDictSize];
+        this.itemCategories = new String[itemDictSize];
+        for (int i = 0; i < itemDictSize; i++) {
+            itemNames[i] = readString(buffer);
+            itemCategories[i] = readString(buffer);
+        }
+        this.tags = readStrings(buffer, tagDictSize);
+    }
+
+    /**
+     * 스냅샷 파일을 읽기 전용으로 메모리 매핑하여 엽니다.
+     * 매핑은 채널을 닫은 뒤에도 유효하므로 별도로 닫을 필요가 없습니다.
+     * @param path 스냅샷 파일 경로 (단일 매핑 한계인 2GB 이하)
+     * @return 스냅샷 객체
+     * @throws IOException 파일을 읽을 수 없거나 형식이 맞지 않을 때
+     */
+    public static CorpusSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("2GB를 넘는 스냅샷은 지원하지 않습니다.");
+            }
+            return new CorpusSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // --- 리스트 단위 열 ---
+    public int listCount() { return listCount; }
+    public long createdAtEpochSecond(int list) { return createdAt.get(list); }
+    public int userIdOf(int list) { return userIds.get(list); }
+
+    // --- 아이템 열 (itemStart(list) 이상 itemEnd(list) 미만 구간이 해당 리스트의 아이템) ---
+    public int itemStart(int list) { return itemOffsets.get(list); }
+    public int itemEnd(int list) { return itemOffsets.get(list + 1); }
+    public int itemIdAt(int ref) { return itemIds.get(ref); }
+    public int quantityAt(int ref) { return quantities.get(ref); }
+
+    // --- 태그 열 ---
+    public int tagStart(int list) { return tagOffsets.get(list); }
+    public int tagEnd(int list) { return tagOffsets.get(list + 1); }
+    public int tagIdAt(int ref) { return tagIds.get(ref); }
+
+    // --- 사전 ---
+    public int userDictionarySize() { return users.length; }
+    public int itemDictionarySize() { return itemNames.length; }
+    public int tagDictionarySize() { return tags.length; }
+    public String userName(int userId) { return users[userId]; }
+    public String itemName(int itemId) { return itemNames[itemId]; }
+    public String itemCategory(int itemId) { return itemCategories[itemId]; }
+    public String tagName(int tagId) { return tags[tagId]; }
+
+    /**
+     * 정규화된 태그 문자열의 사전 ID를 찾습니다.
+     * @param normalizedTag 정규화된 태그
+     * @return 태그 ID, 없으면 -1
+     */
+    public int findTagId(String normalizedTag) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i].equals(normalizedTag)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 아이템별로 해당 아이템을 포함한 리스트 수를 집계합니다.
+     * @param tagId 이 태그가 붙은 리스트만 집계 (-1이면 전체)
+     * @return 아이템 ID를 인덱스로 하는 리스트 수 배열
+     */
+    public int[] countListsPerItem(int tagId) {
+        int[] counts = new int[itemNames.length];
+        for (int list = 0; list < listCount; list++) {
+            if (tagId >= 0 && !hasTag(list, tagId)) {
+                continue;
+            }
+            int end = itemOffsets.get(list + 1);
+            for (int ref = itemOffsets.get(list); ref < end; ref++) {
+                counts[itemIds.get(ref)]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 특정 리스트에 태그가 붙어 있는지 확인합니다.
+     */
+    public boolean hasTag(int list, int tagId) {
+        int end = tagOffsets.get(list + 1);
+        for (int ref = tagOffsets.get(list); ref < end; ref++) {
+            if (tagIds.get(ref) == tagId) return true;
+        }
+        return false;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position).limit(position + length);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static String[] readStrings(ByteBuffer buffer, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(buffer);
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.util.TagNormalizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공유 패킹 리스트를 열(column) 단위 바이너리 스냅샷 파일로 내보내는 클래스입니다.
+ * 관리자 분석/배치 작업이 packing_lists를 행 단위로 읽고 JSON을 파싱하는 대신,
+ * {@link CorpusSnapshot}으로 파일을 메모리 매핑하여 원시 배열을 순회할 수 있게 합니다.
+ *
+ * 파일 구조 (모두 little-endian):
+ * <pre>
+ *  [헤더]      magic, version, listCount, itemRefCount, tagRefCount, userDictSize, itemDictSize, tagDictSize
+ *  [long 열]   createdAt(epoch 초)[listCount]
+ *  [int 열]    userIds[listCount], itemOffsets[listCount+1], itemIds[itemRefCount], quantities[itemRefCount],
+ *              tagOffsets[listCount+1], tagIds[tagRefCount]
+ *  [사전]      사용자 ID, 아이템(이름+카테고리), 태그 문자열 (길이 접두 UTF-8)
+ * </pre>
+ */
+public class CorpusSnapshotWriter {
+
+    static final int MAGIC = 0x53504353; // "SPCS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8 * Integer.BYTES;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Map<String, Integer> userDict = new HashMap<>();
+    private final List<String> users = new ArrayList<>();
+    private final Map<String, Integer> itemDict = new HashMap<>();
+    private final List<String> itemNames = new ArrayList<>();
+    private final List<String> itemCategories = new ArrayList<>();
+    private final Map<String, Integer> tagDict = new HashMap<>();
+    private final List<String> tags = new ArrayList<>();
+
+    private int listCount = 0;
+    private long[] createdAt = new long[1024];
+    private int[] userIds = new int[1024];
+    private int[] itemOffsets = new int[1025];
+    private int[] tagOffsets = new int[1025];
+    private int itemRefCount = 0;
+    private int[] itemIds = new int[4096];
+    private int[] quantities = new int[4096];
+    private int tagRefCount = 0;
+    private int[] tagIds = new int[4096];
+
+    /**
+     * 패킹 리스트 하나를 스냅샷에 추가합니다.
+     * @param list 추가할 (공유) 패킹 리스트
+     */
+    public void add(PackingList list) {
+        if (listCount + 1 >= itemOffsets.length) {
+            int capacity = itemOffsets.length * 2;
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            itemOffsets = Arrays.copyOf(itemOffsets, capacity + 1);
+            tagOffsets = Arrays.copyOf(tagOffsets, capacity + 1);
+        }
+        createdAt[listCount] = list.getCreatedAt() == null ? 0 : list.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+        userIds[listCount] = intern(userDict, users, list.getUserId());
+
+        for (Item item : list.getItems()) {
+            if (itemRefCount == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, itemRefCount * 2);
+                quantities = Arrays.copyOf(quantities, itemRefCount * 2);
+            }
+            Integer itemId = itemDict.get(item.getName());
+            if (itemId == null) {
+                itemId = itemNames.size();
+                itemDict.put(item.getName(), itemId);
+                itemNames.add(item.getName());
+                itemCategories.add(item.getCategory());
+            }
+            itemIds[itemRefCount] = itemId;
+            quantities[itemRefCount] = item.getQuantity();
+            itemRefCount++;
+        }
+        for (String tag : TagNormalizer.split(list.getTags())) {
+            if (tagRefCount == tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, tagRefCount * 2);
+            }
+            tagIds[tagRefCount++] = intern(tagDict, tags, tag);
+        }
+
+        listCount++;
+        itemOffsets[listCount] = itemRefCount;
+        tagOffsets[listCount] = tagRefCount;
+    }
+
+    /**
+     * 지금까지 추가된 리스트를 스냅샷 파일로 기록합니다. (기존 파일은 덮어씁니다)
+     * @param path 저장할 파일 경로
+     * @return 추가된 리스트 수
+     * @throws IOException 파일 쓰기 중 오류 발생 시
+     */
+    public int writeTo(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            int[] header = {MAGIC, VERSION, listCount, itemRefCount, tagRefCount, users.size(), itemNames.size(), tags.size()};
+            writeInts(channel, buffer, header, header.length);
+
+            // long 열을 헤더(32바이트) 바로 뒤에 두어 8바이트 정렬을 유지합니다.
+            for (int i = 0; i < listCount; i++) {
+                ensureRemaining(channel, buffer, Long.BYTES);
+                buffer.putLong(createdAt[i]);
+            }
+            writeInts(channel, buffer, userIds, listCount);
+            writeInts(channel, buffer, itemOffsets, listCount + 1);
+            writeInts(channel, buffer, itemIds, itemRefCount);
+            writeInts(channel, buffer, quantities, itemRefCount);
+            writeInts(channel, buffer, tagOffsets, listCount + 1);
+            writeInts(channel, buffer, tagIds, tagRefCount);
+
+            writeStrings(channel, buffer, users);
+            for (int i = 0; i < itemNames.size(); i++) {
+                writeString(channel, buffer, itemNames.get(i));
+                writeString(channel, buffer, itemCategories.get(i));
+            }
+            writeStrings(channel, buffer, tags);
+
+            flush(channel, buffer);
+        }
+        return listCount;
+    }
+
+    private static int intern(Map<String, Integer> dict, List<String> values, String value) {
+        String key = value == null ? "" : value;
+        Integer id = dict.get(key);
+        if (id == null) {
+            id = values.size();
+            dict.put(key, id);
+            values.add(key);
+        }
+        return id;
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            ensureRemaining(channel, buffer, Integer.BYTES);
+            buffer.putInt(values[i]);
+        }
+    }
+
+    private static void writeStrings(FileChannel channel, ByteBuffer buffer, List<String> values) throws IOException {
+        for (String value : values) {
+            writeString(channel, buffer, value);
+        }
+    }
+
+    private static void writeString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRemaining(channel, buffer, Integer.BYTES);
+        buffer.putInt(bytes.length);
+        int written = 0;
+        while (written < bytes.length) {
+            ensureRemaining(channel, buffer, 1);
+            int chunk = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, chunk);
+            written += chunk;
+        }
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,108 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.user.ClosetCategoryStat;
+import com.smartpacker.exception.DatabaseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link InMemoryStore}에 '내 옷장'을 보관하는 MyClosetRepository 구현체입니다. (MEMORY 엔진)
+ * 조회할 때마다 새 Item 객체를 만들어 주므로 호출자가 값을 바꿔도 저장소에는 영향이 없습니다.
+ */
+public class InMemoryMyClosetRepository implements MyClosetRepository {
+
+    private final InMemoryStore store;
+
+    public InMemoryMyClosetRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(String userId, Item item) throws DatabaseException {
+        store.upsertCloset(userId, Collections.singletonList(item), ConflictPolicy.REPLACE);
+    }
+
+    @Override
+    public Map<String, Item> findAllByUserId(String userId) {
+        Map<String, Item> closet = new HashMap<>();
+        Map<String, InMemoryStore.ClosetEntry> entries = store.closet(userId);
+        if (entries != null) {
+            entries.forEach((name, entry) -> closet.put(name, InMemoryStore.toItem(name, entry)));
+        }
+        return closet;
+    }
+
+    @Override
+    public boolean delete(String userId, String itemName) throws DatabaseException {
+        return store.deleteClosetItem(userId, itemName);
+    }
+
+    @Override
+    public List<ClosetCategoryStat> getCategoryStatistics(String userId) {
+        Map<String, long[]> counts = new HashMap<>(); // 카테고리 -> {아이템 종류 수, 수량 합계}
+        Map<String, InMemoryStore.ClosetEntry> entries = store.closet(userId);
+        if (entries != null) {
+            for (InMemoryStore.ClosetEntry entry : entries.values()) {
+                long[] count = counts.computeIfAbsent(entry.category, k -> new long[2]);
+                count[0]++;
+                count[1] += entry.quantity;
+            }
+        }
+        // DB 구현과 같은 순서 (종류 수, 수량 합계가 큰 카테고리부터)
+        List<ClosetCategoryStat> stats = new ArrayList<>();
+        counts.forEach((category, count) -> stats.add(new ClosetCategoryStat(category, count[0], count[1])));
+        stats.sort(Comparator.comparingLong((ClosetCategoryStat stat) -> stat.itemCount).reversed()
+                .thenComparing(Comparator.comparingLong((ClosetCategoryStat stat) -> stat.quantitySum).reversed())
+                .thenComparing(stat -> stat.category));
+        return stats;
+    }
+
+    @Override
+    public int upsertAll(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException {
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+        return store.upsertCloset(userId, items, policy);
+    }
+
+    @Override
+    public void deleteAllData() throws DatabaseException {
+        store.clearClosets();
+    }
+
+    @Override
+    public List<Item> findItemsByNameLike(String userId, String keyword) {
+        List<Item> found = new ArrayList<>();
+        String needle = keyword.trim().toLowerCase(Locale.ROOT);
+        Map<String, InMemoryStore.ClosetEntry> entries = store.closet(userId);
+        if (needle.isEmpty() || entries == null) {
+            return found;
+        }
+
+        // DB 구현(LIKE 검색)과 같은 순서: 키워드가 앞에 나올수록, 이름이 짧을수록, 그 다음 이름순
+        List<String> names = new ArrayList<>();
+        for (String name : entries.keySet()) {
+            if (name.toLowerCase(Locale.ROOT).contains(needle)) {
+                names.add(name);
+            }
+        }
+        names.sort(Comparator.<String>comparingInt(name -> name.toLowerCase(Locale.ROOT).indexOf(needle))
+                .thenComparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder()));
+        for (String name : names.subList(0, Math.min(names.size(), AppConfig.SIMILAR_ITEM_SEARCH_LIMIT))) {
+            InMemoryStore.ClosetEntry entry = entries.get(name);
+            if (entry != null) { // 정렬하는 사이에 지워졌을 수 있음
+                found.add(InMemoryStore.toItem(name, entry));
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,140 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.util.SyntheticDataGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link InMemoryStore}에 패킹 리스트를 보관하는 PackingListRepository 구현체입니다. (MEMORY 엔진)
+ * 목록/페이지 조회는 정렬 인덱스를 그대로 따라가므로 DB 구현과 순서(created_at DESC, id DESC)와 커서 형식이 같습니다.
+ * 아이템은 바이너리로 보관하다가 {@link PackingList#getItems()}를 처음 부를 때 디코딩합니다.
+ */
+public class InMemoryPackingListRepository implements PackingListRepository {
+
+    private static final int TAG_SEARCH_LIMIT = 100; // DB 구현의 LIMIT 100과 같음
+
+    private final InMemoryStore store;
+
+    public InMemoryPackingListRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public PackingList save(PackingList packingList) throws DatabaseException {
+        InMemoryStore.StoredList saved = store.insertList(packingList.getUserId(), packingList.getListName(),
+                packingList.getTags(), packingList.getItems());
+        return new PackingList(saved.id, packingList.getUserId(), packingList.getListName(), packingList.getTags(),
+                packingList.getItems(), packingList.isShared(), saved.createdAt);
+    }
+
+    @Override
+    public void updateSharedStatus(long listId, boolean isShared) throws DatabaseException {
+        store.setShared(listId, isShared);
+    }
+
+    @Override
+    public Optional<PackingList> findById(long listId) {
+        return Optional.ofNullable(load(listId));
+    }
+
+    @Override
+    public List<PackingList> findAllByUserId(String userId) {
+        return PackingListIndex.toList(store.listIndex().byUser(userId), this::load);
+    }
+
+    @Override
+    public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) {
+        return PackingListIndex.page(store.listIndex().byUser(userId), after, pageSize, this::load);
+    }
+
+    @Override
+    public List<PackingList> findSharedListsByTags(String[] tags) {
+        List<PackingList> lists = new ArrayList<>();
+        if (tags == null || tags.length == 0) {
+            return lists;
+        }
+        for (long id : store.listIndex().findSharedByTagSubstrings(tags, TAG_SEARCH_LIMIT, this::tagsOf)) {
+            PackingList list = loadShared(id);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        return lists;
+    }
+
+    @Override
+    public List<PackingList> findAllShared() {
+        return PackingListIndex.toList(store.listIndex().shared(), this::loadShared);
+    }
+
+    @Override
+    public void forEachShared(Consumer<PackingList> action) {
+        for (PackingListIndex.Key key : store.listIndex().shared()) {
+            PackingList list = loadShared(key.id);
+            if (list != null) {
+                action.accept(list);
+            }
+        }
+    }
+
+    @Override
+    public Stream<PackingList> streamShared() {
+        // 정렬 인덱스를 그대로 흘려보내므로 전체 목록을 만들지 않고, 닫아야 할 자원도 없습니다.
+        return store.listIndex().shared().stream()
+                .map(key -> loadShared(key.id))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) {
+        return PackingListIndex.page(store.listIndex().shared(), after, pageSize, this::loadShared);
+    }
+
+    @Override
+    public void seedSharedLists() throws DatabaseException {
+        if (store.sharedListCount() > 0) {
+            System.out.println("[INFO] 이미 공유 데이터가 존재하여 Seeding을 건너뜁니다.");
+            return;
+        }
+        System.out.println("[INFO] 공유 패킹 리스트 Seeding을 시작합니다...");
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(AppConfig.SEED_RANDOM_SEED, AppConfig.SEED_USER_COUNT);
+        long seeded = store.loadSyntheticLists(generator, AppConfig.SEED_SHARED_LIST_COUNT);
+        System.out.println("[SUCCESS] " + seeded + "개의 공유 패킹 리스트 Seeding을 완료했습니다.");
+    }
+
+    @Override
+    public void deleteAllData() throws DatabaseException {
+        store.clearLists();
+    }
+
+    @Override
+    public void update(PackingList packingList) throws DatabaseException {
+        // DB 구현과 같이 아이템과 tags만 바꿉니다. (이름 등은 변경 불가)
+        store.updateList(packingList.getId(), packingList.getTags(), packingList.getItems());
+    }
+
+    private PackingList load(long listId) {
+        InMemoryStore.StoredList list = store.findList(listId);
+        return list == null ? null : store.toPackingList(list);
+    }
+
+    // 인덱스를 읽는 사이 공유가 해제됐을 수 있으므로 다시 확인합니다.
+    private PackingList loadShared(long listId) {
+        InMemoryStore.StoredList list = store.findList(listId);
+        return list == null || !list.shared ? null : store.toPackingList(list);
+    }
+
+    private String tagsOf(long listId) {
+        InMemoryStore.StoredList list = store.findList(listId);
+        return list == null ? null : list.tags;
+    }
+}
@@ -0,0 +1,837 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.user.PasswordHasher;
+import com.smartpacker.domain.user.User;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.repository.MyClosetRepository.ConflictPolicy;
+import com.smartpacker.util.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * MEMORY 엔진({@link com.smartpacker.config.RepositoryEngine#MEMORY})의 저장소입니다.
+ * 사용자, '내 옷장', 패킹 리스트를 동시성 Map에 보관하고, InMemory*Repository 세 개가 이 객체 하나를 공유합니다.
+ *
+ * <ul>
+ *   <li>기본 키: users(user_id), closets(user_id → item_name), lists(id)</li>
+ *   <li>보조 인덱스: 사용자별/공유 리스트의 최신순 정렬 집합과 태그 토큰 인덱스 ({@link PackingListIndex})</li>
+ *   <li>읽기는 잠금 없이, 쓰기는 하나의 잠금으로 직렬화합니다.
+ *       쓰기마다 변경 로그에 먼저 기록한 뒤(WAL) 메모리에 반영하므로, 로그 기록이 실패하면 아무것도 바뀌지 않습니다.</li>
+ * </ul>
+ *
+ * 영속성: {@code snapshot-N.bin}은 {@code changes-N.log}를 시작하는 시점의 전체 상태입니다.
+ * 스냅샷은 주기적으로({@link AppConfig#MEMORY_SNAPSHOT_INTERVAL_MINUTES}) 그리고 종료 시 만들고,
+ * 새 로그로 바꾼 뒤 잠금 밖에서 임시 파일에 써서 원자적으로 이름을 바꿉니다. 그 다음 이전 세대 파일을 지웁니다.
+ * 시작 시에는 가장 최근 스냅샷을 읽고, 그 세대 이후의 변경 로그를 순서대로 재생합니다.
+ */
+public class InMemoryStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryStore.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x53504D53; // "SPMS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String LOG_PREFIX = "changes-";
+    private static final String LOG_SUFFIX = ".log";
+
+    // 변경 로그 레코드 유형. 파일에 저장되므로 번호를 바꾸면 안 됩니다.
+    private static final byte PUT_USER = 1;
+    private static final byte UPSERT_CLOSET = 2;
+    private static final byte DELETE_CLOSET_ITEM = 3;
+    private static final byte CLEAR_CLOSETS = 4;
+    private static final byte PUT_LIST = 5;
+    private static final byte SET_SHARED = 6;
+    private static final byte UPDATE_LIST = 7;
+    private static final byte CLEAR_LISTS = 8;
+
+    // packing_lists.created_at (CURRENT_TIMESTAMP, UTC)과 같은 형식. 커서 비교도 이 문자열로 합니다.
+    static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** 옷장 아이템 하나 (이름은 Map의 키). 바꾸지 않고 새 객체로 교체합니다. */
+    static final class ClosetEntry {
+        final String category;
+        final int quantity;
+
+        ClosetEntry(String category, int quantity) {
+            this.category = category;
+            this.quantity = quantity;
+        }
+    }
+
+    /** 저장된 패킹 리스트 한 건. 아이템은 바이너리로 인코딩해 두고, 수정 시 새 객체로 교체합니다. */
+    static final class StoredList implements PackingListIndex.Entry {
+        final long id;
+        final String userId;
+        final String listName;
+        final String tags;
+        final byte[] items;
+        final int itemCount;
+        final boolean shared;
+        final PackingListIndex.Key key;
+        final LocalDateTime createdAt;
+
+        StoredList(long id, String userId, String listName, String tags, byte[] items, int itemCount,
+                   boolean shared, String createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.listName = listName;
+            this.tags = tags;
+            this.items = items;
+            this.itemCount = itemCount;
+            this.shared = shared;
+            this.key = new PackingListIndex.Key(createdAt, id);
+            this.createdAt = parseCreatedAt(createdAt);
+        }
+
+        StoredList withShared(boolean newShared) {
+            return new StoredList(id, userId, listName, tags, items, itemCount, newShared, key.createdAt);
+        }
+
+        StoredList withContent(String newTags, byte[] newItems, int newItemCount) {
+            return new StoredList(id, userId, listName, newTags, newItems, newItemCount, shared, key.createdAt);
+        }
+
+        @Override public String userId() { return userId; }
+        @Override public PackingListIndex.Key key() { return key; }
+        @Override public boolean shared() { return shared; }
+        @Override public String tags() { return tags; }
+    }
+
+    private final Path directory;
+    private final boolean fsyncEachRecord;
+    private final ItemBinaryCodec codec = new ItemBinaryCodec();
+
+    // 기본 키
+    private final ConcurrentHashMap<String, User> users = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<String, ClosetEntry>> closets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, StoredList> lists = new ConcurrentHashMap<>();
+    // 보조 인덱스
+    private final PackingListIndex listIndex = new PackingListIndex();
+    private final AtomicLong lastListId = new AtomicLong();
+
+    private final Object writeLock = new Object();     // 모든 쓰기 + 로그 기록 (this.changeLog, generation 보호)
+    private final Object snapshotLock = new Object();  // 스냅샷은 한 번에 하나만
+    private MemoryChangeLog changeLog;
+    private long generation;
+    private boolean unloggedChanges; // 로그 없이 반영한 대량 적재분이 있어 스냅샷이 필요함
+    private boolean closed;
+    private ScheduledExecutorService snapshotScheduler;
+
+    private InMemoryStore(Path directory, boolean fsyncEachRecord) {
+        this.directory = directory;
+        this.fsyncEachRecord = fsyncEachRecord;
+    }
+
+    /**
+     * 설정된 디렉터리({@link AppConfig#MEMORY_STORE_DIR})의 스냅샷과 변경 로그로 저장소를 복원합니다.
+     */
+    public static InMemoryStore open(Path directory) throws DatabaseException {
+        return open(directory, AppConfig.MEMORY_LOG_FSYNC);
+    }
+
+    static InMemoryStore open(Path directory, boolean fsyncEachRecord) throws DatabaseException {
+        InMemoryStore store = new InMemoryStore(directory, fsyncEachRecord);
+        try {
+            Files.createDirectories(directory);
+            store.recover();
+        } catch (IOException e) {
+            throw new DatabaseException("메모리 저장소 복원 중 오류가 발생했습니다: " + directory, e);
+        }
+        return store;
+    }
+
+    /**
+     * 백그라운드 주기 스냅샷을 시작합니다.
+     */
+    public void startSnapshots(long intervalMinutes) {
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "memory-store-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (DatabaseException e) {
+                log.error("메모리 저장소 주기 스냅샷 실패 (변경 로그는 그대로 남아 있음)", e);
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 주기 스냅샷을 멈추고 마지막 스냅샷을 만든 뒤 변경 로그를 닫습니다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        try {
+            snapshot();
+        } catch (DatabaseException e) {
+            log.error("종료 스냅샷 실패 (다음 시작 시 변경 로그로 복원)", e);
+        }
+        synchronized (writeLock) {
+            closed = true;
+            changeLog.close();
+        }
+    }
+
+    // ======================================================================
+    // 조회 (잠금 없음)
+    // ======================================================================
+
+    User findUser(String userId) {
+        return users.get(userId);
+    }
+
+    /** 사용자의 옷장 (없으면 null). 호출자는 수정하면 안 됩니다. */
+    Map<String, ClosetEntry> closet(String userId) {
+        return closets.get(userId);
+    }
+
+    StoredList findList(long id) {
+        return lists.get(id);
+    }
+
+    /** 리스트 보조 인덱스 (조회 전용) */
+    PackingListIndex listIndex() {
+        return listIndex;
+    }
+
+    PackingList toPackingList(StoredList list) {
+        byte[] items = list.items;
+        return new PackingList(list.id, list.userId, list.listName, list.tags, () -> codec.decode(items),
+                list.itemCount, list.shared, list.createdAt);
+    }
+
+    // ======================================================================
+    // 쓰기 (변경 로그에 먼저 기록한 뒤 반영)
+    // ======================================================================
+
+    void insertUser(User user) throws DatabaseException {
+        synchronized (writeLock) {
+            if (users.containsKey(user.getUserId())) {
+                throw new DatabaseException(user.getUserId() + " 사용자 등록 중 오류가 발생했습니다. (이미 존재하는 ID)");
+            }
+            append("사용자 저장", out -> {
+                out.writeByte(PUT_USER);
+                writeUser(out, user);
+            });
+            users.put(user.getUserId(), user);
+        }
+    }
+
+    /**
+     * @return 새로 등록되거나 변경된 아이템 수 (KEEP 정책에서 건너뛴 아이템은 세지 않음)
+     */
+    int upsertCloset(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException {
+        synchronized (writeLock) {
+            byte[] encoded = codec.encode(items);
+            append("내 옷장 저장", out -> {
+                out.writeByte(UPSERT_CLOSET);
+                writeString(out, userId);
+                writeString(out, policy.name());
+                writeBytes(out, encoded);
+            });
+            return applyUpsertCloset(userId, items, policy);
+        }
+    }
+
+    boolean deleteClosetItem(String userId, String itemName) throws DatabaseException {
+        synchronized (writeLock) {
+            Map<String, ClosetEntry> closet = closets.get(userId);
+            if (closet == null || !closet.containsKey(itemName)) {
+                return false;
+            }
+            append("내 옷장 아이템 삭제", out -> {
+                out.writeByte(DELETE_CLOSET_ITEM);
+                writeString(out, userId);
+                writeString(out, itemName);
+            });
+            return applyDeleteClosetItem(userId, itemName);
+        }
+    }
+
+    void clearClosets() throws DatabaseException {
+        synchronized (writeLock) {
+            append("내 옷장 전체 삭제", out -> out.writeByte(CLEAR_CLOSETS));
+            closets.clear();
+        }
+    }
+
+    /**
+     * 새 리스트를 저장합니다. ID는 마지막 ID + 1, 생성 시각은 현재 UTC 시각(초 단위)입니다.
+     * (DB의 INSERT처럼 공유 여부는 false로 저장하고, 공유는 {@link #setShared}로 바꿉니다.)
+     */
+    StoredList insertList(String userId, String listName, String tags, List<Item> items) throws DatabaseException {
+        synchronized (writeLock) {
+            String createdAt = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).format(CREATED_AT_FORMAT);
+            StoredList list = new StoredList(lastListId.get() + 1, userId, listName, tags, codec.encode(items),
+                    items.size(), false, createdAt);
+            append("패킹 리스트 저장", out -> {
+                out.writeByte(PUT_LIST);
+                writeList(out, list);
+            });
+            applyPutList(list);
+            return list;
+        }
+    }
+
+    void setShared(long listId, boolean shared) throws DatabaseException {
+        synchronized (writeLock) {
+            StoredList list = lists.get(listId);
+            if (list == null || list.shared == shared) {
+                return; // DB의 UPDATE처럼 대상이 없으면 아무 일도 하지 않음
+            }
+            append("공유 상태 업데이트", out -> {
+                out.writeByte(SET_SHARED);
+                out.writeLong(listId);
+                out.writeBoolean(shared);
+            });
+            applySetShared(listId, shared);
+        }
+    }
+
+    void updateList(long listId, String tags, List<Item> items) throws DatabaseException {
+        synchronized (writeLock) {
+            if (!lists.containsKey(listId)) {
+                return;
+            }
+            byte[] encoded = codec.encode(items);
+            append("패킹 리스트 업데이트", out -> {
+                out.writeByte(UPDATE_LIST);
+                out.writeLong(listId);
+                writeString(out, tags);
+                writeBytes(out, encoded);
+                out.writeInt(items.size());
+            });
+            applyUpdateList(listId, tags, encoded, items.size());
+        }
+    }
+
+    void clearLists() throws DatabaseException {
+        synchronized (writeLock) {
+            append("패킹 리스트 전체 삭제", out -> out.writeByte(CLEAR_LISTS));
+            applyClearLists();
+        }
+    }
+
+    int sharedListCount() {
+        return listIndex.sharedCount();
+    }
+
+    // ======================================================================
+    // 대량 적재 (generate-data 모드, 시딩)
+    // ======================================================================
+
+    /**
+     * 생성기의 사용자 전원과 옷장을 적재합니다. 이미 있는 사용자/옷장 아이템은 건너뜁니다.
+     * 레코드마다 로그를 남기지 않고, 다 넣은 뒤 스냅샷을 한 번 만듭니다. (그 전에 죽으면 적재분 전체가 사라짐)
+     * @return 적재한 옷장 아이템 수
+     */
+    public long loadSyntheticUsers(SyntheticDataGenerator generator) throws DatabaseException {
+        String salt = PasswordHasher.generateSalt();
+        String hash = PasswordHasher.hashPassword(SyntheticDataLoader.SYNTHETIC_PASSWORD, salt);
+        int userCount = generator.getUserCount();
+        long closetItems = 0;
+        for (int from = 0; from < userCount; from += AppConfig.GENERATOR_BATCH_SIZE) {
+            int to = Math.min(userCount, from + AppConfig.GENERATOR_BATCH_SIZE);
+            synchronized (writeLock) {
+                for (int i = from; i < to; i++) {
+                    String userId = generator.userId(i);
+                    users.putIfAbsent(userId, new User(userId, hash, salt));
+                    closetItems += applyUpsertCloset(userId, generator.closet(i), ConflictPolicy.KEEP);
+                }
+                unloggedChanges = true;
+            }
+        }
+        snapshot();
+        return closetItems;
+    }
+
+    /**
+     * 생성기의 0 ~ count-1번 공유 패킹 리스트를 마지막 ID 뒤에 이어서 적재한 뒤 스냅샷을 만듭니다.
+     * @return 적재한 리스트 수
+     */
+    public long loadSyntheticLists(SyntheticDataGenerator generator, long count) throws DatabaseException {
+        for (long from = 0; from < count; from += AppConfig.GENERATOR_BATCH_SIZE) {
+            long to = Math.min(count, from + AppConfig.GENERATOR_BATCH_SIZE);
+            synchronized (writeLock) {
+                for (long i = from; i < to; i++) {
+                    PackingList list = generator.sharedList(i);
+                    applyPutList(new StoredList(lastListId.get() + 1, list.getUserId(), list.getListName(), list.getTags(),
+                            codec.encode(list.getItems()), list.getItems().size(), true,
+                            list.getCreatedAt().format(CREATED_AT_FORMAT)));
+                }
+                unloggedChanges = true;
+            }
+        }
+        snapshot();
+        return count;
+    }
+
+    // ======================================================================
+    // 반영 (실시간 쓰기와 로그 재생이 같은 코드를 씀. writeLock 안에서만 호출)
+    // ======================================================================
+
+    private int applyUpsertCloset(String userId, List<Item> items, ConflictPolicy policy) {
+        ConcurrentSkipListMap<String, ClosetEntry> closet = closets.computeIfAbsent(userId, k -> new ConcurrentSkipListMap<>());
+        int changed = 0;
+        for (Item item : items) {
+            ClosetEntry existing = closet.get(item.getName());
+            if (existing == null) {
+                closet.put(item.getName(), new ClosetEntry(item.getCategory(), item.getQuantity()));
+                changed++;
+            } else if (policy == ConflictPolicy.REPLACE) {
+                closet.put(item.getName(), new ClosetEntry(item.getCategory(), item.getQuantity()));
+                changed++;
+            } else if (policy == ConflictPolicy.SUM) {
+                closet.put(item.getName(), new ClosetEntry(existing.category, existing.quantity + item.getQuantity()));
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private boolean applyDeleteClosetItem(String userId, String itemName) {
+        Map<String, ClosetEntry> closet = closets.get(userId);
+        return closet != null && closet.remove(itemName) != null;
+    }
+
+    private void applyPutList(StoredList list) {
+        lists.put(list.id, list);
+        lastListId.accumulateAndGet(list.id, Math::max);
+        listIndex.add(list);
+    }
+
+    // 스냅샷 복원용: 기본 키를 먼저 채운 뒤 보조 인덱스를 한꺼번에 만듭니다.
+    private void putListsInBulk(List<StoredList> rows) {
+        for (StoredList row : rows) {
+            lists.put(row.id, row);
+            lastListId.accumulateAndGet(row.id, Math::max);
+        }
+        listIndex.addAll(rows);
+    }
+
+    private void applySetShared(long listId, boolean shared) {
+        StoredList list = lists.get(listId);
+        if (list == null || list.shared == shared) {
+            return;
+        }
+        StoredList updated = list.withShared(shared);
+        lists.put(listId, updated);
+        listIndex.update(list, updated);
+    }
+
+    private void applyUpdateList(long listId, String tags, byte[] items, int itemCount) {
+        StoredList list = lists.get(listId);
+        if (list == null) {
+            return;
+        }
+        StoredList updated = list.withContent(tags, items, itemCount);
+        lists.put(listId, updated);
+        listIndex.update(list, updated);
+    }
+
+    private void applyClearLists() {
+        listIndex.clear();
+        lists.clear();
+        // AUTOINCREMENT처럼 지운 뒤에도 ID는 이어서 부여합니다.
+    }
+
+    private void append(String what, MemoryChangeLog.RecordWriter writer) throws DatabaseException {
+        if (closed) {
+            throw new DatabaseException(what + " 실패: 메모리 저장소가 이미 닫혔습니다.");
+        }
+        try {
+            changeLog.append(writer);
+        } catch (IOException e) {
+            throw new DatabaseException(what + " 중 변경 로그 기록 오류가 발생했습니다.", e);
+        }
+    }
+
+    // ======================================================================
+    // 스냅샷과 복원
+    // ======================================================================
+
+    /**
+     * 현재 상태의 스냅샷을 만들고 이전 세대의 스냅샷/변경 로그를 지웁니다. 마지막 스냅샷 이후 변경이 없으면 건너뜁니다.
+     * 쓰기는 새 로그로 바꾸고 상태를 복사하는 동안만 멈추고, 파일 기록 중에는 계속 진행됩니다.
+     */
+    public void snapshot() throws DatabaseException {
+        synchronized (snapshotLock) {
+            long snapshotGeneration;
+            long lastId;
+            List<User> userRows;
+            List<Map.Entry<String, List<Map.Entry<String, ClosetEntry>>>> closetRows = new ArrayList<>();
+            List<StoredList> listRows;
+
+            synchronized (writeLock) {
+                if (closed || (changeLog.recordCount() == 0 && !unloggedChanges && Files.exists(snapshotPath(generation)))) {
+                    return;
+                }
+                snapshotGeneration = generation + 1;
+                try {
+                    MemoryChangeLog next = MemoryChangeLog.open(logPath(snapshotGeneration), fsyncEachRecord, 0);
+                    changeLog.close();
+                    changeLog = next;
+                } catch (IOException e) {
+                    throw new DatabaseException("메모리 저장소 변경 로그 교체 중 오류가 발생했습니다.", e);
+                }
+                generation = snapshotGeneration;
+                unloggedChanges = false;
+
+                // 값 객체는 모두 교체 방식이므로 참조만 복사하면 이 시점의 상태가 됩니다.
+                lastId = lastListId.get();
+                userRows = new ArrayList<>(users.values());
+                for (Map.Entry<String, ConcurrentSkipListMap<String, ClosetEntry>> closet : closets.entrySet()) {
+                    closetRows.add(Map.entry(closet.getKey(), new ArrayList<>(closet.getValue().entrySet())));
+                }
+                listRows = new ArrayList<>(lists.values());
+            }
+
+            long started = System.nanoTime();
+            Path target = snapshotPath(snapshotGeneration);
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            try {
+                writeSnapshot(temp, lastId, userRows, closetRows, listRows);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                deleteGenerationsBefore(snapshotGeneration);
+            } catch (IOException e) {
+                throw new DatabaseException("메모리 저장소 스냅샷 저장 중 오류가 발생했습니다: " + target, e);
+            }
+            log.info("메모리 저장소 스냅샷 저장: {} (사용자 {}명, 리스트 {}개, {}ms)", target.getFileName(),
+                    userRows.size(), listRows.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private void writeSnapshot(Path path, long lastId, List<User> userRows,
+                               List<Map.Entry<String, List<Map.Entry<String, ClosetEntry>>>> closetRows,
+                               List<StoredList> listRows) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // CRC는 버퍼 아래에서 계산합니다. (DataOutputStream의 한 바이트씩 쓰기마다 CRC를 갱신하지 않도록)
+            CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 64 * 1024));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(lastId);
+
+            out.writeInt(userRows.size());
+            for (User user : userRows) {
+                writeUser(out, user);
+            }
+            out.writeInt(closetRows.size());
+            for (Map.Entry<String, List<Map.Entry<String, ClosetEntry>>> closet : closetRows) {
+                writeString(out, closet.getKey());
+                out.writeInt(closet.getValue().size());
+                for (Map.Entry<String, ClosetEntry> item : closet.getValue()) {
+                    writeString(out, item.getKey());
+                    writeString(out, item.getValue().category);
+                    out.writeInt(item.getValue().quantity);
+                }
+            }
+            out.writeInt(listRows.size());
+            for (StoredList list : listRows) {
+                writeList(out, list);
+            }
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue()); // 여기까지의 CRC32
+            out.flush();
+            channel.force(true); // 이름을 바꾸기 전에 내용이 디스크에 있어야 합니다.
+        }
+    }
+
+    private void readSnapshot(Path path) throws IOException {
+        verifySnapshotChecksum(path);
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("스냅샷 파일 형식이 아닙니다: " + path);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 버전입니다: " + version);
+            }
+            lastListId.set(in.readLong());
+
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                User user = readUser(in);
+                users.put(user.getUserId(), user);
+            }
+            int closetCount = in.readInt();
+            for (int i = 0; i < closetCount; i++) {
+                ConcurrentSkipListMap<String, ClosetEntry> closet = new ConcurrentSkipListMap<>();
+                String userId = readString(in);
+                int itemCount = in.readInt();
+                for (int j = 0; j < itemCount; j++) {
+                    closet.put(readString(in), new ClosetEntry(readString(in), in.readInt()));
+                }
+                closets.put(userId, closet);
+            }
+            int listCount = in.readInt();
+            List<StoredList> rows = new ArrayList<>(listCount);
+            for (int i = 0; i < listCount; i++) {
+                rows.add(readList(in));
+            }
+            putListsInBulk(rows);
+        }
+    }
+
+    // 파싱 전에 파일 전체(마지막 8바이트 제외)의 CRC32를 큰 단위로 계산해 끝의 값과 비교합니다.
+    private static void verifySnapshotChecksum(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < Long.BYTES) {
+            throw new IOException("스냅샷 파일이 손상되었습니다 (크기 " + size + "): " + path);
+        }
+        CRC32 crc = new CRC32();
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(file)) {
+            byte[] chunk = new byte[256 * 1024];
+            long remaining = size - Long.BYTES;
+            while (remaining > 0) {
+                int read = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    throw new IOException("스냅샷 파일을 끝까지 읽을 수 없습니다: " + path);
+                }
+                crc.update(chunk, 0, read);
+                remaining -= read;
+            }
+            if (in.readLong() != crc.getValue()) {
+                throw new IOException("스냅샷 파일이 손상되었습니다 (CRC 불일치): " + path);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        long started = System.nanoTime();
+        long snapshotGeneration = -1;
+        TreeSet<Long> logGenerations = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    snapshotGeneration = Math.max(snapshotGeneration, generationOf(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+                } else if (name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX)) {
+                    logGenerations.add(generationOf(name, LOG_PREFIX, LOG_SUFFIX));
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(file); // 쓰다 만 스냅샷
+                }
+            }
+        }
+
+        if (snapshotGeneration >= 0) {
+            readSnapshot(snapshotPath(snapshotGeneration));
+        }
+        // 스냅샷 세대부터의 로그를 순서대로 재생합니다. (스냅샷을 쓰다 죽었으면 이전 세대 로그 + 새 로그 모두 재생)
+        NavigableSet<Long> toReplay = logGenerations.tailSet(Math.max(snapshotGeneration, 0), true);
+        long replayed = 0;
+        long lastLogRecords = 0;
+        for (long logGeneration : toReplay) {
+            boolean last = logGeneration == toReplay.last();
+            lastLogRecords = MemoryChangeLog.replay(logPath(logGeneration), last, this::replayRecord);
+            replayed += lastLogRecords;
+        }
+
+        generation = toReplay.isEmpty() ? Math.max(snapshotGeneration, 0) : toReplay.last();
+        changeLog = MemoryChangeLog.open(logPath(generation), fsyncEachRecord, toReplay.isEmpty() ? 0 : lastLogRecords);
+        log.info("메모리 저장소 복원 완료: {} (스냅샷 세대 {}, 변경 {}건 재생, 사용자 {}명, 리스트 {}개, {}ms)", directory,
+                snapshotGeneration, replayed, users.size(), lists.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void replayRecord(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case PUT_USER: {
+                User user = readUser(in);
+                users.put(user.getUserId(), user);
+                break;
+            }
+            case UPSERT_CLOSET: {
+                String userId = readString(in);
+                ConflictPolicy policy = ConflictPolicy.valueOf(readString(in));
+                applyUpsertCloset(userId, codec.decode(readBytes(in)), policy);
+                break;
+            }
+            case DELETE_CLOSET_ITEM:
+                applyDeleteClosetItem(readString(in), readString(in));
+                break;
+            case CLEAR_CLOSETS:
+                closets.clear();
+                break;
+            case PUT_LIST:
+                applyPutList(readList(in));
+                break;
+            case SET_SHARED:
+                applySetShared(in.readLong(), in.readBoolean());
+                break;
+            case UPDATE_LIST: {
+                long listId = in.readLong();
+                String tags = readString(in);
+                byte[] items = readBytes(in);
+                applyUpdateList(listId, tags, items, in.readInt());
+                break;
+            }
+            case CLEAR_LISTS:
+                applyClearLists();
+                break;
+            default:
+                throw new IOException("알 수 없는 변경 로그 레코드 유형: " + type);
+        }
+    }
+
+    private void deleteGenerationsBefore(long keepGeneration) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long fileGeneration;
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    fileGeneration = generationOf(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+                } else if (name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX)) {
+                    fileGeneration = generationOf(name, LOG_PREFIX, LOG_SUFFIX);
+                } else {
+                    continue;
+                }
+                if (fileGeneration < keepGeneration) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Path snapshotPath(long fileGeneration) {
+        return directory.resolve(String.format("%s%08d%s", SNAPSHOT_PREFIX, fileGeneration, SNAPSHOT_SUFFIX));
+    }
+
+    private Path logPath(long fileGeneration) {
+        return directory.resolve(String.format("%s%08d%s", LOG_PREFIX, fileGeneration, LOG_SUFFIX));
+    }
+
+    private static long generationOf(String fileName, String prefix, String suffix) {
+        return Long.parseLong(fileName.substring(prefix.length(), fileName.length() - suffix.length()));
+    }
+
+    // ======================================================================
+    // 직렬화 (스냅샷과 변경 로그가 같은 형식을 씀)
+    // ======================================================================
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        writeString(out, user.getUserId());
+        writeString(out, user.getPasswordHash());
+        writeString(out, user.getPasswordSalt());
+    }
+
+    private static User readUser(DataInputStream in) throws IOException {
+        return new User(readString(in), readString(in), readString(in));
+    }
+
+    private static void writeList(DataOutputStream out, StoredList list) throws IOException {
+        out.writeLong(list.id);
+        writeString(out, list.userId);
+        writeString(out, list.listName);
+        writeString(out, list.tags);
+        writeBytes(out, list.items);
+        out.writeInt(list.itemCount);
+        out.writeBoolean(list.shared);
+        writeString(out, list.key.createdAt);
+    }
+
+    private static StoredList readList(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        String userId = readString(in);
+        String listName = readString(in);
+        String tags = readString(in);
+        byte[] items = readBytes(in);
+        int itemCount = in.readInt();
+        boolean shared = in.readBoolean();
+        return new StoredList(id, userId, listName, tags, items, itemCount, shared, readString(in));
+    }
+
+    // writeUTF는 64KB 제한이 있으므로 (길이 + UTF-8 바이트)로 씁니다. 길이 -1은 null입니다.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+
+    // "yyyy-MM-dd HH:mm:ss" 고정 형식을 직접 읽습니다. (복원 시 리스트마다 DateTimeFormatter로 파싱하면 눈에 띄게 느림)
+    static LocalDateTime parseCreatedAt(String text) {
+        if (text.length() == 19) {
+            try {
+                return LocalDateTime.of(Integer.parseInt(text, 0, 4, 10), Integer.parseInt(text, 5, 7, 10),
+                        Integer.parseInt(text, 8, 10, 10), Integer.parseInt(text, 11, 13, 10),
+                        Integer.parseInt(text, 14, 16, 10), Integer.parseInt(text, 17, 19, 10));
+            } catch (NumberFormatException e) {
+                // 아래 표준 파서가 형식 오류를 알려줍니다.
+            }
+        }
+        return LocalDateTime.parse(text, CREATED_AT_FORMAT);
+    }
+
+    /** 옷장 항목을 호출자가 수정해도 되는 Item으로 만듭니다. */
+    static Item toItem(String name, ClosetEntry entry) {
+        return ItemFactory.create(name, entry.category, entry.quantity);
+    }
+}
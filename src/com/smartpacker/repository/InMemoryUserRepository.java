@@ -0,0 +1,33 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.user.User;
+import com.smartpacker.exception.DatabaseException;
+
+import java.util.Optional;
+
+/**
+ * {@link InMemoryStore}에 사용자를 보관하는 UserRepository 구현체입니다. (MEMORY 엔진)
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final InMemoryStore store;
+
+    public InMemoryUserRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void setupDatabase() {
+        // 만들 테이블이 없습니다. (저장소는 InMemoryStore.open에서 이미 복원됨)
+    }
+
+    @Override
+    public void save(User user) throws DatabaseException {
+        store.insertUser(user);
+    }
+
+    @Override
+    public Optional<User> findByUserId(String userId) {
+        return Optional.ofNullable(store.findUser(userId));
+    }
+}
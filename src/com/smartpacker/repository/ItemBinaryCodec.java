@@ -0,0 +1,195 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * packing_lists.items_blob 컬럼의 바이너리 형식과 List&lt;Item&gt; 사이를 변환합니다.
+ *
+ * <pre>
+ * [버전 1B] [아이템 수 varint] { [카테고리 1B] [이름] [수량 varint] } * 아이템 수
+ *   카테고리: {@link #CATEGORIES}의 순번. 목록에 없으면 0xFF 뒤에 (길이 varint + UTF-8) 문자열
+ *   이름:     varint 하나로 시작. 최하위 비트가 1이면 (값 >> 1)이 {@link #DICTIONARY}의 순번,
+ *             0이면 (값 >> 1)이 뒤따르는 UTF-8 바이트 길이
+ * </pre>
+ * JSON처럼 필드 이름과 카테고리 문자열을 행마다 반복하지 않으므로 훨씬 작고, 디코딩도 문자열 파싱 없이 끝납니다.
+ * 카테고리 순번과 사전은 저장된 데이터의 의미를 결정하므로 순서를 바꾸거나 지우면 안 됩니다.
+ * (바꿔야 한다면 새 버전 번호를 만드세요)
+ */
+class ItemBinaryCodec {
+
+    static final byte VERSION_1 = 1;
+
+    private static final int CUSTOM_CATEGORY = 0xFF;
+
+    // 카테고리 순번 (버전 1). 뒤에 추가만 가능합니다.
+    private static final String[] CATEGORIES = {
+        "필수품", "의류", "전자기기", "화장품", "잡화", "식품", "업무", "엔터테인먼트", "기타"
+    };
+
+    // 자주 쓰이는 아이템 이름 사전 (버전 1). 뒤에 추가만 가능합니다.
+    private static final String[] DICTIONARY = {
+        "여권", "지갑", "항공권", "스마트폰", "상비약", "스마트폰 충전기", "보조 배터리", "노트북", "노트북 충전기",
+        "멀티탭", "카메라", "이어폰", "반팔 티셔츠", "반바지", "수영복", "히트텍", "스웨터", "두꺼운 외투",
+        "방수 자켓", "등산복", "등산화", "양말", "속옷", "잠옷", "선크림", "선글라스", "칫솔", "치약",
+        "세면도구", "화장품", "물통", "헤드랜턴", "우산", "모자", "에너지바", "책", "명함", "신분증"
+    };
+
+    private static final Map<String, Integer> CATEGORY_INDEX = indexOf(CATEGORIES);
+    private static final Map<String, Integer> DICTIONARY_INDEX = indexOf(DICTIONARY);
+
+    byte[] encode(List<Item> items) {
+        Output out = new Output(16 + items.size() * 8);
+        out.write(VERSION_1);
+        out.writeVarint(items.size());
+        for (Item item : items) {
+            Integer category = CATEGORY_INDEX.get(item.getCategory());
+            if (category != null) {
+                out.write(category);
+            } else {
+                out.write(CUSTOM_CATEGORY);
+                out.writeString(item.getCategory());
+            }
+
+            Integer dictionaryId = DICTIONARY_INDEX.get(item.getName());
+            if (dictionaryId != null) {
+                out.writeVarint(dictionaryId << 1 | 1);
+            } else {
+                byte[] name = item.getName().getBytes(StandardCharsets.UTF_8);
+                out.writeVarint(name.length << 1);
+                out.write(name);
+            }
+            out.writeVarint(item.getQuantity());
+        }
+        return out.toByteArray();
+    }
+
+    List<Item> decode(byte[] data) {
+        Input in = new Input(data);
+        checkVersion(in.read());
+        int count = in.readVarint();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int categoryId = in.read();
+            String category = categoryId == CUSTOM_CATEGORY ? in.readString() : CATEGORIES[categoryId];
+
+            int nameTag = in.readVarint();
+            String name = (nameTag & 1) == 1 ? DICTIONARY[nameTag >>> 1] : in.readUtf8(nameTag >>> 1);
+            int quantity = in.readVarint();
+            items.add(ItemFactory.create(name, category, quantity));
+        }
+        return items;
+    }
+
+    /**
+     * 아이템을 디코딩하지 않고 헤더만 읽어 아이템 수를 반환합니다.
+     */
+    static int count(byte[] data) {
+        Input in = new Input(data);
+        checkVersion(in.read());
+        return in.readVarint();
+    }
+
+    private static void checkVersion(int version) {
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("지원하지 않는 아이템 바이너리 형식 버전입니다: " + version);
+        }
+    }
+
+    private static Map<String, Integer> indexOf(String[] values) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            index.put(values[i], i);
+        }
+        return index;
+    }
+
+    // 크기를 늘려 가며 쓰는 바이트 버퍼 (ByteArrayOutputStream과 달리 동기화 비용이 없음)
+    private static final class Output {
+        private byte[] buf;
+        private int pos;
+
+        Output(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void write(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void write(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        // 부호 없는 LEB128 (7비트씩, 상위 비트는 '다음 바이트 있음')
+        void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            write(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buf;
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int read() {
+            return buf[pos++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = read();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint 값입니다.");
+        }
+
+        String readUtf8(int length) {
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        String readString() {
+            return readUtf8(readVarint());
+        }
+    }
+}
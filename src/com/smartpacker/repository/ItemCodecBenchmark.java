@@ -0,0 +1,112 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.Item;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 아이템 저장 형식(JSON vs 바이너리, 각각의 압축 크기 포함)의 크기와 인코딩/디코딩 시간을 비교합니다. (bench-codec 모드)
+ * 실제 공유 리스트의 아이템 목록을 입력으로 사용하며, 측정 전 같은 작업을 반복해 JIT 워밍업을 합니다.
+ */
+public class ItemCodecBenchmark {
+
+    private final ItemJsonCodec jsonCodec = new ItemJsonCodec();
+    private final ItemBinaryCodec binaryCodec = new ItemBinaryCodec();
+
+    /**
+     * 비교 결과입니다.
+     */
+    public static class Report {
+        public int lists;
+        public long jsonBytes;
+        public long binaryBytes;
+        public long compressedJsonBytes;   // 모든 리스트를 압축했을 때 (작아지지 않으면 원본 크기)
+        public long compressedBinaryBytes;
+        public double jsonEncodeNanos;   // 리스트 1개당 평균
+        public double binaryEncodeNanos;
+        public double jsonDecodeNanos;
+        public double binaryDecodeNanos;
+        public long checksum;            // 측정한 호출 결과(길이/개수)의 합. 결과를 실제로 쓰므로 측정 코드가 최적화로 사라지지 않음
+
+        @Override
+        public String toString() {
+            return String.format("[ 아이템 저장 형식 비교: 리스트 %d개 ]%n"
+                    + "  크기     JSON %,d B  /  바이너리 %,d B  (%.1f배 작음)%n"
+                    + "  압축 시  JSON %,d B  /  바이너리 %,d B%n"
+                    + "  인코딩   JSON %.0f ns  /  바이너리 %.0f ns  (%.1f배 빠름)%n"
+                    + "  디코딩   JSON %.0f ns  /  바이너리 %.0f ns  (%.1f배 빠름)%n"
+                    + "  검사합   %d",
+                    lists,
+                    jsonBytes, binaryBytes, ratio(jsonBytes, binaryBytes),
+                    compressedJsonBytes, compressedBinaryBytes,
+                    jsonEncodeNanos, binaryEncodeNanos, ratio(jsonEncodeNanos, binaryEncodeNanos),
+                    jsonDecodeNanos, binaryDecodeNanos, ratio(jsonDecodeNanos, binaryDecodeNanos),
+                    checksum);
+        }
+
+        private static double ratio(double a, double b) {
+            return b == 0 ? 0 : a / b;
+        }
+    }
+
+    /**
+     * @param corpus 비교에 사용할 아이템 목록들
+     * @param rounds 측정 반복 횟수 (워밍업도 같은 횟수만큼 수행)
+     */
+    public Report run(List<List<Item>> corpus, int rounds) {
+        List<String> jsons = new ArrayList<>(corpus.size());
+        List<byte[]> blobs = new ArrayList<>(corpus.size());
+        Report report = new Report();
+        report.lists = corpus.size();
+        for (List<Item> items : corpus) {
+            String json = jsonCodec.toJson(items);
+            byte[] blob = binaryCodec.encode(items);
+            jsons.add(json);
+            blobs.add(blob);
+            byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+            report.jsonBytes += jsonBytes.length;
+            report.binaryBytes += blob.length;
+            report.compressedJsonBytes += compressedSize(ItemCompression.DEFLATED_JSON, items.size(), jsonBytes);
+            report.compressedBinaryBytes += compressedSize(ItemCompression.DEFLATED_BINARY, items.size(), blob);
+        }
+        if (corpus.isEmpty()) {
+            return report;
+        }
+
+        long sink = 0; // 측정 대상 코드가 최적화로 사라지지 않도록 결과를 모아 보고서에 남깁니다.
+        for (int phase = 0; phase < 2; phase++) { // 0: 워밍업, 1: 측정
+            long jsonEncode = 0, binaryEncode = 0, jsonDecode = 0, binaryDecode = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                for (List<Item> items : corpus) sink += jsonCodec.toJson(items).length();
+                jsonEncode += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (List<Item> items : corpus) sink += binaryCodec.encode(items).length;
+                binaryEncode += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (String json : jsons) sink += jsonCodec.fromJson(json).size();
+                jsonDecode += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (byte[] blob : blobs) sink += binaryCodec.decode(blob).size();
+                binaryDecode += System.nanoTime() - start;
+            }
+            double calls = (double) rounds * corpus.size();
+            report.jsonEncodeNanos = jsonEncode / calls;
+            report.binaryEncodeNanos = binaryEncode / calls;
+            report.jsonDecodeNanos = jsonDecode / calls;
+            report.binaryDecodeNanos = binaryDecode / calls;
+        }
+        report.checksum = sink;
+        return report;
+    }
+
+    private static int compressedSize(byte format, int itemCount, byte[] raw) {
+        byte[] compressed = ItemCompression.deflate(format, itemCount, raw);
+        return compressed != null ? compressed.length : raw.length;
+    }
+}
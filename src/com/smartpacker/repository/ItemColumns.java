@@ -0,0 +1,121 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.config.ItemStorageFormat;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.packing.PackingList;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * packing_lists의 아이템 컬럼(items_json, items_blob)을 읽고 쓰는 헬퍼입니다.
+ *
+ * 한 행에는 둘 중 하나만 채워집니다. 쓸 때는 설정된 저장 형식({@link ItemStorageFormat})을 따르고,
+ * 인코딩한 값이 압축 기준 크기 이상이면 {@link ItemCompression}으로 압축해 items_blob에 넣습니다.
+ * 읽을 때는 실제로 채워진 컬럼과 items_blob의 첫 바이트(형식 표시)를 보고 디코딩하므로,
+ * 여러 형식이 섞여 있어도 문제없이 읽힙니다.
+ */
+class ItemColumns {
+
+    private final ItemStorageFormat format;
+    private final int compressionThreshold; // 0 이하면 압축하지 않음
+    private final ItemJsonCodec jsonCodec = new ItemJsonCodec();
+    private final ItemBinaryCodec binaryCodec = new ItemBinaryCodec();
+
+    ItemColumns(ItemStorageFormat format) {
+        this(format, AppConfig.ITEM_COMPRESSION_THRESHOLD_BYTES);
+    }
+
+    ItemColumns(ItemStorageFormat format, int compressionThreshold) {
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    ItemStorageFormat format() {
+        return format;
+    }
+
+    /**
+     * 설정된 형식으로 아이템을 인코딩하여 두 파라미터 중 하나에 바인딩하고, 나머지는 NULL로 채웁니다.
+     */
+    void bind(PreparedStatement pstmt, int jsonIndex, int blobIndex, List<Item> items) throws SQLException {
+        if (format == ItemStorageFormat.BINARY) {
+            byte[] blob = binaryCodec.encode(items);
+            byte[] compressed = compress(ItemCompression.DEFLATED_BINARY, items.size(), blob);
+            pstmt.setNull(jsonIndex, Types.VARCHAR);
+            pstmt.setBytes(blobIndex, compressed != null ? compressed : blob);
+            return;
+        }
+
+        String json = jsonCodec.toJson(items);
+        byte[] compressed = compress(ItemCompression.DEFLATED_JSON, items.size(), json.getBytes(StandardCharsets.UTF_8));
+        if (compressed != null) {
+            pstmt.setNull(jsonIndex, Types.VARCHAR);
+            pstmt.setBytes(blobIndex, compressed);
+        } else {
+            pstmt.setString(jsonIndex, json);
+            pstmt.setNull(blobIndex, Types.BLOB);
+        }
+    }
+
+    // 기준 크기 이상이고 압축해서 실제로 작아질 때만 압축한 값을 반환합니다.
+    private byte[] compress(byte compressedFormat, int itemCount, byte[] raw) {
+        if (compressionThreshold <= 0 || raw.length < compressionThreshold) {
+            return null;
+        }
+        return ItemCompression.deflate(compressedFormat, itemCount, raw);
+    }
+
+    /**
+     * 현재 행의 아이템을 바로 디코딩합니다.
+     */
+    List<Item> read(ResultSet rs) throws SQLException {
+        return loader(rs, rs.getBytes("items_blob")).get();
+    }
+
+    /**
+     * 현재 행의 원본 값만 복사해 두고, 나중에 호출될 때 디코딩하는 함수를 반환합니다.
+     * @param blob 호출자가 이미 읽은 현재 행의 items_blob 값 (같은 행에서 {@link #count}와 함께 쓰므로 한 번만 복사)
+     */
+    Supplier<List<Item>> loader(ResultSet rs, byte[] blob) throws SQLException {
+        if (blob != null) {
+            return () -> decodeBlob(blob);
+        }
+        String json = rs.getString("items_json");
+        return () -> jsonCodec.fromJson(json);
+    }
+
+    private List<Item> decodeBlob(byte[] blob) {
+        switch (blob[0]) {
+            case ItemBinaryCodec.VERSION_1:
+                return binaryCodec.decode(blob);
+            case ItemCompression.DEFLATED_BINARY:
+                return binaryCodec.decode(ItemCompression.inflate(blob));
+            case ItemCompression.DEFLATED_JSON:
+                return jsonCodec.fromJson(new String(ItemCompression.inflate(blob), StandardCharsets.UTF_8));
+            default:
+                throw new IllegalArgumentException("알 수 없는 아이템 저장 형식입니다: " + blob[0]);
+        }
+    }
+
+    /**
+     * 디코딩 없이 아이템 수를 구합니다. JSON은 조회 시 함께 읽은 item_count 컬럼을, 바이너리/압축 값은 헤더를 사용합니다.
+     * @param blob 호출자가 이미 읽은 현재 행의 items_blob 값
+     */
+    int count(ResultSet rs, byte[] blob) throws SQLException {
+        int itemCount = rs.getInt("item_count");
+        if (!rs.wasNull()) {
+            return itemCount;
+        }
+        if (blob == null) {
+            return PackingList.UNKNOWN_ITEM_COUNT;
+        }
+        return ItemCompression.isCompressed(blob) ? ItemCompression.count(blob) : ItemBinaryCodec.count(blob);
+    }
+}
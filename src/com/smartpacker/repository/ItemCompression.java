@@ -0,0 +1,128 @@
+package com.smartpacker.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 큰 아이템 값(바이너리 또는 JSON)을 Deflate로 압축해 items_blob에 저장하기 위한 형식입니다.
+ *
+ * <pre>
+ * [형식 1B: DEFLATED_BINARY | DEFLATED_JSON] [아이템 수 varint] [원본 길이 varint] [raw deflate 데이터]
+ * </pre>
+ * 자주 나오는 아이템/카테고리 이름과 JSON 필드 조각을 미리 넣어 둔 사전(preset dictionary)을 사용하므로,
+ * 짧은 리스트도 처음부터 압축이 잘 됩니다. 아이템 수를 앞에 두어 압축을 풀지 않고도 개수를 알 수 있습니다.
+ * 사전은 저장된 데이터를 푸는 데 필요하므로 절대 수정하지 마세요. (바꿔야 한다면 새 형식 번호를 만드세요)
+ */
+final class ItemCompression {
+
+    /** 압축된 {@link ItemBinaryCodec} 값 ({@link ItemBinaryCodec#VERSION_1}과 겹치지 않는 첫 바이트) */
+    static final byte DEFLATED_BINARY = 2;
+    /** 압축된 {@link ItemJsonCodec} 값 (UTF-8) */
+    static final byte DEFLATED_JSON = 3;
+
+    // Deflate는 사전의 뒤쪽일수록 짧은 거리로 참조하므로 가장 흔한 조각을 끝에 둡니다.
+    private static final byte[] DICTIONARY = String.join("",
+        "노트북 충전기", "멀티탭", "카메라", "이어폰", "히트텍", "스웨터", "두꺼운 외투", "방수 자켓", "등산복", "등산화",
+        "선크림", "선글라스", "세면도구", "칫솔", "치약", "우산", "모자", "물통", "에너지바", "명함", "책",
+        "양말", "속옷", "잠옷", "반바지", "반팔 티셔츠", "수영복", "노트북", "보조 배터리", "스마트폰 충전기",
+        "상비약", "스마트폰", "항공권", "지갑", "여권",
+        "엔터테인먼트", "업무", "식품", "잡화", "화장품", "전자기기", "의류", "기타", "필수품",
+        "},{\"name\":\"", "\",\"category\":\"", "\",\"quantity\":"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private ItemCompression() {}
+
+    /**
+     * raw를 압축한 값을 반환합니다. 압축해도 작아지지 않으면 null을 반환합니다.
+     * @param format {@link #DEFLATED_BINARY} 또는 {@link #DEFLATED_JSON}
+     * @param itemCount 아이템 수 (헤더에 기록)
+     * @param raw 압축할 원본 값
+     */
+    static byte[] deflate(byte format, int itemCount, byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+        out.write(format);
+        writeVarint(out, itemCount);
+        writeVarint(out, raw.length);
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buf = new byte[Math.max(64, raw.length)];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+        } finally {
+            deflater.end();
+        }
+        return out.size() < raw.length ? out.toByteArray() : null;
+    }
+
+    /**
+     * 압축된 값에서 원본 값을 복원합니다.
+     */
+    static byte[] inflate(byte[] data) {
+        int[] pos = {1};
+        readVarint(data, pos); // 아이템 수
+        int rawLength = readVarint(data, pos);
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(data, pos[0], data.length - pos[0]);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IllegalArgumentException("압축된 아이템 값이 손상되었습니다. (" + read + "/" + rawLength + " bytes)");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("압축된 아이템 값을 풀 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 압축을 풀지 않고 헤더에서 아이템 수를 읽습니다.
+     */
+    static int count(byte[] data) {
+        return readVarint(data, new int[]{1});
+    }
+
+    static boolean isCompressed(byte[] data) {
+        return data.length > 0 && (data[0] == DEFLATED_BINARY || data[0] == DEFLATED_JSON);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] pos) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = data[pos[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint 값입니다.");
+    }
+}
@@ -0,0 +1,56 @@
+package com.smartpacker.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.smartpacker.domain.item.ClothingItem;
+import com.smartpacker.domain.item.CosmeticItem;
+import com.smartpacker.domain.item.ElectronicItem;
+import com.smartpacker.domain.item.EntertainmentItem;
+import com.smartpacker.domain.item.EssentialItem;
+import com.smartpacker.domain.item.EtcItem;
+import com.smartpacker.domain.item.FoodItem;
+import com.smartpacker.domain.item.GeneralGoodsItem;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.WorkItem;
+import com.smartpacker.util.RuntimeTypeAdapterFactory;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * packing_lists.items_json 컬럼의 JSON 문자열과 List&lt;Item&gt; 사이를 변환합니다.
+ * "category" 필드로 Item의 하위 타입을 구분합니다.
+ */
+class ItemJsonCodec {
+
+    private final Gson gson;
+    private final Type itemListType = new TypeToken<ArrayList<Item>>() {}.getType();
+
+    ItemJsonCodec() {
+        RuntimeTypeAdapterFactory<Item> adapter = RuntimeTypeAdapterFactory
+            .of(Item.class, "category", true);
+        // 모든 타입은 고유(unique)합니다.
+        adapter
+            .registerSubtype(EssentialItem.class, "필수품")
+            .registerSubtype(CosmeticItem.class, "화장품")
+            .registerSubtype(GeneralGoodsItem.class, "잡화")
+            .registerSubtype(EntertainmentItem.class, "엔터테인먼트")
+            .registerSubtype(WorkItem.class, "업무")
+            .registerSubtype(FoodItem.class, "식품")
+            .registerSubtype(ClothingItem.class, "의류")
+            .registerSubtype(ElectronicItem.class, "전자기기")
+            .registerSubtype(EtcItem.class, "기타");
+
+        this.gson = new GsonBuilder().registerTypeAdapterFactory(adapter).create();
+    }
+
+    String toJson(List<Item> items) {
+        return gson.toJson(items, itemListType);
+    }
+
+    List<Item> fromJson(String itemsJson) {
+        return gson.fromJson(itemsJson, itemListType);
+    }
+}
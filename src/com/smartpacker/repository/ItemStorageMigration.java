@@ -0,0 +1,107 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.config.ItemStorageFormat;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.exception.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 다른 형식으로 저장된 packing_lists 행의 아이템을 설정된 저장 형식({@link AppConfig#ITEM_STORAGE_FORMAT})으로
+ * 변환하는 온라인 데이터 마이그레이션입니다.
+ *
+ * 압축 여부는 형식 변환 대상을 정하지 않습니다. (압축된 JSON은 JSON 형식, 압축된 바이너리는 바이너리 형식으로 봄)
+ * id 순서로 배치를 나누어 각 배치를 하나의 트랜잭션으로 처리합니다. 변환된 행은 조회 조건에서 빠지므로
+ * 별도의 진행 기록 없이도 중단 후 다시 실행하면 남은 행부터 이어서 진행하며, 형식을 되돌린 경우에도
+ * 같은 방식으로 반대 방향 변환이 이루어집니다. 변환 중에도 조회는 행마다 실제 형식을 보고 디코딩합니다.
+ */
+public class ItemStorageMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemStorageMigration.class);
+
+    // items_blob의 첫 바이트가 형식을 나타냅니다. (1: 바이너리, 2: 압축된 바이너리, 3: 압축된 JSON)
+    static final String FIND_JSON_BATCH_SQL = "SELECT id, items_json, items_blob FROM packing_lists "
+            + "WHERE id > ? AND (items_json IS NOT NULL OR substr(items_blob, 1, 1) = X'03') ORDER BY id LIMIT ?";
+    static final String FIND_BINARY_BATCH_SQL = "SELECT id, items_json, items_blob FROM packing_lists "
+            + "WHERE id > ? AND substr(items_blob, 1, 1) IN (X'01', X'02') ORDER BY id LIMIT ?";
+    static final String UPDATE_ITEMS_SQL = "UPDATE packing_lists SET items_json = ?, items_blob = ? WHERE id = ?";
+
+    private final ItemColumns itemColumns;
+    private final int batchSize;
+
+    public ItemStorageMigration() {
+        this(AppConfig.ITEM_STORAGE_FORMAT, AppConfig.ITEM_FORMAT_MIGRATION_BATCH_SIZE);
+    }
+
+    public ItemStorageMigration(ItemStorageFormat targetFormat, int batchSize) {
+        this.itemColumns = new ItemColumns(targetFormat);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 다른 형식으로 저장된 행이 없어질 때까지 변환합니다.
+     * @return 이번 실행에서 변환한 패킹 리스트 수
+     * @throws DatabaseException DB 오류 발생 시 (완료된 배치까지는 반영되어 있음)
+     */
+    public int run() throws DatabaseException {
+        // 목표 형식이 아닌 컬럼이 채워진 행만 변환 대상입니다.
+        String findBatchSql = itemColumns.format() == ItemStorageFormat.BINARY ? FIND_JSON_BATCH_SQL : FIND_BINARY_BATCH_SQL;
+        int converted = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                int batchCount;
+                try (Connection conn = JdbcManager.getWriteConnection()) {
+                    conn.setAutoCommit(false);
+                    Map<Long, List<Item>> batch = loadBatch(conn, findBatchSql, lastId);
+                    try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_ITEMS_SQL)) {
+                        for (Map.Entry<Long, List<Item>> row : batch.entrySet()) {
+                            itemColumns.bind(pstmt, 1, 2, row.getValue());
+                            pstmt.setLong(3, row.getKey());
+                            pstmt.addBatch();
+                            lastId = row.getKey();
+                        }
+                        pstmt.executeBatch();
+                    }
+                    conn.commit();
+                    batchCount = batch.size();
+                }
+                converted += batchCount;
+                if (batchCount < batchSize) {
+                    break;
+                }
+                log.debug("아이템 저장 형식 변환 진행 중: {}개 완료 (마지막 id {})", converted, lastId);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("아이템 저장 형식 변환 중 오류가 발생했습니다.", e);
+        }
+        if (converted > 0) {
+            log.info("아이템 저장 형식 변환 완료: 패킹 리스트 {}개를 {} 형식으로 바꿨습니다.", converted, itemColumns.format());
+        }
+        return converted;
+    }
+
+    private Map<Long, List<Item>> loadBatch(Connection conn, String sql, long afterId) throws SQLException {
+        Map<Long, List<Item>> batch = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, afterId);
+            pstmt.setInt(2, batchSize);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    batch.put(rs.getLong("id"), itemColumns.read(rs));
+                }
+            }
+        }
+        return batch;
+    }
+}
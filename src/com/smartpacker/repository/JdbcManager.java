@@ -1,21 +1,109 @@
 package com.smartpacker.repository;
 
 import com.smartpacker.config.AppConfig;
+import com.smartpacker.config.StorageProfile;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
  * JDBC 연결 및 자원 해제를 관리하는 유틸리티 클래스입니다.
+ * 모든 Repository는 이 클래스를 통해 공용 커넥션 풀(읽기)과 전용 쓰기 커넥션(쓰기)을 사용합니다.
+ * 화면에서 일어나는 쓰기는 {@link #write(WriteCoordinator.Task)}로 쓰기 스레드에 넘겨 묶음 처리와 잠금 충돌 재시도를 받습니다.
+ * 새로 여는 모든 커넥션에는 AppConfig에서 선택한 저장소 프로필(StorageProfile)의 PRAGMA가 적용됩니다.
  */
 public class JdbcManager {
 
-    // 데이터베이스 연결을 생성하여 반환합니다.
+    // 처음 사용될 때 생성되는 공용 커넥션 풀과 쓰기 커넥션 (Holder 패턴으로 지연 초기화)
+    private static class PoolHolder {
+        // 풀과 쓰기 커넥션의 PreparedStatement 캐시 적중률을 함께 집계합니다.
+        static final StatementCache.Stats STATEMENT_STATS = new StatementCache.Stats();
+
+        static final ConnectionPool POOL = new ConnectionPool(AppConfig.DB_URL,
+                AppConfig.DB_POOL_MAX_SIZE,
+                AppConfig.DB_POOL_BORROW_TIMEOUT_MS,
+                AppConfig.DB_POOL_IDLE_TIMEOUT_MS,
+                AppConfig.DB_POOL_LEAK_THRESHOLD_MS,
+                AppConfig.DB_POOL_VALIDATION_TIMEOUT_SEC,
+                AppConfig.DB_POOL_MAINTENANCE_INTERVAL_MS,
+                AppConfig.DB_STATEMENT_CACHE_SIZE,
+                STATEMENT_STATS) {
+            @Override
+            protected Connection createConnection() throws SQLException {
+                Connection connection = super.createConnection();
+                applyConnectionPragmas(connection);
+                return connection;
+            }
+        };
+
+        static final WriterConnection WRITER = new WriterConnection(() -> {
+            Connection connection = DriverManager.getConnection(AppConfig.DB_URL);
+            applyConnectionPragmas(connection);
+            return connection;
+        }, AppConfig.DB_POOL_BORROW_TIMEOUT_MS, AppConfig.DB_STATEMENT_CACHE_SIZE, STATEMENT_STATS);
+
+        static final WriteCoordinator COORDINATOR = new WriteCoordinator(WRITER, AppConfig.DB_WRITE_BATCH_MAX,
+                AppConfig.DB_WRITE_RETRY_BASE_MS, AppConfig.DB_WRITE_RETRY_MAX_DELAY_MS, AppConfig.DB_WRITE_RETRY_BUDGET_MS);
+    }
+
+    // 커넥션 풀에서 데이터베이스 연결을 대여하여 반환합니다. (조회용)
+    // 반환된 연결의 close()를 호출하면 실제로 닫히지 않고 풀로 돌아갑니다.
     public static Connection getConnection() throws SQLException {
-        // DatabaseConfig에 정의된 DB URL을 사용하여 Connection 객체를 생성합니다.
-        return DriverManager.getConnection(AppConfig.DB_URL);
+        return PoolHolder.POOL.borrow();
+    }
+
+    // 전용 쓰기 커넥션을 대여하여 반환합니다. (INSERT, UPDATE, DELETE, DDL용)
+    // 한 번에 한 스레드만 사용할 수 있으며, close()를 호출하면 다음 쓰기 작업이 사용할 수 있게 됩니다.
+    public static Connection getWriteConnection() throws SQLException {
+        return PoolHolder.WRITER.acquire();
+    }
+
+    // 쓰기 작업을 쓰기 스레드에서 실행하고 결과를 반환합니다. (트랜잭션과 SQLITE_BUSY 재시도는 WriteCoordinator가 처리)
+    // 작업은 받은 커넥션으로만 쓰고, 커밋이나 자동 커밋 변경은 하지 않아야 합니다.
+    static <T> T write(WriteCoordinator.Task<T> task) throws SQLException {
+        return PoolHolder.COORDINATOR.submit(task);
+    }
+
+    // 쓰기 스레드를 반환합니다. (여러 쓰기를 요청 하나로 묶는 JdbcUnitOfWork용)
+    static WriteCoordinator writeCoordinator() {
+        return PoolHolder.COORDINATOR;
+    }
+
+    // 쓰기 스레드의 누적 통계(묶음 크기, 잠금 충돌 재시도 등)를 반환합니다.
+    public static WriteMetrics getWriteMetrics() {
+        return PoolHolder.COORDINATOR.getMetrics();
+    }
+
+    // 저장소 프로필의 저널 모드를 DB 파일에 적용합니다. (journal_mode는 파일에 저장되므로 초기화 시 1회)
+    public static void applyJournalMode(Connection conn) throws SQLException {
+        StorageProfile profile = AppConfig.STORAGE_PROFILE;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = " + profile.journalMode);
+        }
+    }
+
+    // 저장소 프로필의 커넥션 단위 PRAGMA를 적용합니다.
+    private static void applyConnectionPragmas(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : AppConfig.STORAGE_PROFILE.connectionPragmas()) {
+                stmt.execute(pragma);
+            }
+        }
+    }
+
+    // 커넥션 풀의 현재 상태와 누적 통계(PreparedStatement 캐시 적중률 포함)를 반환합니다.
+    public static PoolMetrics getPoolMetrics() {
+        return PoolHolder.POOL.getMetrics();
+    }
+
+    // 남은 쓰기를 마친 뒤 커넥션 풀과 쓰기 커넥션을 모두 닫습니다. (프로그램 종료 시)
+    public static void shutdown() {
+        PoolHolder.COORDINATOR.shutdown(AppConfig.DB_POOL_BORROW_TIMEOUT_MS);
+        PoolHolder.WRITER.close();
+        PoolHolder.POOL.shutdown();
     }
 
     // 사용한 JDBC 자원들을 안전하게 닫습니다.
@@ -0,0 +1,56 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.exception.DatabaseException;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * JDBC 엔진의 작업 단위입니다. 작업 전체를 쓰기 스레드({@link WriteCoordinator})에 요청 하나로 넘깁니다.
+ *
+ * 작업 안에서 Repository가 부르는 {@link JdbcManager#write}는 쓰기 스레드 위에서 실행되므로
+ * 큐를 거치지 않고 같은 커넥션, 같은 트랜잭션에 합류합니다. 작업은 배치 안에서 자기 savepoint를 가지므로
+ * 실패하면 작업 안의 쓰기만 모두 되돌려지고, 성공하면 같은 배치의 다른 쓰기와 함께 한 번에 커밋됩니다.
+ */
+public class JdbcUnitOfWork implements UnitOfWork {
+
+    // 작업이 던진 DatabaseException을 쓰기 스레드 너머로 그대로 전달하기 위한 포장
+    private static final class WorkFailure extends SQLException {
+        private static final long serialVersionUID = 1L;
+
+        WorkFailure(DatabaseException cause) {
+            super(cause.getMessage(), cause); // 원인 사슬을 따라가므로 안쪽의 SQLITE_BUSY도 재시도 대상으로 인식됨
+        }
+    }
+
+    private final Supplier<WriteCoordinator> coordinator;
+
+    public JdbcUnitOfWork() {
+        this(JdbcManager::writeCoordinator); // 커넥션 풀처럼 처음 쓸 때 초기화
+    }
+
+    JdbcUnitOfWork(WriteCoordinator coordinator) {
+        this(() -> coordinator);
+    }
+
+    private JdbcUnitOfWork(Supplier<WriteCoordinator> coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public <T> T execute(Work<T> work) throws DatabaseException {
+        try {
+            return coordinator.get().submit(conn -> {
+                try {
+                    return work.run();
+                } catch (DatabaseException e) {
+                    throw new WorkFailure(e);
+                }
+            });
+        } catch (WorkFailure e) {
+            throw (DatabaseException) e.getCause();
+        } catch (SQLException e) {
+            throw new DatabaseException("작업을 하나의 트랜잭션으로 저장하지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.smartpacker.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 로그 구조 패킹 리스트 저장소({@link LogStructuredPackingListRepository})의 고정 크기 세그먼트 파일 하나입니다.
+ * 파일 전체를 메모리 매핑해 두고, 레코드는 앞에서부터 빈틈없이 추가만 합니다.
+ *
+ * <pre>
+ * [헤더 32B]  매직 4B, 버전 4B, 세그먼트 번호 8B, 푸터 위치 4B(0이면 아직 쓰는 중), 예약
+ * { [페이로드 길이 4B] [페이로드의 CRC32 4B] [페이로드] } * 레코드 수   (길이 0 = 레코드 끝, 새 파일은 0으로 채워져 있음)
+ * [푸터]      레코드 수 4B, { seq 8B, 리스트 ID 8B, 레코드 위치 4B, 레코드 길이 4B } * 레코드 수, 푸터의 CRC32 4B
+ * </pre>
+ * 페이로드의 앞 16바이트는 항상 (seq, 리스트 ID)입니다. 가득 찬 세그먼트는 푸터를 쓰고 헤더에 위치를 적어 봉인하며,
+ * 복원할 때 봉인된 세그먼트는 푸터만 읽고, 봉인되지 않은(쓰던) 세그먼트만 레코드를 처음부터 훑습니다.
+ * 푸터 자리는 레코드를 추가할 때마다 미리 남겨 두므로 봉인은 항상 성공합니다.
+ *
+ * <p>쓰기(append, seal)는 호출자가 직렬화해야 하고, 이미 쓴 구간을 읽는 {@link #slice(int, int)}는 잠금 없이 불러도 됩니다.
+ */
+final class LogSegment implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSegment.class);
+
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAGIC = 0x53504C53; // "SPLS"
+    private static final int VERSION = 1;
+    private static final int FOOTER_OFFSET_POSITION = 16;
+    private static final int FOOTER_ENTRY_BYTES = 24;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".seg";
+
+    /** 세그먼트 안 레코드 하나의 위치 (푸터 항목 또는 스캔 결과) */
+    static final class RecordRef {
+        final long seq;
+        final long listId;
+        final int offset;
+        final int length; // 레코드 헤더 포함
+
+        RecordRef(long seq, long listId, int offset, int length) {
+            this.seq = seq;
+            this.listId = listId;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    final long id;
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final CRC32 crc = new CRC32();
+    private int writePosition;
+    private int recordCount;
+    private boolean sealed;
+
+    // 아직 최신 버전인 레코드의 바이트 수 (저장소의 쓰기 잠금 안에서만 바꿈)
+    private long liveBytes;
+
+    private LogSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.writePosition = HEADER_BYTES;
+    }
+
+    static String fileName(long id) {
+        return String.format("%s%08d%s", PREFIX, id, SUFFIX);
+    }
+
+    /** 세그먼트 파일 이름이면 번호, 아니면 -1 */
+    static long idOf(String fileName) {
+        if (!fileName.startsWith(PREFIX) || !fileName.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** 새 세그먼트 파일을 capacity 크기로 만들고 헤더를 씁니다. */
+    static LogSegment create(Path directory, long id, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(id));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity); // 파일도 capacity로 늘어남(0으로 채움)
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, id).putInt(FOOTER_OFFSET_POSITION, 0);
+            buffer.force(0, HEADER_BYTES);
+            return new LogSegment(id, path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 기존 세그먼트 파일을 엽니다. 레코드 목록은 {@link #recover()}로 읽습니다.
+     */
+    static LogSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("세그먼트 파일 크기가 올바르지 않습니다: " + path + " (" + size + " bytes)");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("세그먼트 파일 형식이 아닙니다: " + path);
+            }
+            return new LogSegment(buffer.getLong(8), path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 세그먼트의 레코드 목록을 읽습니다. 봉인된 세그먼트는 푸터를 읽고(푸터가 깨졌으면 스캔),
+     * 봉인되지 않은 세그먼트는 레코드를 처음부터 훑어 쓰기 위치를 정합니다.
+     * 중간에 끊긴 마지막 레코드는 버리고 그 자리를 0으로 지워 다음 쓰기가 이어지게 합니다.
+     */
+    List<RecordRef> recover() {
+        int footerOffset = buffer.getInt(FOOTER_OFFSET_POSITION);
+        if (footerOffset != 0) {
+            List<RecordRef> refs = readFooter(footerOffset);
+            if (refs != null) {
+                sealed = true;
+                writePosition = footerOffset;
+                recordCount = refs.size();
+                return refs;
+            }
+            log.warn("세그먼트 푸터가 손상되어 레코드를 처음부터 훑습니다: {}", path);
+            buffer.putInt(FOOTER_OFFSET_POSITION, 0);
+        }
+        return scan();
+    }
+
+    private List<RecordRef> readFooter(int footerOffset) {
+        if (footerOffset < HEADER_BYTES || footerOffset > capacity - 8) {
+            return null;
+        }
+        int count = buffer.getInt(footerOffset);
+        long footerBytes = 4L + (long) count * FOOTER_ENTRY_BYTES;
+        if (count < 0 || footerOffset + footerBytes + 4 > capacity) {
+            return null;
+        }
+        crc.reset();
+        crc.update(buffer.slice(footerOffset, (int) footerBytes));
+        if ((int) crc.getValue() != buffer.getInt(footerOffset + (int) footerBytes)) {
+            return null;
+        }
+        List<RecordRef> refs = new ArrayList<>(count);
+        for (int i = 0, at = footerOffset + 4; i < count; i++, at += FOOTER_ENTRY_BYTES) {
+            refs.add(new RecordRef(buffer.getLong(at), buffer.getLong(at + 8), buffer.getInt(at + 16), buffer.getInt(at + 20)));
+        }
+        return refs;
+    }
+
+    private List<RecordRef> scan() {
+        List<RecordRef> refs = new ArrayList<>();
+        int position = HEADER_BYTES;
+        String tornReason = null;
+        while (position + RECORD_HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break; // 아직 쓰지 않은 구간
+            }
+            if (length < 16 || length > capacity - position - RECORD_HEADER_BYTES) {
+                tornReason = "잘못된 길이 " + length;
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + RECORD_HEADER_BYTES, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                tornReason = "CRC 불일치";
+                break;
+            }
+            int payload = position + RECORD_HEADER_BYTES;
+            refs.add(new RecordRef(buffer.getLong(payload), buffer.getLong(payload + 8), position, RECORD_HEADER_BYTES + length));
+            position += RECORD_HEADER_BYTES + length;
+        }
+        if (tornReason != null) {
+            log.warn("세그먼트의 마지막 레코드가 온전하지 않아 버립니다: {} ({}, 오프셋 {})", path, tornReason, position);
+            for (int i = position; i < capacity; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force(position, capacity - position);
+        }
+        writePosition = position;
+        recordCount = refs.size();
+        return refs;
+    }
+
+    /**
+     * 레코드를 추가합니다. 푸터 자리까지 남지 않으면 -1을 돌려주고 아무것도 쓰지 않습니다.
+     * @param payload 앞 16바이트가 (seq, 리스트 ID)인 페이로드
+     * @return 레코드 위치
+     */
+    int append(byte[] payload, boolean force) {
+        if (sealed) {
+            throw new IllegalStateException("봉인된 세그먼트에는 쓸 수 없습니다: " + path);
+        }
+        long end = (long) writePosition + RECORD_HEADER_BYTES + payload.length;
+        if (end + footerBytes(recordCount + 1) > capacity) {
+            return -1;
+        }
+        int offset = writePosition;
+        crc.reset();
+        crc.update(payload);
+        // 길이는 마지막에 씁니다. 중간에 죽으면 길이 0(레코드 끝)으로 읽히거나 CRC가 맞지 않습니다.
+        buffer.put(offset + RECORD_HEADER_BYTES, payload).putInt(offset + 4, (int) crc.getValue()).putInt(offset, payload.length);
+        if (force) {
+            buffer.force(offset, RECORD_HEADER_BYTES + payload.length);
+        }
+        writePosition = (int) end;
+        recordCount++;
+        return offset;
+    }
+
+    private static long footerBytes(int records) {
+        return 4L + (long) records * FOOTER_ENTRY_BYTES + 4;
+    }
+
+    /** 레코드 목록을 푸터로 쓰고 헤더에 위치를 적은 뒤 디스크에 기록합니다. 이후로는 읽기 전용입니다. */
+    void seal() {
+        if (sealed) {
+            return;
+        }
+        List<RecordRef> refs = scanWritten();
+        int footerOffset = writePosition;
+        int at = footerOffset;
+        buffer.putInt(at, refs.size());
+        at += 4;
+        for (RecordRef ref : refs) {
+            buffer.putLong(at, ref.seq).putLong(at + 8, ref.listId).putInt(at + 16, ref.offset).putInt(at + 20, ref.length);
+            at += FOOTER_ENTRY_BYTES;
+        }
+        crc.reset();
+        crc.update(buffer.slice(footerOffset, at - footerOffset));
+        buffer.putInt(at, (int) crc.getValue());
+        buffer.force(); // 레코드와 푸터가 디스크에 닿은 뒤에 헤더가 푸터를 가리키게 함
+        buffer.putInt(FOOTER_OFFSET_POSITION, footerOffset);
+        buffer.force(0, HEADER_BYTES);
+        sealed = true;
+    }
+
+    // 이미 검증한 구간이므로 CRC 없이 길이만 따라갑니다.
+    private List<RecordRef> scanWritten() {
+        List<RecordRef> refs = new ArrayList<>(recordCount);
+        for (int position = HEADER_BYTES; position < writePosition; ) {
+            int length = buffer.getInt(position);
+            int payload = position + RECORD_HEADER_BYTES;
+            refs.add(new RecordRef(buffer.getLong(payload), buffer.getLong(payload + 8), position, RECORD_HEADER_BYTES + length));
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return refs;
+    }
+
+    /** 레코드의 페이로드를 복사 없이 보는 읽기 전용 버퍼 */
+    ByteBuffer payload(int offset, int length) {
+        return slice(offset + RECORD_HEADER_BYTES, length - RECORD_HEADER_BYTES);
+    }
+
+    ByteBuffer slice(int offset, int length) {
+        return buffer.slice(offset, length).asReadOnlyBuffer();
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    /** 레코드가 차지한 바이트 수 (헤더, 푸터 제외) */
+    long writtenBytes() {
+        return writePosition - HEADER_BYTES;
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    void addLive(long bytes) {
+        liveBytes += bytes;
+    }
+
+    /** 죽은 버전의 비율 (0~1). 레코드가 없으면 0 */
+    double deadRatio() {
+        long written = writtenBytes();
+        return written == 0 ? 0 : (double) (written - liveBytes) / written;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 채널을 닫습니다. 매핑은 GC가 버퍼를 회수할 때 풀리므로, 이미 건네준 슬라이스는 계속 읽을 수 있습니다.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,647 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.util.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 패킹 리스트를 추가 전용 로그 세그먼트({@link LogSegment})에 저장하는 PackingListRepository 구현체입니다. (LOG_STRUCTURED 엔진)
+ *
+ * <ul>
+ *   <li>쓰기: 저장, 공유 상태 변경, 수정 모두 리스트 전체의 새 버전(더 큰 seq)을 활성 세그먼트 끝에 붙입니다.
+ *       세그먼트가 차면 봉인하고 다음 번호의 세그먼트를 만듭니다. 이전 버전은 '죽은' 바이트로 셉니다.</li>
+ *   <li>읽기: 리스트 ID → 최신 버전 위치 인덱스로 레코드를 찾아 매핑된 파일을 복사 없이 슬라이스로 읽습니다.
+ *       아이템은 {@link PackingList#getItems()}를 처음 부를 때 디코딩합니다.
+ *       최신순/페이지/태그 조회는 {@link PackingListIndex}를 씁니다. (MEMORY 엔진과 같은 순서, 같은 커서)</li>
+ *   <li>압축: 백그라운드 스레드가 죽은 버전 비율이 높은 봉인된 세그먼트의 살아 있는 레코드를 활성 세그먼트로 옮기고 파일을 지웁니다.
+ *       옮긴 레코드는 seq가 같으므로 도중에 죽어도 복원 결과는 같습니다.</li>
+ *   <li>복원: 봉인된 세그먼트는 푸터, 쓰던 세그먼트는 레코드 스캔으로 (seq, 리스트 ID)를 모아 리스트마다 seq가 가장 큰 버전을 고릅니다.</li>
+ * </ul>
+ * 사용자와 '내 옷장'은 계속 DB에 저장합니다. 리스트 ID는 세그먼트에 남은 가장 큰 ID 다음부터 씁니다.
+ */
+public class LogStructuredPackingListRepository implements PackingListRepository, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogStructuredPackingListRepository.class);
+
+    private static final int TAG_SEARCH_LIMIT = 100; // DB 구현의 LIMIT 100과 같음
+
+    /** 리스트의 최신 버전 위치와 인덱스에 필요한 정보 (이름과 아이템은 레코드에서 읽음) */
+    static final class Location implements PackingListIndex.Entry {
+        final LogSegment segment;
+        final int offset;
+        final int length;
+        final long seq;
+        final String userId;
+        final PackingListIndex.Key key;
+        final boolean shared;
+        final String tags;
+
+        Location(LogSegment segment, int offset, int length, long seq, String userId, PackingListIndex.Key key,
+                 boolean shared, String tags) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.seq = seq;
+            this.userId = userId;
+            this.key = key;
+            this.shared = shared;
+            this.tags = tags;
+        }
+
+        @Override public String userId() { return userId; }
+        @Override public PackingListIndex.Key key() { return key; }
+        @Override public boolean shared() { return shared; }
+        @Override public String tags() { return tags; }
+    }
+
+    /** 레코드 페이로드를 모두 읽은 것 (새 버전을 만들 때만 씀) */
+    private static final class ListRecord {
+        long seq;
+        long id;
+        boolean shared;
+        String createdAt;
+        String userId;
+        String listName;
+        String tags;
+        int itemCount;
+        byte[] items;
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsyncEachRecord;
+    private final ItemBinaryCodec codec = new ItemBinaryCodec();
+    private final ConcurrentHashMap<Long, Location> locations = new ConcurrentHashMap<>();
+    private final PackingListIndex listIndex = new PackingListIndex();
+
+    // 아래는 writeLock 안에서만 씀
+    private final Object writeLock = new Object();
+    private final TreeMap<Long, LogSegment> segments = new TreeMap<>();
+    private LogSegment active;
+    private long lastListId;
+    private long lastSeq;
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(512);
+    private final DataOutputStream recordOut = new DataOutputStream(recordBuffer);
+
+    private ScheduledExecutorService compactor;
+
+    private LogStructuredPackingListRepository(Path directory, int segmentBytes, boolean fsyncEachRecord) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsyncEachRecord = fsyncEachRecord;
+    }
+
+    /** AppConfig의 디렉터리와 세그먼트 크기로 저장소를 열고 복원합니다. */
+    public static LogStructuredPackingListRepository open() throws DatabaseException {
+        return open(Paths.get(AppConfig.LOG_STORE_DIR), AppConfig.LOG_SEGMENT_BYTES, AppConfig.LOG_STORE_FSYNC);
+    }
+
+    static LogStructuredPackingListRepository open(Path directory, int segmentBytes, boolean fsyncEachRecord) throws DatabaseException {
+        LogStructuredPackingListRepository repository = new LogStructuredPackingListRepository(directory, segmentBytes, fsyncEachRecord);
+        try {
+            Files.createDirectories(directory);
+            long started = System.nanoTime();
+            repository.recover();
+            log.info("로그 구조 저장소 복원 완료: 리스트 {}개, 세그먼트 {}개 ({} ms)", repository.locations.size(),
+                    repository.segments.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            repository.closeSegments();
+            throw new DatabaseException("로그 구조 저장소를 여는 중 오류가 발생했습니다: " + directory, e);
+        }
+        return repository;
+    }
+
+    /**
+     * 백그라운드 압축을 시작합니다. (데몬 스레드)
+     */
+    public void startCompaction(long intervalSeconds, double minDeadRatio) {
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact(minDeadRatio);
+            } catch (DatabaseException e) {
+                log.error("세그먼트 압축 실패", e); // 다음 주기에 다시 시도
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /** 압축을 멈추고 활성 세그먼트를 디스크에 기록한 뒤 파일을 닫습니다. */
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            try {
+                compactor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (writeLock) {
+            if (active != null) {
+                active.force();
+            }
+            closeSegments();
+        }
+        log.info("로그 구조 저장소 종료: {}", getStats());
+    }
+
+    /** 세그먼트 수와 살아 있는/죽은 바이트 (종료 로그용) */
+    public String getStats() {
+        synchronized (writeLock) {
+            long written = 0;
+            long live = 0;
+            for (LogSegment segment : segments.values()) {
+                written += segment.writtenBytes();
+                live += segment.liveBytes();
+            }
+            return String.format("lists=%d, segments=%d, liveBytes=%d, deadBytes=%d",
+                    locations.size(), segments.size(), live, written - live);
+        }
+    }
+
+    // ======================================================================
+    // PackingListRepository
+    // ======================================================================
+
+    @Override
+    public PackingList save(PackingList packingList) throws DatabaseException {
+        String createdAt = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).format(InMemoryStore.CREATED_AT_FORMAT);
+        long id;
+        synchronized (writeLock) {
+            id = lastListId + 1;
+            // SAVE_SQL과 같이 처음에는 공유하지 않은 상태로 저장합니다. (공유는 updateSharedStatus)
+            appendVersion("패킹 리스트 저장", id, false, createdAt, packingList.getUserId(), packingList.getListName(),
+                    packingList.getTags(), packingList.getItems().size(), codec.encode(packingList.getItems()));
+        }
+        return new PackingList(id, packingList.getUserId(), packingList.getListName(), packingList.getTags(),
+                packingList.getItems(), packingList.isShared(), InMemoryStore.parseCreatedAt(createdAt));
+    }
+
+    @Override
+    public void updateSharedStatus(long listId, boolean isShared) throws DatabaseException {
+        synchronized (writeLock) {
+            Location current = locations.get(listId);
+            if (current == null || current.shared == isShared) {
+                return; // DB의 UPDATE처럼 대상이 없으면 아무 일도 하지 않음
+            }
+            ListRecord record = readRecord(current);
+            appendVersion("공유 상태 업데이트", listId, isShared, record.createdAt, record.userId, record.listName,
+                    record.tags, record.itemCount, record.items);
+        }
+    }
+
+    @Override
+    public void update(PackingList packingList) throws DatabaseException {
+        synchronized (writeLock) {
+            Location current = locations.get(packingList.getId());
+            if (current == null) {
+                return;
+            }
+            // DB 구현과 같이 아이템과 tags만 바꿉니다. (이름 등은 변경 불가)
+            ListRecord record = readRecord(current);
+            appendVersion("패킹 리스트 업데이트", record.id, record.shared, record.createdAt, record.userId, record.listName,
+                    packingList.getTags(), packingList.getItems().size(), codec.encode(packingList.getItems()));
+        }
+    }
+
+    @Override
+    public Optional<PackingList> findById(long listId) {
+        return Optional.ofNullable(load(listId));
+    }
+
+    @Override
+    public List<PackingList> findAllByUserId(String userId) {
+        return PackingListIndex.toList(listIndex.byUser(userId), this::load);
+    }
+
+    @Override
+    public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) {
+        return PackingListIndex.page(listIndex.byUser(userId), after, pageSize, this::load);
+    }
+
+    @Override
+    public List<PackingList> findSharedListsByTags(String[] tags) {
+        List<PackingList> lists = new ArrayList<>();
+        if (tags == null || tags.length == 0) {
+            return lists;
+        }
+        for (long id : listIndex.findSharedByTagSubstrings(tags, TAG_SEARCH_LIMIT, this::tagsOf)) {
+            PackingList list = loadShared(id);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        return lists;
+    }
+
+    @Override
+    public List<PackingList> findAllShared() {
+        return PackingListIndex.toList(listIndex.shared(), this::loadShared);
+    }
+
+    @Override
+    public void forEachShared(Consumer<PackingList> action) {
+        for (PackingListIndex.Key key : listIndex.shared()) {
+            PackingList list = loadShared(key.id);
+            if (list != null) {
+                action.accept(list);
+            }
+        }
+    }
+
+    @Override
+    public Stream<PackingList> streamShared() {
+        return listIndex.shared().stream()
+                .map(key -> loadShared(key.id))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) {
+        return PackingListIndex.page(listIndex.shared(), after, pageSize, this::loadShared);
+    }
+
+    @Override
+    public void seedSharedLists() throws DatabaseException {
+        if (listIndex.sharedCount() > 0) {
+            System.out.println("[INFO] 이미 공유 데이터가 존재하여 Seeding을 건너뜁니다.");
+            return;
+        }
+        System.out.println("[INFO] 공유 패킹 리스트 Seeding을 시작합니다...");
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(AppConfig.SEED_RANDOM_SEED, AppConfig.SEED_USER_COUNT);
+        long seeded = loadSyntheticLists(generator, AppConfig.SEED_SHARED_LIST_COUNT);
+        System.out.println("[SUCCESS] " + seeded + "개의 공유 패킹 리스트 Seeding을 완료했습니다.");
+    }
+
+    /**
+     * 합성 공유 리스트 count개를 한 번에 추가합니다. (Seeding, generate-data)
+     * 처음부터 공유 상태인 버전 하나만 쓰므로 저장 후 공유하는 것보다 레코드가 절반입니다.
+     */
+    public long loadSyntheticLists(SyntheticDataGenerator generator, long count) throws DatabaseException {
+        for (long from = 0; from < count; from += AppConfig.GENERATOR_BATCH_SIZE) {
+            long to = Math.min(count, from + AppConfig.GENERATOR_BATCH_SIZE);
+            synchronized (writeLock) {
+                for (long i = from; i < to; i++) {
+                    PackingList list = generator.sharedList(i);
+                    appendVersion("합성 패킹 리스트 저장", lastListId + 1, true,
+                            list.getCreatedAt().format(InMemoryStore.CREATED_AT_FORMAT), list.getUserId(), list.getListName(),
+                            list.getTags(), list.getItems().size(), codec.encode(list.getItems()));
+                }
+            }
+        }
+        synchronized (writeLock) {
+            active.force();
+        }
+        return count;
+    }
+
+    @Override
+    public void deleteAllData() throws DatabaseException {
+        synchronized (writeLock) {
+            try {
+                for (LogSegment segment : segments.values()) {
+                    segment.delete();
+                }
+                segments.clear();
+                locations.clear();
+                listIndex.clear();
+                active = null;
+                startNewSegment();
+            } catch (IOException e) {
+                throw new DatabaseException("패킹 리스트 세그먼트 삭제 중 오류가 발생했습니다.", e);
+            }
+        }
+    }
+
+    // ======================================================================
+    // 읽기 (잠금 없음)
+    // ======================================================================
+
+    private PackingList load(long listId) {
+        Location location = locations.get(listId);
+        return location == null ? null : toPackingList(listId, location);
+    }
+
+    // 인덱스를 읽는 사이 공유가 해제됐을 수 있으므로 다시 확인합니다.
+    private PackingList loadShared(long listId) {
+        Location location = locations.get(listId);
+        return location == null || !location.shared ? null : toPackingList(listId, location);
+    }
+
+    private String tagsOf(long listId) {
+        Location location = locations.get(listId);
+        return location == null ? null : location.tags;
+    }
+
+    // 이름만 디코딩하고, 아이템 바이트는 슬라이스로 잡아 두었다가 처음 필요할 때 복사해 디코딩합니다.
+    private PackingList toPackingList(long listId, Location location) {
+        ByteBuffer payload = location.segment.payload(location.offset, location.length);
+        payload.position(17); // seq, id, shared
+        skipString(payload); // createdAt (Location.key)
+        skipString(payload); // userId (Location)
+        String listName = readString(payload);
+        skipString(payload); // tags (Location)
+        int itemCount = payload.getInt();
+        int itemBytes = payload.getInt();
+        ByteBuffer items = payload.slice(payload.position(), itemBytes);
+        return new PackingList(listId, location.userId, listName, location.tags, () -> {
+            byte[] bytes = new byte[itemBytes];
+            items.get(0, bytes);
+            return codec.decode(bytes);
+        }, itemCount, location.shared, InMemoryStore.parseCreatedAt(location.key.createdAt));
+    }
+
+    private static ListRecord readRecord(Location location) {
+        return readRecord(location.segment.payload(location.offset, location.length));
+    }
+
+    private static ListRecord readRecord(ByteBuffer payload) {
+        ListRecord record = new ListRecord();
+        record.seq = payload.getLong();
+        record.id = payload.getLong();
+        record.shared = payload.get() != 0;
+        record.createdAt = readString(payload);
+        record.userId = readString(payload);
+        record.listName = readString(payload);
+        record.tags = readString(payload);
+        record.itemCount = payload.getInt();
+        record.items = new byte[payload.getInt()];
+        payload.get(record.items);
+        return record;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+
+    // ======================================================================
+    // 쓰기 (writeLock 안에서만 호출)
+    // ======================================================================
+
+    private void appendVersion(String what, long id, boolean shared, String createdAt, String userId, String listName,
+                               String tags, int itemCount, byte[] items) throws DatabaseException {
+        long seq = lastSeq + 1;
+        byte[] payload;
+        try {
+            recordBuffer.reset();
+            recordOut.writeLong(seq);
+            recordOut.writeLong(id);
+            recordOut.writeBoolean(shared);
+            writeString(recordOut, createdAt);
+            writeString(recordOut, userId);
+            writeString(recordOut, listName);
+            writeString(recordOut, tags);
+            recordOut.writeInt(itemCount);
+            recordOut.writeInt(items.length);
+            recordOut.write(items);
+            recordOut.flush();
+            payload = recordBuffer.toByteArray();
+        } catch (IOException e) {
+            throw new DatabaseException(what + " 중 오류가 발생했습니다.", e); // ByteArrayOutputStream이라 실제로는 나지 않음
+        }
+
+        int offset = appendPayload(what, payload);
+        lastSeq = seq;
+        lastListId = Math.max(lastListId, id);
+        Location location = new Location(active, offset, LogSegment.RECORD_HEADER_BYTES + payload.length, seq, userId,
+                new PackingListIndex.Key(createdAt, id), shared, tags);
+        replaceLocation(id, location);
+    }
+
+    // 활성 세그먼트에 붙이고, 자리가 없으면 봉인한 뒤 새 세그먼트에 붙입니다.
+    private int appendPayload(String what, byte[] payload) throws DatabaseException {
+        int offset = active.append(payload, fsyncEachRecord);
+        if (offset >= 0) {
+            return offset;
+        }
+        try {
+            active.seal();
+            startNewSegment();
+        } catch (IOException e) {
+            throw new DatabaseException(what + " 중 새 세그먼트를 만들지 못했습니다.", e);
+        }
+        offset = active.append(payload, fsyncEachRecord);
+        if (offset < 0) {
+            throw new DatabaseException(what + " 중 오류가 발생했습니다. (레코드 " + payload.length + " bytes가 세그먼트보다 큼)");
+        }
+        return offset;
+    }
+
+    private void startNewSegment() throws IOException {
+        long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        active = LogSegment.create(directory, id, segmentBytes);
+        segments.put(id, active);
+    }
+
+    private void replaceLocation(long id, Location location) {
+        location.segment.addLive(location.length);
+        Location previous = locations.put(id, location);
+        if (previous == null) {
+            listIndex.add(location);
+        } else {
+            previous.segment.addLive(-previous.length);
+            listIndex.update(previous, location);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // ======================================================================
+    // 압축
+    // ======================================================================
+
+    /**
+     * 죽은 버전 비율이 minDeadRatio 이상인 봉인된 세그먼트를 압축합니다.
+     * 살아 있는 레코드는 같은 seq 그대로 활성 세그먼트에 옮기고, 다 옮긴 세그먼트 파일은 지웁니다.
+     * 레코드 하나마다 쓰기 잠금을 잡았다 놓으므로 압축 중에도 저장/수정이 오래 막히지 않습니다.
+     * @return 지운 세그먼트 수
+     */
+    int compact(double minDeadRatio) throws DatabaseException {
+        List<LogSegment> candidates = new ArrayList<>();
+        synchronized (writeLock) {
+            for (LogSegment segment : segments.values()) {
+                if (segment.isSealed() && segment != active && segment.deadRatio() >= minDeadRatio) {
+                    candidates.add(segment);
+                }
+            }
+        }
+        int reclaimed = 0;
+        for (LogSegment segment : candidates) {
+            if (compactSegment(segment)) {
+                reclaimed++;
+            }
+        }
+        if (reclaimed > 0) {
+            log.info("세그먼트 {}개를 압축했습니다. ({})", reclaimed, getStats());
+        }
+        return reclaimed;
+    }
+
+    private boolean compactSegment(LogSegment segment) throws DatabaseException {
+        List<LogSegment.RecordRef> refs;
+        synchronized (writeLock) {
+            if (segments.get(segment.id) != segment) {
+                return false; // 그 사이 deleteAllData로 사라짐
+            }
+            refs = segment.recover(); // 봉인된 세그먼트라 푸터만 읽음
+        }
+        for (LogSegment.RecordRef ref : refs) {
+            synchronized (writeLock) {
+                Location current = locations.get(ref.listId);
+                if (current == null || current.segment != segment || current.offset != ref.offset) {
+                    continue; // 이미 죽은 버전
+                }
+                ByteBuffer source = segment.payload(ref.offset, ref.length);
+                byte[] payload = new byte[source.remaining()];
+                source.get(payload);
+                int offset = appendPayload("세그먼트 압축", payload);
+                replaceLocation(ref.listId, new Location(active, offset, current.length, current.seq, current.userId,
+                        current.key, current.shared, current.tags));
+            }
+        }
+        synchronized (writeLock) {
+            if (segments.get(segment.id) != segment || segment.liveBytes() != 0) {
+                return false;
+            }
+            try {
+                // 옮긴 레코드가 디스크에 닿은 뒤에 원본을 지웁니다.
+                active.force();
+                segments.remove(segment.id);
+                segment.delete();
+            } catch (IOException e) {
+                throw new DatabaseException("압축한 세그먼트를 지우는 중 오류가 발생했습니다: " + segment.path, e);
+            }
+            return true;
+        }
+    }
+
+    // ======================================================================
+    // 복원
+    // ======================================================================
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(path -> LogSegment.idOf(path.getFileName().toString()) >= 0).forEach(files::add);
+        }
+        for (Path path : files) {
+            LogSegment segment = LogSegment.open(path);
+            if (segments.put(segment.id, segment) != null) {
+                throw new IOException("세그먼트 번호가 중복됩니다: " + path);
+            }
+        }
+
+        // 1) 리스트마다 seq가 가장 큰 레코드를 고름 (seq가 같으면 압축으로 옮긴 복사본이므로 어느 쪽이든 같음)
+        Map<Long, LogSegment.RecordRef> latest = new HashMap<>();
+        Map<Long, LogSegment> latestSegment = new HashMap<>();
+        for (LogSegment segment : segments.values()) {
+            for (LogSegment.RecordRef ref : segment.recover()) {
+                LogSegment.RecordRef previous = latest.get(ref.listId);
+                if (previous == null || ref.seq >= previous.seq) {
+                    latest.put(ref.listId, ref);
+                    latestSegment.put(ref.listId, segment);
+                }
+                lastSeq = Math.max(lastSeq, ref.seq);
+                lastListId = Math.max(lastListId, ref.listId);
+            }
+        }
+
+        // 2) 고른 레코드만 읽어 위치 인덱스와 보조 인덱스를 만듦
+        List<Location> recovered = new ArrayList<>(latest.size());
+        for (Map.Entry<Long, LogSegment.RecordRef> entry : latest.entrySet()) {
+            LogSegment.RecordRef ref = entry.getValue();
+            LogSegment segment = latestSegment.get(entry.getKey());
+            ByteBuffer payload = segment.payload(ref.offset, ref.length);
+            payload.position(16);
+            boolean shared = payload.get() != 0;
+            String createdAt = readString(payload);
+            String userId = readString(payload);
+            skipString(payload); // listName
+            String tags = readString(payload);
+            Location location = new Location(segment, ref.offset, ref.length, ref.seq, userId,
+                    new PackingListIndex.Key(createdAt, ref.listId), shared, tags);
+            segment.addLive(location.length);
+            locations.put(ref.listId, location);
+            recovered.add(location);
+        }
+        listIndex.addAll(recovered);
+
+        // 3) 마지막 세그먼트가 쓰던 것이면 이어 쓰고, 그 앞의 쓰던 세그먼트는 봉인
+        for (LogSegment segment : segments.values()) {
+            if (!segment.isSealed() && segment.id != segments.lastKey()) {
+                segment.seal();
+            }
+        }
+        if (!segments.isEmpty() && !segments.lastEntry().getValue().isSealed()) {
+            active = segments.lastEntry().getValue();
+        } else {
+            startNewSegment();
+        }
+    }
+
+    private void closeSegments() {
+        for (LogSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("세그먼트 파일을 닫지 못했습니다: {}", segment.path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.smartpacker.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 저장소({@link InMemoryStore})의 추가 전용(append-only) 변경 로그 파일입니다.
+ *
+ * <pre>
+ * { [페이로드 길이 4B] [페이로드의 CRC32 4B] [페이로드] } * 레코드 수
+ * </pre>
+ * 레코드는 쓰자마자 OS에 넘기므로(write) 프로세스가 죽어도 남고, {@code fsyncEachRecord}이면 디스크까지 fsync 합니다.
+ * 쓰다가 중단된 마지막 레코드(길이 부족 또는 CRC 불일치)는 재생할 때 버리고, 그 앞까지 파일을 잘라냅니다.
+ */
+final class MemoryChangeLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryChangeLog.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024; // 이보다 긴 길이 값은 깨진 헤더로 봅니다.
+
+    /** 레코드 하나의 페이로드를 씁니다. */
+    interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /** 레코드 하나의 페이로드를 읽어 반영합니다. */
+    interface RecordReader {
+        void read(DataInputStream in) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final boolean fsyncEachRecord;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream bufferOut = new DataOutputStream(buffer);
+    private final CRC32 crc = new CRC32();
+    private long recordCount;
+
+    private MemoryChangeLog(FileChannel channel, boolean fsyncEachRecord, long recordCount) {
+        this.channel = channel;
+        this.fsyncEachRecord = fsyncEachRecord;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * 로그 파일을 이어 쓰기용으로 엽니다. (없으면 만듦)
+     * @param existingRecords 파일에 이미 들어 있는 레코드 수 (재생 결과)
+     */
+    static MemoryChangeLog open(Path path, boolean fsyncEachRecord, long existingRecords) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new MemoryChangeLog(channel, fsyncEachRecord, existingRecords);
+    }
+
+    /**
+     * 레코드 하나를 파일 끝에 씁니다. 호출자가 쓰기를 직렬화해야 합니다. (InMemoryStore의 쓰기 잠금)
+     */
+    void append(RecordWriter writer) throws IOException {
+        buffer.reset();
+        bufferOut.writeLong(0); // 헤더 자리
+        writer.write(bufferOut);
+        bufferOut.flush();
+
+        byte[] record = buffer.toByteArray();
+        int length = record.length - HEADER_BYTES;
+        crc.reset();
+        crc.update(record, HEADER_BYTES, length);
+        ByteBuffer bytes = ByteBuffer.wrap(record);
+        bytes.putInt(0, length).putInt(4, (int) crc.getValue());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        if (fsyncEachRecord) {
+            channel.force(false);
+        }
+        recordCount++;
+    }
+
+    /** 이 파일에 들어 있는 레코드 수 (재생한 것 + 이번 실행에서 쓴 것) */
+    long recordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    /**
+     * 로그 파일의 레코드를 처음부터 순서대로 reader에 넘깁니다.
+     * @param truncateTornTail true면 중간에 끊긴 마지막 레코드를 버리고 파일을 잘라냄, false면 예외
+     * @return 재생한 레코드 수
+     */
+    static long replay(Path path, boolean truncateTornTail, RecordReader reader) throws IOException {
+        long records = 0;
+        long validBytes = 0;
+        String tornReason = null;
+        CRC32 crc = new CRC32();
+
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+            while (true) {
+                int first = in.read();
+                if (first < 0) {
+                    break; // 레코드 경계에서 끝남
+                }
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+                    checksum = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        tornReason = "잘못된 길이 " + length;
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    tornReason = "레코드가 중간에 끊김";
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    tornReason = "CRC 불일치";
+                    break;
+                }
+
+                reader.read(new DataInputStream(new ByteArrayInputStream(payload)));
+                records++;
+                validBytes += HEADER_BYTES + length;
+            }
+        }
+
+        if (tornReason != null) {
+            if (!truncateTornTail) {
+                throw new IOException("변경 로그가 손상되었습니다: " + path + " (" + tornReason + ", 오프셋 " + validBytes + ")");
+            }
+            log.warn("변경 로그의 마지막 레코드가 온전하지 않아 버립니다: {} ({}, 오프셋 {})", path, tornReason, validBytes);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(false);
+            }
+        }
+        return records;
+    }
+}
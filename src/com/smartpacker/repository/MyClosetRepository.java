@@ -1,6 +1,7 @@
 package com.smartpacker.repository;
 
 import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.user.ClosetCategoryStat;
 import com.smartpacker.exception.DatabaseException;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +11,18 @@ import java.util.Map;
  */
 public interface MyClosetRepository {
 
+    /**
+     * 일괄 등록 시 이미 옷장에 같은 이름의 아이템이 있을 때의 처리 방식입니다.
+     */
+    enum ConflictPolicy {
+        /** 기존 아이템을 그대로 둡니다. */
+        KEEP,
+        /** 카테고리와 수량을 새 값으로 바꿉니다. */
+        REPLACE,
+        /** 기존 수량에 새 수량을 더합니다. (카테고리는 유지) */
+        SUM
+    }
+
     /**
      * 특정 사용자의 '내 옷장'에 아이템을 저장하거나, 이미 존재하면 수량을 업데이트합니다.
      * @param userId 사용자 ID
@@ -36,23 +49,44 @@ public interface MyClosetRepository {
     boolean delete(String userId, String itemName) throws DatabaseException;
     
     /**
-     * 특정 사용자의 '내 옷장' 아이템 통계를 카테고리별로 조회합니다.
+     * 특정 사용자의 '내 옷장' 아이템 통계를 카테고리별로 조회합니다. (아이템 종류 수와 수량 합계)
      * @param userId 사용자 ID
-     * @return 카테고리 이름을 Key로, 아이템 개수(Long)를 Value로 갖는 Map
+     * @return 아이템 종류가 많은 카테고리부터의 통계 목록 (같으면 수량 합계가 큰 순, 카테고리 이름 순)
      * @throws DatabaseException DB 오류 발생 시
      */
-    Map<String, Long> getCategoryStatistics(String userId) throws DatabaseException;
+    List<ClosetCategoryStat> getCategoryStatistics(String userId) throws DatabaseException;
 
     /**
      * 텍스트 파일로부터 여러 아이템을 '내 옷장'에 일괄 등록합니다.
+     * 이미 있는 아이템은 그대로 둡니다. ({@link ConflictPolicy#KEEP}으로 {@link #upsertAll}을 호출하는 것과 같음)
      * @param userId 사용자 ID
      * @param items 등록할 아이템 리스트
-     * @return 성공적으로 등록된 아이템 개수
+     * @return 새로 등록된 아이템 개수
      * @throws DatabaseException DB 오류 발생 시
      */
-    int batchInsert(String userId, List<Item> items) throws DatabaseException;
+    default int batchInsert(String userId, List<Item> items) throws DatabaseException {
+        return upsertAll(userId, items, ConflictPolicy.KEEP);
+    }
+
+    /**
+     * 여러 아이템을 하나의 트랜잭션, 하나의 배치 문장으로 '내 옷장'에 등록합니다.
+     * 중간에 오류가 나면 전체가 롤백됩니다.
+     * @param userId 사용자 ID
+     * @param items 등록할 아이템 리스트
+     * @param policy 이미 있는 아이템을 만났을 때의 처리 방식
+     * @return 새로 등록되거나 변경된 아이템 개수
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    int upsertAll(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException;
     
     void deleteAllData() throws DatabaseException;
     
-    List<Item> findItemsByNameLike(String userId, String keyword);
+    /**
+     * 특정 사용자의 '내 옷장'에서 이름에 키워드가 포함된 아이템을 관련도 순으로 찾습니다.
+     * @param userId 사용자 ID
+     * @param keyword 찾을 부분 문자열
+     * @return 찾은 아이템 리스트 (최대 {@code AppConfig.SIMILAR_ITEM_SEARCH_LIMIT}개)
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    List<Item> findItemsByNameLike(String userId, String keyword) throws DatabaseException;
 }
\ No newline at end of file
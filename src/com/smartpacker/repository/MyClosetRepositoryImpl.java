@@ -1,7 +1,9 @@
 package com.smartpacker.repository;
 
+import com.smartpacker.config.AppConfig;
 import com.smartpacker.domain.item.Item;
 import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.user.ClosetCategoryStat;
 import com.smartpacker.exception.DatabaseException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -14,6 +16,35 @@ import java.util.List;
 import java.util.Map;
 
 public class MyClosetRepositoryImpl implements MyClosetRepository {
+
+    // --- SQL 문 (QueryPlanTest가 실행 계획을 검사할 수 있도록 상수로 둡니다) ---
+    // INSERT OR REPLACE는 기존 행을 지울 때 DELETE 트리거(FTS 색인 동기화)를 실행하지 않으므로 UPSERT로 갱신합니다.
+    static final String SAVE_SQL = "INSERT INTO my_closet (user_id, item_name, category, quantity) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(user_id, item_name) DO UPDATE SET category = excluded.category, quantity = excluded.quantity";
+    static final String FIND_ALL_BY_USER_SQL = "SELECT item_name, category, quantity FROM my_closet WHERE user_id = ?";
+    static final String DELETE_SQL = "DELETE FROM my_closet WHERE user_id = ? AND item_name = ?";
+    // 카테고리별 집계는 my_closet 트리거가 같은 트랜잭션에서 유지하므로, 옷장 크기와 관계없이 카테고리 수만큼만 읽습니다.
+    static final String CATEGORY_STATISTICS_SQL = "SELECT category, item_count, quantity_sum FROM closet_category_counts WHERE user_id = ? "
+            + "ORDER BY item_count DESC, quantity_sum DESC, category";
+    // upsertAll: 충돌 처리 방식(ConflictPolicy)마다 ON CONFLICT 절만 다릅니다.
+    static final String UPSERT_KEEP_SQL = "INSERT INTO my_closet (user_id, item_name, category, quantity) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(user_id, item_name) DO NOTHING";
+    static final String UPSERT_REPLACE_SQL = "INSERT INTO my_closet (user_id, item_name, category, quantity) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(user_id, item_name) DO UPDATE SET category = excluded.category, quantity = excluded.quantity";
+    static final String UPSERT_SUM_SQL = "INSERT INTO my_closet (user_id, item_name, category, quantity) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(user_id, item_name) DO UPDATE SET quantity = quantity + excluded.quantity";
+    static final String DELETE_ALL_SQL = "DELETE FROM my_closet";
+    // 유사 아이템 검색 (1): 옷장이 큰 사용자는 trigram FTS 색인으로 찾고, 색인 rowid(= my_closet.id)로 옷장 행을 이어 붙여
+    // 그 사용자의 아이템만 남긴 뒤 관련도(bm25) 순으로 정렬합니다.
+    static final String FIND_BY_NAME_MATCH_SQL = "SELECT c.item_name, c.category, c.quantity FROM my_closet_fts f "
+            + "JOIN my_closet c ON c.id = f.rowid WHERE my_closet_fts MATCH ? AND c.user_id = ? ORDER BY bm25(my_closet_fts) LIMIT ?";
+    // 유사 아이템 검색 (2): 옷장이 작거나 키워드가 3글자 미만(trigram으로 못 찾음)이면 기본 키 범위(user_id) 안에서 LIKE로 찾습니다.
+    // 키워드가 앞쪽에 나올수록, 이름이 짧을수록(= 키워드가 차지하는 비중이 클수록) 먼저 보여줍니다.
+    static final String FIND_BY_NAME_LIKE_SQL = "SELECT item_name, category, quantity FROM my_closet WHERE user_id = ? AND item_name LIKE ? ESCAPE '\\' "
+            + "ORDER BY instr(item_name, ?), length(item_name), item_name LIMIT ?";
+    // 옷장 크기를 기준 개수까지만 셉니다. (기준 이상인지만 알면 되므로 큰 옷장도 끝까지 세지 않음)
+    static final String COUNT_UP_TO_SQL = "SELECT COUNT(*) FROM (SELECT 1 FROM my_closet WHERE user_id = ? LIMIT ?)";
+    static final int TRIGRAM_LENGTH = 3;
     
     // Item 객체를 DB에 저장하기 위해 임시로 만든 헬퍼 클래스.
     // Item은 추상 클래스이므로 직접 new 할 수 없기 때문입니다.
@@ -25,29 +56,24 @@ public class MyClosetRepositoryImpl implements MyClosetRepository {
 
     @Override
     public void save(String userId, Item item) throws DatabaseException {
-        // SQLite의 INSERT OR REPLACE 구문을 사용하면, PK가 중복될 경우 UPDATE처럼 동작합니다.
-        String sql = "INSERT OR REPLACE INTO my_closet (user_id, item_name, category, quantity) VALUES (?, ?, ?, ?)";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-
+        // UPSERT(ON CONFLICT DO UPDATE) 구문을 사용하면, PK가 중복될 경우 UPDATE처럼 동작합니다.
         try {
-            conn = JdbcManager.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, userId);
-            pstmt.setString(2, item.getName());
-            pstmt.setString(3, item.getCategory());
-            pstmt.setInt(4, item.getQuantity());
-            pstmt.executeUpdate();
+            JdbcManager.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(SAVE_SQL)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, item.getName());
+                    pstmt.setString(3, item.getCategory());
+                    pstmt.setInt(4, item.getQuantity());
+                    return pstmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new DatabaseException("내 옷장 아이템 저장 중 오류가 발생했습니다.", e);
-        } finally {
-            JdbcManager.close(conn, pstmt);
         }
     }
 
     @Override
     public Map<String, Item> findAllByUserId(String userId) throws DatabaseException {
-        String sql = "SELECT item_name, category, quantity FROM my_closet WHERE user_id = ?";
         Map<String, Item> closet = new HashMap<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -55,7 +81,7 @@ public class MyClosetRepositoryImpl implements MyClosetRepository {
 
         try {
             conn = JdbcManager.getConnection();
-            pstmt = conn.prepareStatement(sql);
+            pstmt = conn.prepareStatement(FIND_ALL_BY_USER_SQL);
             pstmt.setString(1, userId);
             rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -76,40 +102,35 @@ public class MyClosetRepositoryImpl implements MyClosetRepository {
 
     @Override
     public boolean delete(String userId, String itemName) throws DatabaseException {
-        String sql = "DELETE FROM my_closet WHERE user_id = ? AND item_name = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-
         try {
-            conn = JdbcManager.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, userId);
-            pstmt.setString(2, itemName);
-            int affectedRows = pstmt.executeUpdate();
+            int affectedRows = JdbcManager.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, itemName);
+                    return pstmt.executeUpdate();
+                }
+            });
             return affectedRows > 0; // 1개 이상의 행이 삭제되었다면 true 반환
         } catch (SQLException e) {
             throw new DatabaseException("내 옷장 아이템 삭제 중 오류가 발생했습니다.", e);
-        } finally {
-            JdbcManager.close(conn, pstmt);
         }
     }
 
     @Override
-    public Map<String, Long> getCategoryStatistics(String userId) throws DatabaseException {
-        // GROUP BY와 COUNT()를 사용한 통계 쿼리
-        String sql = "SELECT category, COUNT(*) as count FROM my_closet WHERE user_id = ? GROUP BY category ORDER BY count DESC";
-        Map<String, Long> stats = new HashMap<>();
+    public List<ClosetCategoryStat> getCategoryStatistics(String userId) throws DatabaseException {
+        // 미리 집계된 closet_category_counts 조회 (GROUP BY 없음)
+        List<ClosetCategoryStat> stats = new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
             conn = JdbcManager.getConnection();
-            pstmt = conn.prepareStatement(sql);
+            pstmt = conn.prepareStatement(CATEGORY_STATISTICS_SQL);
             pstmt.setString(1, userId);
             rs = pstmt.executeQuery();
             while (rs.next()) {
-                stats.put(rs.getString("category"), rs.getLong("count"));
+                stats.add(new ClosetCategoryStat(rs.getString("category"), rs.getLong("item_count"), rs.getLong("quantity_sum")));
             }
         } catch (SQLException e) {
             throw new DatabaseException("내 옷장 통계 조회 중 오류가 발생했습니다.", e);
@@ -120,79 +141,109 @@ public class MyClosetRepositoryImpl implements MyClosetRepository {
     }
     
     @Override
-    public int batchInsert(String userId, List<Item> items) throws DatabaseException {
-        String sql = "INSERT OR IGNORE INTO my_closet (user_id, item_name, category, quantity) VALUES (?, ?, ?, ?)";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        int successfulInserts = 0;
-
+    public int upsertAll(String userId, List<Item> items, ConflictPolicy policy) throws DatabaseException {
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
         try {
-            conn = JdbcManager.getConnection();
-            // 자동 커밋을 비활성화하여 트랜잭션 성능을 향상시킵니다.
-            conn.setAutoCommit(false); 
-            pstmt = conn.prepareStatement(sql);
-
-            for (Item item : items) {
-                pstmt.setString(1, userId);
-                pstmt.setString(2, item.getName());
-                pstmt.setString(3, item.getCategory());
-                pstmt.setInt(4, item.getQuantity());
-                pstmt.addBatch(); // 쿼리를 배치에 추가
-            }
-
-            int[] results = pstmt.executeBatch(); // 배치 실행
-            conn.commit(); // 트랜잭션 커밋
+            // 쓰기 스레드가 전체를 하나의 트랜잭션(커밋 1회)으로 처리합니다.
+            int[] results = JdbcManager.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(upsertSql(policy))) {
+                    for (Item item : items) {
+                        pstmt.setString(1, userId);
+                        pstmt.setString(2, item.getName());
+                        pstmt.setString(3, item.getCategory());
+                        pstmt.setInt(4, item.getQuantity());
+                        pstmt.addBatch(); // 쿼리를 배치에 추가
+                    }
+                    return pstmt.executeBatch(); // 배치 실행
+                }
+            });
 
+            int changed = 0;
             for (int result : results) {
-                if (result >= 0) { // 성공한 경우 1 또는 0
-                    successfulInserts++;
+                if (result > 0) { // 충돌로 건너뛴(DO NOTHING) 행은 0
+                    changed++;
                 }
             }
+            return changed;
         } catch (SQLException e) {
-            try {
-                if (conn != null) conn.rollback(); // 오류 발생 시 롤백
-            } catch (SQLException ex) { /* 무시 */ }
             throw new DatabaseException("내 옷장 일괄 등록 중 오류가 발생했습니다.", e);
-        } finally {
-            try {
-                if (conn != null) conn.setAutoCommit(true); // 자동 커밋 원상 복구
-            } catch (SQLException e) { /* 무시 */ }
-            JdbcManager.close(conn, pstmt);
         }
-        return successfulInserts;
+    }
+
+    static String upsertSql(ConflictPolicy policy) {
+        switch (policy) {
+            case REPLACE: return UPSERT_REPLACE_SQL;
+            case SUM:     return UPSERT_SUM_SQL;
+            default:      return UPSERT_KEEP_SQL;
+        }
     }
     
     @Override
     public void deleteAllData() throws DatabaseException {
-        String sql = "DELETE FROM my_closet";
-        try (Connection conn = JdbcManager.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(sql);
+        try {
+            JdbcManager.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    return stmt.executeUpdate(DELETE_ALL_SQL);
+                }
+            });
         } catch (SQLException e) {
             throw new DatabaseException("내 옷장 데이터 전체 삭제 중 오류 발생", e);
         }
     }
     
     @Override
-    public List<Item> findItemsByNameLike(String userId, String keyword) {
-        String sql = "SELECT item_name, category, quantity FROM my_closet WHERE user_id = ? AND item_name LIKE ?";
+    public List<Item> findItemsByNameLike(String userId, String keyword) throws DatabaseException {
         List<Item> foundItems = new ArrayList<>();
-        try (Connection conn = JdbcManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, "%" + keyword + "%"); // 키워드가 포함된 모든 아이템 검색
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                foundItems.add(ItemFactory.create(
-                    rs.getString("item_name"),
-                    rs.getString("category"),
-                    rs.getInt("quantity")
-                ));
+        String trimmed = keyword.trim();
+        if (trimmed.isEmpty()) {
+            return foundItems;
+        }
+
+        try (Connection conn = JdbcManager.getConnection()) {
+            // 작은 옷장은 기본 키 범위를 훑는 LIKE가 FTS 색인보다 빠르므로, 큰 옷장에만 색인을 사용합니다.
+            boolean useIndex = trimmed.codePointCount(0, trimmed.length()) >= TRIGRAM_LENGTH
+                    && countUpTo(conn, userId, AppConfig.CLOSET_FTS_MIN_ITEMS) >= AppConfig.CLOSET_FTS_MIN_ITEMS;
+            try (PreparedStatement pstmt = conn.prepareStatement(useIndex ? FIND_BY_NAME_MATCH_SQL : FIND_BY_NAME_LIKE_SQL)) {
+                if (useIndex) {
+                    pstmt.setString(1, "\"" + trimmed.replace("\"", "\"\"") + "\""); // 구문(phrase)으로 감싸 FTS 연산자로 해석되지 않도록
+                    pstmt.setString(2, userId);
+                    pstmt.setInt(3, AppConfig.SIMILAR_ITEM_SEARCH_LIMIT);
+                } else {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, "%" + escapeLike(trimmed) + "%"); // 키워드가 포함된 모든 아이템 검색
+                    pstmt.setString(3, trimmed);
+                    pstmt.setInt(4, AppConfig.SIMILAR_ITEM_SEARCH_LIMIT);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        foundItems.add(ItemFactory.create(
+                            rs.getString("item_name"),
+                            rs.getString("category"),
+                            rs.getInt("quantity")
+                        ));
+                    }
+                }
             }
         } catch (SQLException e) {
-            // 이 메소드는 치명적인 오류가 아니므로, 예외를 던지는 대신 빈 리스트를 반환하고 에러 로그만 남길 수 있습니다.
-            System.err.println("[ERROR] 유사 아이템 검색 중 오류: " + e.getMessage());
+            throw new DatabaseException("유사 아이템 검색 중 오류가 발생했습니다.", e);
         }
         return foundItems;
     }
+
+    private static int countUpTo(Connection conn, String userId, int limit) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(COUNT_UP_TO_SQL)) {
+            pstmt.setString(1, userId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    // LIKE 패턴의 특수 문자(%, _)와 이스케이프 문자를 글자 그대로 찾도록 이스케이프합니다.
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongFunction;
+
+/**
+ * DB 밖에 저장하는 패킹 리스트 저장소(MEMORY, LOG_STRUCTURED 엔진)가 함께 쓰는 보조 인덱스입니다.
+ *
+ * <ul>
+ *   <li>사용자별 리스트와 공유 리스트: (created_at DESC, id DESC) 순 정렬 집합.
+ *       최신순 조회와 키셋 페이지네이션이 DB와 같은 순서, 같은 커서로 바로 나옵니다.</li>
+ *   <li>공유 리스트의 태그 토큰(쉼표로 나눈 조각, 소문자) → 리스트 ID(오름차순) 집합. 태그 검색에 씁니다.</li>
+ * </ul>
+ * 변경은 저장소의 쓰기 잠금 안에서만 하고, 조회는 잠금 없이 합니다.
+ * 조회 중 변경이 겹치면 잠깐 이전/이후 상태가 섞여 보일 수 있으므로 호출자는 찾은 ID를 다시 확인해야 합니다.
+ */
+final class PackingListIndex {
+
+    /** 정렬 인덱스의 키. created_at은 DB와 같은 "yyyy-MM-dd HH:mm:ss" 문자열입니다. */
+    static final class Key {
+        final String createdAt;
+        final long id;
+
+        Key(String createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+
+    /** 인덱스에 넣을 리스트 한 건의 정보 */
+    interface Entry {
+        String userId();
+        Key key();
+        boolean shared();
+        String tags();
+    }
+
+    /** 최신순 정렬 (created_at DESC, id DESC) */
+    static final Comparator<Key> NEWEST_FIRST = (a, b) -> {
+        int byTime = b.createdAt.compareTo(a.createdAt);
+        return byTime != 0 ? byTime : Long.compare(b.id, a.id);
+    };
+
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Key>> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Key> shared = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> sharedByTagToken = new ConcurrentHashMap<>();
+
+    void add(Entry entry) {
+        byUser.computeIfAbsent(entry.userId(), k -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry.key());
+        if (entry.shared()) {
+            shared.add(entry.key());
+            indexTags(entry.key().id, entry.tags());
+        }
+    }
+
+    /**
+     * 여러 건을 한꺼번에 넣습니다. (복원용) 인덱스마다 그 인덱스의 정렬 순서로 넣으므로,
+     * 무작위 순서로 넣을 때처럼 스킵 리스트 탐색이 매번 캐시를 벗어나지 않습니다.
+     */
+    void addAll(Collection<? extends Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(entry -> entry.key().id));
+        for (Entry entry : sorted) {
+            if (entry.shared()) {
+                indexTags(entry.key().id, entry.tags()); // 토큰별 ID 집합은 ID 오름차순
+            }
+        }
+        sorted.sort((a, b) -> NEWEST_FIRST.compare(a.key(), b.key()));
+        for (Entry entry : sorted) {
+            byUser.computeIfAbsent(entry.userId(), k -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry.key());
+            if (entry.shared()) {
+                shared.add(entry.key());
+            }
+        }
+    }
+
+    /**
+     * 같은 리스트의 이전 버전을 새 버전으로 바꿉니다. (공유 여부, 태그만 바뀔 수 있음)
+     */
+    void update(Entry before, Entry after) {
+        boolean sameTags = Objects.equals(before.tags(), after.tags());
+        if (before.shared() && !(after.shared() && sameTags)) {
+            unindexTags(before.key().id, before.tags());
+        }
+        if (before.shared() && !after.shared()) {
+            shared.remove(before.key());
+        }
+        if (after.shared() && !before.shared()) {
+            shared.add(after.key());
+        }
+        if (after.shared() && !(before.shared() && sameTags)) {
+            indexTags(after.key().id, after.tags());
+        }
+    }
+
+    void clear() {
+        sharedByTagToken.clear();
+        shared.clear();
+        byUser.clear();
+    }
+
+    /** 사용자의 리스트 키 (최신순, 없으면 빈 집합) */
+    NavigableSet<Key> byUser(String userId) {
+        NavigableSet<Key> keys = byUser.get(userId);
+        return keys != null ? keys : new TreeSet<>(NEWEST_FIRST);
+    }
+
+    /** 공유 리스트 키 (최신순) */
+    NavigableSet<Key> shared() {
+        return shared;
+    }
+
+    int sharedCount() {
+        return shared.size();
+    }
+
+    /**
+     * 태그 문자열에 주어진 부분 문자열 중 하나라도 들어 있는 공유 리스트의 ID를 오름차순으로 최대 limit개 찾습니다.
+     * (DB의 {@code tags LIKE '%tag%' OR ...}와 같은 결과: 쉼표가 없는 부분 문자열은 토큰 하나 안에서만 나올 수 있으므로,
+     * 그 문자열을 포함하는 토큰들의 ID 목록을 합치면 됩니다.)
+     * @param tagsOf 쉼표가 들어간 검색어처럼 인덱스로 찾을 수 없을 때 공유 리스트를 훑으며 태그를 얻는 함수
+     */
+    List<Long> findSharedByTagSubstrings(String[] tags, int limit, LongFunction<String> tagsOf) {
+        List<Iterator<Long>> sources = new ArrayList<>();
+        for (String tag : tags) {
+            String needle = tag.toLowerCase(Locale.ROOT);
+            if (needle.indexOf(',') >= 0) {
+                return scanSharedByTagSubstrings(tags, limit, tagsOf);
+            }
+            for (Map.Entry<String, ConcurrentSkipListSet<Long>> token : sharedByTagToken.entrySet()) {
+                if (token.getKey().contains(needle)) {
+                    sources.add(token.getValue().iterator());
+                }
+            }
+        }
+
+        // 토큰별 ID 목록(오름차순)을 k-way 병합하면서 중복을 건너뛰고, limit개를 채우면 멈춥니다.
+        PriorityQueue<long[]> heads = new PriorityQueue<>(Comparator.comparingLong(head -> head[0]));
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).hasNext()) {
+                heads.add(new long[]{sources.get(i).next(), i});
+            }
+        }
+        List<Long> found = new ArrayList<>();
+        while (!heads.isEmpty() && found.size() < limit) {
+            long[] head = heads.poll();
+            if (found.isEmpty() || found.get(found.size() - 1) != head[0]) {
+                found.add(head[0]);
+            }
+            Iterator<Long> source = sources.get((int) head[1]);
+            if (source.hasNext()) {
+                heads.add(new long[]{source.next(), head[1]});
+            }
+        }
+        return found;
+    }
+
+    private List<Long> scanSharedByTagSubstrings(String[] tags, int limit, LongFunction<String> tagsOf) {
+        List<Long> found = new ArrayList<>();
+        for (Key key : shared) {
+            String listTags = tagsOf.apply(key.id);
+            if (listTags == null) {
+                continue;
+            }
+            String haystack = listTags.toLowerCase(Locale.ROOT);
+            for (String tag : tags) {
+                if (haystack.contains(tag.toLowerCase(Locale.ROOT))) {
+                    found.add(key.id);
+                    break;
+                }
+            }
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    private void indexTags(long id, String tags) {
+        for (String token : tagTokens(tags)) {
+            sharedByTagToken.computeIfAbsent(token, k -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    private void unindexTags(long id, String tags) {
+        for (String token : tagTokens(tags)) {
+            ConcurrentSkipListSet<Long> ids = sharedByTagToken.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    sharedByTagToken.remove(token);
+                }
+            }
+        }
+    }
+
+    // 태그 문자열을 쉼표로 나눈 조각 (대소문자 무시 비교를 위해 소문자로). 공백은 LIKE와 같도록 그대로 둡니다.
+    private static List<String> tagTokens(String tags) {
+        List<String> tokens = new ArrayList<>();
+        if (tags != null) {
+            for (String token : tags.toLowerCase(Locale.ROOT).split(",")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    // ======================================================================
+    // 인덱스 순서대로 PackingList를 만드는 공통 조회 (load가 null을 주면 그 사이 지워진 리스트로 보고 건너뜀)
+    // ======================================================================
+
+    static List<PackingList> toList(NavigableSet<Key> keys, LongFunction<PackingList> load) {
+        List<PackingList> lists = new ArrayList<>();
+        for (Key key : keys) {
+            PackingList list = load.apply(key.id);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * 커서보다 오래된 항목부터 pageSize개를 담고, 하나 더 있으면 마지막 항목을 다음 커서로 돌려줍니다.
+     */
+    static PackingListPage page(NavigableSet<Key> index, PackingListPage.Cursor after, int pageSize,
+                                LongFunction<PackingList> load) {
+        NavigableSet<Key> keys = after == null ? index : index.tailSet(new Key(after.getCreatedAt(), after.getId()), false);
+        List<PackingList> lists = new ArrayList<>();
+        Key last = null;
+        for (Key key : keys) {
+            PackingList list = load.apply(key.id);
+            if (list == null) {
+                continue;
+            }
+            if (lists.size() == pageSize) {
+                return new PackingListPage(lists, new PackingListPage.Cursor(last.createdAt, last.id));
+            }
+            lists.add(list);
+            last = key;
+        }
+        return new PackingListPage(lists, null);
+    }
+}
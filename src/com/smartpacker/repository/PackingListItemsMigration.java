@@ -0,0 +1,120 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.exception.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 기존 packing_lists.items_json 행을 정규화된 packing_list_items 테이블로 옮기는 온라인 데이터 마이그레이션입니다.
+ *
+ * id 순서로 일정 개수씩(batch) 나누어 각 배치를 하나의 트랜잭션으로 처리하고, 마지막으로 처리한 id를
+ * data_migrations 테이블에 함께 기록합니다. 도중에 프로그램이 종료되어도 다음 실행 때 이어서 진행하며,
+ * 배치 사이에는 쓰기 커넥션을 반환하므로 마이그레이션 중에도 일반 저장/수정이 가능합니다.
+ * 새로 저장되는 리스트는 PackingListRepositoryImpl이 두 곳에 함께 기록(dual-write)합니다.
+ */
+public class PackingListItemsMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(PackingListItemsMigration.class);
+    static final String NAME = "packing_list_items_from_json";
+
+    static final String FIND_PROGRESS_SQL = "SELECT last_id, completed FROM data_migrations WHERE name = ?";
+    static final String SAVE_PROGRESS_SQL = "INSERT INTO data_migrations (name, last_id, completed) VALUES (?, ?, ?) "
+            + "ON CONFLICT(name) DO UPDATE SET last_id = excluded.last_id, completed = excluded.completed";
+    static final String FIND_BATCH_SQL = "SELECT id, items_json, items_blob FROM packing_lists WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final ItemColumns itemColumns = new ItemColumns(AppConfig.ITEM_STORAGE_FORMAT);
+    private final int batchSize;
+
+    public PackingListItemsMigration() {
+        this(AppConfig.ITEMS_MIGRATION_BATCH_SIZE);
+    }
+
+    public PackingListItemsMigration(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 마이그레이션을 끝까지(또는 이미 완료되었다면 즉시) 진행합니다.
+     * @return 이번 실행에서 옮긴 패킹 리스트 수
+     * @throws DatabaseException DB 오류 발생 시 (완료된 배치까지는 반영되어 있음)
+     */
+    public int run() throws DatabaseException {
+        int migrated = 0;
+        try {
+            long lastId = 0;
+            try (Connection conn = JdbcManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(FIND_PROGRESS_SQL)) {
+                pstmt.setString(1, NAME);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        if (rs.getInt("completed") == 1) {
+                            return 0;
+                        }
+                        lastId = rs.getLong("last_id");
+                    }
+                }
+            }
+            if (lastId > 0) {
+                log.info("중단된 아이템 마이그레이션을 id {} 이후부터 이어서 진행합니다.", lastId);
+            }
+
+            while (true) {
+                int batchCount;
+                try (Connection conn = JdbcManager.getWriteConnection()) {
+                    conn.setAutoCommit(false);
+                    Map<Long, List<Item>> batch = loadBatch(conn, lastId);
+                    for (Map.Entry<Long, List<Item>> row : batch.entrySet()) {
+                        PackingListItemsTable.replaceItems(conn, row.getKey(), row.getValue());
+                        lastId = row.getKey();
+                    }
+                    batchCount = batch.size();
+                    saveProgress(conn, lastId, batchCount < batchSize);
+                    conn.commit();
+                }
+                migrated += batchCount;
+                if (batchCount < batchSize) {
+                    break;
+                }
+                log.debug("아이템 마이그레이션 진행 중: {}개 완료 (마지막 id {})", migrated, lastId);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("아이템 테이블 마이그레이션 중 오류가 발생했습니다.", e);
+        }
+        log.info("아이템 마이그레이션 완료: 패킹 리스트 {}개를 packing_list_items로 옮겼습니다.", migrated);
+        return migrated;
+    }
+
+    private Map<Long, List<Item>> loadBatch(Connection conn, long afterId) throws SQLException {
+        Map<Long, List<Item>> batch = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_BATCH_SQL)) {
+            pstmt.setLong(1, afterId);
+            pstmt.setInt(2, batchSize);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    batch.put(rs.getLong("id"), itemColumns.read(rs));
+                }
+            }
+        }
+        return batch;
+    }
+
+    private static void saveProgress(Connection conn, long lastId, boolean completed) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SAVE_PROGRESS_SQL)) {
+            pstmt.setString(1, NAME);
+            pstmt.setLong(2, lastId);
+            pstmt.setInt(3, completed ? 1 : 0);
+            pstmt.executeUpdate();
+        }
+    }
+}
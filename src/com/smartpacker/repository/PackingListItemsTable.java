@@ -0,0 +1,78 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.Item;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정규화된 아이템 테이블(items, packing_list_items)에 패킹 리스트의 아이템을 기록하는 헬퍼입니다.
+ * 호출자의 커넥션(트랜잭션)을 그대로 사용하므로, packing_lists 변경과 같은 트랜잭션에서 호출해야 합니다.
+ */
+class PackingListItemsTable {
+
+    static final String DELETE_ITEMS_SQL = "DELETE FROM packing_list_items WHERE list_id = ?";
+    static final String INSERT_ITEM_NAME_SQL = "INSERT INTO items (name) VALUES (?) ON CONFLICT(name) DO NOTHING";
+    static final String FIND_ITEM_ID_SQL = "SELECT id FROM items WHERE name = ?";
+    // 같은 이름의 아이템이 한 리스트에 두 번 들어 있으면 수량을 합칩니다.
+    static final String INSERT_LIST_ITEM_SQL = "INSERT INTO packing_list_items (list_id, item_id, category, quantity) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(list_id, item_id) DO UPDATE SET quantity = quantity + excluded.quantity";
+
+    private PackingListItemsTable() {}
+
+    /**
+     * 리스트의 아이템 행을 모두 지우고 주어진 아이템으로 다시 기록합니다. (여러 번 실행해도 결과가 같음)
+     * @param conn 트랜잭션 중인 쓰기 커넥션
+     * @param listId 패킹 리스트 ID
+     * @param items 기록할 아이템 목록
+     */
+    static void replaceItems(Connection conn, long listId, List<Item> items) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(DELETE_ITEMS_SQL)) {
+            delete.setLong(1, listId);
+            delete.executeUpdate();
+        }
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> itemIds = resolveItemIds(conn, items);
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_LIST_ITEM_SQL)) {
+            for (Item item : items) {
+                insert.setLong(1, listId);
+                insert.setLong(2, itemIds.get(item.getName()));
+                insert.setString(3, item.getCategory());
+                insert.setInt(4, item.getQuantity());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // 아이템 이름을 items 테이블의 ID로 바꿉니다. 처음 보는 이름은 새로 등록합니다.
+    private static Map<String, Long> resolveItemIds(Connection conn, List<Item> items) throws SQLException {
+        Map<String, Long> itemIds = new HashMap<>();
+        try (PreparedStatement insertName = conn.prepareStatement(INSERT_ITEM_NAME_SQL);
+             PreparedStatement findId = conn.prepareStatement(FIND_ITEM_ID_SQL)) {
+            for (Item item : items) {
+                if (itemIds.containsKey(item.getName())) {
+                    continue;
+                }
+                insertName.setString(1, item.getName());
+                insertName.executeUpdate();
+                findId.setString(1, item.getName());
+                try (ResultSet rs = findId.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("아이템 ID를 찾을 수 없습니다: " + item.getName());
+                    }
+                    itemIds.put(item.getName(), rs.getLong(1));
+                }
+            }
+        }
+        return itemIds;
+    }
+}
@@ -1,8 +1,19 @@
 package com.smartpacker.repository;
 
+import com.smartpacker.domain.item.Item;
 import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+import com.smartpacker.domain.packing.PopularItems;
 import com.smartpacker.exception.DatabaseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * 패킹 리스트 데이터에 접근하기 위한 인터페이스입니다.
@@ -25,6 +36,14 @@ public interface PackingListRepository {
      */
     void updateSharedStatus(long listId, boolean isShared) throws DatabaseException;
 
+    /**
+     * ID로 패킹 리스트 하나를 조회합니다.
+     * @param listId 조회할 리스트의 ID
+     * @return 리스트를 찾으면 Optional<PackingList> 객체를, 찾지 못하면 Optional.empty()를 반환
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    Optional<PackingList> findById(long listId) throws DatabaseException;
+
     /**
      * 특정 사용자가 생성한 모든 패킹 리스트를 조회합니다.
      * @param userId 사용자 ID
@@ -33,6 +52,17 @@ public interface PackingListRepository {
      */
     List<PackingList> findAllByUserId(String userId) throws DatabaseException;
 
+    /**
+     * 특정 사용자의 패킹 리스트를 최신순으로 한 페이지만 조회합니다. (키셋 페이지네이션)
+     * 테이블 크기와 관계없이 한 페이지 분량의 행만 읽고 변환합니다.
+     * @param userId 사용자 ID
+     * @param after 이전 페이지의 다음 커서 (첫 페이지는 null)
+     * @param pageSize 페이지 크기
+     * @return 조회된 페이지 (다음 페이지가 있으면 다음 커서 포함)
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) throws DatabaseException;
+
     /**
      * 추천 분석을 위해, 공유된(is_shared=true) 패킹 리스트 중
      * 주어진 태그와 유사한 리스트들을 조회합니다.
@@ -42,6 +72,37 @@ public interface PackingListRepository {
      */
     List<PackingList> findSharedListsByTags(String[] tags) throws DatabaseException;
     
+    /**
+     * 주어진 태그의 공유 리스트들에서 가장 많이 챙긴 아이템을 빈도 높은 순으로 최대 limit개 조회합니다. (추천용)
+     * 리스트 수와 아이템 빈도는 모두 '서로 다른 리스트' 기준이라, 검색 태그 여러 개에 걸린 리스트도 한 번만 셉니다.
+     * JDBC 구현은 모든 공유 리스트를 대상으로, 쉼표로 나눈 태그 조각과 공백/대소문자 구분 없이 정확히 일치하는 태그만 찾습니다.
+     * 기본 구현은 {@link #findSharedListsByTags(String[])}의 결과(부분 일치, 최대 100개)를 자바에서 집계합니다.
+     * @param tags 분석용 태그 배열 (e.g., ["업무", "여름", "3일"])
+     * @param limit 최대 아이템 수
+     * @return 비교 대상 리스트 수와 빈도 높은 순의 아이템 목록
+     * @throws DatabaseException DB 조회 중 오류 발생 시
+     */
+    default PopularItems findTopItemsByTags(String[] tags, int limit) throws DatabaseException {
+        List<PackingList> lists = findSharedListsByTags(tags);
+        Map<String, Long> frequency = new HashMap<>();
+        for (PackingList list : lists) {
+            // 같은 이름이 한 리스트에 여러 번 들어 있어도 그 리스트는 한 번만 셉니다.
+            Set<String> names = new HashSet<>();
+            for (Item item : list.getItems()) {
+                names.add(item.getName());
+            }
+            for (String name : names) {
+                frequency.merge(name, 1L, Long::sum);
+            }
+        }
+        List<PopularItems.ItemCount> items = new ArrayList<>();
+        frequency.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(e -> items.add(new PopularItems.ItemCount(e.getKey(), e.getValue())));
+        return new PopularItems(lists.size(), items);
+    }
+
     /**
      * is_shared가 true로 설정된 모든 패킹 리스트를 조회합니다.
      * (AI 추천 엔진의 학습 데이터셋 조회용)
@@ -49,6 +110,38 @@ public interface PackingListRepository {
      * @throws DatabaseException DB 조회 중 오류 발생 시
      */
     List<PackingList> findAllShared() throws DatabaseException;
+
+    /**
+     * 공유된 패킹 리스트를 하나씩 읽어 action에 넘깁니다. 전체 목록을 메모리에 만들지 않으므로
+     * 공유 데이터가 아무리 많아도 일정한 메모리로 처리할 수 있습니다. (순서는 {@link #findAllShared()}와 같음)
+     * 기본 구현은 {@link #findAllShared()}를 그대로 순회합니다.
+     * @param action 리스트마다 호출할 작업
+     * @throws DatabaseException DB 조회 중 오류 발생 시
+     */
+    default void forEachShared(Consumer<PackingList> action) throws DatabaseException {
+        findAllShared().forEach(action);
+    }
+
+    /**
+     * 공유된 패킹 리스트를 Stream으로 조회합니다. Stream이 커넥션과 ResultSet을 소유하므로
+     * 반드시 try-with-resources로 닫아야 합니다. (닫기 전까지 커넥션 풀의 커넥션 하나를 점유함)
+     * 순회 중 DB 오류는 {@link com.smartpacker.exception.UncheckedDatabaseException}으로 전달됩니다.
+     * 기본 구현은 {@link #findAllShared()}의 결과를 Stream으로 감쌉니다.
+     * @return 공유된 패킹 리스트 Stream
+     * @throws DatabaseException 조회 시작 중 오류 발생 시
+     */
+    default Stream<PackingList> streamShared() throws DatabaseException {
+        return findAllShared().stream();
+    }
+
+    /**
+     * 공유된 패킹 리스트를 최신순으로 한 페이지만 조회합니다. (키셋 페이지네이션)
+     * @param after 이전 페이지의 다음 커서 (첫 페이지는 null)
+     * @param pageSize 페이지 크기
+     * @return 조회된 페이지 (다음 페이지가 있으면 다음 커서 포함)
+     * @throws DatabaseException DB 오류 발생 시
+     */
+    PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) throws DatabaseException;
     
     /**
      * 개발용: 추천 엔진 분석을 위한 가짜 공유 데이터를 대량으로 삽입합니다.
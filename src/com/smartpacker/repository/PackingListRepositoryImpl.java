@@ -1,115 +1,150 @@
 package com.smartpacker.repository;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-import com.smartpacker.domain.item.ClothingItem;
-import com.smartpacker.domain.item.CosmeticItem;
-import com.smartpacker.domain.item.ElectronicItem;
-import com.smartpacker.domain.item.EntertainmentItem;
-import com.smartpacker.domain.item.EssentialItem;
-import com.smartpacker.domain.item.EtcItem;
-import com.smartpacker.domain.item.FoodItem;
-import com.smartpacker.domain.item.GeneralGoodsItem;
 import com.smartpacker.domain.item.Item;
-import com.smartpacker.domain.item.ItemFactory;
-import com.smartpacker.domain.item.WorkItem;
 import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+import com.smartpacker.domain.packing.PopularItems;
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.config.ItemStorageFormat;
 import com.smartpacker.exception.DatabaseException;
-import com.smartpacker.util.RuntimeTypeAdapterFactory;
+import com.smartpacker.exception.UncheckedDatabaseException;
+import com.smartpacker.util.SyntheticDataGenerator;
+import com.smartpacker.util.TagNormalizer;
 
-import java.lang.reflect.Type;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PackingListRepositoryImpl implements PackingListRepository {
 
-	private final Gson gson; 
-    private final Type itemListType = new TypeToken<ArrayList<Item>>() {}.getType();
-    
+    // --- SQL 문 (QueryPlanTest가 실행 계획을 검사할 수 있도록 상수로 둡니다) ---
+    // 공유 여부 조건은 부분 인덱스(idx_packing_lists_shared_created)의 WHERE 절과 똑같이 "is_shared = 1"로 씁니다.
+    static final String SAVE_SQL = "INSERT INTO packing_lists (user_id, list_name, tags, items_json, items_blob) VALUES (?, ?, ?, ?, ?)";
+    static final String UPDATE_SHARED_SQL = "UPDATE packing_lists SET is_shared = ? WHERE id = ?";
+    static final String FIND_BY_ID_SQL = "SELECT id, user_id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at FROM packing_lists WHERE id = ?";
+    static final String FIND_ALL_BY_USER_SQL = "SELECT id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at FROM packing_lists WHERE user_id = ? ORDER BY created_at DESC, id DESC";
+    static final String FIND_ALL_SHARED_SQL = "SELECT id, user_id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at " +
+                     "FROM packing_lists " +
+                     "WHERE is_shared = 1 " +
+                     "ORDER BY created_at DESC, id DESC";
+    // 키셋 페이지네이션: (created_at, id)가 커서보다 작은(=더 오래된) 행부터 pageSize + 1개를 읽어 다음 페이지 유무를 판단합니다.
+    static final String FIND_PAGE_BY_USER_SQL = "SELECT id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at FROM packing_lists "
+            + "WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT ?";
+    static final String FIND_PAGE_BY_USER_AFTER_SQL = "SELECT id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at FROM packing_lists "
+            + "WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT ?";
+    static final String FIND_SHARED_PAGE_SQL = "SELECT id, user_id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at FROM packing_lists "
+            + "WHERE is_shared = 1 ORDER BY created_at DESC, id DESC LIMIT ?";
+    static final String FIND_SHARED_PAGE_AFTER_SQL = "SELECT id, user_id, list_name, tags, items_json, items_blob, json_array_length(items_json) AS item_count, is_shared, created_at FROM packing_lists "
+            + "WHERE is_shared = 1 AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT ?";
+    static final String COUNT_SHARED_SQL = "SELECT COUNT(*) FROM packing_lists WHERE is_shared = 1";
+    static final String DELETE_ALL_SQL = "DELETE FROM packing_lists";
+    static final String UPDATE_SQL = "UPDATE packing_lists SET items_json = ?, items_blob = ?, tags = ? WHERE id = ?";
+
+    // 아이템 컬럼(items_json / items_blob)의 인코딩/디코딩을 담당합니다.
+    private final ItemColumns itemColumns;
+
     public PackingListRepositoryImpl() {
-        // RuntimeTypeAdapterFactory를 아래와 같이 수정합니다.
-        RuntimeTypeAdapterFactory<Item> adapter = RuntimeTypeAdapterFactory
-            .of(Item.class, "category", true);
-            // 이제 모든 타입은 고유(unique)합니다.
-        adapter
-            .registerSubtype(EssentialItem.class, "필수품")
-            .registerSubtype(CosmeticItem.class, "화장품")
-            .registerSubtype(GeneralGoodsItem.class, "잡화")
-            .registerSubtype(EntertainmentItem.class, "엔터테인먼트")
-            .registerSubtype(WorkItem.class, "업무")
-            .registerSubtype(FoodItem.class, "식품")
-            .registerSubtype(ClothingItem.class, "의류")
-            .registerSubtype(ElectronicItem.class, "전자기기")
-            .registerSubtype(EtcItem.class, "기타");
-
-        this.gson = new GsonBuilder().registerTypeAdapterFactory(adapter).create();
+        this(AppConfig.ITEM_STORAGE_FORMAT);
+    }
+
+    public PackingListRepositoryImpl(ItemStorageFormat itemStorageFormat) {
+        this.itemColumns = new ItemColumns(itemStorageFormat);
+    }
+
+    /**
+     * 조회에 사용할 커넥션을 커넥션 풀에서 대여합니다. (protected, 테스트 시 다른 풀로 교체 가능)
+     * @return Connection 객체 (close()하면 풀로 반환)
+     * @throws SQLException
+     */
+    protected Connection getConnection() throws SQLException {
+        return JdbcManager.getConnection();
     }
     
     @Override
     public PackingList save(PackingList packingList) throws DatabaseException {
-        String sql = "INSERT INTO packing_lists (user_id, list_name, tags, items_json) VALUES (?, ?, ?, ?)";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-
         try {
-            conn = JdbcManager.getConnection();
-            // Statement.RETURN_GENERATED_KEYS 옵션으로 자동 생성된 ID를 받아올 수 있습니다.
-            pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-
-            pstmt.setString(1, packingList.getUserId());
-            pstmt.setString(2, packingList.getListName());
-            pstmt.setString(3, packingList.getTags());
-            // Gson을 사용하여 List<Item> 객체를 JSON 문자열로 변환하여 저장
-            pstmt.setString(4, gson.toJson(packingList.getItems(), itemListType));
-            
-            int affectedRows = pstmt.executeUpdate();
+            // 아이템 컬럼과 packing_list_items에 함께 기록(dual-write)하므로 하나의 트랜잭션 안에서 실행합니다. (쓰기 스레드가 커밋)
+            long id = JdbcManager.write(conn -> {
+                long generatedId;
+                // Statement.RETURN_GENERATED_KEYS 옵션으로 자동 생성된 ID를 받아올 수 있습니다.
+                try (PreparedStatement pstmt = conn.prepareStatement(SAVE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    pstmt.setString(1, packingList.getUserId());
+                    pstmt.setString(2, packingList.getListName());
+                    pstmt.setString(3, packingList.getTags());
+                    // List<Item> 객체를 JSON 문자열로 변환하여 저장
+                    itemColumns.bind(pstmt, 4, 5, packingList.getItems());
 
-            if (affectedRows == 0) {
-                throw new SQLException("패킹 리스트 생성 실패: 변경된 행이 없습니다.");
-            }
+                    int affectedRows = pstmt.executeUpdate();
+                    if (affectedRows == 0) {
+                        throw new SQLException("패킹 리스트 생성 실패: 변경된 행이 없습니다.");
+                    }
 
-            // 자동 생성된 ID(PK)를 ResultSet에서 가져와서 객체에 설정 후 반환
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    long id = generatedKeys.getLong(1);
-                    // 새로 생성된 PackingList 객체를 반환하기 위해 새 객체 생성 (불변성 유지)
-                    return new PackingList(id, packingList.getUserId(), packingList.getListName(), packingList.getTags(),
-                            packingList.getItems(), packingList.isShared(), LocalDateTime.now());
-                } else {
-                    throw new SQLException("패킹 리스트 생성 실패: ID를 가져올 수 없습니다.");
+                    // 자동 생성된 ID(PK)를 ResultSet에서 가져옴
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            generatedId = generatedKeys.getLong(1);
+                        } else {
+                            throw new SQLException("패킹 리스트 생성 실패: ID를 가져올 수 없습니다.");
+                        }
+                    }
                 }
-            }
+                PackingListItemsTable.replaceItems(conn, generatedId, packingList.getItems());
+                return generatedId;
+            });
+
+            // 새로 생성된 PackingList 객체를 반환하기 위해 새 객체 생성 (불변성 유지)
+            return new PackingList(id, packingList.getUserId(), packingList.getListName(), packingList.getTags(),
+                    packingList.getItems(), packingList.isShared(), LocalDateTime.now());
         } catch (SQLException e) {
             throw new DatabaseException("패킹 리스트 저장 중 오류가 발생했습니다.", e);
-        } finally {
-            JdbcManager.close(conn, pstmt);
         }
     }
 
     @Override
     public void updateSharedStatus(long listId, boolean isShared) throws DatabaseException {
-        String sql = "UPDATE packing_lists SET is_shared = ? WHERE id = ?";
-        try (Connection conn = JdbcManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setBoolean(1, isShared);
-            pstmt.setLong(2, listId);
-            pstmt.executeUpdate();
+        try {
+            JdbcManager.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SHARED_SQL)) {
+                    pstmt.setBoolean(1, isShared);
+                    pstmt.setLong(2, listId);
+                    return pstmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new DatabaseException("공유 상태 업데이트 중 오류가 발생했습니다.", e);
         }
     }
 
+    @Override
+    public Optional<PackingList> findById(long listId) throws DatabaseException {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
+            pstmt.setLong(1, listId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToPackingList(rs, rs.getString("user_id")));
+                }
+                return Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("패킹 리스트 조회 중 오류가 발생했습니다.", e);
+        }
+    }
+
     @Override
     public List<PackingList> findAllByUserId(String userId) throws DatabaseException {
-        String sql = "SELECT id, list_name, tags, items_json, is_shared, created_at FROM packing_lists WHERE user_id = ? ORDER BY created_at DESC";
         List<PackingList> lists = new ArrayList<>();
         
-        try (Connection conn = JdbcManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_BY_USER_SQL)) {
             pstmt.setString(1, userId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -125,17 +160,13 @@ public class PackingListRepositoryImpl implements PackingListRepository {
     @Override
     public List<PackingList> findAllShared() throws DatabaseException {
         // 1. SQL 쿼리에서 user_id를 *추가*로 SELECT하고,
-        //    WHERE 조건을 user_id = ? 대신 is_shared = true로 변경합니다.
-        String sql = "SELECT id, user_id, list_name, tags, items_json, is_shared, created_at " +
-                     "FROM packing_lists " +
-                     "WHERE is_shared = true " +
-                     "ORDER BY created_at DESC";
+        //    WHERE 조건을 user_id = ? 대신 is_shared = 1로 변경합니다.
         
         List<PackingList> lists = new ArrayList<>();
         
         // 2. 님의 기존 DB 연결 방식(JdbcManager)을 그대로 사용합니다.
-        try (Connection conn = JdbcManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_SHARED_SQL)) {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -154,37 +185,135 @@ public class PackingListRepositoryImpl implements PackingListRepository {
         return lists;
     }
 
+    @Override
+    public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) throws DatabaseException {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(after == null ? FIND_PAGE_BY_USER_SQL : FIND_PAGE_BY_USER_AFTER_SQL)) {
+            int index = 1;
+            pstmt.setString(index++, userId);
+            if (after != null) {
+                pstmt.setString(index++, after.getCreatedAt());
+                pstmt.setLong(index++, after.getId());
+            }
+            pstmt.setInt(index, pageSize + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return readPage(rs, pageSize, false);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("사용자의 패킹 리스트 조회 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    @Override
+    public void forEachShared(Consumer<PackingList> action) throws DatabaseException {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_SHARED_SQL)) {
+            pstmt.setFetchSize(AppConfig.DB_STREAM_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapResultSetToPackingList(rs, rs.getString("user_id")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("모든 공유 리스트 조회 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    @Override
+    public Stream<PackingList> streamShared() throws DatabaseException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            pstmt = conn.prepareStatement(FIND_ALL_SHARED_SQL);
+            pstmt.setFetchSize(AppConfig.DB_STREAM_FETCH_SIZE);
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            JdbcManager.close(conn, pstmt, rs);
+            throw new DatabaseException("모든 공유 리스트 조회 중 오류가 발생했습니다.", e);
+        }
+
+        // 소비하는 쪽이 요청할 때마다 한 행씩 읽어 변환합니다.
+        final ResultSet cursor = rs;
+        Spliterator<PackingList> rows = new Spliterators.AbstractSpliterator<PackingList>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super PackingList> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapResultSetToPackingList(cursor, cursor.getString("user_id")));
+                    return true;
+                } catch (SQLException e) {
+                    throw new UncheckedDatabaseException(
+                            new DatabaseException("공유 리스트 스트리밍 조회 중 오류가 발생했습니다.", e));
+                }
+            }
+        };
+        final Connection streamConn = conn;
+        final PreparedStatement streamStmt = pstmt;
+        return StreamSupport.stream(rows, false).onClose(() -> JdbcManager.close(streamConn, streamStmt, cursor));
+    }
+
+    @Override
+    public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) throws DatabaseException {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(after == null ? FIND_SHARED_PAGE_SQL : FIND_SHARED_PAGE_AFTER_SQL)) {
+            int index = 1;
+            if (after != null) {
+                pstmt.setString(index++, after.getCreatedAt());
+                pstmt.setLong(index++, after.getId());
+            }
+            pstmt.setInt(index, pageSize + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return readPage(rs, pageSize, true);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("공유 리스트 조회 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 최대 pageSize개 행만 PackingList로 변환합니다. (pageSize + 1번째 행은 다음 페이지가 있는지 확인하는 용도로만 사용)
+    private PackingListPage readPage(ResultSet rs, int pageSize, boolean hasUserIdColumn) throws SQLException {
+        List<PackingList> lists = new ArrayList<>();
+        String lastCreatedAt = null;
+        long lastId = 0;
+        while (rs.next()) {
+            if (lists.size() == pageSize) {
+                return new PackingListPage(lists, new PackingListPage.Cursor(lastCreatedAt, lastId));
+            }
+            lists.add(mapResultSetToPackingList(rs, hasUserIdColumn ? rs.getString("user_id") : null));
+            lastCreatedAt = rs.getString("created_at");
+            lastId = rs.getLong("id");
+        }
+        return new PackingListPage(lists, null);
+    }
+
     @Override
     public List<PackingList> findSharedListsByTags(String[] tags) throws DatabaseException {
-        // WHERE ... LIKE ? OR ... LIKE ? 형태의 동적 쿼리 생성
-        StringBuilder sqlBuilder = new StringBuilder("SELECT user_id, items_json FROM packing_lists WHERE is_shared = TRUE AND (");
         if (tags == null || tags.length == 0) {
             // 태그가 없는 경우 예외처리 또는 빈 리스트 반환
             return new ArrayList<>(); 
         }
 
-        for (int i = 0; i < tags.length; i++) {
-            sqlBuilder.append("tags LIKE ?");
-            if (i < tags.length - 1) {
-                sqlBuilder.append(" OR ");
-            }
-        }
-        sqlBuilder.append(") LIMIT 100"); // 성능을 위해 최대 100개만 가져오도록 제한
-
+        // 태그 수를 1, 2, 4, 8...개의 고정된 형태로 올림하여, 같은 형태의 SQL(=캐시된 PreparedStatement)을 재사용합니다.
+        // 남는 자리는 마지막 태그를 반복해서 채우므로 OR 조건의 결과는 달라지지 않습니다.
+        int arity = tagQueryArity(tags.length);
         List<PackingList> lists = new ArrayList<>();
-        try (Connection conn = JdbcManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sqlBuilder.toString())) {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(tagQuerySql(arity))) {
             
-            for (int i = 0; i < tags.length; i++) {
-                pstmt.setString(i + 1, "%" + tags[i] + "%");
+            for (int i = 0; i < arity; i++) {
+                pstmt.setString(i + 1, "%" + tags[Math.min(i, tags.length - 1)] + "%");
             }
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     // 분석 엔진에서는 userId와 items 정보만 필요하므로, 일부 필드만 채워서 반환
                     String userId = rs.getString("user_id");
-                    String itemsJson = rs.getString("items_json");
-                    List<Item> items = gson.fromJson(itemsJson, itemListType);
+                    List<Item> items = itemColumns.read(rs);
                     // PackingList 생성자 중 items만 받는 것이 없으므로, 임시 데이터를 넣어줍니다.
                     lists.add(new PackingList(0, userId, "", "", items, true, null));
                 }
@@ -194,135 +323,143 @@ public class PackingListRepositoryImpl implements PackingListRepository {
         }
         return lists;
     }
+
+    @Override
+    public PopularItems findTopItemsByTags(String[] tags, int limit) throws DatabaseException {
+        if (tags == null || tags.length == 0) {
+            return new PopularItems(0, new ArrayList<>());
+        }
+
+        // 트리거가 유지하는 태그 조합(프로필)별 집계를 읽으므로 공유 리스트를 훑지 않습니다.
+        // 태그는 쉼표로 나눈 조각과 공백/대소문자 구분 없이 정확히 일치해야 하며, 검색 태그 여러 개에 걸린 리스트도 한 번만 셉니다.
+        // 태그 수는 findSharedListsByTags와 같은 고정 형태로 올림하고, 남는 자리는 마지막 태그로 채웁니다. (IN 조건이라 결과가 같음)
+        int arity = tagQueryArity(tags.length);
+        try (Connection conn = getConnection();
+             PreparedStatement countLists = conn.prepareStatement(tagListCountSql(arity));
+             PreparedStatement topItems = conn.prepareStatement(tagTopItemsSql(arity))) {
+            for (int i = 0; i < arity; i++) {
+                String tag = TagNormalizer.normalize(tags[Math.min(i, tags.length - 1)]); // 집계 트리거와 같은 정규화
+                countLists.setString(i + 1, tag);
+                topItems.setString(i + 1, tag);
+            }
+            topItems.setInt(arity + 1, limit);
+
+            long listCount;
+            try (ResultSet rs = countLists.executeQuery()) {
+                listCount = rs.next() ? rs.getLong(1) : 0;
+            }
+            List<PopularItems.ItemCount> items = new ArrayList<>();
+            try (ResultSet rs = topItems.executeQuery()) {
+                while (rs.next()) {
+                    items.add(new PopularItems.ItemCount(rs.getString("item_name"), rs.getLong("cnt")));
+                }
+            }
+            return new PopularItems(listCount, items);
+        } catch (SQLException e) {
+            throw new DatabaseException("태그별 인기 아이템 조회 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 태그 개수 이상인 가장 작은 2의 거듭제곱 (1, 2, 4, 8, ...)
+    static int tagQueryArity(int tagCount) {
+        return Integer.highestOneBit(Math.max(1, tagCount - 1)) << (tagCount > 1 ? 1 : 0);
+    }
+
+    // 고정된 태그 수(arity)에 대한 "tags LIKE ? OR ..." 쿼리. 자주 쓰이는 형태는 미리 만들어 둡니다.
+    static String tagQuerySql(int arity) {
+        int shape = Integer.numberOfTrailingZeros(arity);
+        return shape < TAG_QUERY_SHAPES.length ? TAG_QUERY_SHAPES[shape] : buildTagQuerySql(arity);
+    }
+
+    private static final String[] TAG_QUERY_SHAPES = {
+            buildTagQuerySql(1), buildTagQuerySql(2), buildTagQuerySql(4), buildTagQuerySql(8)
+    };
+
+    private static String buildTagQuerySql(int arity) {
+        // WHERE ... LIKE ? OR ... LIKE ? 형태의 쿼리 생성
+        StringBuilder sqlBuilder = new StringBuilder("SELECT user_id, items_json, items_blob FROM packing_lists WHERE is_shared = 1 AND (");
+        for (int i = 0; i < arity; i++) {
+            sqlBuilder.append("tags LIKE ?");
+            if (i < arity - 1) {
+                sqlBuilder.append(" OR ");
+            }
+        }
+        sqlBuilder.append(") LIMIT 100"); // 성능을 위해 최대 100개만 가져오도록 제한
+        return sqlBuilder.toString();
+    }
     
+    // 고정된 태그 수(arity)에 대한, 태그 중 하나라도 가진 서로 다른 공유 리스트 수
+    static String tagListCountSql(int arity) {
+        return "SELECT COALESCE(SUM(cnt), 0) FROM tag_profile_lists WHERE profile IN " + matchingProfiles(arity);
+    }
+
+    // 고정된 태그 수(arity)에 대한, 아이템이 들어 있는 서로 다른 공유 리스트 수의 상위 N개
+    static String tagTopItemsSql(int arity) {
+        return "SELECT i.name AS item_name, SUM(c.cnt) AS cnt FROM tag_profile_items c JOIN items i ON i.id = c.item_id "
+                + "WHERE c.profile IN " + matchingProfiles(arity) + " GROUP BY c.item_id ORDER BY cnt DESC, i.name LIMIT ?";
+    }
+
+    // 리스트 하나는 프로필 하나에만 속하므로, 겹치지 않는 프로필들의 합이 서로 다른 리스트 기준의 수가 됩니다.
+    // 태그 파라미터는 TagNormalizer.normalize로 정규화해서 바인딩해야 합니다.
+    private static String matchingProfiles(int arity) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < arity; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        return "(SELECT profile FROM tag_profiles WHERE tag IN (" + placeholders + "))";
+    }
+
     // ResultSet의 현재 행을 PackingList 객체로 변환하는 헬퍼 메소드
     private PackingList mapResultSetToPackingList(ResultSet rs, String userId) throws SQLException {
         long id = rs.getLong("id");
         String listName = rs.getString("list_name");
         String tags = rs.getString("tags");
-        String itemsJson = rs.getString("items_json");
+        byte[] blob = rs.getBytes("items_blob"); // 바이너리 값은 행마다 한 번만 복사해 개수와 지연 디코딩에 함께 씁니다.
+        int itemCount = itemColumns.count(rs, blob); // 디코딩 없이 개수만 표시할 때 사용
+        Supplier<List<Item>> items = itemColumns.loader(rs, blob);
         boolean isShared = rs.getBoolean("is_shared");
         LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
         
-        // Gson을 사용하여 JSON 문자열을 List<Item> 객체로 변환
-        List<Item> items = gson.fromJson(itemsJson, itemListType);
-
-        return new PackingList(id, userId, listName, tags, items, isShared, createdAt);
+        // 저장된 값(JSON 문자열 또는 바이너리)은 원본 그대로 보관하고, getItems()를 처음 호출할 때 List<Item>을 만듭니다.
+        // 목록 화면처럼 이름/태그/개수만 쓰는 경우에는 디코딩 비용이 들지 않습니다.
+        return new PackingList(id, userId, listName, tags, items, itemCount, isShared, createdAt);
     }
     
     @Override
     public void seedSharedLists() throws DatabaseException {
-        String countSql = "SELECT COUNT(*) FROM packing_lists WHERE is_shared = TRUE";
-        String insertSql = "INSERT INTO packing_lists (user_id, list_name, tags, items_json, is_shared) VALUES (?, ?, ?, ?, TRUE)";
-
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
-        try {
-            conn = JdbcManager.getConnection();
-
-            // 1. 이미 Seeding 데이터가 있는지 확인합니다.
-            pstmt = conn.prepareStatement(countSql);
-            rs = pstmt.executeQuery();
+        // 1. 이미 Seeding 데이터가 있는지 확인합니다.
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_SHARED_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
             if (rs.next() && rs.getInt(1) > 0) {
                 // 이미 데이터가 1개 이상 있다면, 중복 생성을 방지하기 위해 메소드를 종료합니다.
                 System.out.println("[INFO] 이미 공유 데이터가 존재하여 Seeding을 건너뜁니다.");
                 return;
             }
-            
-            System.out.println("[INFO] 공유 패킹 리스트 Seeding을 시작합니다...");
-
-            // 2. 데이터가 없으면, 대량 삽입을 위해 트랜잭션을 시작합니다.
-            conn.setAutoCommit(false);
-            pstmt = conn.prepareStatement(insertSql);
-
-            // --- 가짜 데이터 생성 로직 ---
-            List<PackingList> fakeLists = createFakePackingLists();
-            for (PackingList list : fakeLists) {
-                pstmt.setString(1, list.getUserId());
-                pstmt.setString(2, list.getListName());
-                pstmt.setString(3, list.getTags());
-                pstmt.setString(4, gson.toJson(list.getItems(), itemListType));
-                pstmt.addBatch();
-            }
-
-            // 3. 배치 실행 및 커밋
-            pstmt.executeBatch();
-            conn.commit();
-            
-            System.out.println("[SUCCESS] " + fakeLists.size() + "개의 공유 패킹 리스트 Seeding을 완료했습니다.");
-
         } catch (SQLException e) {
-            try {
-                if (conn != null) conn.rollback(); // 오류 발생 시 롤백
-            } catch (SQLException ex) { /* 무시 */ }
             throw new DatabaseException("가짜 데이터 Seeding 중 오류가 발생했습니다.", e);
-        } finally {
-            try {
-                if (conn != null) conn.setAutoCommit(true); // 자동 커밋 원상 복구
-            } catch (SQLException e) { /* 무시 */ }
-            // close(conn, pstmt, rs) 대신 각각 닫아줍니다. rs와 pstmt가 다른 쿼리에 사용되었기 때문입니다.
-            if (rs != null) try { rs.close(); } catch (SQLException e) { /* 무시 */ }
-            if (pstmt != null) try { pstmt.close(); } catch (SQLException e) { /* 무시 */ }
-            if (conn != null) try { conn.close(); } catch (SQLException e) { /* 무시 */ }
         }
-    }
 
-    /**
-     * 다양한 시나리오의 가짜 PackingList 객체 50개를 생성하는 헬퍼 메소드입니다.
-     */
-    private List<PackingList> createFakePackingLists() {
-        List<PackingList> lists = new ArrayList<>();
+        System.out.println("[INFO] 공유 패킹 리스트 Seeding을 시작합니다...");
 
-        // 시나리오 1: 여름 휴양지 (3박 4일) - 20개
-        for (int i = 1; i <= 20; i++) {
-            List<Item> items = new ArrayList<>(Arrays.asList(
-                    ItemFactory.create("여권", "필수품", 1), ItemFactory.create("지갑", "필수품", 1),
-                    ItemFactory.create("항공권", "필수품", 1), ItemFactory.create("반팔 티셔츠", "의류", 4),
-                    ItemFactory.create("반바지", "의류", 2), ItemFactory.create("수영복", "의류", 1),
-                    ItemFactory.create("선크림", "화장품", 1), ItemFactory.create("선글라스", "잡화", 1),
-                    ItemFactory.create("스마트폰 충전기", "전자기기", 1)
-            ));
-            if (i % 2 == 0) items.add(ItemFactory.create("보조 배터리", "전자기기", 1));
-            if (i % 3 == 0) items.add(ItemFactory.create("책", "엔터테인먼트", 1));
-            lists.add(new PackingList("user" + i, "여름 휴가", "휴양,여름,4일", items));
-        }
-        
-        // 시나리오 2: 겨울 도시 출장 (2박 3일) - 15개
-        for (int i = 21; i <= 35; i++) {
-            List<Item> items = new ArrayList<>(Arrays.asList(
-                    ItemFactory.create("여권", "필수품", 1), ItemFactory.create("지갑", "필수품", 1),
-                    ItemFactory.create("노트북", "전자기기", 1), ItemFactory.create("노트북 충전기", "전자기기", 1),
-                    ItemFactory.create("스마트폰 충전기", "전자기기", 1), ItemFactory.create("보조 배터리", "전자기기", 1),
-                    ItemFactory.create("히트텍", "의류", 2), ItemFactory.create("스웨터", "의류", 2),
-                    ItemFactory.create("두꺼운 외투", "의류", 1), ItemFactory.create("명함", "업무", 20)
-            ));
-            if (i % 2 == 0) items.add(ItemFactory.create("멀티탭", "전자기기", 1));
-            lists.add(new PackingList("user" + i, "서울 출장", "업무,겨울,3일", items));
-        }
-        
-        // 시나리오 3: 가을 산악 트레킹 (1박 2일) - 15개
-        for (int i = 36; i <= 50; i++) {
-            List<Item> items = new ArrayList<>(Arrays.asList(
-                    ItemFactory.create("지갑", "필수품", 1), ItemFactory.create("등산화", "의류", 1),
-                    ItemFactory.create("등산복", "의류", 1), ItemFactory.create("방수 자켓", "의류", 1),
-                    ItemFactory.create("에너지바", "식품", 4), ItemFactory.create("물통", "잡화", 1),
-                    ItemFactory.create("보조 배터리", "전자기기", 1), ItemFactory.create("헤드랜턴", "잡화", 1)
-            ));
-            if (i % 3 == 0) items.add(ItemFactory.create("카메라", "전자기기", 1));
-            lists.add(new PackingList("user" + i, "지리산 등반", "레저,가을,2일", items));
-        }
-        
-        return lists;
+        // 2. 데이터가 없으면, 가짜 데이터 생성기로 만든 리스트를 한 트랜잭션으로 적재합니다. (packing_list_items 포함)
+        // 같은 시드를 쓰므로 처음 실행할 때마다 같은 데이터가 만들어집니다. 대량 데이터는 generate-data 모드를 사용하세요.
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(AppConfig.SEED_RANDOM_SEED, AppConfig.SEED_USER_COUNT);
+        long seeded = new SyntheticDataLoader(itemColumns, AppConfig.GENERATOR_BATCH_SIZE)
+                .loadSharedLists(generator, AppConfig.SEED_SHARED_LIST_COUNT);
+
+        System.out.println("[SUCCESS] " + seeded + "개의 공유 패킹 리스트 Seeding을 완료했습니다.");
     }
     
     @Override
     public void deleteAllData() throws DatabaseException {
-        String sql = "DELETE FROM packing_lists";
-        try (Connection conn = JdbcManager.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(sql);
+        try {
+            JdbcManager.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM packing_list_items");
+                    return stmt.executeUpdate(DELETE_ALL_SQL);
+                }
+            });
         } catch (SQLException e) {
             throw new DatabaseException("패킹 리스트 데이터 전체 삭제 중 오류 발생", e);
         }
@@ -330,19 +467,22 @@ public class PackingListRepositoryImpl implements PackingListRepository {
     
     @Override
     public void update(PackingList packingList) throws DatabaseException {
-        // items_json과 tags 필드만 업데이트하도록 구현 (이름 등은 변경 불가)
-        String sql = "UPDATE packing_lists SET items_json = ?, tags = ? WHERE id = ?";
-        try (Connection conn = JdbcManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, gson.toJson(packingList.getItems(), itemListType));
-            pstmt.setString(2, packingList.getTags());
-            pstmt.setLong(3, packingList.getId());
-
-            pstmt.executeUpdate();
+        // 아이템(items_json/items_blob)과 tags 필드만 업데이트하도록 구현 (이름 등은 변경 불가)
+        try {
+            JdbcManager.write(conn -> {
+                int updated;
+                try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                    itemColumns.bind(pstmt, 1, 2, packingList.getItems());
+                    pstmt.setString(3, packingList.getTags());
+                    pstmt.setLong(4, packingList.getId());
+                    updated = pstmt.executeUpdate();
+                }
+                PackingListItemsTable.replaceItems(conn, packingList.getId(), packingList.getItems()); // dual-write
+                return updated;
+            });
         } catch (SQLException e) {
             throw new DatabaseException("패킹 리스트 업데이트 중 오류 발생", e);
         }
     }
 
-}
\ No newline at end of file
+}
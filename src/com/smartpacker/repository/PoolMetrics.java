@@ -0,0 +1,53 @@
+package com.smartpacker.repository;
+
+/**
+ * 커넥션 풀의 현재 상태와 누적 통계를 담는 불변 객체입니다.
+ */
+public class PoolMetrics {
+    public final int maxSize;
+    public final int active;              // 현재 대여 중인 커넥션 수
+    public final int idle;                // 현재 유휴 커넥션 수
+    public final long created;            // 지금까지 생성한 물리 커넥션 수
+    public final long borrowed;           // 지금까지의 대여 횟수
+    public final long borrowTimeouts;     // 대기 시간 초과로 실패한 대여 횟수
+    public final long averageWaitMicros;  // 대여 시 평균 대기 시간(us)
+    public final long validationFailures; // 유효성 검사에 실패해 폐기한 커넥션 수
+    public final long evicted;            // 유휴 시간 초과로 정리한 커넥션 수
+    public final long leaksDetected;      // 누수로 의심되어 경고한 대여 수
+    public final long statementCacheHits;   // 캐시된 PreparedStatement를 재사용한 횟수
+    public final long statementCacheMisses; // 새로 prepare한 횟수
+
+    public PoolMetrics(int maxSize, int active, int idle, long created, long borrowed, long borrowTimeouts,
+                       long averageWaitMicros, long validationFailures, long evicted, long leaksDetected,
+                       long statementCacheHits, long statementCacheMisses) {
+        this.maxSize = maxSize;
+        this.active = active;
+        this.idle = idle;
+        this.created = created;
+        this.borrowed = borrowed;
+        this.borrowTimeouts = borrowTimeouts;
+        this.averageWaitMicros = averageWaitMicros;
+        this.validationFailures = validationFailures;
+        this.evicted = evicted;
+        this.leaksDetected = leaksDetected;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    /**
+     * PreparedStatement 캐시 적중률 (0~1, 조회가 없었으면 0)
+     */
+    public double statementCacheHitRate() {
+        long total = statementCacheHits + statementCacheMisses;
+        return total == 0 ? 0 : (double) statementCacheHits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolMetrics{active=%d/%d, idle=%d, created=%d, borrowed=%d, timeouts=%d, avgWait=%dus, "
+                        + "validationFailures=%d, evicted=%d, leaks=%d, stmtCache=%d/%d (%.1f%%)}",
+                active, maxSize, idle, created, borrowed, borrowTimeouts, averageWaitMicros,
+                validationFailures, evicted, leaksDetected, statementCacheHits,
+                statementCacheHits + statementCacheMisses, statementCacheHitRate() * 100);
+    }
+}
@@ -0,0 +1,243 @@
+package com.smartpacker.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DB 스키마 버전을 관리합니다.
+ *
+ * 현재 버전은 SQLite의 PRAGMA user_version에 저장되며, 기본 테이블(users, my_closet, packing_lists)만 있는
+ * 상태를 버전 1로 봅니다. 각 단계는 트랜잭션 안에서 DDL을 실행하고 버전을 올리므로, 중간에 실패해도
+ * 다음 실행 때 실패한 단계부터 다시 적용됩니다.
+ */
+final class SchemaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private SchemaMigrator() {}
+
+    /**
+     * 스키마 변경 단계 하나입니다.
+     */
+    private static class Step {
+        final int version;
+        final String description;
+        final String[] statements;
+
+        Step(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+
+    // 버전 순서대로 나열합니다. 이미 배포된 단계는 수정하지 말고 새 단계를 추가하세요.
+    private static final Step[] STEPS = {
+        new Step(2, "아이템 정규화 테이블(packing_list_items) 추가",
+            "CREATE TABLE IF NOT EXISTS items (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE)",
+            "CREATE TABLE IF NOT EXISTS packing_list_items (list_id INTEGER NOT NULL, item_id INTEGER NOT NULL, "
+                + "category TEXT NOT NULL, quantity INTEGER NOT NULL DEFAULT 1, PRIMARY KEY (list_id, item_id), "
+                + "FOREIGN KEY (list_id) REFERENCES packing_lists(id) ON DELETE CASCADE, "
+                + "FOREIGN KEY (item_id) REFERENCES items(id)) WITHOUT ROWID",
+            "CREATE INDEX IF NOT EXISTS idx_packing_list_items_item ON packing_list_items (item_id, list_id)",
+            "CREATE TABLE IF NOT EXISTS data_migrations (name TEXT PRIMARY KEY, last_id INTEGER NOT NULL DEFAULT 0, "
+                + "completed INTEGER NOT NULL DEFAULT 0)"),
+        new Step(3, "packing_lists 조회용 보조 인덱스 추가",
+            // 내 리스트 조회: WHERE user_id = ? ORDER BY created_at DESC, id DESC 를 정렬 없이 처리
+            "CREATE INDEX IF NOT EXISTS idx_packing_lists_user_created ON packing_lists (user_id, created_at DESC, id DESC)",
+            // 공유 리스트 조회: 공유된 행만 담는 부분 인덱스 (쿼리도 반드시 'is_shared = 1'로 써야 사용됨)
+            "CREATE INDEX IF NOT EXISTS idx_packing_lists_shared_created ON packing_lists (created_at DESC, id DESC) WHERE is_shared = 1"),
+        new Step(4, "바이너리 아이템 컬럼(items_blob) 추가",
+            // SQLite는 NOT NULL 제약을 ALTER로 풀 수 없으므로 테이블을 새로 만들어 옮깁니다. (items_json/items_blob 중 하나만 채움)
+            "CREATE TABLE packing_lists_v4 (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id TEXT NOT NULL, list_name TEXT NOT NULL, "
+                + "tags TEXT, items_json TEXT, items_blob BLOB, is_shared BOOLEAN NOT NULL DEFAULT FALSE, "
+                + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, CHECK (items_json IS NOT NULL OR items_blob IS NOT NULL), "
+                + "FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE)",
+            "INSERT INTO packing_lists_v4 (id, user_id, list_name, tags, items_json, is_shared, created_at) "
+                + "SELECT id, user_id, list_name, tags, items_json, is_shared, created_at FROM packing_lists",
+            // 삭제된 마지막 ID가 다시 쓰이지 않도록 AUTOINCREMENT 값을 이어받습니다.
+            "UPDATE sqlite_sequence SET seq = MAX(seq, (SELECT seq FROM sqlite_sequence WHERE name = 'packing_lists')) "
+                + "WHERE name = 'packing_lists_v4'",
+            "DROP TABLE packing_lists",
+            "ALTER TABLE packing_lists_v4 RENAME TO packing_lists",
+            "CREATE INDEX idx_packing_lists_user_created ON packing_lists (user_id, created_at DESC, id DESC)",
+            "CREATE INDEX idx_packing_lists_shared_created ON packing_lists (created_at DESC, id DESC) WHERE is_shared = 1"),
+        new Step(5, "'내 옷장' 고정 ID(id) 추가와 아이템 이름 부분 문자열 검색용 FTS5 trigram 인덱스 추가",
+            // 색인은 my_closet 행을 키로 가리키므로, VACUUM이 다시 매길 수 있는 암묵적 rowid 대신 명시적 id(INTEGER PRIMARY KEY)를 둡니다.
+            // 기존 기본 키(user_id, item_name)는 UNIQUE로 남겨 ON CONFLICT(user_id, item_name)와 사용자별 조회가 그대로 동작합니다.
+            "CREATE TABLE my_closet_v5 (id INTEGER PRIMARY KEY, user_id TEXT NOT NULL, item_name TEXT NOT NULL, category TEXT NOT NULL, "
+                + "quantity INTEGER NOT NULL DEFAULT 1, UNIQUE (user_id, item_name), "
+                + "FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE)",
+            "INSERT INTO my_closet_v5 (user_id, item_name, category, quantity) "
+                + "SELECT user_id, item_name, category, quantity FROM my_closet ORDER BY user_id, item_name",
+            "DROP TABLE my_closet",
+            "ALTER TABLE my_closet_v5 RENAME TO my_closet",
+            // 이름은 my_closet에만 두고(external content), 색인은 my_closet.id를 rowid로 씁니다.
+            "CREATE VIRTUAL TABLE IF NOT EXISTS my_closet_fts USING fts5(item_name, content = 'my_closet', content_rowid = 'id', "
+                + "tokenize = 'trigram')",
+            // my_closet 변경을 트리거로 따라갑니다. (수량/카테고리만 바뀌는 UPDATE는 색인과 무관하므로 건너뜀)
+            // external content 색인은 지울 때 예전 값이 필요하므로 'delete' 명령에 old 행을 넘깁니다.
+            // 주의: INSERT OR REPLACE로 지워지는 행에는 DELETE 트리거가 실행되지 않으므로 my_closet에는 UPSERT를 사용해야 합니다.
+            "CREATE TRIGGER IF NOT EXISTS my_closet_fts_insert AFTER INSERT ON my_closet BEGIN "
+                + "INSERT INTO my_closet_fts (rowid, item_name) VALUES (new.id, new.item_name); END",
+            "CREATE TRIGGER IF NOT EXISTS my_closet_fts_delete AFTER DELETE ON my_closet BEGIN "
+                + "INSERT INTO my_closet_fts (my_closet_fts, rowid, item_name) VALUES ('delete', old.id, old.item_name); END",
+            "CREATE TRIGGER IF NOT EXISTS my_closet_fts_update AFTER UPDATE OF id, item_name ON my_closet BEGIN "
+                + "INSERT INTO my_closet_fts (my_closet_fts, rowid, item_name) VALUES ('delete', old.id, old.item_name); "
+                + "INSERT INTO my_closet_fts (rowid, item_name) VALUES (new.id, new.item_name); END",
+            // 기존 옷장 데이터로 색인을 채웁니다.
+            "INSERT INTO my_closet_fts (my_closet_fts) VALUES ('rebuild')"),
+        new Step(6, "태그 조합별 아이템 빈도 집계 테이블(tag_profile_lists, tag_profile_items, tag_profiles)과 유지 트리거 추가",
+            // 공유된 리스트만, 리스트의 태그 문자열 전체(공백 제거 + 소문자, 이하 '프로필')별로 집계합니다. 리스트 하나는 프로필 하나에만 속하므로
+            // 검색 태그 중 하나라도 가진 프로필들의 합이 곧 '서로 다른 리스트' 기준의 수가 됩니다. (태그 두 개에 걸린 리스트도 한 번만 셈)
+            // tag_profiles는 태그 조각(쉼표로 나눈 조각) -> 그 조각을 가진 프로필 색인이며, 조회 쪽은 TagNormalizer로 정규화한 태그와 정확히 일치하는 조각만 찾습니다.
+            "CREATE TABLE IF NOT EXISTS tag_profile_lists (profile TEXT PRIMARY KEY, cnt INTEGER NOT NULL) WITHOUT ROWID",
+            "CREATE TABLE IF NOT EXISTS tag_profile_items (profile TEXT NOT NULL, item_id INTEGER NOT NULL, cnt INTEGER NOT NULL, "
+                + "PRIMARY KEY (profile, item_id)) WITHOUT ROWID",
+            "CREATE TABLE IF NOT EXISTS tag_profiles (tag TEXT NOT NULL, profile TEXT NOT NULL, PRIMARY KEY (tag, profile)) WITHOUT ROWID",
+            // 아이템은 저장 형식(items_json/items_blob)과 관계없이 항상 채워지는 packing_list_items에서 펼칩니다.
+            // 리스트 쪽 트리거는 리스트 수와 (이미 있는) 아이템 행을, 아이템 쪽 트리거는 부모 리스트가 공유 중일 때만 아이템 행을 반영하므로
+            // 리스트와 아이템 중 어느 쪽을 먼저 넣거나 지워도 집계가 맞습니다. (아이템 수량만 바뀌는 UPDATE는 집계와 무관)
+            "CREATE TRIGGER IF NOT EXISTS tag_counts_list_insert AFTER INSERT ON packing_lists WHEN new.is_shared BEGIN "
+                + addProfileCounts("new") + " END",
+            "CREATE TRIGGER IF NOT EXISTS tag_counts_list_delete AFTER DELETE ON packing_lists WHEN old.is_shared BEGIN "
+                + subtractProfileCounts("old") + " END",
+            // 공유 해제 또는 태그 변경: 이전 프로필에서 빼고, 공유 설정 또는 태그 변경: 새 프로필에 더합니다.
+            "CREATE TRIGGER IF NOT EXISTS tag_counts_list_unshare AFTER UPDATE OF is_shared, tags ON packing_lists "
+                + "WHEN old.is_shared AND NOT (new.is_shared AND old.tags IS new.tags) BEGIN " + subtractProfileCounts("old") + " END",
+            "CREATE TRIGGER IF NOT EXISTS tag_counts_list_share AFTER UPDATE OF is_shared, tags ON packing_lists "
+                + "WHEN new.is_shared AND NOT (old.is_shared AND old.tags IS new.tags) BEGIN " + addProfileCounts("new") + " END",
+            "CREATE TRIGGER IF NOT EXISTS tag_counts_item_insert AFTER INSERT ON packing_list_items BEGIN "
+                + "INSERT INTO tag_profile_items (profile, item_id, cnt) SELECT " + profileOf("p") + ", new.item_id, 1 FROM packing_lists p "
+                + "WHERE p.id = new.list_id AND p.is_shared ON CONFLICT(profile, item_id) DO UPDATE SET cnt = cnt + 1; END",
+            "CREATE TRIGGER IF NOT EXISTS tag_counts_item_delete AFTER DELETE ON packing_list_items BEGIN "
+                + "UPDATE tag_profile_items SET cnt = cnt - 1 WHERE item_id = old.item_id AND profile = "
+                + "(SELECT " + profileOf("p") + " FROM packing_lists p WHERE p.id = old.list_id AND p.is_shared); "
+                + "DELETE FROM tag_profile_items WHERE item_id = old.item_id AND cnt <= 0 AND profile = "
+                + "(SELECT " + profileOf("p") + " FROM packing_lists p WHERE p.id = old.list_id AND p.is_shared); END",
+            // 기존 공유 데이터로 집계를 채웁니다.
+            "INSERT INTO tag_profile_lists (profile, cnt) SELECT " + profileOf("p") + ", COUNT(*) FROM packing_lists p WHERE p.is_shared GROUP BY 1",
+            "INSERT INTO tag_profiles (tag, profile) SELECT DISTINCT t.value, l.profile FROM tag_profile_lists l, "
+                + tagTokens("l.profile") + " t WHERE t.value <> ''",
+            "INSERT INTO tag_profile_items (profile, item_id, cnt) SELECT " + profileOf("p") + ", i.item_id, COUNT(*) "
+                + "FROM packing_lists p JOIN packing_list_items i ON i.list_id = p.id WHERE p.is_shared GROUP BY 1, 2"),
+        new Step(7, "'내 옷장' 카테고리별 아이템 수/수량 합계 집계 테이블(closet_category_counts)과 유지 트리거 추가",
+            "CREATE TABLE IF NOT EXISTS closet_category_counts (user_id TEXT NOT NULL, category TEXT NOT NULL, "
+                + "item_count INTEGER NOT NULL, quantity_sum INTEGER NOT NULL, PRIMARY KEY (user_id, category)) WITHOUT ROWID",
+            // my_closet 쓰기와 같은 트랜잭션에서 트리거로 따라갑니다. (FTS 색인과 같이 UPSERT만 쓰므로 INSERT OR REPLACE의 누락 없음)
+            // foreign_keys가 꺼져 있어 사용자를 지워도 옷장 행은 남으므로, 집계도 users가 아니라 my_closet만 따라갑니다.
+            "CREATE TRIGGER IF NOT EXISTS closet_counts_insert AFTER INSERT ON my_closet BEGIN "
+                + addClosetCounts("new") + " END",
+            "CREATE TRIGGER IF NOT EXISTS closet_counts_delete AFTER DELETE ON my_closet BEGIN "
+                + subtractClosetCounts("old") + " END",
+            // 이름만 바뀌는 UPDATE는 집계와 무관하므로 건너뜁니다.
+            "CREATE TRIGGER IF NOT EXISTS closet_counts_update AFTER UPDATE OF user_id, category, quantity ON my_closet BEGIN "
+                + subtractClosetCounts("old") + " " + addClosetCounts("new") + " END",
+            // 기존 옷장 데이터로 집계를 채웁니다.
+            "INSERT INTO closet_category_counts (user_id, category, item_count, quantity_sum) "
+                + "SELECT user_id, category, COUNT(*), SUM(quantity) FROM my_closet GROUP BY user_id, category")
+    };
+
+    // 옷장 아이템 한 행(new)을 사용자/카테고리 집계에 더합니다.
+    private static String addClosetCounts(String row) {
+        return "INSERT INTO closet_category_counts (user_id, category, item_count, quantity_sum) VALUES ("
+                + row + ".user_id, " + row + ".category, 1, " + row + ".quantity) "
+                + "ON CONFLICT(user_id, category) DO UPDATE SET item_count = item_count + 1, quantity_sum = quantity_sum + excluded.quantity_sum;";
+    }
+
+    // 옷장 아이템 한 행(old)을 집계에서 빼고, 아이템이 남지 않은 카테고리 행은 지웁니다.
+    private static String subtractClosetCounts(String row) {
+        String key = "user_id = " + row + ".user_id AND category = " + row + ".category";
+        return "UPDATE closet_category_counts SET item_count = item_count - 1, quantity_sum = quantity_sum - " + row + ".quantity "
+                + "WHERE " + key + "; DELETE FROM closet_category_counts WHERE " + key + " AND item_count <= 0;";
+    }
+
+    // 리스트(row)가 속한 프로필 키: 태그 문자열 전체를 소문자로 (태그 순서가 다르면 다른 프로필이지만, 리스트마다 하나뿐인 것은 같음)
+    static String profileOf(String row) {
+        return normalizedTags(row + ".tags");
+    }
+
+    // TagNormalizer.normalize와 같게 공백 문자(앞뒤와 조각 안쪽 모두)를 지우고 소문자로 바꾼 태그 문자열 (" 여름" 과 "여름"이 같은 조각이 됨)
+    private static String normalizedTags(String tagsColumn) {
+        String expr = "coalesce(" + tagsColumn + ", '')";
+        for (String whitespace : new String[]{"' '", "char(9)", "char(10)", "char(11)", "char(12)", "char(13)"}) {
+            expr = "replace(" + expr + ", " + whitespace + ", '')";
+        }
+        return "lower(" + expr + ")";
+    }
+
+    // 쉼표로 구분된 태그 문자열을 조각별 행으로 펼치는 json_each 식입니다. (트리거 안에서는 WITH RECURSIVE를 쓸 수 없음)
+    // json_quote가 따옴표/역슬래시/제어 문자를 모두 이스케이프하므로, 그 결과의 쉼표만 '","'로 바꾸면 항상 올바른 JSON 배열이 됩니다.
+    private static String tagTokens(String tagsColumn) {
+        return "json_each('[' || replace(json_quote(" + normalizedTags(tagsColumn) + "), ',', '\",\"') || ']')";
+    }
+
+    // row(new)의 공유 리스트 하나를 프로필의 리스트 수와 아이템 수에 더하고, 처음 보는 프로필이면 태그 조각 색인에 등록합니다.
+    private static String addProfileCounts(String row) {
+        String profile = profileOf(row);
+        return "INSERT INTO tag_profile_lists (profile, cnt) VALUES (" + profile + ", 1) ON CONFLICT(profile) DO UPDATE SET cnt = cnt + 1; "
+                + "INSERT OR IGNORE INTO tag_profiles (tag, profile) SELECT DISTINCT value, " + profile + " FROM " + tagTokens(row + ".tags")
+                + " WHERE value <> ''; "
+                + "INSERT INTO tag_profile_items (profile, item_id, cnt) SELECT " + profile + ", item_id, 1 FROM packing_list_items "
+                + "WHERE list_id = " + row + ".id ON CONFLICT(profile, item_id) DO UPDATE SET cnt = cnt + 1;";
+    }
+
+    // row(old)의 공유 리스트 하나를 집계에서 빼고, 0이 된 행(과 리스트가 남지 않은 프로필의 태그 조각 색인)은 지웁니다.
+    private static String subtractProfileCounts(String row) {
+        String profile = profileOf(row);
+        return "UPDATE tag_profile_lists SET cnt = cnt - 1 WHERE profile = " + profile + "; "
+                + "UPDATE tag_profile_items SET cnt = cnt - 1 WHERE profile = " + profile
+                + " AND item_id IN (SELECT item_id FROM packing_list_items WHERE list_id = " + row + ".id); "
+                + "DELETE FROM tag_profile_items WHERE profile = " + profile + " AND cnt <= 0; "
+                + "DELETE FROM tag_profiles WHERE tag IN (SELECT value FROM " + tagTokens(row + ".tags") + ") AND profile = " + profile
+                + " AND NOT EXISTS (SELECT 1 FROM tag_profile_lists WHERE profile = " + profile + " AND cnt > 0); "
+                + "DELETE FROM tag_profile_lists WHERE profile = " + profile + " AND cnt <= 0;";
+    }
+
+    /**
+     * 가장 최신 스키마 버전입니다.
+     */
+    static int latestVersion() {
+        return STEPS[STEPS.length - 1].version;
+    }
+
+    /**
+     * 아직 적용되지 않은 스키마 변경 단계를 순서대로 적용합니다.
+     * @param conn 쓰기 커넥션 (자동 커밋 상태)
+     * @throws SQLException DDL 실행 중 오류 발생 시 (해당 단계는 롤백됨)
+     */
+    static void migrate(Connection conn) throws SQLException {
+        int current = Math.max(1, currentVersion(conn));
+        for (Step step : STEPS) {
+            if (step.version <= current) {
+                continue;
+            }
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : step.statements) {
+                    stmt.execute(sql);
+                }
+                stmt.execute("PRAGMA user_version = " + step.version);
+                conn.commit();
+                log.info("DB 스키마를 버전 {}로 올렸습니다: {}", step.version, step.description);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
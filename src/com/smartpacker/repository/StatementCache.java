@@ -0,0 +1,158 @@
+package com.smartpacker.repository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 물리 커넥션 하나에 딸린 PreparedStatement 캐시입니다. (SQL 문자열 + 생성 키 반환 여부로 구분)
+ *
+ * 같은 SQL을 다시 prepare하면 이미 컴파일된 statement를 돌려주고, 호출자가 close()하면
+ * 실제로 닫는 대신 파라미터만 비우고 캐시에 남겨 둡니다. 캐시 크기를 넘으면 가장 오래 쓰이지 않은 것부터 닫습니다.
+ * 커넥션은 한 번에 한 스레드만 대여하므로 별도의 동기화는 하지 않습니다.
+ */
+class StatementCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCache.class);
+
+    /**
+     * 여러 커넥션의 캐시가 함께 누적하는 적중/실패 통계입니다.
+     */
+    static class Stats {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+    }
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Stats stats;
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(Connection physical, int maxSize, Stats stats) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.stats = stats;
+    }
+
+    /**
+     * 캐시된 statement를 반환하거나, 없으면 새로 prepare하여 캐시에 넣습니다.
+     * 같은 SQL의 statement가 아직 사용 중이면(중첩 사용) 캐시하지 않는 일반 statement를 반환합니다.
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS 또는 Statement.NO_GENERATED_KEYS
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse && !cached.delegate.isClosed()) {
+            stats.hits.incrementAndGet();
+            cached.inUse = true;
+            return cached.proxy;
+        }
+        stats.misses.incrementAndGet();
+        if (cached != null && cached.inUse) {
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        cached = new CachedStatement(physical.prepareStatement(sql, autoGeneratedKeys));
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.proxy;
+    }
+
+    /**
+     * 커넥션이 반환될 때 호출됩니다. 호출자가 닫지 않은 statement도 재사용할 수 있게 되돌립니다.
+     */
+    void resetAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                cached.reset();
+            }
+        }
+    }
+
+    /**
+     * 캐시된 statement를 모두 닫습니다. (물리 커넥션을 닫기 전)
+     */
+    void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            closeQuietly(cached.delegate);
+        }
+        statements.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next().getValue();
+            if (eldest.inUse) {
+                continue; // 사용 중인 statement는 반환된 뒤에 정리됩니다.
+            }
+            iterator.remove();
+            closeQuietly(eldest.delegate);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.debug("PreparedStatement 닫기 실패", e);
+        }
+    }
+
+    /**
+     * 캐시에 들어 있는 statement 하나입니다. 프록시의 close()는 파라미터 초기화로 바뀝니다.
+     */
+    private static class CachedStatement {
+        final PreparedStatement delegate;
+        final PreparedStatement proxy;
+        boolean inUse;
+
+        CachedStatement(PreparedStatement delegate) {
+            this.delegate = delegate;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (inUse) {
+                                    reset();
+                                }
+                                return null;
+                            case "isClosed":
+                                return !inUse || delegate.isClosed();
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                try {
+                                    return method.invoke(delegate, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                        }
+                    });
+        }
+
+        void reset() {
+            inUse = false;
+            try {
+                delegate.clearParameters();
+                delegate.clearBatch();
+            } catch (SQLException e) {
+                log.debug("캐시된 PreparedStatement 초기화 실패. 닫고 다음에 다시 prepare 합니다.", e);
+                closeQuietly(delegate);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.config.ItemStorageFormat;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.user.PasswordHasher;
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.util.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SyntheticDataGenerator}가 만든 사용자, 옷장, 공유 패킹 리스트를 DB에 대량으로 적재합니다.
+ *
+ * Repository의 save()를 한 건씩 부르는 대신 쓰기 커넥션 하나로 큰 트랜잭션({@link AppConfig#GENERATOR_BATCH_SIZE}건)을
+ * 묶어 JDBC 배치로 넣습니다. 리스트 ID는 MAX(id) + 1부터 직접 부여하여 생성된 키를 다시 읽지 않고,
+ * 아이템 이름의 ID도 적재 내내 캐시하므로 행마다 추가 조회가 없습니다.
+ * 적재하는 동안에만 PRAGMA synchronous = OFF로 커밋 시 fsync를 생략합니다. (중간에 실패해도 이미 커밋된 배치는 남음)
+ */
+public class SyntheticDataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataLoader.class);
+
+    static final String INSERT_USER_SQL = "INSERT INTO users (user_id, password_hash, password_salt) VALUES (?, ?, ?) "
+            + "ON CONFLICT(user_id) DO NOTHING";
+    static final String MAX_LIST_ID_SQL = "SELECT MAX(id) FROM packing_lists";
+    static final String INSERT_LIST_SQL = "INSERT INTO packing_lists (id, user_id, list_name, tags, items_json, items_blob, is_shared, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 1, ?)";
+
+    // 가짜 사용자가 모두 공유하는 비밀번호. 사용자마다 PBKDF2를 돌리면 적재 시간 대부분을 차지하므로 한 번만 해시합니다.
+    static final String SYNTHETIC_PASSWORD = "synthetic";
+    // packing_lists.created_at (CURRENT_TIMESTAMP)과 같은 형식
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ItemColumns itemColumns;
+    private final int batchSize;
+    private final Map<String, Long> itemIds = new HashMap<>(); // 아이템 이름 -> items.id 캐시
+
+    public SyntheticDataLoader() {
+        this(AppConfig.ITEM_STORAGE_FORMAT);
+    }
+
+    public SyntheticDataLoader(ItemStorageFormat itemStorageFormat) {
+        this(new ItemColumns(itemStorageFormat), AppConfig.GENERATOR_BATCH_SIZE);
+    }
+
+    SyntheticDataLoader(ItemColumns itemColumns, int batchSize) {
+        this.itemColumns = itemColumns;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 생성기의 사용자 전원과 각자의 옷장을 적재합니다. 이미 있는 사용자/옷장 아이템은 건너뜁니다.
+     * @return 적재한 옷장 아이템 수
+     */
+    public long loadUsers(SyntheticDataGenerator generator) throws DatabaseException {
+        String salt = PasswordHasher.generateSalt();
+        String hash = PasswordHasher.hashPassword(SYNTHETIC_PASSWORD, salt);
+        int userCount = generator.getUserCount();
+        long closetItems = 0;
+        long started = System.nanoTime();
+
+        try (Connection conn = JdbcManager.getWriteConnection()) {
+            beginBulkLoad(conn);
+            try (PreparedStatement users = conn.prepareStatement(INSERT_USER_SQL);
+                 PreparedStatement closet = conn.prepareStatement(MyClosetRepositoryImpl.UPSERT_KEEP_SQL)) {
+                for (int from = 0; from < userCount; from += batchSize) {
+                    int to = Math.min(userCount, from + batchSize);
+                    for (int i = from; i < to; i++) {
+                        String userId = generator.userId(i);
+                        users.setString(1, userId);
+                        users.setString(2, hash);
+                        users.setString(3, salt);
+                        users.addBatch();
+                        for (Item item : generator.closet(i)) {
+                            closet.setString(1, userId);
+                            closet.setString(2, item.getName());
+                            closet.setString(3, item.getCategory());
+                            closet.setInt(4, item.getQuantity());
+                            closet.addBatch();
+                            closetItems++;
+                        }
+                    }
+                    users.executeBatch();
+                    closet.executeBatch();
+                    conn.commit();
+                    logProgress("사용자", to, userCount, started);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                endBulkLoad(conn);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("가짜 사용자/옷장 데이터 적재 중 오류가 발생했습니다.", e);
+        }
+        return closetItems;
+    }
+
+    /**
+     * 생성기의 0 ~ count-1번 공유 패킹 리스트를 적재합니다. (packing_list_items도 같은 트랜잭션에서 기록)
+     * @return 적재한 리스트 수
+     */
+    public long loadSharedLists(SyntheticDataGenerator generator, long count) throws DatabaseException {
+        long started = System.nanoTime();
+
+        try (Connection conn = JdbcManager.getWriteConnection()) {
+            beginBulkLoad(conn);
+            try (PreparedStatement lists = conn.prepareStatement(INSERT_LIST_SQL);
+                 PreparedStatement listItems = conn.prepareStatement(PackingListItemsTable.INSERT_LIST_ITEM_SQL)) {
+                long nextId = maxListId(conn) + 1;
+                for (long from = 0; from < count; from += batchSize) {
+                    long to = Math.min(count, from + batchSize);
+                    for (long i = from; i < to; i++) {
+                        PackingList list = generator.sharedList(i);
+                        long listId = nextId++;
+                        lists.setLong(1, listId);
+                        lists.setString(2, list.getUserId());
+                        lists.setString(3, list.getListName());
+                        lists.setString(4, list.getTags());
+                        itemColumns.bind(lists, 5, 6, list.getItems());
+                        lists.setString(7, list.getCreatedAt().format(CREATED_AT_FORMAT));
+                        lists.addBatch();
+
+                        for (Item item : list.getItems()) {
+                            listItems.setLong(1, listId);
+                            listItems.setLong(2, itemId(conn, item.getName()));
+                            listItems.setString(3, item.getCategory());
+                            listItems.setInt(4, item.getQuantity());
+                            listItems.addBatch();
+                        }
+                    }
+                    lists.executeBatch();
+                    listItems.executeBatch();
+                    conn.commit();
+                    logProgress("공유 리스트", to, count, started);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                itemIds.clear(); // 롤백된 트랜잭션에서 등록한 아이템 ID가 섞이지 않도록
+                throw e;
+            } finally {
+                endBulkLoad(conn);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("가짜 공유 리스트 데이터 적재 중 오류가 발생했습니다.", e);
+        }
+        return count;
+    }
+
+    private static long maxListId(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(MAX_LIST_ID_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // 아이템 이름의 items.id를 캐시에서 찾고, 처음 보는 이름이면 등록합니다.
+    private long itemId(Connection conn, String name) throws SQLException {
+        Long cached = itemIds.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        try (PreparedStatement insertName = conn.prepareStatement(PackingListItemsTable.INSERT_ITEM_NAME_SQL);
+             PreparedStatement findId = conn.prepareStatement(PackingListItemsTable.FIND_ITEM_ID_SQL)) {
+            insertName.setString(1, name);
+            insertName.executeUpdate();
+            findId.setString(1, name);
+            try (ResultSet rs = findId.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("아이템 ID를 찾을 수 없습니다: " + name);
+                }
+                itemIds.put(name, rs.getLong(1));
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static void beginBulkLoad(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA synchronous = OFF");
+        }
+        conn.setAutoCommit(false);
+    }
+
+    private static void endBulkLoad(Connection conn) throws SQLException {
+        conn.setAutoCommit(true);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA synchronous = " + AppConfig.STORAGE_PROFILE.synchronous);
+        }
+    }
+
+    private static void logProgress(String what, long done, long total, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        log.info("{} 적재 중: {}/{} ({}건/초)", what, done, total, String.format("%,.0f", done / Math.max(seconds, 1e-9)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.exception.DatabaseException;
+
+/**
+ * 여러 Repository 쓰기를 하나의 트랜잭션으로 묶는 작업 단위입니다.
+ * 서비스는 {@link #execute(Work)} 안에서 평소처럼 Repository 메서드를 부르고,
+ * 그 안의 쓰기는 모두 한 커넥션에서 실행되어 한 번에 커밋되거나 한 번에 되돌려집니다.
+ */
+public interface UnitOfWork {
+
+    /**
+     * 하나의 트랜잭션으로 실행할 서비스 작업입니다.
+     * 잠금 충돌로 트랜잭션을 다시 시도하면 처음부터 다시 실행되므로, 안에서는 Repository 호출만 하고
+     * 메모리 상태 변경(색인, 집계 등)은 execute가 돌아온 뒤에 해야 합니다.
+     */
+    interface Work<T> {
+        T run() throws DatabaseException;
+    }
+
+    /**
+     * 작업을 하나의 트랜잭션으로 실행합니다. 작업이 예외를 던지면 그 안의 쓰기는 모두 되돌려집니다.
+     * @return 작업의 결과
+     * @throws DatabaseException 작업이 실패했거나 커밋하지 못했을 때
+     */
+    <T> T execute(Work<T> work) throws DatabaseException;
+
+    /**
+     * 트랜잭션 없이 작업을 그대로 실행합니다. (쓰기마다 바로 기록되는 MEMORY / LOG_STRUCTURED 엔진용)
+     */
+    UnitOfWork DIRECT = Work::run;
+}
@@ -16,6 +16,10 @@ import org.slf4j.LoggerFactory;
 public class UserRepositoryImpl implements UserRepository {
 	
 	private static final Logger log = LoggerFactory.getLogger(UserRepositoryImpl.class);
+
+    // --- SQL 문 (QueryPlanTest가 실행 계획을 검사할 수 있도록 상수로 둡니다) ---
+    static final String SAVE_SQL = "INSERT INTO users (user_id, password_hash, password_salt) VALUES (?, ?, ?)";
+    static final String FIND_BY_USER_ID_SQL = "SELECT user_id, password_hash, password_salt FROM users WHERE user_id = ?";
 	
 	 /**
      * 외부에서 Connection 객체를 주입받을 수 있도록 메소드를 분리합니다. (protected)
@@ -27,6 +31,16 @@ public class UserRepositoryImpl implements UserRepository {
         return JdbcManager.getConnection();
     }
 
+    /**
+     * 테이블 초기화(DDL)에 사용할 전용 쓰기 커넥션을 반환합니다. (protected, 테스트 시 교체 가능)
+     * 사용자 저장 같은 일반 쓰기는 JdbcManager.write로 쓰기 스레드를 거칩니다.
+     * @return Connection 객체
+     * @throws SQLException
+     */
+    protected Connection getWriteConnection() throws SQLException {
+        return JdbcManager.getWriteConnection();
+    }
+
 
     @Override
     public void setupDatabase() throws DatabaseException {
@@ -34,11 +48,13 @@ public class UserRepositoryImpl implements UserRepository {
         String createMyClosetTableSql = "CREATE TABLE IF NOT EXISTS my_closet (user_id TEXT NOT NULL, item_name TEXT NOT NULL, category TEXT NOT NULL, quantity INTEGER NOT NULL DEFAULT 1, PRIMARY KEY (user_id, item_name), FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE);";
         String createPackingListsTableSql = "CREATE TABLE IF NOT EXISTS packing_lists (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id TEXT NOT NULL, list_name TEXT NOT NULL, tags TEXT, items_json TEXT NOT NULL, is_shared BOOLEAN NOT NULL DEFAULT FALSE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE);";
 
-        try (Connection conn = this.getConnection();
+        try (Connection conn = this.getWriteConnection();
              Statement stmt = conn.createStatement()) {
+            JdbcManager.applyJournalMode(conn); // 저장소 프로필의 저널 모드(WAL 등)를 DB 파일에 적용
             stmt.execute(createUserTableSql);
             stmt.execute(createMyClosetTableSql);
             stmt.execute(createPackingListsTableSql);
+            SchemaMigrator.migrate(conn); // 기본 테이블 이후의 스키마 변경(버전)을 순서대로 적용
         } catch (SQLException e) {
             throw new DatabaseException("데이터베이스 테이블 초기화 중 오류가 발생했습니다.", e);
         }
@@ -46,14 +62,16 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public void save(User user) throws DatabaseException {
-        String sql = "INSERT INTO users (user_id, password_hash, password_salt) VALUES (?, ?, ?)";
-        log.debug("Executing SQL: {}", sql); // DEBUG 레벨로 SQL 쿼리 로깅
-        try (Connection conn = this.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, user.getUserId());
-            pstmt.setString(2, user.getPasswordHash());
-            pstmt.setString(3, user.getPasswordSalt());
-            int affectedRows = pstmt.executeUpdate();
+        log.debug("Executing SQL: {}", SAVE_SQL); // DEBUG 레벨로 SQL 쿼리 로깅
+        try {
+            int affectedRows = JdbcManager.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(SAVE_SQL)) {
+                    pstmt.setString(1, user.getUserId());
+                    pstmt.setString(2, user.getPasswordHash());
+                    pstmt.setString(3, user.getPasswordSalt());
+                    return pstmt.executeUpdate();
+                }
+            });
             log.debug("DB에 저장 완료. 영향 받은 행: {}", affectedRows);
         } catch (SQLException e) {
         	 log.error("User 저장 실패: {}", user.getUserId(), e);
@@ -63,11 +81,10 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Optional<User> findByUserId(String userId) throws DatabaseException {
-        String sql = "SELECT user_id, password_hash, password_salt FROM users WHERE user_id = ?";
-        log.debug("Executing SQL: {} with parameter: {}", sql, userId);
+        log.debug("Executing SQL: {} with parameter: {}", FIND_BY_USER_ID_SQL, userId);
         
         try (Connection conn = this.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_USER_ID_SQL)) {
             
             pstmt.setString(1, userId);
             
@@ -0,0 +1,336 @@
+package com.smartpacker.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 프로세스 안의 모든 쓰기 요청을 하나의 쓰기 스레드로 모아 처리합니다.
+ *
+ * <ul>
+ *   <li>묶음 처리: 쓰기 스레드는 큐에 쌓인 요청을 최대 maxBatch개까지 꺼내 트랜잭션 하나로 실행하고 한 번만 커밋합니다.
+ *       요청마다 savepoint를 두므로 한 요청이 실패해도(제약 조건 위반 등) 그 요청만 되돌리고 나머지는 커밋됩니다.</li>
+ *   <li>재시도: 다른 프로세스가 쓰기 잠금을 쥐고 있어 SQLITE_BUSY/LOCKED가 나면(busy_timeout 대기 후에도),
+ *       배치 전체를 되돌리고 지터를 준 지수 백오프로 다시 실행합니다. 재시도 시간 예산을 넘으면 배치의 요청들을 실패로 알립니다.</li>
+ * </ul>
+ * 트랜잭션은 BEGIN IMMEDIATE로 시작해 쓰기 잠금을 처음에 잡으므로(읽은 뒤 쓰기로 올리다 나는 SQLITE_BUSY가 없음)
+ * 잠금 충돌은 주로 시작과 커밋에서 나고, 그때마다 배치의 요청을 처음부터 다시 실행합니다.
+ * 따라서 요청(Task)은 커넥션으로만 일을 하고, 스스로 커밋하거나 자동 커밋을 바꾸면 안 됩니다.
+ * (드라이버의 setAutoCommit/commit은 BEGIN/COMMIT이 실패해도 자동 커밋 상태를 먼저 바꿔 버리므로 트랜잭션 문을 직접 실행합니다)
+ */
+final class WriteCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteCoordinator.class);
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    /**
+     * 쓰기 커넥션으로 실행할 쓰기 작업입니다. (트랜잭션은 WriteCoordinator가 관리)
+     */
+    interface Task<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private static final class Pending<T> {
+        final Task<T> task;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long enqueuedAt = System.nanoTime();
+
+        Pending(Task<T> task) {
+            this.task = task;
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object value) {
+            result.complete((T) value);
+        }
+    }
+
+    private static final Pending<Void> STOP = new Pending<>(conn -> null);
+
+    private final WriterConnection writer;
+    private final int maxBatch;
+    private final long retryBaseMillis;
+    private final long retryMaxDelayMillis;
+    private final long retryBudgetMillis;
+    private final LinkedBlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private boolean closed = false; // this로 동기화 (종료 신호 뒤에는 요청이 큐에 들어가지 않음)
+
+    // --- 통계 ---
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong busyRetryCount = new AtomicLong();
+    private final AtomicLong busyGiveUpCount = new AtomicLong();
+    private final AtomicLong backoffMillis = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+
+    WriteCoordinator(WriterConnection writer, int maxBatch, long retryBaseMillis, long retryMaxDelayMillis, long retryBudgetMillis) {
+        this.writer = writer;
+        this.maxBatch = maxBatch;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxDelayMillis = retryMaxDelayMillis;
+        this.retryBudgetMillis = retryBudgetMillis;
+        this.thread = new Thread(this::runLoop, "sqlite-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 쓰기 작업을 큐에 넣고 커밋(또는 실패)될 때까지 기다립니다.
+     * 이미 쓰기 커넥션을 쥔 스레드(쓰기 스레드 자신이나 마이그레이션 등)에서 부르면 큐를 거치지 않고 그 자리에서 실행합니다.
+     * @return 작업의 결과
+     * @throws SQLException 작업이 실패했거나, 잠금 충돌 재시도 예산을 넘었을 때
+     */
+    <T> T submit(Task<T> task) throws SQLException {
+        if (writer.isHeldByCurrentThread()) {
+            return runInline(task);
+        }
+        Pending<T> pending = new Pending<>(task);
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException("쓰기 스레드가 종료되어 요청을 처리할 수 없습니다.");
+            }
+            queue.add(pending);
+        }
+        try {
+            return pending.result.get();
+        } catch (InterruptedException e) {
+            // 큐에 들어간 요청은 그대로 실행될 수 있습니다.
+            Thread.currentThread().interrupt();
+            throw new SQLException("쓰기 결과 대기 중 인터럽트되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException("쓰기 작업 중 오류가 발생했습니다.", cause);
+        }
+    }
+
+    // 바깥 트랜잭션(쓰기 스레드의 배치, 또는 자동 커밋을 끈 호출자)이 있으면 거기에 합류하고, 없으면 이 작업만의 트랜잭션으로 실행합니다.
+    private <T> T runInline(Task<T> task) throws SQLException {
+        try (Connection conn = writer.acquire()) {
+            if (Thread.currentThread() == thread || !conn.getAutoCommit()) {
+                return task.run(conn);
+            }
+            try (Statement tx = conn.createStatement()) {
+                tx.execute("BEGIN IMMEDIATE");
+                boolean committed = false;
+                try {
+                    T result = task.run(conn);
+                    tx.execute("COMMIT");
+                    committed = true;
+                    return result;
+                } finally {
+                    if (!committed) {
+                        rollbackQuietly(tx);
+                    }
+                }
+            }
+        }
+    }
+
+    private void runLoop() {
+        List<Pending<?>> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue; // 종료는 STOP 요청으로만 합니다.
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            boolean stop = batch.get(batch.size() - 1) == STOP; // 종료 신호 뒤에는 요청이 없음
+            if (stop) {
+                batch.remove(batch.size() - 1);
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    runBatch(batch);
+                } catch (RuntimeException | Error e) {
+                    // 쓰기 스레드가 죽으면 기다리는 호출자가 영영 깨어나지 못하므로, 이 배치만 실패로 알리고 계속합니다.
+                    log.error("쓰기 배치 처리 중 예기치 못한 오류", e);
+                    failAll(batch, e);
+                }
+            }
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void runBatch(List<Pending<?>> batch) {
+        long started = System.nanoTime();
+        for (Pending<?> pending : batch) {
+            totalQueueNanos.addAndGet(started - pending.enqueuedAt);
+        }
+        writeCount.addAndGet(batch.size());
+        batchCount.incrementAndGet();
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                commitBatch(batch);
+                return;
+            } catch (SQLException e) {
+                if (!isBusy(e)) {
+                    failAll(batch, e);
+                    return;
+                }
+                long delay = backoffDelay(attempt);
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                if (elapsed + delay > retryBudgetMillis) {
+                    busyGiveUpCount.incrementAndGet();
+                    log.warn("쓰기 잠금 충돌이 {}ms 동안 풀리지 않아 쓰기 {}건을 실패 처리합니다. (재시도 {}회)",
+                            elapsed, batch.size(), attempt);
+                    failAll(batch, new SQLException("다른 작업이 데이터베이스를 쓰고 있어 저장하지 못했습니다. (재시도 "
+                            + attempt + "회, " + elapsed + "ms)", e.getSQLState(), e.getErrorCode(), e));
+                    return;
+                }
+                busyRetryCount.incrementAndGet();
+                backoffMillis.addAndGet(delay);
+                log.debug("쓰기 잠금 충돌, {}ms 후 다시 시도합니다. (시도 {}회, 쓰기 {}건)", delay, attempt + 1, batch.size());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    // 쓰기 스레드는 종료 신호로만 멈추므로 대기만 줄이고 계속 재시도합니다.
+                }
+            }
+        }
+    }
+
+    // 배치를 트랜잭션 하나로 실행하고 커밋합니다. 잠금 충돌이면 전체를 되돌리고 예외를 던집니다. (호출자가 재시도)
+    private void commitBatch(List<Pending<?>> batch) throws SQLException {
+        Object[] results = new Object[batch.size()];
+        Throwable[] failures = new Throwable[batch.size()];
+        try (Connection conn = writer.acquire();
+             Statement tx = conn.createStatement()) {
+            tx.execute("BEGIN IMMEDIATE"); // 여기서 쓰기 잠금을 잡음 (다른 프로세스가 쓰는 중이면 busy_timeout 후 BUSY)
+            boolean committed = false;
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    tx.execute("SAVEPOINT write_task");
+                    try {
+                        results[i] = batch.get(i).task.run(conn);
+                        tx.execute("RELEASE write_task");
+                    } catch (SQLException e) {
+                        if (isBusy(e)) {
+                            throw e;
+                        }
+                        rollbackToSavepoint(tx);
+                        failures[i] = e;
+                    } catch (RuntimeException e) {
+                        rollbackToSavepoint(tx);
+                        failures[i] = e;
+                    }
+                }
+                tx.execute("COMMIT"); // 커밋이 BUSY로 실패하면 트랜잭션은 그대로 남으므로 아래에서 되돌림
+                committed = true;
+            } finally {
+                if (!committed) {
+                    rollbackQuietly(tx);
+                }
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) {
+                failedCount.incrementAndGet();
+                batch.get(i).result.completeExceptionally(failures[i]);
+            } else {
+                batch.get(i).complete(results[i]);
+            }
+        }
+    }
+
+    private static void rollbackToSavepoint(Statement tx) throws SQLException {
+        tx.execute("ROLLBACK TO write_task");
+        tx.execute("RELEASE write_task");
+    }
+
+    private static void rollbackQuietly(Statement tx) {
+        try {
+            tx.execute("ROLLBACK");
+        } catch (SQLException e) {
+            log.debug("롤백할 트랜잭션이 없습니다: {}", e.getMessage()); // BEGIN부터 실패한 경우
+        }
+    }
+
+    private void failAll(List<Pending<?>> batch, Throwable failure) {
+        failedCount.addAndGet(batch.size());
+        for (Pending<?> pending : batch) {
+            pending.result.completeExceptionally(failure);
+        }
+    }
+
+    // 시도마다 2배씩 늘리되 상한을 두고, 절반은 고정/절반은 무작위로 해서 여러 프로세스가 같은 때 다시 부딪히지 않게 합니다.
+    private long backoffDelay(int attempt) {
+        long ceiling = Math.min(retryMaxDelayMillis, retryBaseMillis << Math.min(attempt, 20));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    /**
+     * SQLITE_BUSY(5) / SQLITE_LOCKED(6)와 그 확장 코드(예: SQLITE_BUSY_SNAPSHOT = 517)인지 확인합니다.
+     */
+    static boolean isBusy(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                int primary = ((SQLException) t).getErrorCode() & 0xFF;
+                if (primary == SQLITE_BUSY || primary == SQLITE_LOCKED) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    WriteMetrics getMetrics() {
+        long writes = writeCount.get();
+        return new WriteMetrics(writes, batchCount.get(), maxBatchSize.get(), failedCount.get(), busyRetryCount.get(),
+                busyGiveUpCount.get(), backoffMillis.get(),
+                writes == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalQueueNanos.get()) / writes, queue.size());
+    }
+
+    /**
+     * 큐에 남은 요청을 모두 처리한 뒤 쓰기 스레드를 멈춥니다. (프로그램 종료 시)
+     */
+    void shutdown(long timeoutMillis) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(STOP);
+        }
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("쓰기 스레드가 {}ms 안에 끝나지 않았습니다. (남은 요청 {}건)", timeoutMillis, queue.size());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartpacker.repository;
+
+/**
+ * 쓰기 스레드(WriteCoordinator)의 누적 통계를 담는 불변 객체입니다.
+ */
+public class WriteMetrics {
+    public final long writes;              // 처리한 쓰기 작업 수 (실패 포함)
+    public final long batches;             // 커밋(또는 실패로 끝난) 트랜잭션 수
+    public final int maxBatchSize;         // 한 트랜잭션에 묶인 최대 쓰기 수
+    public final long failedWrites;        // 오류로 되돌린 쓰기 작업 수
+    public final long busyRetries;         // SQLITE_BUSY/LOCKED로 배치를 다시 시도한 횟수
+    public final long busyGiveUps;         // 재시도 예산을 다 써서 실패한 배치 수
+    public final long backoffMillis;       // 재시도 대기에 쓴 총 시간(ms)
+    public final long averageQueueMicros;  // 요청이 큐에서 기다린 평균 시간(us)
+    public final int queued;               // 현재 큐에 쌓인 쓰기 수
+
+    public WriteMetrics(long writes, long batches, int maxBatchSize, long failedWrites, long busyRetries,
+                        long busyGiveUps, long backoffMillis, long averageQueueMicros, int queued) {
+        this.writes = writes;
+        this.batches = batches;
+        this.maxBatchSize = maxBatchSize;
+        this.failedWrites = failedWrites;
+        this.busyRetries = busyRetries;
+        this.busyGiveUps = busyGiveUps;
+        this.backoffMillis = backoffMillis;
+        this.averageQueueMicros = averageQueueMicros;
+        this.queued = queued;
+    }
+
+    /**
+     * 트랜잭션 하나에 묶인 평균 쓰기 수 (쓰기가 없었으면 0)
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) writes / batches;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WriteMetrics{writes=%d, batches=%d (avg %.1f, max %d), failed=%d, busyRetries=%d, "
+                        + "busyGiveUps=%d, backoff=%dms, avgQueue=%dus, queued=%d}",
+                writes, batches, averageBatchSize(), maxBatchSize, failedWrites, busyRetries, busyGiveUps,
+                backoffMillis, averageQueueMicros, queued);
+    }
+}
@@ -0,0 +1,112 @@
+package com.smartpacker.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 모든 쓰기 작업이 공유하는 오래 유지되는 전용 쓰기 커넥션입니다.
+ *
+ * SQLite는 한 번에 하나의 쓰기만 허용하므로, 여러 커넥션이 쓰기 잠금을 두고 경쟁하며 재시도하는 대신
+ * 자바 쪽 잠금으로 쓰기를 한 줄로 세웁니다. 읽기는 커넥션 풀의 다른 커넥션에서 진행되므로
+ * (WAL 모드에서) 저장 중에도 추천 조회가 막히지 않습니다.
+ * 같은 스레드에서 중첩해서 대여할 수 있으며, 가장 바깥쪽 close()에서만 상태를 초기화하고 잠금을 풉니다.
+ */
+class WriterConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(WriterConnection.class);
+
+    /**
+     * 물리 커넥션을 새로 여는 방법입니다. (PRAGMA 적용 포함)
+     */
+    interface Opener {
+        Connection open() throws SQLException;
+    }
+
+    private final Opener opener;
+    private final long lockTimeoutMillis;
+    private final int statementCacheSize;
+    private final StatementCache.Stats statementStats;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private Connection physical;       // lock을 잡은 상태에서만 접근
+    private StatementCache statements; // physical에 딸린 statement 캐시
+
+    WriterConnection(Opener opener, long lockTimeoutMillis, int statementCacheSize, StatementCache.Stats statementStats) {
+        this.opener = opener;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.statementStats = statementStats;
+    }
+
+    /**
+     * 쓰기 커넥션을 대여합니다. 다른 스레드가 쓰는 중이면 반환될 때까지 기다립니다.
+     * @throws SQLException 대기 시간 초과 또는 커넥션 생성 실패 시
+     */
+    Connection acquire() throws SQLException {
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("쓰기 커넥션 대기 시간(" + lockTimeoutMillis + "ms)을 초과했습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("쓰기 커넥션 대기 중 인터럽트되었습니다.", e);
+        }
+        try {
+            if (physical == null || physical.isClosed()) {
+                physical = opener.open();
+                statements = new StatementCache(physical, statementCacheSize, statementStats);
+            }
+            return new ConnectionHandle(physical, statements, this::release).proxy();
+        } catch (SQLException | RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 스레드가 쓰기 커넥션을 대여 중인지 확인합니다. (중첩 쓰기 판별용)
+     */
+    boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    private void release(ConnectionHandle handle) {
+        try {
+            // 중첩 대여 중이면 바깥쪽 작업의 트랜잭션과 statement를 그대로 둡니다.
+            if (lock.getHoldCount() == 1 && !physical.isClosed()) {
+                statements.resetAll();
+                if (!physical.getAutoCommit()) {
+                    physical.rollback(); // 커밋되지 않은 작업은 다음 쓰기 작업에 넘기지 않습니다.
+                    physical.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("쓰기 커넥션 초기화 중 오류가 발생하여 커넥션을 다시 엽니다.", e);
+            statements.closeAll();
+            ConnectionPool.closeQuietly(physical);
+            physical = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 쓰기 커넥션을 닫습니다. (프로그램 종료 시)
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (physical != null) {
+                statements.closeAll();
+                ConnectionPool.closeQuietly(physical);
+                physical = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.smartpacker.util;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.packing.PackingList;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 로컬에서 실제 서비스 규모를 재현하기 위한 가짜(synthetic) 사용자, 옷장, 공유 패킹 리스트를 만듭니다.
+ *
+ * - 아이템 인기도는 Zipf 분포를 따릅니다. (소수의 아이템이 대부분의 리스트에 등장하는 긴 꼬리 분포)
+ * - 여행 목적/계절/기간은 실제와 비슷한 비율로 섞이고, 리스트 길이는 기간에 따라 달라집니다.
+ * - 모든 값은 (시드, 번호)만으로 결정됩니다. 같은 시드로 만든 n번째 리스트는 순서나 개수와 관계없이 항상 같으므로,
+ *   일부 구간만 다시 만들거나 여러 스레드로 나누어 만들어도 결과가 같습니다.
+ */
+public class SyntheticDataGenerator {
+
+    // --- 여행 프로필 분포 (값, 가중치) ---
+    private static final String[] PURPOSES = {"휴양", "업무", "레저", "도시여행", "가족여행"};
+    private static final double[] PURPOSE_WEIGHTS = {0.35, 0.25, 0.18, 0.15, 0.07};
+    private static final String[] SEASONS = {"여름", "겨울", "봄", "가을"};
+    private static final double[] SEASON_WEIGHTS = {0.32, 0.26, 0.21, 0.21};
+    // 여행 일수 1~14일 (2~4일이 가장 흔함)
+    private static final double[] DURATION_WEIGHTS = {0.06, 0.18, 0.22, 0.17, 0.11, 0.07, 0.08, 0.03, 0.02, 0.02, 0.01, 0.01, 0.005, 0.015};
+    private static final String[] DESTINATIONS = {"제주", "부산", "강릉", "서울", "여수", "경주", "도쿄", "오사카", "후쿠오카",
+            "방콕", "다낭", "타이베이", "싱가포르", "파리", "뉴욕", "지리산", "설악산", "한라산"};
+
+    // --- 아이템 카탈로그: 인기 순서대로 나열 (앞쪽일수록 Zipf 분포에서 자주 뽑힘) ---
+    private static final String[][] POPULAR_ITEMS = {
+        {"지갑", "필수품"}, {"스마트폰 충전기", "전자기기"}, {"여권", "필수품"}, {"보조 배터리", "전자기기"}, {"칫솔", "필수품"},
+        {"치약", "필수품"}, {"양말", "의류"}, {"속옷", "의류"}, {"상비약", "필수품"}, {"선크림", "화장품"},
+        {"반팔 티셔츠", "의류"}, {"세면도구", "필수품"}, {"이어폰", "전자기기"}, {"잠옷", "의류"}, {"우산", "잡화"},
+        {"선글라스", "잡화"}, {"항공권", "필수품"}, {"신분증", "필수품"}, {"물티슈", "잡화"}, {"카메라", "전자기기"},
+        {"노트북", "전자기기"}, {"노트북 충전기", "전자기기"}, {"멀티탭", "전자기기"}, {"책", "엔터테인먼트"}, {"모자", "의류"},
+        {"스킨로션", "화장품"}, {"슬리퍼", "의류"}, {"반바지", "의류"}, {"청바지", "의류"}, {"물통", "잡화"},
+        {"에코백", "잡화"}, {"수영복", "의류"}, {"가디건", "의류"}, {"후드티", "의류"}, {"운동화", "의류"},
+        {"여행용 어댑터", "전자기기"}, {"드라이기", "전자기기"}, {"립밤", "화장품"}, {"핸드크림", "화장품"}, {"간식", "식품"},
+        {"히트텍", "의류"}, {"스웨터", "의류"}, {"두꺼운 외투", "의류"}, {"목도리", "의류"}, {"장갑", "의류"},
+        {"명함", "업무"}, {"정장", "의류"}, {"서류 파일", "업무"}, {"볼펜", "업무"}, {"바람막이", "의류"},
+        {"등산화", "의류"}, {"등산복", "의류"}, {"방수 자켓", "의류"}, {"에너지바", "식품"}, {"헤드랜턴", "잡화"},
+        {"보드게임", "엔터테인먼트"}, {"태블릿", "전자기기"}, {"셀카봉", "전자기기"}, {"비치타월", "잡화"}, {"튜브", "엔터테인먼트"},
+        {"컵라면", "식품"}, {"커피 스틱", "식품"}, {"손난로", "잡화"}, {"마스크", "필수품"}, {"안대", "잡화"},
+        {"목베개", "잡화"}, {"지퍼백", "잡화"}, {"빨래망", "잡화"}, {"고데기", "전자기기"}, {"렌즈 세척액", "화장품"}
+    };
+    // 카탈로그의 긴 꼬리(드물게 챙기는 아이템) 이름을 만드는 조각들
+    private static final String[] TAIL_ADJECTIVES = {"휴대용", "접이식", "방수", "미니", "경량", "여행용", "캠핑용", "일회용", "보온", "무선",
+            "대용량", "소형", "투명", "압축", "다용도"};
+    private static final String[][] TAIL_NOUNS = {
+        {"파우치", "잡화"}, {"가방", "잡화"}, {"쿠션", "잡화"}, {"담요", "잡화"}, {"컵", "잡화"}, {"수건", "잡화"},
+        {"거울", "화장품"}, {"빗", "화장품"}, {"손전등", "잡화"}, {"선풍기", "전자기기"}, {"스피커", "전자기기"},
+        {"충전 케이블", "전자기기"}, {"보틀", "잡화"}, {"돗자리", "잡화"}, {"우비", "의류"}, {"조끼", "의류"},
+        {"텀블러", "잡화"}, {"도시락통", "식품"}, {"조미료 세트", "식품"}, {"카드게임", "엔터테인먼트"}
+    };
+
+    // 목적/계절별로 특히 자주 챙기는 아이템 (포함 확률 CORE_ITEM_PROBABILITY)
+    private static final Map<String, String[][]> CORE_ITEMS = new HashMap<>();
+    static {
+        CORE_ITEMS.put("여름", new String[][]{{"수영복", "의류"}, {"선크림", "화장품"}, {"선글라스", "잡화"}, {"반팔 티셔츠", "의류"}, {"반바지", "의류"}});
+        CORE_ITEMS.put("겨울", new String[][]{{"히트텍", "의류"}, {"두꺼운 외투", "의류"}, {"목도리", "의류"}, {"장갑", "의류"}, {"손난로", "잡화"}});
+        CORE_ITEMS.put("봄", new String[][]{{"가디건", "의류"}, {"바람막이", "의류"}, {"우산", "잡화"}});
+        CORE_ITEMS.put("가을", new String[][]{{"가디건", "의류"}, {"후드티", "의류"}, {"바람막이", "의류"}});
+        CORE_ITEMS.put("휴양", new String[][]{{"책", "엔터테인먼트"}, {"슬리퍼", "의류"}, {"비치타월", "잡화"}});
+        CORE_ITEMS.put("업무", new String[][]{{"노트북", "전자기기"}, {"노트북 충전기", "전자기기"}, {"명함", "업무"}, {"정장", "의류"}, {"서류 파일", "업무"}});
+        CORE_ITEMS.put("레저", new String[][]{{"등산화", "의류"}, {"등산복", "의류"}, {"물통", "잡화"}, {"에너지바", "식품"}, {"헤드랜턴", "잡화"}});
+        CORE_ITEMS.put("도시여행", new String[][]{{"카메라", "전자기기"}, {"보조 배터리", "전자기기"}, {"운동화", "의류"}, {"에코백", "잡화"}});
+        CORE_ITEMS.put("가족여행", new String[][]{{"상비약", "필수품"}, {"물티슈", "잡화"}, {"간식", "식품"}, {"보드게임", "엔터테인먼트"}});
+    }
+    private static final double CORE_ITEM_PROBABILITY = 0.7;
+
+    private static final double ZIPF_EXPONENT = 1.07;
+    private static final int HISTORY_DAYS = 365; // 리스트 생성일을 흩뿌릴 기간 (최근일수록 많음)
+
+    private final long seed;
+    private final int userCount;
+    private final LocalDate endDate;
+    private final String[] catalogNames;
+    private final String[] catalogCategories;
+    private final double[] zipfCdf;
+
+    /**
+     * @param seed 난수 시드 (같은 시드면 같은 데이터)
+     * @param userCount 만들 사용자 수 (리스트 작성자는 이 중에서 고름)
+     */
+    public SyntheticDataGenerator(long seed, int userCount) {
+        this(seed, userCount, AppConfig.GENERATOR_CATALOG_SIZE, LocalDate.now());
+    }
+
+    /**
+     * @param catalogSize 아이템 카탈로그 크기 (인기 아이템 + 긴 꼬리)
+     * @param endDate 가장 최근 리스트의 생성일 (이 날짜부터 과거로 흩뿌림)
+     */
+    public SyntheticDataGenerator(long seed, int userCount, int catalogSize, LocalDate endDate) {
+        this.seed = seed;
+        this.userCount = Math.max(1, userCount);
+        this.endDate = endDate;
+
+        Map<String, String> catalog = new LinkedHashMap<>();
+        for (String[] item : POPULAR_ITEMS) {
+            catalog.put(item[0], item[1]);
+        }
+        for (int i = 0; catalog.size() < catalogSize; i++) {
+            String[] noun = TAIL_NOUNS[i % TAIL_NOUNS.length];
+            int variant = i / TAIL_NOUNS.length;
+            String name = TAIL_ADJECTIVES[variant % TAIL_ADJECTIVES.length] + " " + noun[0];
+            if (variant >= TAIL_ADJECTIVES.length) {
+                name += " " + (variant / TAIL_ADJECTIVES.length + 1);
+            }
+            catalog.put(name, noun[1]);
+        }
+        this.catalogNames = catalog.keySet().toArray(new String[0]);
+        this.catalogCategories = catalog.values().toArray(new String[0]);
+
+        // 순위 k의 가중치 1 / k^s 를 누적한 분포표 (이진 탐색으로 샘플링)
+        this.zipfCdf = new double[catalogNames.length];
+        double sum = 0;
+        for (int rank = 1; rank <= zipfCdf.length; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            zipfCdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < zipfCdf.length; i++) {
+            zipfCdf[i] /= sum;
+        }
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    /**
+     * n번째(0부터) 사용자의 ID입니다. 기존 시딩 데이터와 같은 "user1", "user2", ... 형식입니다.
+     */
+    public String userId(int userIndex) {
+        return "user" + (userIndex + 1);
+    }
+
+    /**
+     * n번째 사용자의 '내 옷장' 아이템입니다. (인기 아이템 위주로 5~60개)
+     */
+    public List<Item> closet(int userIndex) {
+        SplittableRandom random = random(1, userIndex);
+        int size = 5 + (int) Math.min(55, -Math.log(1 - random.nextDouble()) * 12); // 지수 분포
+        Map<String, Item> items = new LinkedHashMap<>();
+        for (int attempt = 0; items.size() < size && attempt < size * 4; attempt++) {
+            int rank = sampleRank(random);
+            items.putIfAbsent(catalogNames[rank], ItemFactory.create(catalogNames[rank], catalogCategories[rank], 1 + random.nextInt(3)));
+        }
+        return new ArrayList<>(items.values());
+    }
+
+    /**
+     * n번째(0부터) 공유 패킹 리스트입니다. 생성일(createdAt)까지 채워지며 ID는 0입니다. (저장 시 부여)
+     */
+    public PackingList sharedList(long listIndex) {
+        SplittableRandom random = random(2, listIndex);
+        String purpose = PURPOSES[pick(PURPOSE_WEIGHTS, random)];
+        String season = SEASONS[pick(SEASON_WEIGHTS, random)];
+        int days = pick(DURATION_WEIGHTS, random) + 1;
+        String tags = purpose + "," + season + "," + days + "일";
+        String listName = DESTINATIONS[random.nextInt(DESTINATIONS.length)] + " " + season + " " + purpose;
+        String userId = userId(random.nextInt(userCount));
+
+        // 리스트 길이: 기간이 길수록 길고, 로그 정규 분포로 흩어짐 (3~120개)
+        double median = 6 + 1.3 * days;
+        int length = (int) Math.round(median * Math.exp(random.nextGaussian() * 0.35));
+        length = Math.max(3, Math.min(120, length));
+
+        Map<String, Item> items = new LinkedHashMap<>();
+        addCoreItems(items, CORE_ITEMS.get(season), days, random);
+        addCoreItems(items, CORE_ITEMS.get(purpose), days, random);
+        for (int attempt = 0; items.size() < length && attempt < length * 4; attempt++) {
+            int rank = sampleRank(random);
+            items.putIfAbsent(catalogNames[rank], createItem(catalogNames[rank], catalogCategories[rank], days, random));
+        }
+
+        // 최근일수록 리스트가 많도록 (서비스 성장) 생성일을 흩뿌립니다.
+        double u = random.nextDouble();
+        LocalDateTime createdAt = endDate.minusDays((long) (HISTORY_DAYS * u * u))
+                .atStartOfDay().plusSeconds(random.nextInt(24 * 60 * 60));
+
+        return new PackingList(0, userId, listName, tags, new ArrayList<>(items.values()), true, createdAt);
+    }
+
+    private void addCoreItems(Map<String, Item> items, String[][] coreItems, int days, SplittableRandom random) {
+        if (coreItems == null) {
+            return;
+        }
+        for (String[] core : coreItems) {
+            if (random.nextDouble() < CORE_ITEM_PROBABILITY) {
+                items.putIfAbsent(core[0], createItem(core[0], core[1], days, random));
+            }
+        }
+    }
+
+    // 의류/식품처럼 여행 일수에 비례하는 카테고리는 수량을 일수에 맞춰 정합니다.
+    private static Item createItem(String name, String category, int days, SplittableRandom random) {
+        int quantity = 1;
+        if (AppConfig.DURATION_SCALED_CATEGORIES.contains(category) && !"필수품".equals(category)) {
+            quantity = Math.max(1, (int) Math.round(days * (0.5 + random.nextDouble() * 0.5)));
+        } else if (random.nextDouble() < 0.05) {
+            quantity = 2;
+        }
+        return ItemFactory.create(name, category, quantity);
+    }
+
+    private int sampleRank(SplittableRandom random) {
+        int index = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        return Math.min(zipfCdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private static int pick(double[] weights, SplittableRandom random) {
+        double total = 0;
+        for (double weight : weights) total += weight;
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) return i;
+        }
+        return weights.length - 1;
+    }
+
+    // (시드, 종류, 번호)로 독립적인 난수 생성기를 만듭니다. (SplitMix64 방식으로 섞음)
+    private SplittableRandom random(int stream, long index) {
+        long z = seed + 0x9E3779B97F4A7C15L * (index * 4 + stream + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+}
@@ -0,0 +1,57 @@
+package com.smartpacker.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 여행 프로필 태그를 비교 가능한 형태로 정규화하는 유틸리티 클래스입니다.
+ * " 여름 ", "여름" 처럼 입력 방식만 다른 태그를 같은 태그로 취급하기 위해 사용합니다.
+ */
+public class TagNormalizer {
+
+    /**
+     * 태그 하나를 정규화합니다. (앞뒤/내부 공백 제거, 소문자 변환)
+     * @param tag 원본 태그
+     * @return 정규화된 태그. null이면 빈 문자열을 반환.
+     */
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return "";
+        }
+        return tag.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 쉼표로 구분된 태그 문자열(e.g., "휴양,여름,4일")을 정규화된 태그 목록으로 변환합니다.
+     * 빈 태그와 중복 태그는 제거됩니다.
+     * @param tags 쉼표로 구분된 태그 문자열
+     * @return 정규화된 태그 목록
+     */
+    public static List<String> split(String tags) {
+        if (tags == null || tags.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return normalizeAll(tags.split(","));
+    }
+
+    /**
+     * 태그 배열(e.g., 여행 프로필)을 정규화된 태그 목록으로 변환합니다.
+     * @param tags 태그 배열
+     * @return 정규화된 태그 목록 (입력 순서 유지, 중복/빈 값 제거)
+     */
+    public static List<String> normalizeAll(String[] tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String value = normalize(tag);
+                if (!value.isEmpty()) {
+                    normalized.add(value);
+                }
+            }
+        }
+        return new ArrayList<>(normalized);
+    }
+}
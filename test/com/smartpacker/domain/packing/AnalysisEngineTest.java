@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,7 +42,10 @@ class AnalysisEngineTest {
         // 나머지 메소드들은 이 테스트에서 사용하지 않으므로 비워둡니다.
         @Override public PackingList save(PackingList packingList) { return null; }
         @Override public void updateSharedStatus(long listId, boolean isShared) {}
+        @Override public Optional<PackingList> findById(long listId) { return Optional.empty(); }
         @Override public List<PackingList> findAllByUserId(String userId) { return null; }
+        @Override public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) { return null; }
+        @Override public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) { return null; }
         @Override public void seedSharedLists() {}
 
 		@Override
@@ -0,0 +1,95 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackingListTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final List<Item> items = List.of(ItemFactory.create("여권", "필수품", 1), ItemFactory.create("양말", "의류", 3));
+
+    // 디코딩 횟수를 세는 지연 로딩 리스트
+    private PackingList lazyList(AtomicInteger decodes, int itemCount) {
+        return new PackingList(1, "u1", "출장", "업무,겨울", () -> {
+            decodes.incrementAndGet();
+            return new ArrayList<>(items);
+        }, itemCount, true, CREATED_AT);
+    }
+
+    @Test
+    @DisplayName("지연 로딩 리스트는 getItems()를 여러 스레드에서 여러 번 불러도 한 번만 디코딩하고 같은 목록을 돌려준다")
+    void itemsAreDecodedOnce() throws Exception {
+        AtomicInteger decodes = new AtomicInteger();
+        PackingList list = lazyList(decodes, items.size());
+
+        assertEquals(2, list.getItemCount());
+        assertEquals(0, decodes.get(), "개수는 디코딩 없이 조회 시 함께 읽은 값을 사용");
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Item>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return list.getItems();
+                }));
+            }
+            start.countDown();
+            List<Item> first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<Item>> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertSame(list.getItems(), list.getItems());
+        assertEquals(1, decodes.get());
+    }
+
+    @Test
+    @DisplayName("지연 로딩 리스트는 같은 값으로 바로 만든 리스트와 필드, 아이템, 개수가 같다")
+    void lazyListMatchesEagerList() {
+        PackingList eager = new PackingList(1, "u1", "출장", "업무,겨울", items, true, CREATED_AT);
+        AtomicInteger decodes = new AtomicInteger();
+
+        for (int itemCount : new int[]{items.size(), PackingList.UNKNOWN_ITEM_COUNT}) {
+            PackingList lazy = lazyList(decodes, itemCount);
+            assertEquals(eager.getItemCount(), lazy.getItemCount(), "itemCount=" + itemCount);
+            assertEquals(describe(eager), describe(lazy), "itemCount=" + itemCount);
+        }
+
+        // 수정으로 아이템을 교체하면 디코딩하지 않은 원본과 개수는 버립니다.
+        PackingList edited = lazyList(decodes, items.size());
+        edited.setItems(List.of(ItemFactory.create("우산", "기타", 1)));
+        assertEquals(1, edited.getItemCount());
+        assertEquals("우산 (기타) - 1개", edited.getItems().get(0).toString());
+    }
+
+    // Item.equals는 이름만 비교하므로 타입/카테고리/수량까지 포함한 문자열로 비교합니다.
+    static String describe(PackingList list) {
+        StringBuilder sb = new StringBuilder()
+                .append(list.getId()).append('|').append(list.getUserId()).append('|').append(list.getListName()).append('|')
+                .append(list.getTags()).append('|').append(list.isShared()).append('|').append(list.getCreatedAt());
+        for (Item item : list.getItems()) {
+            sb.append('|').append(item.getClass().getSimpleName()).append(':').append(item);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.config.AppConfig;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.repository.PackingListRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateStoreTest {
+
+    // 공유 리스트만 돌려주는 가짜 Repository (forEachShared 기본 구현이 findAllShared를 순회)
+    private static class FakePackingListRepository implements PackingListRepository {
+        private final List<PackingList> shared = new ArrayList<>();
+
+        @Override public List<PackingList> findAllShared() { return shared; }
+
+        @Override public PackingList save(PackingList packingList) { return null; }
+        @Override public void updateSharedStatus(long listId, boolean isShared) {}
+        @Override public Optional<PackingList> findById(long listId) { return Optional.empty(); }
+        @Override public List<PackingList> findAllByUserId(String userId) { return null; }
+        @Override public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) { return null; }
+        @Override public List<PackingList> findSharedListsByTags(String[] tags) { return null; }
+        @Override public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) { return null; }
+        @Override public void seedSharedLists() {}
+        @Override public void deleteAllData() {}
+        @Override public void update(PackingList packingList) {}
+    }
+
+    private final FakePackingListRepository repository = new FakePackingListRepository();
+    private final TemplateStore store = new TemplateStore(repository);
+
+    private void share(int count, String tags, Item... items) {
+        for (int i = 0; i < count; i++) {
+            repository.shared.add(new PackingList("user" + i, "list", tags, Arrays.asList(items)));
+        }
+    }
+
+    private static Map<String, Integer> quantities(List<Item> items) {
+        Map<String, Integer> quantities = new HashMap<>();
+        items.forEach(item -> quantities.put(item.getName(), item.getQuantity()));
+        return quantities;
+    }
+
+    @Test
+    @DisplayName("프로필 리스트 중 최소 비율 이상이 챙긴 아이템만 템플릿에 들어간다")
+    void onlySupportedItemsAreIncluded() throws Exception {
+        share(2, "휴양,여름,3일", ItemFactory.create("선크림", "화장품", 1), ItemFactory.create("모자", "의류", 1), ItemFactory.create("우산", "기타", 1));
+        share(1, "휴양,여름,3일", ItemFactory.create("선크림", "화장품", 1), ItemFactory.create("모자", "의류", 1));
+        share(3, "휴양,여름,3일", ItemFactory.create("선크림", "화장품", 1));
+        store.refresh();
+
+        // 선크림 6/6, 모자 3/6(=기준 0.5), 우산 2/6
+        List<String> names = store.createItems(new String[]{"휴양", "여름", "3일"}).stream()
+                .map(Item::getName).sorted().collect(Collectors.toList());
+        assertEquals(Arrays.asList("모자", "선크림"), names);
+    }
+
+    @Test
+    @DisplayName("정확한 프로필이 없으면 목적 -> 계절 -> 필수품 순으로 대체한다")
+    void fallsBackFromPurposeToSeasonToEssentials() throws Exception {
+        share(AppConfig.TEMPLATE_MIN_LISTS, "휴양,여름,3일", ItemFactory.create("선크림", "화장품", 1));
+        share(AppConfig.TEMPLATE_MIN_LISTS, "업무,겨울,3일", ItemFactory.create("노트북", "전자기기", 1));
+        share(AppConfig.TEMPLATE_MIN_LISTS - 1, "캠핑,봄,3일", ItemFactory.create("텐트", "기타", 1)); // 리스트가 모자라 템플릿 없음
+        store.refresh();
+
+        // '휴양|겨울'은 없음: 목적(휴양)이 계절(겨울)보다 먼저
+        assertEquals(List.of("선크림"), names(store.createItems(new String[]{"휴양", "겨울", "3일"})));
+        assertEquals(List.of("노트북"), names(store.createItems(new String[]{"캠핑", "겨울", "3일"})));
+        assertEquals(AppConfig.ESSENTIAL_ITEMS, names(store.createItems(new String[]{"캠핑", "봄", "3일"})));
+    }
+
+    @Test
+    @DisplayName("일수 비례 카테고리의 여러 개 챙기는 아이템만 여행 일수에 맞춰 수량을 조절한다")
+    void quantitiesScaleWithDuration() throws Exception {
+        share(AppConfig.TEMPLATE_MIN_LISTS, "휴양,여름,3일",
+                ItemFactory.create("양말", "의류", 3),      // 하루 1켤레
+                ItemFactory.create("모자", "의류", 1),      // 보통 1개 -> 고정
+                ItemFactory.create("충전기", "전자기기", 2)); // 일수 비례 카테고리가 아님 -> 고정
+        store.refresh();
+
+        Map<String, Integer> week = quantities(store.createItems(new String[]{"휴양", "여름", "7일"}));
+        assertEquals(7, week.get("양말"));
+        assertEquals(1, week.get("모자"));
+        assertEquals(2, week.get("충전기"));
+        assertEquals(1, quantities(store.createItems(new String[]{"휴양", "여름", "1일"})).get("양말"));
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).collect(Collectors.toList());
+    }
+}
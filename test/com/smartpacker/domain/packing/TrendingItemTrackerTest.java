@@ -0,0 +1,88 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingItemTrackerTest {
+
+    // 링 10일, 최근 기간 2일 (오늘이 9일이면 8~9일이 최근, 0~7일이 기준선)
+    private final TrendingItemTracker tracker = new TrendingItemTracker(10, 2);
+
+    private static PackingList list(String... itemNames) {
+        List<Item> items = new ArrayList<>();
+        for (String name : itemNames) {
+            items.add(ItemFactory.create(name, "기타", 1));
+        }
+        return new PackingList("user", "list", "휴양", items);
+    }
+
+    private void share(int count, long epochDay, String... itemNames) {
+        for (int i = 0; i < count; i++) {
+            tracker.record(list(itemNames), epochDay);
+        }
+    }
+
+    private List<String> trending(long today) {
+        return tracker.findTrendingItems(new String[]{"휴양"}, today).stream()
+                .map(item -> item.itemName).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("최근 공유율이 기준선의 TREND_MIN_LIFT배 이상이고 최근 공유가 충분한 아이템만 급상승으로 본다")
+    void onlyItemsAboveLiftAndCountThresholdsAreTrending() {
+        share(2, 0, "선크림", "모자");    // 기준선 10개 중 선크림 2개, 모자 7개
+        share(5, 0, "모자");
+        share(3, 0);
+        share(2, 8, "선크림", "모자", "부채");
+        share(2, 9, "선크림", "모자");    // 최근 4개 중 선크림 4개, 모자 4개, 부채 2개
+
+        List<TrendingItemTracker.TrendingItem> items = tracker.findTrendingItems(new String[]{"휴양"}, 9);
+        // 선크림: (4+1)/(4+2) / (2+1)/(10+2) = 3.33배, 모자: (5/6) / (8/12) = 1.25배 (< 1.5), 부채: 최근 2개 (< 3)
+        assertEquals(1, items.size());
+        assertEquals("선크림", items.get(0).itemName);
+        assertEquals(4, items.get(0).recentCount);
+        assertEquals(10.0 / 3, items.get(0).lift, 1e-9);
+    }
+
+    @Test
+    @DisplayName("날짜가 넘어가면 최근 기록은 기준선으로, 링을 벗어난 기록은 집계에서 빠지고 빈 아이템은 지워진다")
+    void ringRolloverMovesAndEvictsCounts() {
+        share(4, 0, "선크림");
+        share(4, 8, "모자");
+        assertEquals(List.of("모자"), trending(9));
+
+        // 11일: 8일의 모자는 기준선이 되고, 0일의 선크림은 링(2~11일) 밖으로 밀려남
+        share(4, 11, "부채");
+        assertEquals(List.of("부채"), trending(11));
+        assertEquals(2, tracker.trackedItemCount(), "선크림은 링 안에 기록이 없으므로 지워져야 한다");
+
+        // 21일: 모든 기록이 링 밖
+        assertEquals(List.of(), trending(21));
+        assertEquals(0, tracker.trackedItemCount());
+    }
+
+    @Test
+    @DisplayName("공유 해제는 같은 날짜 버킷에서 기록을 되돌리고, 링 밖 날짜나 기록 없는 날짜는 무시한다")
+    void removeUndoesRecord() {
+        share(4, 0, "선크림");
+        share(4, 8, "모자");
+        PackingList unshared = list("모자", "부채");
+        tracker.record(unshared, 9);
+        tracker.remove(unshared, 9);
+        tracker.remove(unshared, 5);   // 기록 없는 날짜
+        tracker.remove(unshared, -20); // 링 밖 날짜
+
+        List<TrendingItemTracker.TrendingItem> items = tracker.findTrendingItems(new String[]{"휴양"}, 9);
+        assertEquals(1, items.size());
+        assertEquals(4, items.get(0).recentCount);
+        assertEquals(2, tracker.trackedItemCount(), "되돌린 뒤 남은 기록이 없는 부채는 지워져야 한다");
+    }
+}
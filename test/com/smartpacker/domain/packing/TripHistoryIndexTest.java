@@ -0,0 +1,119 @@
+package com.smartpacker.domain.packing;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.repository.PackingListRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripHistoryIndexTest {
+
+    // 사용자의 기존 리스트만 돌려주는 가짜 Repository (색인 최초 적재용)
+    private static class FakePackingListRepository implements PackingListRepository {
+        private final List<PackingList> lists = new ArrayList<>();
+        private int loads = 0;
+
+        @Override public List<PackingList> findAllByUserId(String userId) {
+            loads++;
+            return lists.stream().filter(list -> list.getUserId().equals(userId)).collect(Collectors.toList());
+        }
+
+        @Override public PackingList save(PackingList packingList) { return null; }
+        @Override public void updateSharedStatus(long listId, boolean isShared) {}
+        @Override public Optional<PackingList> findById(long listId) { return Optional.empty(); }
+        @Override public PackingListPage findPageByUserId(String userId, PackingListPage.Cursor after, int pageSize) { return null; }
+        @Override public List<PackingList> findSharedListsByTags(String[] tags) { return null; }
+        @Override public List<PackingList> findAllShared() { return null; }
+        @Override public PackingListPage findSharedPage(PackingListPage.Cursor after, int pageSize) { return null; }
+        @Override public void seedSharedLists() {}
+        @Override public void deleteAllData() {}
+        @Override public void update(PackingList packingList) {}
+    }
+
+    private final FakePackingListRepository repository = new FakePackingListRepository();
+    private final TripHistoryIndex index = new TripHistoryIndex(repository);
+
+    private static PackingList list(long id, String tags, String... itemNames) {
+        return list("u1", id, tags, itemNames);
+    }
+
+    private static PackingList list(String userId, long id, String tags, String... itemNames) {
+        List<Item> items = new ArrayList<>();
+        for (String name : itemNames) {
+            items.add(ItemFactory.create(name, "기타", 1));
+        }
+        return new PackingList(id, userId, "list" + id, tags, items, false, LocalDateTime.now());
+    }
+
+    private List<String> names(String... profile) throws Exception {
+        return index.findItemsFromSimilarTrips("u1", profile).stream()
+                .map(item -> item.itemName + ":" + item.packedCount + "/" + item.similarTrips)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("태그가 2개 이상 겹치는 여행만 비슷한 여행으로 보고, 횟수가 같으면 이름 순으로 정렬한다")
+    void onlyTripsMatchingEnoughTagsCountAndTiesAreSortedByName() throws Exception {
+        repository.lists.add(list(1, "휴양,여름,3일", "선크림", "모자", "양말"));
+        repository.lists.add(list(2, "휴양,여름,5일", "선크림", "양말", "가방"));
+        repository.lists.add(list(3, "휴양,겨울,3일", "패딩"));   // 휴양, 3일만 겹침 -> 비슷한 여행
+        repository.lists.add(list(4, "업무,여름,7일", "노트북"));  // 여름만 겹침 -> 제외
+
+        assertEquals(List.of("선크림:2/3", "양말:2/3", "가방:1/3", "모자:1/3", "패딩:1/3"), names("휴양", "여름", "3일"));
+        // 프로필 태그가 하나뿐이면 그 하나만 겹쳐도 비슷한 여행
+        assertEquals(List.of("노트북:1/1"), names("업무"));
+    }
+
+    @Test
+    @DisplayName("수정된 리스트를 record()하면 이전 태그/아이템은 빠지고 새 내용으로 교체된다")
+    void recordAfterUpdateReplacesPreviousEntry() throws Exception {
+        repository.lists.add(list(1, "휴양,여름", "선크림", "모자"));
+        assertEquals(List.of("모자:1/1", "선크림:1/1"), names("휴양", "여름"));
+
+        index.record(list(1, "업무,겨울", "노트북"));
+        assertEquals(List.of(), names("휴양", "여름"), "이전 태그로는 더 이상 찾지 않음");
+        assertEquals(List.of("노트북:1/1"), names("업무", "겨울"));
+
+        index.record(list(2, "업무,겨울", "패딩"));
+        assertEquals(List.of("노트북:1/2", "패딩:1/2"), names("업무", "겨울"));
+    }
+
+    @Test
+    @DisplayName("색인은 최대 사용자 수까지만 보관하고(LRU), 유효 시간이 지나면 DB에서 다시 적재한다")
+    void historiesAreBoundedAndExpire() throws Exception {
+        AtomicLong now = new AtomicLong();
+        TripHistoryIndex bounded = new TripHistoryIndex(repository, 2, 1_000, now::get);
+        String[] profile = {"휴양", "여름"};
+        for (String user : new String[]{"u1", "u2", "u3"}) {
+            repository.lists.add(list(user, user.hashCode(), "휴양,여름", "선크림"));
+        }
+
+        bounded.findItemsFromSimilarTrips("u1", profile);
+        bounded.findItemsFromSimilarTrips("u2", profile);
+        bounded.findItemsFromSimilarTrips("u1", profile); // 캐시 적중 -> u2가 가장 오래 쓰이지 않음
+        assertEquals(2, repository.loads);
+        bounded.findItemsFromSimilarTrips("u3", profile); // u2를 내보냄
+        assertEquals(2, bounded.cachedUserCount());
+        bounded.findItemsFromSimilarTrips("u1", profile);
+        assertEquals(3, repository.loads, "u1은 남아 있음");
+        bounded.findItemsFromSimilarTrips("u2", profile);
+        assertEquals(4, repository.loads, "내보낸 u2는 다시 적재");
+
+        // record()로 따라가지 않는 변경(e.g. 삭제)도 유효 시간이 지나면 반영됩니다.
+        repository.lists.removeIf(list -> list.getUserId().equals("u2"));
+        now.addAndGet(999_000_000L);
+        assertEquals(1, bounded.findItemsFromSimilarTrips("u2", profile).size(), "유효 시간 안에서는 색인 그대로");
+        now.addAndGet(1_000_000L);
+        assertEquals(List.of(), bounded.findItemsFromSimilarTrips("u2", profile));
+        assertEquals(5, repository.loads);
+    }
+}
@@ -0,0 +1,127 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.user.ClosetCategoryStat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingMyClosetRepositoryTest {
+
+    private static final long TTL_MS = 1_000;
+
+    private FakeMyClosetRepository db;
+    private long now; // 가짜 시계 (나노초)
+    private CachingMyClosetRepository cache;
+
+    // --- 가짜(Fake) Repository: 메모리 Map에 저장하고 조회 횟수를 셉니다. ---
+    private static class FakeMyClosetRepository implements MyClosetRepository {
+        final Map<String, Map<String, Item>> closets = new HashMap<>();
+        int findCount;
+
+        @Override
+        public Map<String, Item> findAllByUserId(String userId) {
+            findCount++;
+            return new LinkedHashMap<>(closets.getOrDefault(userId, new LinkedHashMap<>()));
+        }
+
+        @Override
+        public void save(String userId, Item item) {
+            closets.computeIfAbsent(userId, k -> new LinkedHashMap<>()).put(item.getName(), item);
+        }
+
+        @Override
+        public boolean delete(String userId, String itemName) {
+            return closets.getOrDefault(userId, new LinkedHashMap<>()).remove(itemName) != null;
+        }
+
+        @Override
+        public int upsertAll(String userId, List<Item> items, ConflictPolicy policy) {
+            items.forEach(item -> save(userId, item));
+            return items.size();
+        }
+
+        @Override public List<ClosetCategoryStat> getCategoryStatistics(String userId) { return new ArrayList<>(); }
+        @Override public void deleteAllData() { closets.clear(); }
+        @Override public List<Item> findItemsByNameLike(String userId, String keyword) { return null; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        db = new FakeMyClosetRepository();
+        db.save("user1", ItemFactory.create("양말", "의류", 3));
+        db.save("user2", ItemFactory.create("여권", "필수품", 1));
+        cache = new CachingMyClosetRepository(db, 2, TTL_MS, () -> now);
+    }
+
+    @Test
+    @DisplayName("같은 사용자를 다시 조회하면 DB를 거치지 않는다")
+    void repeatedReadIsServedFromCache() throws Exception {
+        cache.findAllByUserId("user1");
+        cache.findAllByUserId("user1");
+        assertEquals(1, db.findCount);
+    }
+
+    @Test
+    @DisplayName("해당 사용자의 save/delete/batchInsert 후에는 새 값을 읽는다")
+    void writesInvalidateOnlyThatUser() throws Exception {
+        cache.findAllByUserId("user1");
+        cache.findAllByUserId("user2");
+
+        cache.save("user1", ItemFactory.create("우산", "잡화", 1));
+        assertTrue(cache.findAllByUserId("user1").containsKey("우산"));
+        cache.delete("user1", "우산");
+        assertFalse(cache.findAllByUserId("user1").containsKey("우산"));
+        cache.batchInsert("user1", Arrays.asList(ItemFactory.create("모자", "의류", 1)));
+        assertTrue(cache.findAllByUserId("user1").containsKey("모자"));
+
+        int before = db.findCount;
+        cache.findAllByUserId("user2");
+        assertEquals(before, db.findCount, "다른 사용자의 캐시는 그대로여야 한다");
+    }
+
+    @Test
+    @DisplayName("TTL이 지나면 다시 DB에서 읽는다")
+    void expiredEntryIsReloaded() throws Exception {
+        cache.findAllByUserId("user1");
+        now += TTL_MS * 1_000_000L;
+        cache.findAllByUserId("user1");
+        assertEquals(2, db.findCount);
+    }
+
+    @Test
+    @DisplayName("최대 사용자 수를 넘으면 가장 오래 쓰이지 않은 사용자가 밀려난다")
+    void leastRecentlyUsedUserIsEvicted() throws Exception {
+        cache.findAllByUserId("user1");
+        cache.findAllByUserId("user2");
+        cache.findAllByUserId("user1"); // user2가 가장 오래됨
+        cache.findAllByUserId("user3"); // user2 밀려남
+
+        int before = db.findCount;
+        cache.findAllByUserId("user1");
+        assertEquals(before, db.findCount);
+        cache.findAllByUserId("user2");
+        assertEquals(before + 1, db.findCount);
+    }
+
+    @Test
+    @DisplayName("반환된 Map과 Item을 바꿔도 캐시된 값은 바뀌지 않는다")
+    void callersCannotCorruptCachedEntry() throws Exception {
+        Map<String, Item> closet = cache.findAllByUserId("user1");
+        assertThrows(UnsupportedOperationException.class, () -> closet.remove("양말"));
+        closet.get("양말").setQuantity(99);
+
+        assertEquals(3, cache.findAllByUserId("user1").get("양말").getQuantity());
+        assertEquals(1, db.findCount);
+    }
+}
@@ -0,0 +1,139 @@
+package com.smartpacker.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        // 최대 2개, 대여 대기 100ms, 유휴/누수 기준 200ms, 정리 주기 20ms
+        pool = new ConnectionPool("jdbc:sqlite:" + dir.resolve("pool.db"), 2, 100, 200, 200, 1, 20, 8,
+                new StatementCache.Stats());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    // 정리 작업은 백그라운드 주기로 돌므로, 조건이 맞을 때까지 최대 2초 기다립니다.
+    private PoolMetrics awaitMetrics(Predicate<PoolMetrics> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        PoolMetrics metrics = pool.getMetrics();
+        while (!condition.test(metrics) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            metrics = pool.getMetrics();
+        }
+        return metrics;
+    }
+
+    @Test
+    @DisplayName("최대 크기만큼 대여 중이면 대기 시간 후 실패하고, 반환된 커넥션은 새로 만들지 않고 재사용한다")
+    void borrowTimesOutWhenExhaustedAndReusesReturnedConnections() throws SQLException {
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+
+        SQLException e = assertThrows(SQLException.class, pool::borrow);
+        assertTrue(e.getMessage().contains("100ms"), e.getMessage());
+        assertEquals(1, pool.getMetrics().borrowTimeouts);
+        assertEquals(2, pool.getMetrics().active);
+
+        first.close();
+        first.close(); // 두 번 닫아도 한 번만 반환
+        try (Connection third = pool.borrow()) {
+            assertNotNull(third);
+            PoolMetrics metrics = pool.getMetrics();
+            assertEquals(2, metrics.created, "반환된 커넥션을 재사용해야 한다");
+            assertEquals(2, metrics.active);
+        }
+        second.close();
+        assertEquals(0, pool.getMetrics().active);
+        assertEquals(2, pool.getMetrics().idle);
+    }
+
+    @Test
+    @DisplayName("커밋하지 않고 반환한 작업은 되돌려서 다음 대여자에게 넘기지 않는다")
+    void uncommittedWorkIsRolledBackOnReturn() throws SQLException {
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE t (name TEXT)");
+        }
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.execute("INSERT INTO t (name) VALUES ('a')");
+        }
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            assertTrue(conn.getAutoCommit());
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("기준 시간 넘게 반환되지 않은 커넥션은 대여당 한 번만 누수로 보고한다")
+    void leakIsReportedOncePerBorrow() throws Exception {
+        Connection held = pool.borrow();
+        assertEquals(1, awaitMetrics(m -> m.leaksDetected >= 1).leaksDetected);
+        Thread.sleep(100); // 정리 주기가 몇 번 더 돌아도
+        assertEquals(1, pool.getMetrics().leaksDetected);
+
+        held.close();
+        try (Connection quick = pool.borrow()) {
+            assertNotNull(quick); // 곧바로 반환하는 대여는 누수가 아님
+        }
+        Thread.sleep(100);
+        assertEquals(1, pool.getMetrics().leaksDetected);
+    }
+
+    @Test
+    @DisplayName("누수 기준이 0이면 누수 감지를 끄고 오래 대여해도 보고하지 않는다")
+    void leakDetectionCanBeDisabled() throws Exception {
+        ConnectionPool unwatched = new ConnectionPool("jdbc:sqlite:" + dir.resolve("unwatched.db"), 1, 100, 200, 0, 1, 20, 8,
+                new StatementCache.Stats());
+        try (Connection held = unwatched.borrow()) {
+            assertNotNull(held);
+            Thread.sleep(100); // 정리 주기가 여러 번 돌아도
+            assertEquals(0, unwatched.getMetrics().leaksDetected);
+        } finally {
+            unwatched.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("유휴 시간이 지난 커넥션은 닫고, 다음 대여 때 새로 만든다")
+    void idleConnectionsAreEvicted() throws Exception {
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        first.close();
+        second.close();
+        assertEquals(2, pool.getMetrics().idle);
+
+        PoolMetrics metrics = awaitMetrics(m -> m.evicted == 2);
+        assertEquals(2, metrics.evicted);
+        assertEquals(0, metrics.idle);
+
+        try (Connection conn = pool.borrow()) {
+            assertFalse(conn.isClosed());
+            assertEquals(3, pool.getMetrics().created);
+        }
+    }
+}
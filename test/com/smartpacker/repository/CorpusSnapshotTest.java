@@ -0,0 +1,103 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.packing.PackingList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorpusSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static PackingList list(long id, String userId, String tags, LocalDateTime createdAt, Object[]... items) {
+        return new PackingList(id, userId, "list" + id, tags, Arrays.stream(items)
+                .map(item -> ItemFactory.create((String) item[0], (String) item[1], (Integer) item[2]))
+                .collect(Collectors.toList()), true, createdAt);
+    }
+
+    private Path writeSample() throws IOException {
+        CorpusSnapshotWriter writer = new CorpusSnapshotWriter();
+        writer.add(list(1, "u1", "휴양, 여름", LocalDateTime.of(2024, 7, 1, 9, 0),
+                new Object[]{"선크림", "화장품", 1}, new Object[]{"양말", "의류", 3}));
+        writer.add(list(2, "u2", "업무,겨울", LocalDateTime.of(2024, 12, 1, 9, 0),
+                new Object[]{"노트북", "전자기기", 1}, new Object[]{"양말", "의류", 2}));
+        writer.add(list(3, "u1", "휴양", null));
+        Path path = dir.resolve("corpus.snap");
+        assertEquals(3, writer.writeTo(path));
+        return path;
+    }
+
+    @Test
+    @DisplayName("기록한 리스트를 열 단위로 그대로 읽고, 태그별 아이템 포함 리스트 수를 집계한다")
+    void roundTripsListsAndCountsItemsPerTag() throws IOException {
+        CorpusSnapshot snapshot = CorpusSnapshot.open(writeSample());
+
+        assertEquals(3, snapshot.listCount());
+        assertEquals(LocalDateTime.of(2024, 7, 1, 9, 0).toEpochSecond(ZoneOffset.UTC), snapshot.createdAtEpochSecond(0));
+        assertEquals(0, snapshot.createdAtEpochSecond(2), "생성일이 없으면 0");
+        assertEquals("u1", snapshot.userName(snapshot.userIdOf(2)));
+        assertEquals(2, snapshot.userDictionarySize());
+
+        // 두 번째 리스트: 노트북(1), 양말(2) — 양말은 첫 리스트와 같은 사전 ID
+        assertEquals(2, snapshot.itemEnd(1) - snapshot.itemStart(1));
+        int laptop = snapshot.itemIdAt(snapshot.itemStart(1));
+        int socks = snapshot.itemIdAt(snapshot.itemStart(1) + 1);
+        assertEquals("노트북", snapshot.itemName(laptop));
+        assertEquals("전자기기", snapshot.itemCategory(laptop));
+        assertEquals("양말", snapshot.itemName(socks));
+        assertEquals("의류", snapshot.itemCategory(socks));
+        assertEquals(2, snapshot.quantityAt(snapshot.itemStart(1) + 1));
+        assertEquals(3, snapshot.itemDictionarySize());
+        assertEquals(0, snapshot.itemEnd(2) - snapshot.itemStart(2));
+
+        int summer = snapshot.findTagId("여름"); // 태그는 공백 제거/소문자로 정규화되어 저장
+        assertTrue(summer >= 0);
+        assertEquals(-1, snapshot.findTagId("봄"));
+        assertTrue(snapshot.hasTag(0, summer));
+        assertFalse(snapshot.hasTag(1, summer));
+
+        int[] all = snapshot.countListsPerItem(-1);
+        assertEquals(2, all[socks]);
+        assertEquals(1, all[laptop]);
+        int[] summerOnly = snapshot.countListsPerItem(summer);
+        assertEquals(1, summerOnly[socks]);
+        assertEquals(0, summerOnly[laptop]);
+    }
+
+    @Test
+    @DisplayName("magic이나 버전이 다른 파일은 열지 않는다")
+    void rejectsWrongMagicOrVersion() throws IOException {
+        Path path = writeSample();
+        overwriteInt(path, 0, 0x12345678);
+        IOException badMagic = assertThrows(IOException.class, () -> CorpusSnapshot.open(path));
+        assertEquals("스냅샷 파일 형식이 아닙니다.", badMagic.getMessage());
+
+        Path other = dir.resolve("other.snap");
+        Files.copy(writeSample(), other);
+        overwriteInt(other, 4, CorpusSnapshotWriter.VERSION + 1);
+        IOException badVersion = assertThrows(IOException.class, () -> CorpusSnapshot.open(other));
+        assertTrue(badVersion.getMessage().contains(String.valueOf(CorpusSnapshotWriter.VERSION + 1)), badVersion.getMessage());
+    }
+
+    private static void overwriteInt(Path path, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value), position);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.domain.packing.PackingListPage;
+import com.smartpacker.domain.packing.PopularItems;
+import com.smartpacker.domain.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private InMemoryStore store;
+    private InMemoryPackingListRepository lists;
+    private InMemoryMyClosetRepository closet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    private void open() throws Exception {
+        store = InMemoryStore.open(dir, false);
+        lists = new InMemoryPackingListRepository(store);
+        closet = new InMemoryMyClosetRepository(store);
+    }
+
+    // 프로세스가 죽은 것처럼: 스냅샷 없이 같은 디렉터리를 새로 엽니다. (이전 객체는 닫지 않음)
+    private void reopenAfterCrash() throws Exception {
+        open();
+    }
+
+    private PackingList saveShared(String userId, String tags, String... itemNames) throws Exception {
+        PackingList saved = lists.save(new PackingList(userId, userId + "의 여행", tags,
+                Arrays.stream(itemNames).map(name -> ItemFactory.create(name, "기타", 1)).collect(Collectors.toList())));
+        lists.updateSharedStatus(saved.getId(), true);
+        return saved;
+    }
+
+    @Test
+    @DisplayName("공유 리스트는 최신순 페이지와 태그 부분 문자열로 조회된다")
+    void sharedListsArePagedAndSearchable() throws Exception {
+        PackingList first = saveShared("user1", "휴양,여름,13일", "여권");
+        PackingList second = saveShared("user2", "업무,겨울,3일", "노트북");
+        lists.save(new PackingList("user1", "비공개", "휴양,여름,3일", List.of(ItemFactory.create("우산", "잡화", 1))));
+
+        PackingListPage page = lists.findSharedPage(null, 1);
+        assertEquals(second.getId(), page.getLists().get(0).getId(), "같은 시각이면 id가 큰 것이 먼저");
+        PackingListPage next = lists.findSharedPage(page.getNextCursor(), 1);
+        assertEquals(first.getId(), next.getLists().get(0).getId());
+        assertFalse(next.hasNext());
+
+        // LIKE '%3일%'처럼 "13일"도 찾고, 공유하지 않은 리스트는 제외
+        List<PackingList> found = lists.findSharedListsByTags(new String[]{"3일"});
+        assertEquals(2, found.size());
+        assertEquals(1, lists.findSharedListsByTags(new String[]{"여름", "없는태그"}).size());
+        assertEquals(2, lists.findAllByUserId("user1").size());
+    }
+
+    @Test
+    @DisplayName("태그별 인기 아이템은 같은 이름이 한 리스트에 여러 번 있어도 리스트 하나로 센다")
+    void topItemsCountEachListOnce() throws Exception {
+        saveShared("user1", "휴양,여름", "양말", "양말", "여권");
+        saveShared("user2", "휴양,겨울", "여권");
+
+        PopularItems popular = lists.findTopItemsByTags(new String[]{"휴양"}, 10);
+        assertEquals(2, popular.listCount);
+        List<String> counts = popular.items.stream().map(item -> item.itemName + "|" + item.count).collect(Collectors.toList());
+        assertEquals(List.of("여권|2", "양말|1"), counts);
+    }
+
+    @Test
+    @DisplayName("변경 로그만으로 다시 열어도 같은 상태가 된다")
+    void changeLogIsReplayedAfterCrash() throws Exception {
+        store.insertUser(new User("user1", "hash", "salt"));
+        closet.upsertAll("user1", List.of(ItemFactory.create("양말", "의류", 2), ItemFactory.create("여권", "필수품", 1)),
+                MyClosetRepository.ConflictPolicy.KEEP);
+        closet.upsertAll("user1", List.of(ItemFactory.create("양말", "의류", 3)), MyClosetRepository.ConflictPolicy.SUM);
+        closet.delete("user1", "여권");
+        PackingList saved = saveShared("user1", "휴양", "여권");
+        lists.update(new PackingList(saved.getId(), "user1", "", "업무", List.of(ItemFactory.create("노트북", "전자기기", 1)), true, null));
+
+        reopenAfterCrash();
+
+        assertTrue(new InMemoryUserRepository(store).findByUserId("user1").isPresent());
+        assertEquals(5, closet.findAllByUserId("user1").get("양말").getQuantity());
+        assertFalse(closet.findAllByUserId("user1").containsKey("여권"));
+        PackingList restored = lists.findById(saved.getId()).orElseThrow();
+        assertTrue(restored.isShared());
+        assertEquals("노트북", restored.getItems().get(0).getName());
+        assertEquals(1, lists.findSharedListsByTags(new String[]{"업무"}).size());
+        assertTrue(lists.findSharedListsByTags(new String[]{"휴양"}).isEmpty());
+    }
+
+    @Test
+    @DisplayName("스냅샷 뒤의 변경까지 복원하고, 끊긴 마지막 레코드는 버린다")
+    void snapshotPlusLogSurvivesTornTail() throws Exception {
+        saveShared("user1", "휴양", "여권");
+        store.snapshot();
+        PackingList afterSnapshot = saveShared("user2", "업무", "노트북");
+
+        Path log;
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> logs = files.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().collect(Collectors.toList());
+            assertEquals(1, logs.size(), "스냅샷 이전 세대 로그는 지워져야 한다");
+            log = logs.get(0);
+        }
+        Files.write(log, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND); // 쓰다 만 레코드
+
+        reopenAfterCrash();
+
+        assertEquals(2, lists.findAllShared().size());
+        assertTrue(lists.findById(afterSnapshot.getId()).isPresent());
+        PackingList next = lists.save(new PackingList("user3", "새 리스트", "", List.of()));
+        assertEquals(afterSnapshot.getId() + 1, next.getId());
+
+        reopenAfterCrash(); // 잘라낸 로그 뒤에 이어 쓴 레코드도 읽혀야 한다
+        assertTrue(lists.findById(next.getId()).isPresent());
+    }
+}
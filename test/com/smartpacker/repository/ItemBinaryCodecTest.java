@@ -0,0 +1,89 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemBinaryCodecTest {
+
+    private final ItemBinaryCodec codec = new ItemBinaryCodec();
+
+    @Test
+    @DisplayName("바이너리로 인코딩한 아이템은 이름/카테고리/수량/타입이 그대로 복원되어야 한다")
+    void roundTripKeepsEveryField() {
+        // Given: 사전에 있는 이름, 사전에 없는 이름(한글/이모지), 큰 수량이 섞인 아이템 목록
+        List<Item> items = Arrays.asList(
+                ItemFactory.create("여권", "필수품", 1),
+                ItemFactory.create("캠핑용 의자 🪑", "잡화", 2),
+                ItemFactory.create("반팔 티셔츠", "의류", 300),
+                ItemFactory.create("보드게임", "엔터테인먼트", Integer.MAX_VALUE));
+
+        // When
+        byte[] encoded = codec.encode(items);
+        List<Item> decoded = codec.decode(encoded);
+
+        // Then
+        assertEquals(items.size(), decoded.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i).getName(), decoded.get(i).getName());
+            assertEquals(items.get(i).getCategory(), decoded.get(i).getCategory());
+            assertEquals(items.get(i).getQuantity(), decoded.get(i).getQuantity());
+            assertEquals(items.get(i).getClass(), decoded.get(i).getClass(), "카테고리에 맞는 Item 하위 타입으로 복원되어야 합니다.");
+        }
+        assertEquals(items.size(), ItemBinaryCodec.count(encoded), "헤더만 읽은 아이템 수가 같아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("바이너리 형식은 같은 아이템의 JSON보다 훨씬 작아야 한다")
+    void binaryIsMuchSmallerThanJson() {
+        List<Item> items = Arrays.asList(
+                ItemFactory.create("여권", "필수품", 1),
+                ItemFactory.create("지갑", "필수품", 1),
+                ItemFactory.create("보조 배터리", "전자기기", 1),
+                ItemFactory.create("수영복", "의류", 2));
+
+        int binarySize = codec.encode(items).length;
+        int jsonSize = new ItemJsonCodec().toJson(items).getBytes(StandardCharsets.UTF_8).length;
+
+        assertTrue(binarySize * 5 < jsonSize, "binary=" + binarySize + "B, json=" + jsonSize + "B");
+    }
+
+    @Test
+    @DisplayName("빈 목록과 알 수 없는 버전을 올바르게 처리해야 한다")
+    void emptyListAndUnknownVersion() {
+        byte[] empty = codec.encode(Arrays.asList());
+        assertTrue(codec.decode(empty).isEmpty());
+
+        empty[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(empty));
+    }
+
+    @Test
+    @DisplayName("큰 아이템 값은 사전 기반 Deflate로 압축되고, 압축을 풀면 원래 값과 같아야 한다")
+    void largePayloadCompressesAndInflates() {
+        // Given: 옷장 가져오기처럼 사전에 없는 이름이 많은 긴 리스트
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(ItemFactory.create("가져온 아이템 " + i, i % 2 == 0 ? "의류" : "잡화", 1 + i % 3));
+        }
+        byte[] raw = codec.encode(items);
+
+        // When
+        byte[] compressed = ItemCompression.deflate(ItemCompression.DEFLATED_BINARY, items.size(), raw);
+
+        // Then
+        assertNotNull(compressed, "압축하면 작아져야 합니다.");
+        assertTrue(compressed.length * 3 < raw.length, "compressed=" + compressed.length + "B, raw=" + raw.length + "B");
+        assertTrue(ItemCompression.isCompressed(compressed));
+        assertEquals(items.size(), ItemCompression.count(compressed), "압축을 풀지 않고 아이템 수를 읽을 수 있어야 합니다.");
+        assertArrayEquals(raw, ItemCompression.inflate(compressed));
+    }
+}
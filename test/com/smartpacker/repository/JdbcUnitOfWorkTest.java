@@ -0,0 +1,91 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.exception.DatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcUnitOfWorkTest {
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    private WriterConnection writer;
+    private WriteCoordinator coordinator;
+    private UnitOfWork unitOfWork;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + dir.resolve("uow.db");
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("CREATE TABLE t (name TEXT PRIMARY KEY)");
+        }
+        writer = new WriterConnection(() -> DriverManager.getConnection(url), 5_000, 8, new StatementCache.Stats());
+        coordinator = new WriteCoordinator(writer, 16, 5, 50, 500);
+        unitOfWork = new JdbcUnitOfWork(coordinator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown(5_000);
+        writer.close();
+    }
+
+    // Repository 메서드처럼 쓰기를 쓰기 스레드에 넘기고 SQLException은 DatabaseException으로 감쌉니다.
+    private void insert(String name) throws DatabaseException {
+        try {
+            coordinator.submit(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO t (name) VALUES (?)")) {
+                    pstmt.setString(1, name);
+                    return pstmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new DatabaseException("저장 실패: " + name, e);
+        }
+    }
+
+    private int count() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @Test
+    @DisplayName("작업 안의 쓰기는 한 트랜잭션으로 커밋되고, 하나라도 실패하면 모두 되돌려진다")
+    void writesInsideUnitCommitOrRollBackTogether() throws Exception {
+        unitOfWork.execute(() -> {
+            insert("a");
+            insert("b");
+            return null;
+        });
+        assertEquals(2, count());
+        assertEquals(1, coordinator.getMetrics().writes, "안쪽 쓰기는 큐를 거치지 않고 작업의 트랜잭션에 합류");
+
+        DatabaseException e = assertThrows(DatabaseException.class, () -> unitOfWork.execute(() -> {
+            insert("c");
+            insert("a"); // 기본 키 중복
+            return null;
+        }));
+        assertEquals("저장 실패: a", e.getMessage(), "작업이 던진 예외를 그대로 전달");
+        assertEquals(2, count(), "먼저 넣은 c도 함께 되돌려짐");
+
+        insert("c"); // 실패한 작업 뒤에도 쓰기 스레드는 계속 동작
+        assertEquals(3, count());
+    }
+}
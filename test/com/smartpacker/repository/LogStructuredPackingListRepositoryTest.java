@@ -0,0 +1,137 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.packing.PackingList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogStructuredPackingListRepositoryTest {
+
+    private static final int SEGMENT_BYTES = 4 * 1024; // 리스트 수십 개면 세그먼트가 넘어가도록 작게
+
+    @TempDir
+    Path dir;
+
+    private LogStructuredPackingListRepository lists;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lists = LogStructuredPackingListRepository.open(dir, SEGMENT_BYTES, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lists.close();
+    }
+
+    // 프로세스가 죽은 것처럼: 닫지 않고 같은 디렉터리를 새로 엽니다.
+    private void reopenAfterCrash() throws Exception {
+        lists = LogStructuredPackingListRepository.open(dir, SEGMENT_BYTES, false);
+    }
+
+    private PackingList saveShared(String listName, String tags) throws Exception {
+        PackingList saved = lists.save(new PackingList("user1", listName, tags,
+                List.of(ItemFactory.create("여권", "필수품", 1), ItemFactory.create("양말", "의류", 3))));
+        lists.updateSharedStatus(saved.getId(), true);
+        return saved;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> LogSegment.idOf(p.getFileName().toString()) >= 0).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("수정은 새 버전으로 붙고, 압축 후 다시 열어도 최신 버전만 남는다")
+    void updatesSurviveCompactionAndReopen() throws Exception {
+        PackingList first = null;
+        for (int i = 0; i < 40; i++) {
+            PackingList saved = saveShared("여행 " + i, "휴양,여름");
+            if (first == null) {
+                first = saved;
+            }
+        }
+        // 첫 리스트를 여러 번 수정 → 앞 세그먼트들에는 죽은 버전만 남음
+        for (int i = 0; i < 10; i++) {
+            lists.update(new PackingList(first.getId(), "user1", "", "업무," + i,
+                    List.of(ItemFactory.create("노트북", "전자기기", i + 1)), true, null));
+        }
+        int before = segmentFiles().size();
+        assertTrue(before > 2, "작은 세그먼트가 여러 개로 넘어가야 한다");
+
+        int reclaimed = lists.compact(0.5);
+        assertTrue(reclaimed > 0);
+        assertTrue(segmentFiles().size() < before, "옮긴 레코드로 새 세그먼트가 생겨도 전체 파일 수는 줄어야 한다");
+        assertEquals(40, lists.findAllShared().size());
+
+        lists.close(); // 봉인된 세그먼트는 푸터, 마지막 세그먼트는 스캔으로 복원
+        reopenAfterCrash();
+
+        PackingList restored = lists.findById(first.getId()).orElseThrow();
+        assertEquals("업무,9", restored.getTags());
+        assertEquals(10, restored.getItems().get(0).getQuantity());
+        assertEquals("여행 0", restored.getListName());
+        assertEquals(39, lists.findSharedListsByTags(new String[]{"여름"}).size(), "첫 리스트는 태그가 바뀜");
+        assertEquals(40, lists.findAllByUserId("user1").size());
+        PackingList next = lists.save(new PackingList("user2", "새 리스트", "", List.of()));
+        assertEquals(41, next.getId(), "리스트 ID는 복원한 가장 큰 ID 다음부터");
+    }
+
+    @Test
+    @DisplayName("쓰던 세그먼트의 끊긴 마지막 레코드는 버리고 그 자리부터 이어 쓴다")
+    void tornTailIsDiscarded() throws Exception {
+        PackingList kept = saveShared("남을 리스트", "휴양");
+        PackingList torn = lists.save(new PackingList("user1", "끊길리스트", "업무", List.of()));
+
+        // 마지막 레코드의 바이트 하나를 망가뜨려 CRC가 맞지 않게 함 (쓰다 만 레코드)
+        Path active = segmentFiles().get(0);
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(active));
+        byte[] marker = "끊길리스트".getBytes(StandardCharsets.UTF_8);
+        int at = indexOf(file.array(), marker);
+        assertTrue(at > 0);
+        try (FileChannel channel = FileChannel.open(active, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (marker[0] ^ 0xFF)}), at);
+        }
+
+        reopenAfterCrash();
+
+        assertTrue(lists.findById(kept.getId()).orElseThrow().isShared());
+        assertFalse(lists.findById(torn.getId()).isPresent());
+        PackingList next = lists.save(new PackingList("user1", "다음 리스트", "", List.of()));
+        assertEquals(torn.getId(), next.getId());
+
+        reopenAfterCrash(); // 버린 자리에 이어 쓴 레코드도 읽혀야 한다
+        assertEquals("다음 리스트", lists.findById(next.getId()).orElseThrow().getListName());
+        assertEquals(2, lists.findAllByUserId("user1").size());
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
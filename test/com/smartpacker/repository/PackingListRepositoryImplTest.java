@@ -0,0 +1,156 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.config.ItemStorageFormat;
+import com.smartpacker.domain.item.Item;
+import com.smartpacker.domain.item.ItemFactory;
+import com.smartpacker.domain.packing.PackingList;
+import com.smartpacker.exception.DatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackingListRepositoryImplTest {
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    private ConnectionPool pool;
+    private PackingListRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() throws SQLException, DatabaseException {
+        url = "jdbc:sqlite:" + dir.resolve("lists.db");
+        new UserRepositoryImpl() {
+            @Override
+            protected Connection getWriteConnection() throws SQLException {
+                return DriverManager.getConnection(url);
+            }
+        }.setupDatabase();
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO packing_lists (id, user_id, list_name, tags, items_json, is_shared, created_at) VALUES "
+                    + "(1, 'u1', 'a', '휴양', '[]', 1, '2024-01-01 00:00:00'), (2, 'u1', 'b', '업무', '[]', 1, '2024-01-02 00:00:00'), "
+                    + "(3, 'u2', 'c', '캠핑', '[]', 1, '2024-01-03 00:00:00'), (4, 'u2', 'd', '캠핑', '[]', 0, '2024-01-04 00:00:00')");
+        }
+
+        // 최대 2개, 대여 대기 100ms (커넥션이 반환되지 않으면 이후 조회가 대기 시간 초과로 실패)
+        pool = new ConnectionPool(url, 2, 100, 60_000, 60_000, 1, 60_000, 8, new StatementCache.Stats());
+        repository = new PackingListRepositoryImpl(ItemStorageFormat.JSON) {
+            @Override
+            protected Connection getConnection() throws SQLException {
+                return pool.borrow();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("streamShared는 끝까지 읽지 않아도 Stream을 닫으면 커넥션을 풀로 반환한다")
+    void closingStreamReturnsConnection() throws DatabaseException {
+        try (Stream<PackingList> shared = repository.streamShared()) {
+            assertEquals(1, pool.getMetrics().active, "Stream이 열려 있는 동안 커넥션 하나를 점유");
+            assertEquals("c", shared.findFirst().map(PackingList::getListName).orElse(null));
+        }
+        assertEquals(0, pool.getMetrics().active);
+
+        try (Stream<PackingList> shared = repository.streamShared()) {
+            assertEquals(List.of("c", "b", "a"), shared.map(PackingList::getListName).collect(Collectors.toList()));
+        }
+        assertEquals(0, pool.getMetrics().active);
+    }
+
+    @Test
+    @DisplayName("순회 중 예외가 나도 streamShared/forEachShared는 커넥션을 풀로 반환한다")
+    void exceptionDuringIterationReturnsConnection() throws DatabaseException {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> {
+            try (Stream<PackingList> shared = repository.streamShared()) {
+                shared.forEach(list -> {
+                    throw new IllegalStateException("중단: " + list.getListName());
+                });
+            }
+        });
+        assertEquals("중단: c", e.getMessage());
+        assertEquals(0, pool.getMetrics().active);
+
+        List<String> seen = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> repository.forEachShared(list -> {
+            seen.add(list.getListName());
+            if (seen.size() == 2) {
+                throw new IllegalStateException("중단");
+            }
+        }));
+        assertEquals(List.of("c", "b"), seen);
+        assertEquals(0, pool.getMetrics().active);
+
+        // 풀 크기(2)보다 많이 다시 조회해도 대여 대기 시간 초과가 없어야 합니다.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(3, repository.findAllShared().size());
+        }
+        assertEquals(0, pool.getMetrics().borrowTimeouts);
+    }
+
+    @Test
+    @DisplayName("조회한 리스트는 아이템을 나중에 디코딩해도 저장 형식(JSON/바이너리, 압축 여부)과 관계없이 원래 아이템과 같다")
+    void lazilyDecodedItemsMatchSavedItems() throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            items.add(ItemFactory.create(i % 2 == 0 ? "양말 " + i : "충전기 " + i, i % 2 == 0 ? "의류" : "전자기기", i % 5 + 1));
+        }
+
+        long id = 10;
+        for (ItemStorageFormat format : ItemStorageFormat.values()) {
+            for (int compressionThreshold : new int[]{0, 1}) { // 0이면 압축하지 않고, 1이면 항상 압축
+                PackingList eager = new PackingList(id, "u1", "장기 출장", "업무,겨울", items, true, LocalDateTime.of(2024, 2, 1, 9, 0));
+                try (Connection conn = DriverManager.getConnection(url);
+                     PreparedStatement pstmt = conn.prepareStatement("INSERT INTO packing_lists "
+                             + "(id, user_id, list_name, tags, items_json, items_blob, is_shared, created_at) VALUES (?, ?, ?, ?, ?, ?, 1, ?)")) {
+                    pstmt.setLong(1, id);
+                    pstmt.setString(2, eager.getUserId());
+                    pstmt.setString(3, eager.getListName());
+                    pstmt.setString(4, eager.getTags());
+                    new ItemColumns(format, compressionThreshold).bind(pstmt, 5, 6, items);
+                    pstmt.setString(7, "2024-02-01 09:00:00");
+                    pstmt.executeUpdate();
+                }
+
+                String label = format + ", 압축 기준 " + compressionThreshold;
+                PackingList lazy = repository.findById(id).orElseThrow();
+                assertEquals(items.size(), lazy.getItemCount(), label);
+                assertEquals(describe(eager), describe(lazy), label);
+                id++;
+            }
+        }
+        assertEquals(0, pool.getMetrics().active);
+    }
+
+    // Item.equals는 이름만 비교하므로 타입/카테고리/수량까지 포함한 문자열로 비교합니다.
+    private static String describe(PackingList list) {
+        StringBuilder sb = new StringBuilder()
+                .append(list.getId()).append('|').append(list.getUserId()).append('|').append(list.getListName()).append('|')
+                .append(list.getTags()).append('|').append(list.isShared()).append('|').append(list.getCreatedAt());
+        for (Item item : list.getItems()) {
+            sb.append('|').append(item.getClass().getSimpleName()).append(':').append(item);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,309 @@
+package com.smartpacker.repository;
+
+import com.smartpacker.exception.DatabaseException;
+import com.smartpacker.util.TagNormalizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 모든 Repository 쿼리의 EXPLAIN QUERY PLAN을 확인하여, 인덱스 없이 테이블 전체를 훑는(full scan) 쿼리가
+ * 생기면 실패하는 회귀 테스트입니다. 실제 스키마(setupDatabase + 스키마 버전)를 임시 DB 파일에 만들어 검사합니다.
+ */
+class QueryPlanTest {
+
+    private Path dbFile;
+    private String url;
+
+    /**
+     * 쓰기 커넥션을 임시 DB 파일로 바꾼 UserRepositoryImpl (setupDatabase 실행용)
+     */
+    private class TempFileUserRepositoryImpl extends UserRepositoryImpl {
+        @Override
+        protected Connection getWriteConnection() throws SQLException {
+            return DriverManager.getConnection(url);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException, DatabaseException {
+        dbFile = Files.createTempFile("smart_packer_plan", ".db");
+        url = "jdbc:sqlite:" + dbFile.toAbsolutePath();
+        new TempFileUserRepositoryImpl().setupDatabase();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    // 검사 대상 쿼리 목록. 조건 없는 전체 삭제(deleteAllData)는 의도된 전체 작업이므로 제외합니다.
+    private static Map<String, String> repositoryQueries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.save", UserRepositoryImpl.SAVE_SQL);
+        queries.put("UserRepository.findByUserId", UserRepositoryImpl.FIND_BY_USER_ID_SQL);
+
+        queries.put("MyClosetRepository.save", MyClosetRepositoryImpl.SAVE_SQL);
+        queries.put("MyClosetRepository.findAllByUserId", MyClosetRepositoryImpl.FIND_ALL_BY_USER_SQL);
+        queries.put("MyClosetRepository.delete", MyClosetRepositoryImpl.DELETE_SQL);
+        queries.put("MyClosetRepository.getCategoryStatistics", MyClosetRepositoryImpl.CATEGORY_STATISTICS_SQL);
+        for (MyClosetRepository.ConflictPolicy policy : MyClosetRepository.ConflictPolicy.values()) {
+            queries.put("MyClosetRepository.upsertAll(" + policy + ")", MyClosetRepositoryImpl.upsertSql(policy));
+        }
+        queries.put("MyClosetRepository.findItemsByNameLike(match)", MyClosetRepositoryImpl.FIND_BY_NAME_MATCH_SQL);
+        queries.put("MyClosetRepository.findItemsByNameLike(like)", MyClosetRepositoryImpl.FIND_BY_NAME_LIKE_SQL);
+        queries.put("MyClosetRepository.findItemsByNameLike(count)", MyClosetRepositoryImpl.COUNT_UP_TO_SQL);
+
+        queries.put("PackingListRepository.save", PackingListRepositoryImpl.SAVE_SQL);
+        queries.put("PackingListRepository.updateSharedStatus", PackingListRepositoryImpl.UPDATE_SHARED_SQL);
+        queries.put("PackingListRepository.findById", PackingListRepositoryImpl.FIND_BY_ID_SQL);
+        queries.put("PackingListRepository.findAllByUserId", PackingListRepositoryImpl.FIND_ALL_BY_USER_SQL);
+        queries.put("PackingListRepository.findAllShared", PackingListRepositoryImpl.FIND_ALL_SHARED_SQL);
+        queries.put("PackingListRepository.findPageByUserId(first)", PackingListRepositoryImpl.FIND_PAGE_BY_USER_SQL);
+        queries.put("PackingListRepository.findPageByUserId(after)", PackingListRepositoryImpl.FIND_PAGE_BY_USER_AFTER_SQL);
+        queries.put("PackingListRepository.findSharedPage(first)", PackingListRepositoryImpl.FIND_SHARED_PAGE_SQL);
+        queries.put("PackingListRepository.findSharedPage(after)", PackingListRepositoryImpl.FIND_SHARED_PAGE_AFTER_SQL);
+        queries.put("PackingListRepository.seedSharedLists(count)", PackingListRepositoryImpl.COUNT_SHARED_SQL);
+        queries.put("PackingListRepository.update", PackingListRepositoryImpl.UPDATE_SQL);
+        for (int arity = 1; arity <= 8; arity *= 2) {
+            queries.put("PackingListRepository.findSharedListsByTags(" + arity + ")",
+                    PackingListRepositoryImpl.tagQuerySql(arity));
+            queries.put("PackingListRepository.findTopItemsByTags(lists, " + arity + ")",
+                    PackingListRepositoryImpl.tagListCountSql(arity));
+            queries.put("PackingListRepository.findTopItemsByTags(items, " + arity + ")",
+                    PackingListRepositoryImpl.tagTopItemsSql(arity));
+        }
+
+        queries.put("PackingListItemsTable.delete", PackingListItemsTable.DELETE_ITEMS_SQL);
+        queries.put("PackingListItemsTable.insertItemName", PackingListItemsTable.INSERT_ITEM_NAME_SQL);
+        queries.put("PackingListItemsTable.findItemId", PackingListItemsTable.FIND_ITEM_ID_SQL);
+        queries.put("PackingListItemsTable.insertListItem", PackingListItemsTable.INSERT_LIST_ITEM_SQL);
+        queries.put("PackingListItemsMigration.findProgress", PackingListItemsMigration.FIND_PROGRESS_SQL);
+        queries.put("PackingListItemsMigration.saveProgress", PackingListItemsMigration.SAVE_PROGRESS_SQL);
+        queries.put("PackingListItemsMigration.findBatch", PackingListItemsMigration.FIND_BATCH_SQL);
+        queries.put("ItemStorageMigration.findJsonBatch", ItemStorageMigration.FIND_JSON_BATCH_SQL);
+        queries.put("ItemStorageMigration.findBinaryBatch", ItemStorageMigration.FIND_BINARY_BATCH_SQL);
+        queries.put("ItemStorageMigration.updateItems", ItemStorageMigration.UPDATE_ITEMS_SQL);
+        queries.put("SyntheticDataLoader.insertUser", SyntheticDataLoader.INSERT_USER_SQL);
+        queries.put("SyntheticDataLoader.maxListId", SyntheticDataLoader.MAX_LIST_ID_SQL);
+        queries.put("SyntheticDataLoader.insertList", SyntheticDataLoader.INSERT_LIST_SQL);
+        return queries;
+    }
+
+    @Test
+    @DisplayName("모든 Repository 쿼리는 인덱스를 사용해야 한다 (full scan 금지)")
+    void noRepositoryQueryFallsBackToFullScan() throws SQLException {
+        List<String> failures = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(url)) {
+            for (Map.Entry<String, String> query : repositoryQueries().entrySet()) {
+                for (String detail : explain(conn, query.getValue())) {
+                    if (isFullScan(detail)) {
+                        failures.add(query.getKey() + " -> " + detail);
+                    }
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "full scan 쿼리 발견:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    @DisplayName("공유 리스트 조회는 부분 인덱스로 정렬 없이 처리되어야 한다")
+    void findAllSharedUsesPartialIndexWithoutSort() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url)) {
+            List<String> plan = explain(conn, PackingListRepositoryImpl.FIND_ALL_SHARED_SQL);
+            assertTrue(plan.stream().anyMatch(d -> d.contains("idx_packing_lists_shared_created")), plan.toString());
+            assertTrue(plan.stream().noneMatch(d -> d.contains("TEMP B-TREE")), plan.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("키셋 페이지 조회는 인덱스 범위 검색으로 정렬 없이 처리되어야 한다")
+    void keysetPagesSeekWithoutSort() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url)) {
+            for (String sql : new String[]{PackingListRepositoryImpl.FIND_PAGE_BY_USER_AFTER_SQL,
+                                            PackingListRepositoryImpl.FIND_SHARED_PAGE_AFTER_SQL}) {
+                List<String> plan = explain(conn, sql);
+                assertTrue(plan.stream().anyMatch(d -> d.contains("<")), "커서 조건이 인덱스 범위로 쓰이지 않음: " + plan);
+                assertTrue(plan.stream().noneMatch(d -> d.contains("TEMP B-TREE")), plan.toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("옷장 FTS 색인은 저장/수정/삭제와 VACUUM 뒤에도 옷장과 일치하고, 그 사용자의 아이템만 찾아야 한다")
+    void closetSearchIndexFollowsClosetWrites() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO users (user_id, password_hash, password_salt) VALUES ('u1', 'h', 's'), ('u2', 'h', 's')");
+            String[][] rows = {{"u1", "반팔 티셔츠", "2"}, {"u1", "긴팔 티셔츠", "1"}, {"u1", "반팔 티셔츠", "3"}, {"u2", "흰 티셔츠", "1"}};
+            for (String[] row : rows) {
+                try (PreparedStatement save = conn.prepareStatement(MyClosetRepositoryImpl.SAVE_SQL)) {
+                    save.setString(1, row[0]);
+                    save.setString(2, row[1]);
+                    save.setString(3, "의류");
+                    save.setInt(4, Integer.parseInt(row[2]));
+                    save.executeUpdate();
+                }
+            }
+            stmt.execute("UPDATE my_closet SET item_name = '무지 티셔츠' WHERE item_name = '긴팔 티셔츠'");
+            stmt.execute("DELETE FROM my_closet WHERE item_name = '반팔 티셔츠'");
+            stmt.execute("VACUUM"); // 명시적 id는 VACUUM이 다시 매기지 않음
+
+            // external content 색인이 옷장 내용과 어긋나면 integrity-check가 SQLITE_CORRUPT_VTAB으로 실패합니다.
+            stmt.execute("INSERT INTO my_closet_fts (my_closet_fts, rank) VALUES ('integrity-check', 1)");
+            try (PreparedStatement find = conn.prepareStatement(MyClosetRepositoryImpl.FIND_BY_NAME_MATCH_SQL)) {
+                find.setString(1, "\"티셔츠\"");
+                find.setString(2, "u1");
+                find.setInt(3, 10);
+                assertEquals(List.of("무지 티셔츠|의류|1"), rows(find), "u2의 '흰 티셔츠'와 지워진 이름은 나오면 안 됨");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("옷장 카테고리 집계는 저장/수량 합산/카테고리 변경/삭제를 트리거로 따라가야 한다")
+    void closetCategoryCountsFollowClosetWrites() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO users (user_id, password_hash, password_salt) VALUES ('u1', 'h', 's'), ('u2', 'h', 's')");
+            try (PreparedStatement save = conn.prepareStatement(MyClosetRepositoryImpl.SAVE_SQL);
+                 PreparedStatement sum = conn.prepareStatement(MyClosetRepositoryImpl.upsertSql(MyClosetRepository.ConflictPolicy.SUM))) {
+                Object[][] rows = {{save, "u1", "양말", "의류", 3}, {save, "u1", "반바지", "의류", 1}, {save, "u1", "여권", "필수품", 1},
+                                   {sum, "u1", "양말", "의류", 2}, {save, "u1", "반바지", "여름옷", 2}, {save, "u2", "충전기", "전자기기", 1}};
+                for (Object[] row : rows) {
+                    PreparedStatement pstmt = (PreparedStatement) row[0];
+                    pstmt.setString(1, (String) row[1]);
+                    pstmt.setString(2, (String) row[2]);
+                    pstmt.setString(3, (String) row[3]);
+                    pstmt.setInt(4, (Integer) row[4]);
+                    pstmt.executeUpdate();
+                }
+            }
+            stmt.execute("DELETE FROM my_closet WHERE user_id = 'u1' AND item_name = '여권'");
+            stmt.execute("DELETE FROM my_closet WHERE user_id = 'u2'");
+
+            assertEquals(List.of("u1|여름옷|1|2", "u1|의류|1|5"),
+                    rows(stmt, "SELECT user_id, category, item_count, quantity_sum FROM closet_category_counts ORDER BY 1, 2"));
+            // 트리거로 유지한 집계가 옷장을 처음부터 다시 집계한 결과와 같아야 합니다.
+            assertEquals(rows(stmt, "SELECT user_id, category, COUNT(*), SUM(quantity) FROM my_closet GROUP BY 1, 2 ORDER BY 1, 2"),
+                    rows(stmt, "SELECT user_id, category, item_count, quantity_sum FROM closet_category_counts ORDER BY 1, 2"));
+        }
+    }
+
+    @Test
+    @DisplayName("태그별 아이템 집계는 공유/태그 변경/아이템 교체/삭제를 트리거로 따라가야 한다")
+    void tagCountsFollowSharedListWrites() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO users (user_id, password_hash, password_salt) VALUES ('u1', 'h', 's')");
+            stmt.execute("INSERT INTO items (id, name) VALUES (1, '여권'), (2, '양말'), (3, '노트북')");
+            // 리스트를 먼저 넣고 아이템을 나중에 넣는 저장 순서와, 공유 상태로 바로 넣는 생성기 순서를 모두 거칩니다.
+            stmt.execute("INSERT INTO packing_lists (id, user_id, list_name, tags, items_json) VALUES "
+                    + "(1, 'u1', 'a', '업무,여름', '[]'), (2, 'u1', 'b', '휴양,여름', '[]'), (3, 'u1', 'c', 'Beach ,\"따옴표\", 여름,여름', '[]')");
+            stmt.execute("INSERT INTO packing_list_items (list_id, item_id, category, quantity) VALUES "
+                    + "(1, 1, '필수품', 1), (1, 2, '의류', 2), (2, 1, '필수품', 1), (3, 2, '의류', 1)");
+            stmt.execute("UPDATE packing_lists SET is_shared = 1 WHERE id IN (1, 2)");
+            stmt.execute("INSERT INTO packing_lists (id, user_id, list_name, tags, items_json, is_shared) VALUES (4, 'u1', 'd', '업무', '[]', 1)");
+            stmt.execute("INSERT INTO packing_list_items (list_id, item_id, category, quantity) VALUES (4, 3, '전자기기', 1)");
+            stmt.execute("UPDATE packing_lists SET is_shared = 1 WHERE id = 3");
+            stmt.execute("UPDATE packing_lists SET tags = '업무,겨울' WHERE id = 1");                 // 태그 변경
+            stmt.execute("UPDATE packing_lists SET tags = tags WHERE id = 2");                       // 값이 같은 UPDATE
+            stmt.execute("DELETE FROM packing_list_items WHERE list_id = 1");                        // 아이템 교체
+            stmt.execute("INSERT INTO packing_list_items (list_id, item_id, category, quantity) VALUES (1, 3, '전자기기', 1)");
+            stmt.execute("UPDATE packing_lists SET is_shared = 0 WHERE id = 2");                     // 공유 해제
+            stmt.execute("DELETE FROM packing_lists WHERE id = 4");                                  // 리스트 먼저 삭제
+            stmt.execute("DELETE FROM packing_list_items WHERE list_id = 4");
+
+            // 트리거로 유지한 집계가 기본 테이블을 처음부터 다시 집계한 결과와 같아야 합니다.
+            String profile = SchemaMigrator.profileOf("p");
+            assertEquals(rows(stmt, "SELECT " + profile + ", COUNT(*) FROM packing_lists p WHERE p.is_shared GROUP BY 1 ORDER BY 1"),
+                    rows(stmt, "SELECT profile, cnt FROM tag_profile_lists ORDER BY 1"));
+            assertEquals(rows(stmt, "SELECT " + profile + ", i.item_id, COUNT(*) FROM packing_lists p JOIN packing_list_items i "
+                            + "ON i.list_id = p.id WHERE p.is_shared GROUP BY 1, 2 ORDER BY 1, 2"),
+                    rows(stmt, "SELECT profile, item_id, cnt FROM tag_profile_items ORDER BY 1, 2"));
+            assertEquals(List.of("\"따옴표\"|beach,\"따옴표\",여름,여름", "beach|beach,\"따옴표\",여름,여름", "겨울|업무,겨울",
+                            "업무|업무,겨울", "여름|beach,\"따옴표\",여름,여름"),
+                    rows(stmt, "SELECT tag, profile FROM tag_profiles ORDER BY 1"), "공유 해제/삭제로 리스트가 남지 않은 프로필은 색인에서 빠짐");
+
+            // 리스트 3은 '여름'과 'beach'에 모두 걸려 있지만 한 번만 셉니다. 'beac'처럼 조각의 일부만 맞는 태그는 찾지 않습니다.
+            // 저장된 ' 여름'과 검색한 '여름 '처럼 공백만 다른 태그는 같은 태그입니다.
+            try (PreparedStatement count = conn.prepareStatement(PackingListRepositoryImpl.tagListCountSql(4));
+                 PreparedStatement top = conn.prepareStatement(PackingListRepositoryImpl.tagTopItemsSql(4))) {
+                String[] tags = {"여름 ", " BEACH", "beac", "겨울"};
+                for (int i = 0; i < tags.length; i++) {
+                    count.setString(i + 1, TagNormalizer.normalize(tags[i]));
+                    top.setString(i + 1, TagNormalizer.normalize(tags[i]));
+                }
+                top.setInt(5, 10);
+                try (ResultSet rs = count.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(2, rs.getLong(1), "리스트 1(겨울)과 3");
+                }
+                assertEquals(List.of("노트북|1", "양말|1"), rows(top), "공유 해제된 리스트 2의 여권은 빠져야 한다");
+            }
+        }
+    }
+
+    private static List<String> rows(Statement stmt, String sql) throws SQLException {
+        return rows(stmt.executeQuery(sql));
+    }
+
+    private static List<String> rows(PreparedStatement pstmt) throws SQLException {
+        return rows(pstmt.executeQuery());
+    }
+
+    private static List<String> rows(ResultSet resultSet) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (ResultSet rs = resultSet) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder row = new StringBuilder(rs.getString(1));
+                for (int i = 2; i <= columns; i++) {
+                    row.append('|').append(rs.getString(i));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    // "SCAN 테이블" 처럼 인덱스 없이 테이블을 훑는 단계인지 확인합니다. ("SCAN ... USING INDEX"는 인덱스 순회)
+    // 가상 테이블은 "VIRTUAL TABLE INDEX 번호:제약" 형식이며, 제약 문자열이 비어 있으면 전체를 훑습니다. (FTS5의 "M"은 MATCH)
+    // "SCAN (subquery-N)"은 서브쿼리 결과를 읽는 단계이며, 서브쿼리 자체의 계획은 별도 행으로 검사됩니다.
+    private static boolean isFullScan(String detail) {
+        if (detail.contains(" VIRTUAL TABLE INDEX ")) {
+            return detail.endsWith(":");
+        }
+        return detail.startsWith("SCAN ") && !detail.contains(" USING ") && !detail.startsWith("SCAN (subquery-");
+    }
+
+    private static List<String> explain(Connection conn, String sql) throws SQLException {
+        List<String> details = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                details.add(rs.getString("detail"));
+            }
+        }
+        return details;
+    }
+}
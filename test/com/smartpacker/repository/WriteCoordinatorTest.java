@@ -0,0 +1,144 @@
+package com.smartpacker.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteCoordinatorTest {
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    private WriterConnection writer;
+    private WriteCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + dir.resolve("write.db");
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("CREATE TABLE t (name TEXT PRIMARY KEY)");
+        }
+        // 잠금 충돌이 바로 드러나도록 busy_timeout은 짧게
+        writer = new WriterConnection(() -> {
+            Connection conn = DriverManager.getConnection(url);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = 10");
+            }
+            return conn;
+        }, 5_000, 8, new StatementCache.Stats());
+        coordinator = new WriteCoordinator(writer, 16, 5, 50, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown(5_000);
+        writer.close();
+    }
+
+    private WriteCoordinator.Task<Integer> insert(String name) {
+        return conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO t (name) VALUES (?)")) {
+                pstmt.setString(1, name);
+                return pstmt.executeUpdate();
+            }
+        };
+    }
+
+    private int count() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // 다른 프로세스처럼 별도 커넥션으로 쓰기 잠금을 잡습니다.
+    private Connection holdWriteLock() throws SQLException {
+        Connection other = DriverManager.getConnection(url);
+        try (Statement stmt = other.createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+        }
+        return other;
+    }
+
+    @Test
+    @DisplayName("여러 스레드의 쓰기를 묶어 커밋하고, 실패한 쓰기만 되돌린다")
+    void concurrentWritesAreBatchedAndFailuresIsolated() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String name = i == 100 ? "item-0" : "item-" + i; // 100번째는 기본 키 중복
+                results.add(pool.submit(() -> coordinator.submit(insert(name))));
+            }
+            int failed = 0;
+            for (Future<Integer> result : results) {
+                try {
+                    assertEquals(1, result.get());
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof SQLException);
+                    failed++;
+                }
+            }
+            // 중복 키는 "item-0"을 먼저 넣은 쪽이 성공하고 나중 쪽만 실패
+            assertEquals(1, failed);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(199, count());
+        WriteMetrics metrics = coordinator.getMetrics();
+        assertEquals(200, metrics.writes);
+        assertEquals(1, metrics.failedWrites);
+        assertTrue(metrics.batches <= 200);
+    }
+
+    @Test
+    @DisplayName("다른 커넥션이 쓰기 잠금을 쥐고 있으면 백오프로 재시도하고, 예산을 넘으면 실패로 알린다")
+    void busyIsRetriedWithinBudget() throws Exception {
+        Connection other = holdWriteLock();
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(150);
+                try (Statement stmt = other.createStatement()) {
+                    stmt.execute("COMMIT");
+                }
+                other.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        releaser.start();
+        assertEquals(1, coordinator.submit(insert("a")));
+        releaser.join();
+        assertTrue(coordinator.getMetrics().busyRetries > 0);
+
+        try (Connection holder = holdWriteLock()) {
+            SQLException e = assertThrows(SQLException.class, () -> coordinator.submit(insert("b")));
+            assertTrue(WriteCoordinator.isBusy(e));
+            assertEquals(1, coordinator.getMetrics().busyGiveUps);
+            try (Statement stmt = holder.createStatement()) {
+                stmt.execute("ROLLBACK");
+            }
+        }
+        assertEquals(1, count());
+    }
+}